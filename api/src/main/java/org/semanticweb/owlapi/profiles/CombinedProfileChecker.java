@@ -0,0 +1,290 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.profiles;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectVisitor;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
+import org.semanticweb.owlapi.util.OWLOntologyWalker;
+import org.semanticweb.owlapi.util.ParallelOWLOntologyWalker;
+
+/**
+ * Checks an ontology and its imports closure against several profiles at once. The standard
+ * profile checkers build on each other: OWL 2 EL, QL and RL run the OWL 2 DL checker, which runs
+ * the OWL 2 checker, and each of them walks the whole imports closure. This checker walks the
+ * imports closure once, passing every object to the visitors of all the profiles involved.<br>
+ * The walk is split in chunks of {@link #getChunkSize()} axioms by a
+ * {@link ParallelOWLOntologyWalker}; each chunk has its own visitors, and the violations of the
+ * chunks are joined in axiom order. Object property managers, needed for the checks on simple
+ * properties, are computed once per ontology and shared by the chunks.<br>
+ * The reports are the same as the ones of the individual profiles: the report for OWL 2 EL, for
+ * example, includes the OWL 2 DL and OWL 2 violations. The order of the violations in a report is
+ * not significant.
+ */
+public class CombinedProfileChecker {
+
+    /**
+     * Default number of axioms walked by each task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    private final Set<Profiles> profiles;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    /**
+     * profiles whose visitors are run: the profiles checked and the profiles they restrict
+     */
+    private final Set<Profiles> walked = EnumSet.noneOf(Profiles.class);
+    private final OWL2Profile owl2 = new OWL2Profile();
+    private final OWL2DLProfile dl = new OWL2DLProfile();
+    private final OWL2ELProfile el = new OWL2ELProfile();
+    private final OWL2QLProfile ql = new OWL2QLProfile();
+    private final OWL2RLProfile rl = new OWL2RLProfile();
+
+    /**
+     * @param profiles the profiles to check; all profiles are checked if none is specified
+     */
+    public CombinedProfileChecker(Profiles... profiles) {
+        this(Arrays.asList(profiles), ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param profiles the profiles to check; all profiles are checked if the collection is empty
+     * @param pool pool to run the checks on
+     * @param chunkSize number of axioms walked by each task
+     */
+    public CombinedProfileChecker(Collection<Profiles> profiles, ForkJoinPool pool,
+        int chunkSize) {
+        checkNotNull(profiles, "profiles cannot be null");
+        this.pool = checkNotNull(pool, "pool cannot be null");
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        this.profiles = profiles.isEmpty() ? EnumSet.allOf(Profiles.class)
+            : EnumSet.copyOf(profiles);
+        this.profiles.forEach(p -> walked.addAll(restricted(p)));
+    }
+
+    /**
+     * @return the profiles checked
+     */
+    public Set<Profiles> getProfiles() {
+        return Collections.unmodifiableSet(profiles);
+    }
+
+    /**
+     * @return number of axioms walked by each task
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Checks an ontology and its imports closure against all the profiles of this checker.
+     *
+     * @param ontology the ontology to check
+     * @return the reports, keyed by profile
+     */
+    public Map<Profiles, OWLProfileReport> checkOntology(OWLOntology ontology) {
+        checkNotNull(ontology, "ontology cannot be null");
+        return reports(violations(ontology, new PropertyManagers()));
+    }
+
+    /**
+     * Walks an ontology and its imports closure in parallel.
+     *
+     * @param ontology the ontology to check
+     * @param managers property managers for the ontologies walked
+     * @return the violations found, keyed by the profile whose visitor found them
+     */
+    Map<Profiles, List<OWLProfileViolation>> violations(OWLOntology ontology,
+        PropertyManagers managers) {
+        ParallelOWLOntologyWalker walker = new ParallelOWLOntologyWalker(
+            asList(ontology.importsClosure()), pool, chunkSize, OWLOntologyProfileWalker::new);
+        return walker.walkStructure(w -> new Multiplexer(walked, p -> createVisitor(p, w, managers)),
+            Multiplexer::getViolations, new EnumMap<>(Profiles.class),
+            CombinedProfileChecker::append);
+    }
+
+    /**
+     * Walks some of the axioms of an ontology in the calling thread.
+     *
+     * @param ontology the ontology the axioms belong to
+     * @param axioms the axioms to walk
+     * @param walkOntologyHeader true if the ontology object and its annotations should be walked
+     * @param managers property managers for the ontologies walked
+     * @return the violations found, keyed by the profile whose visitor found them
+     */
+    Map<Profiles, List<OWLProfileViolation>> violations(OWLOntology ontology,
+        Collection<OWLAxiom> axioms, boolean walkOntologyHeader, PropertyManagers managers) {
+        OWLOntologyWalker walker = new OWLOntologyProfileWalker(ontology, axioms,
+            walkOntologyHeader);
+        Multiplexer visitor = new Multiplexer(walked, p -> createVisitor(p, walker, managers));
+        walker.walkStructure(visitor);
+        return visitor.getViolations();
+    }
+
+    /**
+     * @param violations violations keyed by the profile whose visitor found them
+     * @return the reports for the profiles of this checker
+     */
+    Map<Profiles, OWLProfileReport> reports(
+        Map<Profiles, List<OWLProfileViolation>> violations) {
+        Map<Profiles, OWLProfileReport> reports = new EnumMap<>(Profiles.class);
+        for (Profiles p : profiles) {
+            Set<OWLProfileViolation> report = new LinkedHashSet<>();
+            restricted(p).forEach(q -> report.addAll(violations.getOrDefault(q,
+                Collections.emptyList())));
+            reports.put(p, new OWLProfileReport(getProfile(p), report));
+        }
+        return Collections.unmodifiableMap(reports);
+    }
+
+    /**
+     * Appends the violations of a part of the walk to those of the preceding part; the maps are
+     * only used once, so the first one is updated in place.
+     */
+    private static Map<Profiles, List<OWLProfileViolation>> append(
+        Map<Profiles, List<OWLProfileViolation>> first,
+        Map<Profiles, List<OWLProfileViolation>> second) {
+        second.forEach((p, v) -> first.computeIfAbsent(p, x -> new ArrayList<>()).addAll(v));
+        return first;
+    }
+
+    /**
+     * @param profile profile
+     * @return the profile and the profiles it restricts, most general first
+     */
+    private static List<Profiles> restricted(Profiles profile) {
+        switch (profile) {
+            case OWL2_FULL:
+                return Collections.singletonList(Profiles.OWL2_FULL);
+            case OWL2_DL:
+                return Arrays.asList(Profiles.OWL2_FULL, Profiles.OWL2_DL);
+            default:
+                return Arrays.asList(Profiles.OWL2_FULL, Profiles.OWL2_DL, profile);
+        }
+    }
+
+    private OWLProfile getProfile(Profiles profile) {
+        switch (profile) {
+            case OWL2_FULL:
+                return owl2;
+            case OWL2_DL:
+                return dl;
+            case OWL2_EL:
+                return el;
+            case OWL2_QL:
+                return ql;
+            case OWL2_RL:
+                return rl;
+            default:
+                throw new IllegalArgumentException("Unknown profile: " + profile);
+        }
+    }
+
+    private ProfileVisitor createVisitor(Profiles profile, OWLOntologyWalker walker,
+        PropertyManagers managers) {
+        switch (profile) {
+            case OWL2_FULL:
+                return owl2.createVisitor(walker);
+            case OWL2_DL:
+                return dl.createVisitor(walker, managers::perOntology);
+            case OWL2_EL:
+                return el.createVisitor(walker, managers::perOntology);
+            case OWL2_QL:
+                return ql.createVisitor(walker);
+            case OWL2_RL:
+                return rl.createVisitor(walker);
+            default:
+                throw new IllegalArgumentException("Unknown profile: " + profile);
+        }
+    }
+
+    /**
+     * Object property managers for the ontologies of an imports closure. Each manager is built
+     * once, and all its lazily built structures are computed before it is shared, so that the
+     * chunks sharing it only read it.
+     */
+    static class PropertyManagers {
+
+        private final Map<OWLOntology, OWLObjectPropertyManager> managers =
+            new ConcurrentHashMap<>();
+
+        /**
+         * @param o the ontology being visited
+         * @return the manager for the imports closure of the ontology, as built by the
+         *         individual checkers for the ontology they visit
+         */
+        OWLObjectPropertyManager perOntology(OWLOntology o) {
+            return managers.computeIfAbsent(o, PropertyManagers::propertyManager);
+        }
+
+        /**
+         * Discards all managers; they are rebuilt when next needed.
+         */
+        void clear() {
+            managers.clear();
+        }
+
+        private static OWLObjectPropertyManager propertyManager(OWLOntology o) {
+            OWLObjectPropertyManager manager = new OWLObjectPropertyManager(o);
+            manager.getCompositeProperties();
+            manager.getNonSimpleProperties();
+            manager.getPropertyPartialOrdering();
+            return manager;
+        }
+    }
+
+    /**
+     * Passes each visited object to the visitors of all the profiles.
+     */
+    private static class Multiplexer implements OWLObjectVisitor {
+
+        private final Map<Profiles, ProfileVisitor> visitors = new EnumMap<>(Profiles.class);
+
+        Multiplexer(Set<Profiles> profiles, Function<Profiles, ProfileVisitor> factory) {
+            profiles.forEach(p -> visitors.put(p, factory.apply(p)));
+        }
+
+        Map<Profiles, List<OWLProfileViolation>> getViolations() {
+            Map<Profiles, List<OWLProfileViolation>> toReturn = new EnumMap<>(Profiles.class);
+            visitors.forEach((p, v) -> toReturn.put(p, new ArrayList<>(v.getProfileViolations())));
+            return toReturn;
+        }
+
+        @Override
+        public void doDefault(Object object) {
+            OWLObject o = (OWLObject) object;
+            visitors.values().forEach(o::accept);
+        }
+    }
+}
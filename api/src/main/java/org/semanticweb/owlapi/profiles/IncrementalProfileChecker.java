@@ -0,0 +1,388 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.profiles;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.semanticweb.owlapi.model.AnnotationChange;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObjectCardinalityRestriction;
+import org.semanticweb.owlapi.model.OWLObjectHasSelf;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.SetOntologyID;
+
+/**
+ * Keeps the profile reports of an ontology and its imports closure up to date as the ontologies
+ * change, so that the reports can be read at any time without walking the ontologies again. The
+ * checker listens to the changes applied through the manager of the ontology; the violations found
+ * are indexed by ontology and axiom, and each change only causes the axioms it can affect to be
+ * checked again:
+ * <ul>
+ * <li>added axioms are checked; the violations of removed axioms are dropped;</li>
+ * <li>the axioms referring to an IRI are checked again when a declaration for the IRI is added or
+ * removed, or when an entity with that IRI enters or leaves the signature of an ontology, since
+ * declarations and punning are checked against the imports closure;</li>
+ * <li>the axioms whose checks depend on the object property hierarchy (simple properties, property
+ * chains) are checked again when an axiom defining the hierarchy changes;</li>
+ * <li>the axioms using datatypes are checked again when a datatype definition changes;</li>
+ * <li>the ontology header is checked again when the ontology id or annotations change;</li>
+ * <li>when the imports closure changes, ontologies entering or leaving the closure are added or
+ * dropped, and the ontologies whose own imports closure changed are checked again.</li>
+ * </ul>
+ * The reports are the same as the ones of {@link CombinedProfileChecker} for the current state of
+ * the ontologies. {@link #dispose()} must be called when the checker is no longer needed, to remove
+ * it from the manager listeners.
+ */
+public class IncrementalProfileChecker implements OWLOntologyChangeListener {
+
+    /**
+     * axiom types defining the object property hierarchy, as seen by the property managers
+     */
+    private static final Set<AxiomType<?>> PROPERTY_HIERARCHY_TYPES = new HashSet<>(
+        Arrays.asList(AxiomType.SUB_OBJECT_PROPERTY, AxiomType.EQUIVALENT_OBJECT_PROPERTIES,
+            AxiomType.INVERSE_OBJECT_PROPERTIES, AxiomType.SYMMETRIC_OBJECT_PROPERTY,
+            AxiomType.TRANSITIVE_OBJECT_PROPERTY, AxiomType.SUB_PROPERTY_CHAIN_OF,
+            AxiomType.OBJECT_PROPERTY_RANGE));
+    /**
+     * axiom types whose checks depend on the object property hierarchy
+     */
+    private static final Set<AxiomType<?>> PROPERTY_DEPENDENT_TYPES = new HashSet<>(
+        Arrays.asList(AxiomType.FUNCTIONAL_OBJECT_PROPERTY,
+            AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, AxiomType.IRREFLEXIVE_OBJECT_PROPERTY,
+            AxiomType.ASYMMETRIC_OBJECT_PROPERTY, AxiomType.DISJOINT_OBJECT_PROPERTIES,
+            AxiomType.SUB_PROPERTY_CHAIN_OF));
+    private final OWLOntology ontology;
+    private final OWLDataFactory df;
+    private final CombinedProfileChecker checker;
+    private final CombinedProfileChecker.PropertyManagers managers;
+    /**
+     * imports closure of each ontology in the imports closure of the checked ontology
+     */
+    private final Map<OWLOntology, Set<OWLOntology>> closures = new LinkedHashMap<>();
+    private final Map<OWLOntology, Map<OWLAxiom, Map<Profiles, List<OWLProfileViolation>>>> axiomViolations =
+        new HashMap<>();
+    private final Map<OWLOntology, Map<Profiles, List<OWLProfileViolation>>> headerViolations =
+        new HashMap<>();
+    private final Map<OWLOntology, Set<OWLAxiom>> propertyDependent = new HashMap<>();
+    private final Map<OWLOntology, Set<OWLAxiom>> datatypeDependent = new HashMap<>();
+
+    /**
+     * @param ontology the ontology to check
+     * @param profiles the profiles to check; all profiles are checked if none is specified
+     */
+    public IncrementalProfileChecker(OWLOntology ontology, Profiles... profiles) {
+        this(ontology, new CombinedProfileChecker(profiles));
+    }
+
+    /**
+     * @param ontology the ontology to check
+     * @param checker checker for the profiles; used for the initial check, and for the profiles
+     *        to report
+     */
+    public IncrementalProfileChecker(OWLOntology ontology, CombinedProfileChecker checker) {
+        this.ontology = checkNotNull(ontology, "ontology cannot be null");
+        this.checker = checkNotNull(checker, "checker cannot be null");
+        df = ontology.getOWLOntologyManager().getOWLDataFactory();
+        managers = new CombinedProfileChecker.PropertyManagers();
+        for (OWLOntology o : asList(ontology.importsClosure())) {
+            closures.put(o, asSet(o.importsClosure()));
+            o.axioms().forEach(ax -> index(o, ax));
+        }
+        store(checker.violations(ontology, managers));
+        ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+    }
+
+    /**
+     * Removes this checker from the listeners of the ontology manager.
+     */
+    public void dispose() {
+        ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+    }
+
+    /**
+     * @return the profiles checked
+     */
+    public Set<Profiles> getProfiles() {
+        return checker.getProfiles();
+    }
+
+    /**
+     * @param profile one of the profiles checked
+     * @return the current report for the profile
+     */
+    public OWLProfileReport getReport(Profiles profile) {
+        checkNotNull(profile, "profile cannot be null");
+        OWLProfileReport report = getReports().get(profile);
+        if (report == null) {
+            throw new IllegalArgumentException("Profile not checked: " + profile);
+        }
+        return report;
+    }
+
+    /**
+     * @return the current reports, keyed by profile
+     */
+    public synchronized Map<Profiles, OWLProfileReport> getReports() {
+        Map<Profiles, List<OWLProfileViolation>> violations = new EnumMap<>(Profiles.class);
+        for (OWLOntology o : closures.keySet()) {
+            append(violations, headerViolations.get(o));
+            axiomViolations.getOrDefault(o, Collections.emptyMap()).values()
+                .forEach(v -> append(violations, v));
+        }
+        return checker.reports(violations);
+    }
+
+    private static void append(Map<Profiles, List<OWLProfileViolation>> violations,
+        @Nullable Map<Profiles, List<OWLProfileViolation>> toAdd) {
+        if (toAdd != null) {
+            toAdd.forEach((p, v) -> violations.computeIfAbsent(p, x -> new ArrayList<>())
+                .addAll(v));
+        }
+    }
+
+    @Override
+    public synchronized void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
+        Changes pending = new Changes();
+        if (changes.stream().anyMatch(c -> c.isImportChange() || c instanceof SetOntologyID)) {
+            updateClosures(pending);
+        }
+        for (OWLOntologyChange change : changes) {
+            OWLOntology o = change.getOntology();
+            if (!closures.containsKey(o)) {
+                continue;
+            }
+            if (change.isAxiomChange()) {
+                axiomChanged(o, change.getAxiom(), change.isAddAxiom(), pending);
+            } else if (change instanceof AnnotationChange) {
+                pending.headers.add(o);
+                ((AnnotationChange) change).getAnnotation().signature()
+                    .forEach(e -> pending.iris.add(e.getIRI()));
+            } else if (change instanceof SetOntologyID) {
+                pending.headers.add(o);
+            }
+        }
+        check(pending);
+    }
+
+    /**
+     * Recomputes the imports closure; ontologies whose imports closure changed are checked from
+     * scratch.
+     */
+    private void updateClosures(Changes pending) {
+        Map<OWLOntology, Set<OWLOntology>> updated = new LinkedHashMap<>();
+        ontology.importsClosure().forEach(o -> updated.put(o, asSet(o.importsClosure())));
+        if (updated.equals(closures)) {
+            return;
+        }
+        for (OWLOntology o : closures.keySet()) {
+            if (!updated.containsKey(o)) {
+                axiomViolations.remove(o);
+                headerViolations.remove(o);
+                propertyDependent.remove(o);
+                datatypeDependent.remove(o);
+            }
+        }
+        updated.forEach((o, closure) -> {
+            if (!closure.equals(closures.get(o))) {
+                pending.ontologies.add(o);
+                axiomViolations.remove(o);
+                headerViolations.remove(o);
+                propertyDependent.remove(o);
+                datatypeDependent.remove(o);
+                o.axioms().forEach(ax -> index(o, ax));
+            }
+        });
+        closures.clear();
+        closures.putAll(updated);
+        // the property hierarchy of an ontology depends on its imports closure
+        pending.properties = true;
+    }
+
+    private void axiomChanged(OWLOntology o, OWLAxiom ax, boolean added, Changes pending) {
+        if (added) {
+            index(o, ax);
+            pending.axioms(o).add(ax);
+            pending.added(o).add(ax);
+        } else {
+            unindex(o, ax);
+            pending.axioms(o).remove(ax);
+        }
+        if (ax instanceof OWLDeclarationAxiom) {
+            pending.iris.add(((OWLDeclarationAxiom) ax).getEntity().getIRI());
+        }
+        if (PROPERTY_HIERARCHY_TYPES.contains(ax.getAxiomType())) {
+            pending.properties = true;
+        }
+        if (ax.getAxiomType() == AxiomType.DATATYPE_DEFINITION) {
+            pending.datatypes = true;
+        }
+        ax.signature().forEach(e -> pending.entities(o).add(e));
+    }
+
+    /**
+     * @return true if the entity entered or left the signature of the ontology with the changes;
+     *         an entity referred to only by axioms added with the changes may have been in the
+     *         signature already, and is reported as well
+     */
+    private static boolean signatureChanged(OWLOntology o, OWLEntity e, Set<OWLAxiom> added) {
+        return o.referencingAxioms(e).allMatch(added::contains);
+    }
+
+    private void check(Changes pending) {
+        pending.entities.forEach((o, entities) -> entities.stream()
+            .filter(e -> signatureChanged(o, e, pending.added(o))).forEach(e -> {
+                pending.iris.add(e.getIRI());
+                if (e.isOWLObjectProperty()) {
+                    // the property managers know the properties in the signature
+                    managers.clear();
+                }
+            }));
+        if (pending.properties) {
+            managers.clear();
+            propertyDependent.forEach((o, axioms) -> pending.axioms(o).addAll(axioms));
+        }
+        if (pending.datatypes) {
+            datatypeDependent.forEach((o, axioms) -> pending.axioms(o).addAll(axioms));
+        }
+        if (!pending.iris.isEmpty()) {
+            for (OWLOntology o : closures.keySet()) {
+                pending.headers.add(o);
+                Set<OWLAxiom> axioms = pending.axioms(o);
+                for (IRI iri : pending.iris) {
+                    for (EntityType<?> type : EntityType.values()) {
+                        o.referencingAxioms(type.buildEntity(iri, df)).forEach(axioms::add);
+                    }
+                }
+            }
+        }
+        for (OWLOntology o : closures.keySet()) {
+            boolean all = pending.ontologies.contains(o);
+            boolean header = all || pending.headers.contains(o);
+            Collection<OWLAxiom> axioms = all ? asList(o.axioms())
+                : asList(pending.axioms(o).stream().filter(o::containsAxiom));
+            if (!header && axioms.isEmpty()) {
+                continue;
+            }
+            if (header) {
+                headerViolations.remove(o);
+            }
+            Map<OWLAxiom, Map<Profiles, List<OWLProfileViolation>>> violations =
+                axiomViolations.get(o);
+            if (violations != null) {
+                axioms.forEach(violations::remove);
+            }
+            store(checker.violations(o, axioms, header, managers));
+        }
+    }
+
+    /**
+     * Stores violations by ontology and axiom; violations with no axiom belong to the ontology
+     * header.
+     */
+    private void store(Map<Profiles, List<OWLProfileViolation>> violations) {
+        violations.forEach((p, list) -> list.forEach(v -> {
+            Map<Profiles, List<OWLProfileViolation>> map;
+            if (v.axiom == null) {
+                map = headerViolations.computeIfAbsent(v.ontology,
+                    x -> new EnumMap<>(Profiles.class));
+            } else {
+                map = axiomViolations.computeIfAbsent(v.ontology, x -> new HashMap<>())
+                    .computeIfAbsent(v.axiom, x -> new EnumMap<>(Profiles.class));
+            }
+            map.computeIfAbsent(p, x -> new ArrayList<>()).add(v);
+        }));
+    }
+
+    private void index(OWLOntology o, OWLAxiom ax) {
+        if (PROPERTY_DEPENDENT_TYPES.contains(ax.getAxiomType()) || ax.nestedClassExpressions()
+            .anyMatch(
+                c -> c instanceof OWLObjectCardinalityRestriction || c instanceof OWLObjectHasSelf)) {
+            propertyDependent.computeIfAbsent(o, x -> new HashSet<>()).add(ax);
+        }
+        if (ax.datatypesInSignature().findAny().isPresent()) {
+            datatypeDependent.computeIfAbsent(o, x -> new HashSet<>()).add(ax);
+        }
+    }
+
+    private void unindex(OWLOntology o, OWLAxiom ax) {
+        remove(propertyDependent, o, ax);
+        remove(datatypeDependent, o, ax);
+        Map<OWLAxiom, ?> violations = axiomViolations.get(o);
+        if (violations != null) {
+            violations.remove(ax);
+        }
+    }
+
+    private static void remove(Map<OWLOntology, Set<OWLAxiom>> map, OWLOntology o, OWLAxiom ax) {
+        Set<OWLAxiom> set = map.get(o);
+        if (set != null) {
+            set.remove(ax);
+        }
+    }
+
+    /**
+     * What has to be checked again after a list of changes.
+     */
+    private static class Changes {
+
+        /**
+         * ontologies to check from scratch
+         */
+        final Set<OWLOntology> ontologies = new HashSet<>();
+        final Set<OWLOntology> headers = new HashSet<>();
+        final Map<OWLOntology, Set<OWLAxiom>> axioms = new HashMap<>();
+        final Map<OWLOntology, Set<OWLAxiom>> added = new HashMap<>();
+        /**
+         * entities in the signature of added or removed axioms, by ontology
+         */
+        final Map<OWLOntology, Set<OWLEntity>> entities = new HashMap<>();
+        final Set<IRI> iris = new HashSet<>();
+        boolean properties;
+        boolean datatypes;
+
+        Set<OWLAxiom> axioms(OWLOntology o) {
+            return axioms.computeIfAbsent(o, x -> new LinkedHashSet<>());
+        }
+
+        Set<OWLAxiom> added(OWLOntology o) {
+            return added.computeIfAbsent(o, x -> new HashSet<>());
+        }
+
+        Set<OWLEntity> entities(OWLOntology o) {
+            return entities.computeIfAbsent(o, x -> new HashSet<>());
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.semanticweb.owlapi.model.IRI;
@@ -143,23 +144,50 @@ public class OWL2DLProfile implements OWLProfile {
         return new OWLProfileReport(this, violations);
     }
 
-    private static class OWL2DLProfileObjectVisitor extends OWLOntologyWalkerVisitor {
+    /**
+     * @param walker walker the visitor is used with
+     * @param propertyManagers source of the property manager, called with the ontology being
+     * visited when it needs a manager for it
+     * @return visitor for the violations specific to OWL 2 DL
+     */
+    ProfileVisitor createVisitor(OWLOntologyWalker walker,
+        Function<OWLOntology, OWLObjectPropertyManager> propertyManagers) {
+        return new OWL2DLProfileObjectVisitor(walker, propertyManagers);
+    }
+
+    private static class OWL2DLProfileObjectVisitor extends OWLOntologyWalkerVisitor implements
+        ProfileVisitor {
 
         private final Set<OWLProfileViolation> profileViolations = new HashSet<>();
+        private final Function<OWLOntology, OWLObjectPropertyManager> propertyManagers;
         @Nullable
         private OWLObjectPropertyManager objectPropertyManager = null;
+        @Nullable
+        private OWLOntology propertyManagerOntology;
 
         OWL2DLProfileObjectVisitor(OWLOntologyWalker walker) {
+            this(walker, OWLObjectPropertyManager::new);
+        }
+
+        OWL2DLProfileObjectVisitor(OWLOntologyWalker walker,
+            Function<OWLOntology, OWLObjectPropertyManager> propertyManagers) {
             super(walker);
+            this.propertyManagers = propertyManagers;
         }
 
+        @Override
         public Set<OWLProfileViolation> getProfileViolations() {
             return new HashSet<>(profileViolations);
         }
 
+        /**
+         * @return the property manager for the imports closure of the ontology being visited
+         */
         private OWLObjectPropertyManager getPropertyManager() {
-            if (objectPropertyManager == null) {
-                objectPropertyManager = new OWLObjectPropertyManager(getCurrentOntology());
+            OWLOntology current = getCurrentOntology();
+            if (objectPropertyManager == null || current != propertyManagerOntology) {
+                objectPropertyManager = propertyManagers.apply(current);
+                propertyManagerOntology = current;
             }
             return verifyNotNull(objectPropertyManager);
         }
@@ -19,6 +19,7 @@ import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
@@ -101,23 +102,50 @@ public class OWL2ELProfile implements OWLProfile {
         return new OWLProfileReport(this, violations);
     }
 
-    protected class OWL2ELProfileObjectVisitor extends OWLOntologyWalkerVisitor {
+    /**
+     * @param walker walker the visitor is used with
+     * @param propertyManagers source of the property managers, called with the ontology being
+     * visited when it needs a manager for it
+     * @return visitor for the violations specific to OWL 2 EL
+     */
+    ProfileVisitor createVisitor(OWLOntologyWalker walker,
+        Function<OWLOntology, OWLObjectPropertyManager> propertyManagers) {
+        return new OWL2ELProfileObjectVisitor(walker, propertyManagers);
+    }
+
+    protected class OWL2ELProfileObjectVisitor extends OWLOntologyWalkerVisitor implements
+        ProfileVisitor {
 
         private final Set<OWLProfileViolation> profileViolations = new HashSet<>();
+        private final Function<OWLOntology, OWLObjectPropertyManager> propertyManagers;
         @Nullable
         private OWLObjectPropertyManager propertyManager;
+        @Nullable
+        private OWLOntology propertyManagerOntology;
 
         public OWL2ELProfileObjectVisitor(OWLOntologyWalker walker) {
+            this(walker, OWLObjectPropertyManager::new);
+        }
+
+        OWL2ELProfileObjectVisitor(OWLOntologyWalker walker,
+            Function<OWLOntology, OWLObjectPropertyManager> propertyManagers) {
             super(walker);
+            this.propertyManagers = propertyManagers;
         }
 
+        @Override
         public Set<OWLProfileViolation> getProfileViolations() {
             return new HashSet<>(profileViolations);
         }
 
+        /**
+         * @return the property manager for the imports closure of the ontology being visited
+         */
         private OWLObjectPropertyManager getPropertyManager() {
-            if (propertyManager == null) {
-                propertyManager = new OWLObjectPropertyManager(getCurrentOntology());
+            OWLOntology current = getCurrentOntology();
+            if (propertyManager == null || current != propertyManagerOntology) {
+                propertyManager = propertyManagers.apply(current);
+                propertyManagerOntology = current;
             }
             return verifyNotNull(propertyManager);
         }
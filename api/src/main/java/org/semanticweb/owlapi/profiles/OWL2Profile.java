@@ -73,7 +73,16 @@ public class OWL2Profile implements OWLProfile {
         return new OWLProfileReport(this, pv);
     }
 
-    private static class OWL2ProfileObjectWalker extends OWLOntologyWalkerVisitor {
+    /**
+     * @param walker walker the visitor is used with
+     * @return visitor for the violations specific to OWL 2
+     */
+    ProfileVisitor createVisitor(OWLOntologyWalker walker) {
+        return new OWL2ProfileObjectWalker(walker);
+    }
+
+    private static class OWL2ProfileObjectWalker extends OWLOntologyWalkerVisitor implements
+        ProfileVisitor {
 
         private final Set<OWLProfileViolation> profileViolations = new HashSet<>();
 
@@ -81,6 +90,7 @@ public class OWL2Profile implements OWLProfile {
             super(walker);
         }
 
+        @Override
         public Set<OWLProfileViolation> getProfileViolations() {
             return new HashSet<>(profileViolations);
         }
@@ -106,6 +106,14 @@ public class OWL2QLProfile implements OWLProfile {
         return new OWLProfileReport(this, violations);
     }
 
+    /**
+     * @param walker walker the visitor is used with
+     * @return visitor for the violations specific to OWL 2 QL
+     */
+    ProfileVisitor createVisitor(OWLOntologyWalker walker) {
+        return new OWL2QLObjectVisitor(walker);
+    }
+
     protected boolean isOWL2QLSubClassExpression(OWLClassExpression ce) {
         return ce.accept(subClassExpressionChecker).booleanValue();
     }
@@ -145,7 +153,7 @@ public class OWL2QLProfile implements OWLProfile {
         }
     }
 
-    private class OWL2QLObjectVisitor extends OWLOntologyWalkerVisitor {
+    private class OWL2QLObjectVisitor extends OWLOntologyWalkerVisitor implements ProfileVisitor {
 
         private final Set<OWLProfileViolation> violations = new HashSet<>();
 
@@ -153,6 +161,7 @@ public class OWL2QLProfile implements OWLProfile {
             super(walker);
         }
 
+        @Override
         public Set<OWLProfileViolation> getProfileViolations() {
             return new HashSet<>(violations);
         }
@@ -106,6 +106,14 @@ public class OWL2RLProfile implements OWLProfile {
         return new OWLProfileReport(this, violations);
     }
 
+    /**
+     * @param walker walker the visitor is used with
+     * @return visitor for the violations specific to OWL 2 RL
+     */
+    ProfileVisitor createVisitor(OWLOntologyWalker walker) {
+        return new OWL2RLObjectVisitor(walker);
+    }
+
     protected boolean isOWL2RLSubClassExpression(OWLClassExpression ce) {
         return ce.accept(subClassExpressionChecker).booleanValue();
     }
@@ -158,7 +166,7 @@ public class OWL2RLProfile implements OWLProfile {
         }
     }
 
-    private class OWL2RLObjectVisitor extends OWLOntologyWalkerVisitor {
+    private class OWL2RLObjectVisitor extends OWLOntologyWalkerVisitor implements ProfileVisitor {
 
         private final Set<OWLProfileViolation> violations = new HashSet<>();
 
@@ -166,6 +174,7 @@ public class OWL2RLProfile implements OWLProfile {
             super(walker);
         }
 
+        @Override
         public Set<OWLProfileViolation> getProfileViolations() {
             return new HashSet<>(violations);
         }
@@ -18,6 +18,7 @@ import java.util.Collection;
 import java.util.stream.Stream;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.util.OWLObjectWalker;
@@ -47,6 +48,18 @@ public class OWLOntologyProfileWalker extends OWLOntologyWalker {
         setStructureWalker(new ProfileWalker(this));
     }
 
+    /**
+     * @param ontology ontology to walk
+     * @param axioms axioms of the ontology to walk
+     * @param walkOntologyHeader true if the ontology itself, i.e., the ontology object and its
+     * annotations, should be walked
+     */
+    public OWLOntologyProfileWalker(OWLOntology ontology, Collection<OWLAxiom> axioms,
+        boolean walkOntologyHeader) {
+        super(ontology, axioms, walkOntologyHeader);
+        setStructureWalker(new ProfileWalker(this));
+    }
+
     class ProfileWalker extends StructureWalker<OWLOntology> {
 
         ProfileWalker(OWLObjectWalker<OWLOntology> owlObjectWalker) {
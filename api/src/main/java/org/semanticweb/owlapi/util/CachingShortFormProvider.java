@@ -0,0 +1,62 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+/**
+ * A short form provider that remembers the short forms computed by another short form provider.
+ * The cache can be read and filled by several threads at once; the delegate may be called more
+ * than once for the same entity, so it must support concurrent calls. The cache is not updated
+ * when the short forms of the delegate change, e.g., when prefixes are added to a prefix manager;
+ * {@link #dispose()} clears it.
+ */
+public class CachingShortFormProvider implements ShortFormProvider {
+
+    private final ShortFormProvider delegate;
+    private final Map<OWLEntity, String> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate the short form provider computing the short forms
+     */
+    public CachingShortFormProvider(ShortFormProvider delegate) {
+        this.delegate = checkNotNull(delegate, "delegate cannot be null");
+    }
+
+    /**
+     * @return the short form provider computing the short forms
+     */
+    public ShortFormProvider getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getShortForm(OWLEntity entity) {
+        String shortForm = cache.get(entity);
+        if (shortForm == null) {
+            shortForm = delegate.getShortForm(entity);
+            cache.putIfAbsent(entity, shortForm);
+        }
+        return shortForm;
+    }
+
+    @Override
+    public void dispose() {
+        cache.clear();
+        delegate.dispose();
+    }
+}
@@ -29,15 +29,19 @@ import static org.semanticweb.owlapi.util.DLExpressivityChecker.Construct.TRAN;
 import static org.semanticweb.owlapi.util.DLExpressivityChecker.Construct.U;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.base.Joiner;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
@@ -100,6 +104,10 @@ import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
 
 /**
+ * The constructs used by each axiom are computed once and cached as a bit mask of construct
+ * ordinals; the expressivity of a set of ontologies is the union of the masks of their logical
+ * axioms. {@link ConstructCounter} keeps such a union up to date as axioms are added and removed.
+ *
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.0.0
  */
@@ -112,6 +120,11 @@ public class DLExpressivityChecker implements OWLObjectVisitor {
      */
     private static final Comparator<Construct> constructComparator = Comparator
         .comparing(order::indexOf);
+    /**
+     * Constructs used by each axiom; keys are weak, so the masks go away with the axioms.
+     */
+    private static final LoadingCache<OWLAxiom, Integer> axiomConstructs =
+        Caffeine.newBuilder().weakKeys().build(DLExpressivityChecker::computeConstructs);
     private final Set<Construct> constructs;
     private final List<OWLOntology> ontologies;
 
@@ -141,7 +154,59 @@ public class DLExpressivityChecker implements OWLObjectVisitor {
         return Joiner.on("").join(getOrderedConstructs());
     }
 
-    private void pruneConstructs() {
+    /**
+     * @param axiom axiom
+     * @return the constructs used by the axiom, as a bit mask of construct ordinals; the mask is
+     *         computed the first time an axiom instance is checked and cached afterwards
+     */
+    public static int getConstructs(OWLAxiom axiom) {
+        return axiomConstructs.get(axiom).intValue();
+    }
+
+    /**
+     * @param mask bit mask of the construct ordinals used by a set of axioms, as the union of
+     *        {@link #getConstructs(OWLAxiom)} for each axiom
+     * @return ordered constructs, as returned by {@link #getConstructs()} for ontologies
+     *         containing those axioms
+     */
+    public static List<Construct> getConstructs(int mask) {
+        Set<Construct> constructs = EnumSet.of(AL);
+        for (Construct c : Construct.values()) {
+            if ((mask & bit(c)) != 0) {
+                constructs.add(c);
+            }
+        }
+        pruneConstructs(constructs);
+        return asList(constructs.stream().sorted(constructComparator));
+    }
+
+    /**
+     * @param mask bit mask of the construct ordinals used by a set of axioms
+     * @return DL name
+     */
+    public static String getDescriptionLogicName(int mask) {
+        return Joiner.on("").join(getConstructs(mask));
+    }
+
+    private static int bit(Construct c) {
+        return 1 << c.ordinal();
+    }
+
+    /**
+     * The constructs of an axiom do not depend on the ontologies it belongs to, so a checker
+     * without ontologies is used.
+     */
+    private static Integer computeConstructs(OWLAxiom axiom) {
+        DLExpressivityChecker checker = new DLExpressivityChecker(new ArrayList<>());
+        axiom.accept(checker);
+        int mask = 0;
+        for (Construct c : checker.constructs) {
+            mask |= bit(c);
+        }
+        return Integer.valueOf(mask);
+    }
+
+    private static void pruneConstructs(Set<Construct> constructs) {
         if (constructs.contains(AL)) {
             // AL + U + E can be represented using ALC
             if (constructs.contains(C)) {
@@ -176,11 +241,12 @@ public class DLExpressivityChecker implements OWLObjectVisitor {
     }
 
     private List<Construct> getOrderedConstructs() {
+        int mask = ontologies.stream().flatMap(OWLOntology::logicalAxioms)
+            .mapToInt(DLExpressivityChecker::getConstructs).reduce(0, (a, b) -> a | b);
+        List<Construct> ordered = getConstructs(mask);
         constructs.clear();
-        constructs.add(AL);
-        ontologies.stream().flatMap(OWLOntology::logicalAxioms).forEach(ax -> ax.accept(this));
-        pruneConstructs();
-        return asList(constructs.stream().sorted(constructComparator));
+        constructs.addAll(ordered);
+        return ordered;
     }
 
     // Property expression
@@ -549,6 +615,62 @@ public class DLExpressivityChecker implements OWLObjectVisitor {
         constructs.add(I);
     }
 
+    /**
+     * Counts, for each construct, the logical axioms of an ontology using it. The counts are
+     * updated from the axioms added and removed, so that the expressivity of the ontology can be
+     * kept current without checking all its axioms again.
+     */
+    public static class ConstructCounter {
+
+        private final int[] counts = new int[Construct.values().length];
+
+        /**
+         * @param ontology the ontology whose logical axioms are counted
+         */
+        public ConstructCounter(OWLOntology ontology) {
+            ontology.logicalAxioms().forEach(this::add);
+        }
+
+        /**
+         * @param axiom axiom added to the ontology; non logical axioms are ignored
+         */
+        public void add(OWLAxiom axiom) {
+            update(axiom, 1);
+        }
+
+        /**
+         * @param axiom axiom removed from the ontology; non logical axioms are ignored
+         */
+        public void remove(OWLAxiom axiom) {
+            update(axiom, -1);
+        }
+
+        /**
+         * @return bit mask of the construct ordinals used by the logical axioms of the ontology
+         */
+        public int getConstructs() {
+            int mask = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    mask |= 1 << i;
+                }
+            }
+            return mask;
+        }
+
+        private void update(OWLAxiom axiom, int delta) {
+            if (!axiom.isLogicalAxiom()) {
+                return;
+            }
+            int mask = DLExpressivityChecker.getConstructs(axiom);
+            for (int i = 0; mask != 0; i++, mask >>>= 1) {
+                if ((mask & 1) != 0) {
+                    counts[i] += delta;
+                }
+            }
+        }
+    }
+
     //@formatter:off
     /** Construct enum. */
     public enum Construct {
@@ -125,6 +125,23 @@ public class OWLObjectWalker<O extends OWLObject> {
         visitorEx = null;
     }
 
+    /**
+     * @param o ontology being walked
+     * @return true if the ontology itself, i.e., the ontology object and its annotations, is
+     * passed to the visitor; by default, it is
+     */
+    protected boolean shouldWalkOntologyHeader(OWLOntology o) {
+        return true;
+    }
+
+    /**
+     * @param o ontology being walked
+     * @return the axioms of the ontology to walk; by default, all its axioms
+     */
+    protected Stream<OWLAxiom> axiomsToWalk(OWLOntology o) {
+        return o.axioms();
+    }
+
     /**
      * @param walker the structure walker to use with this object walker
      */
@@ -12,7 +12,13 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.util;
 
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
 import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
 
 /**
@@ -21,10 +27,46 @@ import org.semanticweb.owlapi.model.OWLOntology;
  */
 public class OWLOntologyWalker extends OWLObjectWalker<OWLOntology> {
 
+    @Nullable
+    private final Collection<OWLAxiom> axioms;
+    private final boolean walkOntologyHeader;
+
     /**
      * @param objects objects to walk
      */
     public OWLOntologyWalker(Collection<OWLOntology> objects) {
         super(objects);
+        axioms = null;
+        walkOntologyHeader = true;
+    }
+
+    /**
+     * Walks a part of an ontology; used to split the walk of large ontologies, see
+     * {@link ParallelOWLOntologyWalker}.
+     *
+     * @param ontology ontology to walk
+     * @param axioms axioms of the ontology to walk
+     * @param walkOntologyHeader true if the ontology itself, i.e., the ontology object and its
+     * annotations, should be walked
+     */
+    public OWLOntologyWalker(OWLOntology ontology, Collection<OWLAxiom> axioms,
+        boolean walkOntologyHeader) {
+        super(Collections.singleton(checkNotNull(ontology, "ontology cannot be null")));
+        this.axioms = checkNotNull(axioms, "axioms cannot be null");
+        this.walkOntologyHeader = walkOntologyHeader;
+    }
+
+    @Override
+    protected boolean shouldWalkOntologyHeader(OWLOntology o) {
+        return walkOntologyHeader;
+    }
+
+    @Override
+    protected Stream<OWLAxiom> axiomsToWalk(OWLOntology o) {
+        Collection<OWLAxiom> toWalk = axioms;
+        if (toWalk == null) {
+            return super.axiomsToWalk(o);
+        }
+        return toWalk.stream();
     }
 }
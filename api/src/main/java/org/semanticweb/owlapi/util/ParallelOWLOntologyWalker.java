@@ -0,0 +1,185 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLObjectVisitor;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Walks ontologies in parallel. The axioms of each ontology are split in chunks of
+ * {@link #getChunkSize()} axioms, and the chunks are walked by the tasks of a fork join pool, each
+ * with its own {@link OWLOntologyWalker} and its own visitor, created by a visitor factory. The
+ * ontology itself (the ontology object and its annotations) is walked with the first chunk of the
+ * ontology. The result of each visitor is then combined with the results of the other chunks,
+ * following the order of ontologies and axioms; the combining function must be associative, but
+ * need not be commutative.<br>
+ * Visitors that only depend on the objects visited and on the current axiom and ontology can be
+ * used as they are; visitors relying on the order of the walk across axioms, or on duplicate
+ * detection across the whole walk, cannot. Any state shared between visitors must be thread safe.
+ */
+public class ParallelOWLOntologyWalker {
+
+    /**
+     * Default number of axioms walked by each task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    private final List<OWLOntology> ontologies;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final WalkerFactory walkers;
+
+    /**
+     * @param ontologies ontologies to walk
+     */
+    public ParallelOWLOntologyWalker(Stream<OWLOntology> ontologies) {
+        this(asList(ontologies));
+    }
+
+    /**
+     * @param ontologies ontologies to walk
+     */
+    public ParallelOWLOntologyWalker(Collection<OWLOntology> ontologies) {
+        this(ontologies, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, OWLOntologyWalker::new);
+    }
+
+    /**
+     * @param ontologies ontologies to walk
+     * @param pool pool to run the walks on
+     * @param chunkSize number of axioms walked by each task
+     * @param walkers factory for the walkers of each chunk; the walkers must walk only the axioms
+     * they are given, e.g., through {@link OWLOntologyWalker#OWLOntologyWalker(OWLOntology,
+     * Collection, boolean)}
+     */
+    public ParallelOWLOntologyWalker(Collection<OWLOntology> ontologies, ForkJoinPool pool,
+        int chunkSize, WalkerFactory walkers) {
+        this.ontologies = new ArrayList<>(checkNotNull(ontologies, "ontologies cannot be null"));
+        this.pool = checkNotNull(pool, "pool cannot be null");
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        this.walkers = checkNotNull(walkers, "walkers cannot be null");
+    }
+
+    /**
+     * @return number of axioms walked by each task
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Walks the ontologies; each chunk is walked with a new visitor, and the results of the
+     * visitors are combined.
+     *
+     * @param visitors factory for the visitors; called once per chunk, with the walker of the
+     * chunk
+     * @param result extracts the result from a visitor once its chunk has been walked
+     * @param identity result for an empty walk
+     * @param combiner associative function combining the results of consecutive parts of the walk
+     * @param <V> visitor type
+     * @param <R> result type
+     * @return the combined results
+     */
+    public <V extends OWLObjectVisitor, R> R walkStructure(
+        Function<? super OWLOntologyWalker, ? extends V> visitors,
+        Function<? super V, ? extends R> result, R identity, BinaryOperator<R> combiner) {
+        checkNotNull(visitors, "visitors cannot be null");
+        checkNotNull(result, "result cannot be null");
+        checkNotNull(combiner, "combiner cannot be null");
+        List<OWLOntologyWalker> chunks = new ArrayList<>();
+        for (OWLOntology o : ontologies) {
+            List<OWLAxiom> axioms = asList(o.axioms());
+            int start = 0;
+            do {
+                chunks.add(walkers.create(o,
+                    axioms.subList(start, Math.min(start + chunkSize, axioms.size())),
+                    start == 0));
+                start += chunkSize;
+            } while (start < axioms.size());
+        }
+        if (chunks.isEmpty()) {
+            return identity;
+        }
+        return pool.invoke(new WalkTask<>(chunks, 0, chunks.size(), visitors, result, combiner));
+    }
+
+    /**
+     * Factory for the walkers of the chunks of an ontology.
+     */
+    @FunctionalInterface
+    public interface WalkerFactory {
+
+        /**
+         * @param ontology ontology to walk
+         * @param axioms axioms of the ontology to walk
+         * @param walkOntologyHeader true if the ontology object and its annotations should be
+         * walked
+         * @return a walker for the axioms
+         */
+        OWLOntologyWalker create(OWLOntology ontology, Collection<OWLAxiom> axioms,
+            boolean walkOntologyHeader);
+    }
+
+    /**
+     * Walks a range of chunks, splitting it in halves until a single chunk is left.
+     */
+    private static class WalkTask<V extends OWLObjectVisitor, R> extends RecursiveTask<R> {
+
+        private static final long serialVersionUID = 1L;
+        private final transient List<OWLOntologyWalker> chunks;
+        private final int from;
+        private final int to;
+        private final transient Function<? super OWLOntologyWalker, ? extends V> visitors;
+        private final transient Function<? super V, ? extends R> result;
+        private final transient BinaryOperator<R> combiner;
+
+        WalkTask(List<OWLOntologyWalker> chunks, int from, int to,
+            Function<? super OWLOntologyWalker, ? extends V> visitors,
+            Function<? super V, ? extends R> result, BinaryOperator<R> combiner) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.visitors = visitors;
+            this.result = result;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from == 1) {
+                OWLOntologyWalker walker = chunks.get(from);
+                V visitor = visitors.apply(walker);
+                walker.walkStructure(visitor);
+                return result.apply(visitor);
+            }
+            int middle = (from + to) >>> 1;
+            WalkTask<V, R> left = new WalkTask<>(chunks, from, middle, visitors, result, combiner);
+            left.fork();
+            R right = new WalkTask<>(chunks, middle, to, visitors, result, combiner).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+}
@@ -156,8 +156,10 @@ public class StructureWalker<O extends OWLObject> implements OWLObjectVisitor {
     public void visit(OWLOntology ontology) {
         walkerCallback.ontology = ontology;
         walkerCallback.setAxiom(null);
-        process(ontology);
-        ontology.axioms().forEach(a -> a.accept(this));
+        if (walkerCallback.shouldWalkOntologyHeader(ontology)) {
+            process(ontology);
+        }
+        walkerCallback.axiomsToWalk(ontology).forEach(a -> a.accept(this));
     }
 
     @Override
@@ -0,0 +1,74 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.rdf.turtle.parser.BufferedTurtleParser;
+import org.semanticweb.owlapi.rdf.turtle.parser.NullTripleHandler;
+import org.semanticweb.owlapi.rdf.turtle.parser.ParseException;
+import org.semanticweb.owlapi.rdf.turtle.parser.TurtleOntologyParser;
+import org.semanticweb.owlapi.rdf.turtle.parser.TurtleParser;
+
+/**
+ * Compares the generated JavaCC Turtle parser with the hand written {@link BufferedTurtleParser},
+ * both on their own, feeding a handler that discards the triples, and when loading into an
+ * ontology. The ontology in the {@code ontology} parameter is saved as Turtle once, e.g.
+ * {@code -p ontology=/path/to/go.owl}.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+public class TurtleParserBenchmark {
+
+    private static final IRI BASE = IRI.create("urn:benchmark:turtle");
+    @Param({"full-galen.owl"})
+    public String ontology;
+    @Param({"false", "true"})
+    public boolean buffered;
+    private String turtle;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntology o = OWLManager.createOWLOntologyManager()
+            .loadOntologyFromOntologyDocument(new File(ontology));
+        StringDocumentTarget target = new StringDocumentTarget();
+        o.saveOntology(new TurtleDocumentFormat(), target);
+        turtle = target.toString();
+    }
+
+    @Benchmark
+    public NullTripleHandler tokenizeAndParse() throws IOException, ParseException {
+        NullTripleHandler handler = new NullTripleHandler();
+        if (buffered) {
+            new BufferedTurtleParser(new StringReader(turtle), handler, BASE).parseDocument();
+        } else {
+            new TurtleParser(new StringReader(turtle), handler, BASE).parseDocument();
+        }
+        return handler;
+    }
+
+    @Benchmark
+    public OWLOntology loadOntology() throws OWLOntologyCreationException {
+        OWLOntology o = OWLManager.createOWLOntologyManager().createOntology();
+        new TurtleOntologyParser(buffered).parse(new StringDocumentSource(turtle), o,
+            new OWLOntologyLoaderConfiguration());
+        return o;
+    }
+}
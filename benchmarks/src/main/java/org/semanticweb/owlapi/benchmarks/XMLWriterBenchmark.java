@@ -0,0 +1,101 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.io.OWLRendererException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.owlxml.renderer.OWLXMLRenderer;
+import org.semanticweb.owlapi.rdf.rdfxml.renderer.BufferedXMLWriter;
+import org.semanticweb.owlapi.rdf.rdfxml.renderer.RDFXMLRenderer;
+import org.semanticweb.owlapi.rdf.rdfxml.renderer.XMLWriterImpl;
+
+/**
+ * Compares {@link XMLWriterImpl} with {@link BufferedXMLWriter} when saving RDF/XML and OWL/XML.
+ * The {@code ontology} parameter is either a file, by default some of the contract module test
+ * ontologies (paths relative to the benchmarks module), or {@code synthetic} for a generated
+ * ontology with {@code size} classes, e.g. {@code -p ontology=synthetic -p size=200000}.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+public class XMLWriterBenchmark {
+
+    private static final String SYNTHETIC = "synthetic";
+    @Param({"../contract/src/test/resources/pizza.owl",
+        "../contract/src/test/resources/cidoc_crm_v5.0.4_official_release.rdfs.xml",
+        "../contract/src/test/resources/primer.owlxml.xml", SYNTHETIC})
+    public String ontology;
+    @Param({"50000"})
+    public int size;
+    @Param({"false", "true"})
+    public boolean buffered;
+    @Param({"true", "false"})
+    public boolean indenting;
+    private OWLOntology o;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        OWLOntologyManager m = OWLManager.createOWLOntologyManager();
+        m.getOntologyConfigurator().withIndenting(indenting);
+        if (SYNTHETIC.equals(ontology)) {
+            o = synthetic(m, size);
+        } else {
+            o = m.loadOntologyFromOntologyDocument(new File(ontology));
+        }
+    }
+
+    private static OWLOntology synthetic(OWLOntologyManager m, int size)
+        throws OWLOntologyCreationException {
+        OWLDataFactory df = m.getOWLDataFactory();
+        String ns = "http://www.example.org/synthetic#";
+        OWLOntology o = m.createOntology(IRI.create("http://www.example.org/synthetic"));
+        OWLObjectProperty p = df.getOWLObjectProperty(ns, "p");
+        OWLDataProperty d = df.getOWLDataProperty(ns, "d");
+        for (int i = 0; i < size; i++) {
+            OWLClass c = df.getOWLClass(ns, "C" + i);
+            o.add(df.getOWLDeclarationAxiom(c),
+                df.getOWLSubClassOfAxiom(c, df.getOWLClass(ns, "C" + i / 10)),
+                df.getOWLSubClassOfAxiom(c,
+                    df.getOWLObjectSomeValuesFrom(p, df.getOWLClass(ns, "C" + i % 100))),
+                df.getOWLAnnotationAssertionAxiom(c.getIRI(),
+                    df.getRDFSLabel("Class number " + i + " & <friends>")),
+                df.getOWLDataPropertyAssertionAxiom(d, df.getOWLNamedIndividual(ns, "i" + i),
+                    i));
+        }
+        return o;
+    }
+
+    @Benchmark
+    public StringWriter writeRDFXML() {
+        StringWriter out = new StringWriter();
+        new RDFXMLRenderer(o, new PrintWriter(out), new RDFXMLDocumentFormat(), buffered)
+            .render();
+        return out;
+    }
+
+    @Benchmark
+    public StringWriter writeOWLXML() throws OWLRendererException {
+        StringWriter out = new StringWriter();
+        OWLXMLRenderer.render(o, new PrintWriter(out), new OWLXMLDocumentFormat(), buffered);
+        return out;
+    }
+}
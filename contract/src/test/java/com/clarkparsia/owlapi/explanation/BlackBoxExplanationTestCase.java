@@ -0,0 +1,96 @@
+package com.clarkparsia.owlapi.explanation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+@SuppressWarnings("javadoc")
+public class BlackBoxExplanationTestCase extends TestBase {
+
+    private final OWLClass a = df.getOWLClass(iri("A"));
+    private final OWLClass b = df.getOWLClass(iri("B"));
+    private final Set<OWLAxiom> justification = new HashSet<>();
+    private final Set<OWLAxiom> outsideModule = new HashSet<>();
+
+    private OWLOntology ontology() {
+        OWLOntology o = getOWLOntology();
+        justification.add(df.getOWLSubClassOfAxiom(a, b));
+        justification.add(df.getOWLSubClassOfAxiom(b, df.getOWLNothing()));
+        for (int i = 0; i < 10; i++) {
+            // defining axioms for A, outside the star module for its signature
+            outsideModule.add(df.getOWLSubClassOfAxiom(a, df.getOWLObjectAllValuesFrom(
+                df.getOWLObjectProperty(iri("p" + i)), df.getOWLClass(iri("Y" + i)))));
+        }
+        o.add(justification);
+        o.add(outsideModule);
+        return o;
+    }
+
+    private Set<OWLAxiom> explain(ToldSubsumptionReasonerFactory factory, boolean useModules) {
+        OWLOntology o = ontology();
+        // the reasoner for the whole ontology checks axioms outside the module
+        BlackBoxExplanation explanation = new BlackBoxExplanation(o, factory,
+            new ToldSubsumptionReasonerFactory().createNonBufferingReasoner(o), useModules);
+        try {
+            return explanation.getExplanation(a);
+        } finally {
+            explanation.dispose();
+        }
+    }
+
+    @Test
+    public void shouldExpandOnlyWithModuleAxioms() {
+        ToldSubsumptionReasonerFactory withModules = new ToldSubsumptionReasonerFactory();
+        assertEquals(justification, explain(withModules, true));
+        assertFalse(withModules.checkedAxioms.stream().anyMatch(outsideModule::contains));
+        ToldSubsumptionReasonerFactory withoutModules = new ToldSubsumptionReasonerFactory();
+        assertEquals(justification, explain(withoutModules, false));
+        assertTrue(withoutModules.checkedAxioms.containsAll(outsideModule));
+    }
+
+    @Test
+    public void shouldNotUseModulesByDefault() {
+        OWLOntology o = ontology();
+        ToldSubsumptionReasonerFactory factory = new ToldSubsumptionReasonerFactory();
+        BlackBoxExplanation explanation = new BlackBoxExplanation(o, factory,
+            new ToldSubsumptionReasonerFactory().createNonBufferingReasoner(o));
+        assertEquals(justification, explanation.getExplanation(a));
+        explanation.dispose();
+        assertTrue(factory.checkedAxioms.containsAll(outsideModule));
+    }
+
+    @Test
+    public void shouldReuseTheDebuggingReasoner() {
+        OWLOntology o = ontology();
+        ToldSubsumptionReasonerFactory factory = new ToldSubsumptionReasonerFactory();
+        BlackBoxExplanation explanation = new BlackBoxExplanation(o, factory,
+            new ToldSubsumptionReasonerFactory().createNonBufferingReasoner(o), false, m1);
+        List<OWLOntology> ontologies = m.ontologies().collect(Collectors.toList());
+        int expectedCreations = 1;
+        for (OWLClass c : Arrays.asList(a, b)) {
+            Set<OWLAxiom> found = explanation.getExplanation(c);
+            assertTrue(justification.containsAll(found));
+            assertTrue(explanation.getSatisfiabilityCheckCount() > 1);
+            // the first explanation creates the reasoner, the second reuses it
+            assertEquals(expectedCreations, explanation.getReasonerCreationCount());
+            expectedCreations = 0;
+        }
+        assertEquals(1, factory.created.get());
+        // the debugging ontology is in the manager passed in, not in the caller's manager
+        assertEquals(ontologies, m.ontologies().collect(Collectors.toList()));
+        assertEquals(1, m1.ontologies().count());
+        explanation.dispose();
+        assertEquals(0, m1.ontologies().count());
+    }
+}
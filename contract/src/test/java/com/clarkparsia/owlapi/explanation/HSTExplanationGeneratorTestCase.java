@@ -0,0 +1,141 @@
+package com.clarkparsia.owlapi.explanation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+
+@SuppressWarnings("javadoc")
+public class HSTExplanationGeneratorTestCase extends TestBase {
+
+    private final ToldSubsumptionReasonerFactory factory = new ToldSubsumptionReasonerFactory();
+
+    private OWLClass c(String name) {
+        return df.getOWLClass(iri(name));
+    }
+
+    private void sub(OWLOntology o, String sub, String sup) {
+        o.add(df.getOWLSubClassOfAxiom(c(sub), c(sup)));
+    }
+
+    private OWLOntology ontology() {
+        OWLOntology o = getOWLOntology();
+        // three justifications for A being unsatisfiable, plus unrelated axioms
+        sub(o, "A", "B");
+        o.add(df.getOWLSubClassOfAxiom(c("B"), df.getOWLNothing()));
+        sub(o, "A", "C");
+        o.add(df.getOWLSubClassOfAxiom(c("C"), df.getOWLNothing()));
+        sub(o, "A", "D");
+        sub(o, "D", "E");
+        o.add(df.getOWLSubClassOfAxiom(c("E"), df.getOWLNothing()));
+        for (int i = 0; i < 10; i++) {
+            sub(o, "A", "F" + i);
+            sub(o, "F" + i, "G" + i);
+        }
+        return o;
+    }
+
+    private BlackBoxExplanation generator(OWLOntology o) {
+        return new BlackBoxExplanation(o, factory, factory.createNonBufferingReasoner(o));
+    }
+
+    @Test
+    public void shouldFindTheSameExplanationsInParallel() {
+        OWLOntology o = ontology();
+        Set<Set<OWLAxiom>> expected =
+            new HSTExplanationGenerator(generator(o)).getExplanations(c("A"));
+        assertEquals(3, expected.size());
+        Set<Set<OWLAxiom>> actual =
+            new HSTExplanationGenerator(generator(o), new OWLManager(), 4)
+                .getExplanations(c("A"));
+        assertEquals(expected, new HashSet<>(actual));
+        assertEquals(2, new HSTExplanationGenerator(generator(o), new OWLManager(), 4)
+            .getExplanations(c("A"), 2).size());
+        // workers copy only the module of A
+        BlackBoxExplanation withModules =
+            new BlackBoxExplanation(o, factory, factory.createNonBufferingReasoner(o), true);
+        assertEquals(expected, new HashSet<>(
+            new HSTExplanationGenerator(withModules, new OWLManager(), 4).getExplanations(c("A"))));
+        withModules.dispose();
+    }
+
+    @Test
+    public void shouldSearchSequentiallyIfTheGeneratorCannotBeCopied() {
+        OWLOntology o = ontology();
+        Set<Set<OWLAxiom>> expected =
+            new HSTExplanationGenerator(generator(o)).getExplanations(c("A"));
+        Set<Set<OWLAxiom>> actual =
+            new HSTExplanationGenerator(new NotCopyable(generator(o)), new OWLManager(), 4)
+                .getExplanations(c("A"));
+        assertEquals(expected, new HashSet<>(actual));
+    }
+
+    /**
+     * Delegates to another generator, without support for copies.
+     */
+    private static class NotCopyable implements TransactionAwareSingleExpGen {
+
+        private final TransactionAwareSingleExpGen delegate;
+
+        NotCopyable(TransactionAwareSingleExpGen delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public OWLOntologyManager getOntologyManager() {
+            return delegate.getOntologyManager();
+        }
+
+        @Override
+        public OWLOntology getOntology() {
+            return delegate.getOntology();
+        }
+
+        @Override
+        public void dispose() {
+            delegate.dispose();
+        }
+
+        @Override
+        public OWLReasoner getReasoner() {
+            return delegate.getReasoner();
+        }
+
+        @Override
+        public OWLReasonerFactory getReasonerFactory() {
+            return delegate.getReasonerFactory();
+        }
+
+        @Override
+        public Set<OWLAxiom> getExplanation(OWLClassExpression unsatClass) {
+            return delegate.getExplanation(unsatClass);
+        }
+
+        @Override
+        public void beginTransaction() {
+            delegate.beginTransaction();
+        }
+
+        @Override
+        public void endTransaction() {
+            delegate.endTransaction();
+        }
+
+        @Override
+        public TransactionAwareSingleExpGen copy(OWLOntologyManager manager) {
+            fail("copied although copies are not supported");
+            return this;
+        }
+    }
+}
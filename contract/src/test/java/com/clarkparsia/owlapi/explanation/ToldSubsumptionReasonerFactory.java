@@ -0,0 +1,69 @@
+package com.clarkparsia.owlapi.explanation;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.reasoner.BufferingMode;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasoner;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasonerFactory;
+
+/**
+ * Structural reasoners that consider a named class unsatisfiable if owl:Nothing is one of its
+ * told superclasses; counts the reasoners it creates and records the axioms they check.
+ */
+class ToldSubsumptionReasonerFactory extends StructuralReasonerFactory {
+
+    final AtomicInteger created = new AtomicInteger();
+    final Set<OWLAxiom> checkedAxioms = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public OWLReasoner createNonBufferingReasoner(OWLOntology ontology,
+        OWLReasonerConfiguration config) {
+        created.incrementAndGet();
+        return new ToldSubsumptionReasoner(ontology, config, BufferingMode.NON_BUFFERING);
+    }
+
+    @Override
+    public OWLReasoner createReasoner(OWLOntology ontology, OWLReasonerConfiguration config) {
+        created.incrementAndGet();
+        return new ToldSubsumptionReasoner(ontology, config, BufferingMode.BUFFERING);
+    }
+
+    private class ToldSubsumptionReasoner extends StructuralReasoner {
+
+        ToldSubsumptionReasoner(OWLOntology ontology, OWLReasonerConfiguration config,
+            BufferingMode mode) {
+            super(ontology, config, mode);
+        }
+
+        @Override
+        public boolean isSatisfiable(OWLClassExpression ce) {
+            getRootOntology().importsClosure().flatMap(OWLOntology::logicalAxioms)
+                .forEach(checkedAxioms::add);
+            Deque<OWLClassExpression> toVisit = new ArrayDeque<>();
+            Set<OWLClassExpression> visited = new HashSet<>();
+            toVisit.add(ce);
+            while (!toVisit.isEmpty()) {
+                OWLClassExpression c = toVisit.poll();
+                if (c.isOWLNothing()) {
+                    return false;
+                }
+                if (!c.isAnonymous() && visited.add(c)) {
+                    getRootOntology().importsClosure()
+                        .flatMap(o -> o.subClassAxiomsForSubClass(c.asOWLClass()))
+                        .map(OWLSubClassOfAxiom::getSuperClass).forEach(toVisit::add);
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.clarkparsia.owlapi.explanation.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+
+@SuppressWarnings("javadoc")
+public class ModuleCacheTestCase extends TestBase {
+
+    private final OWLClass a = df.getOWLClass(iri("A"));
+    private final OWLClass b = df.getOWLClass(iri("B"));
+    private final OWLClass c = df.getOWLClass(iri("C"));
+    private final OWLAxiom aB = df.getOWLSubClassOfAxiom(a, b);
+    private final OWLAxiom bNothing = df.getOWLSubClassOfAxiom(b, df.getOWLNothing());
+    // top local for the signature of A: not in the star module
+    private final OWLAxiom aAll = df.getOWLSubClassOfAxiom(a, df.getOWLObjectAllValuesFrom(
+        df.getOWLObjectProperty(iri("p")), df.getOWLClass(iri("Y"))));
+    // bottom local for the signature of A: not in the star module
+    private final OWLAxiom xA = df.getOWLSubClassOfAxiom(df.getOWLClass(iri("X")), a);
+    private final Set<OWLEntity> seed = Collections.singleton(a);
+
+    private OWLOntology ontology() {
+        OWLOntology o = getOWLOntology();
+        o.add(aB, bNothing, aAll, xA);
+        return o;
+    }
+
+    @Test
+    public void shouldExtractTheStarModule() {
+        ModuleCache cache = new ModuleCache(ontology());
+        cache.startListening();
+        Set<OWLAxiom> module = cache.getModule(seed);
+        assertEquals(2, module.size());
+        assertTrue(module.contains(aB));
+        assertTrue(module.contains(bNothing));
+        assertSame(module, cache.getModule(seed));
+        cache.dispose();
+    }
+
+    @Test
+    public void shouldDropModulesWhenTheOntologyChanges() {
+        OWLOntology o = ontology();
+        ModuleCache cache = new ModuleCache(o);
+        cache.startListening();
+        Set<OWLAxiom> module = cache.getModule(seed);
+        OWLAxiom aC = df.getOWLSubClassOfAxiom(a, c);
+        o.add(aC);
+        assertTrue(cache.getModule(seed).contains(aC));
+        assertFalse(module.contains(aC));
+        cache.dispose();
+    }
+
+    @Test
+    public void shouldIgnoreChangesWhileFrozen() {
+        OWLOntology o = ontology();
+        ModuleCache cache = new ModuleCache(o);
+        cache.startListening();
+        Set<OWLAxiom> module = cache.getModule(seed);
+        cache.freeze();
+        o.remove(bNothing);
+        assertSame(module, cache.getModule(seed));
+        o.add(bNothing);
+        cache.unfreeze();
+        assertSame(module, cache.getModule(seed));
+        cache.dispose();
+    }
+
+    @Test
+    public void shouldListenOnlyBetweenStartAndStop() {
+        OWLOntology o = ontology();
+        AtomicInteger notified = new AtomicInteger();
+        ModuleCache cache = new ModuleCache(o) {
+
+            @Override
+            public synchronized void ontologiesChanged(
+                List<? extends OWLOntologyChange> changes) {
+                notified.incrementAndGet();
+                super.ontologiesChanged(changes);
+            }
+        };
+        o.remove(xA);
+        assertEquals(0, notified.get());
+        cache.startListening();
+        cache.startListening();
+        Set<OWLAxiom> module = cache.getModule(seed);
+        cache.stopListening();
+        // still listening: the calls are nested
+        assertSame(module, cache.getModule(seed));
+        o.add(xA);
+        assertEquals(1, notified.get());
+        cache.stopListening();
+        o.remove(xA);
+        assertEquals(1, notified.get());
+        // changes are not tracked, so the module is extracted again
+        Set<OWLAxiom> extracted = cache.getModule(seed);
+        assertEquals(module, extracted);
+        assertNotSame(module, extracted);
+    }
+}
@@ -28,6 +28,8 @@ import org.semanticweb.owlapi.formats.KRSS2DocumentFormat;
 import org.semanticweb.owlapi.formats.KRSSDocumentFormat;
 import org.semanticweb.owlapi.formats.LatexDocumentFormat;
 import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.NQuadsSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.NTriplesSyntaxDocumentFormat;
 import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
 import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
 import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
@@ -54,6 +56,10 @@ import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.owlxml.parser.OWLXMLParserFactory;
 import org.semanticweb.owlapi.owlxml.renderer.OWLXMLStorerFactory;
+import org.semanticweb.owlapi.rdf.ntriples.parser.NQuadsOntologyParserFactory;
+import org.semanticweb.owlapi.rdf.ntriples.parser.NTriplesOntologyParserFactory;
+import org.semanticweb.owlapi.rdf.ntriples.renderer.NQuadsStorerFactory;
+import org.semanticweb.owlapi.rdf.ntriples.renderer.NTriplesStorerFactory;
 import org.semanticweb.owlapi.rdf.rdfxml.parser.RDFXMLParserFactory;
 import org.semanticweb.owlapi.rdf.rdfxml.renderer.RDFXMLStorerFactory;
 import org.semanticweb.owlapi.rdf.turtle.parser.TurtleOntologyParserFactory;
@@ -172,6 +178,24 @@ public class ParsersStorersTestCase extends TestBase {
             true);
     }
 
+    @Test
+    public void testBufferedTurtle() throws Exception {
+        test(new TurtleStorerFactory(), new TurtleOntologyParserFactory(true),
+            new TurtleDocumentFormat(), true, true, true, true);
+    }
+
+    @Test
+    public void testNTriples() throws Exception {
+        test(new NTriplesStorerFactory(), new NTriplesOntologyParserFactory(),
+            new NTriplesSyntaxDocumentFormat(), true, true, true, true);
+    }
+
+    @Test
+    public void testNQuads() throws Exception {
+        test(new NQuadsStorerFactory(), new NQuadsOntologyParserFactory(),
+            new NQuadsSyntaxDocumentFormat(), true, true, true, true);
+    }
+
     @Test
     public void testFSS() throws Exception {
         test(new FunctionalSyntaxStorerFactory(), new OWLFunctionalSyntaxOWLParserFactory(),
@@ -184,12 +208,30 @@ public class ParsersStorersTestCase extends TestBase {
             true, true, true);
     }
 
+    @Test
+    public void testOWLXMLStreaming() throws Exception {
+        test(new OWLXMLStorerFactory(), new OWLXMLParserFactory(true), new OWLXMLDocumentFormat(),
+            true, true, true, true);
+    }
+
+    @Test
+    public void testOWLXMLBuffered() throws Exception {
+        test(new OWLXMLStorerFactory(true), new OWLXMLParserFactory(), new OWLXMLDocumentFormat(),
+            true, true, true, true);
+    }
+
     @Test
     public void testRDFXML() throws Exception {
         test(new RDFXMLStorerFactory(), new RDFXMLParserFactory(), new RDFXMLDocumentFormat(), true,
             true, true, true);
     }
 
+    @Test
+    public void testRDFXMLBuffered() throws Exception {
+        test(new RDFXMLStorerFactory(true), new RDFXMLParserFactory(), new RDFXMLDocumentFormat(),
+            true, true, true, true);
+    }
+
     @Test
     public void testDLSyntax() throws Exception {
         // XXX at some point roundtripping should be supported
@@ -0,0 +1,74 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import uk.ac.manchester.cs.owl.owlapi.OWLOntologyFactoryImpl;
+import uk.ac.manchester.cs.owl.owlapi.OWLOntologyImpl;
+
+@SuppressWarnings("javadoc")
+public class OrderedIndexesTestCase extends TestBase {
+
+    private static <T extends Comparable<? super T>> void assertSorted(Stream<T> stream) {
+        List<T> list = asList(stream);
+        List<T> sorted = new ArrayList<>(list);
+        Collections.sort(sorted);
+        assertEquals(sorted, list);
+    }
+
+    private static String functional(OWLOntology o) throws OWLOntologyStorageException {
+        StringDocumentTarget target = new StringDocumentTarget();
+        o.saveOntology(new FunctionalSyntaxDocumentFormat(), target);
+        return target.toString();
+    }
+
+    @Test
+    public void shouldStreamSortedAxiomsFromOrderedIndexes()
+        throws OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntologyManager manager = setupManager();
+        manager.getOntologyFactories().set(
+            new OWLOntologyFactoryImpl((om, id) -> new OWLOntologyImpl(om, id, true)));
+        OWLOntology ordered = manager.createOntology(iri("ordered"));
+        OWLOntology hashed = m.createOntology(iri("ordered"));
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        OWLClass a = df.getOWLClass(iri("A"));
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int i = 50; i > 0; i--) {
+            OWLClass c = df.getOWLClass(iri("C" + i));
+            axioms.add(df.getOWLDeclarationAxiom(c));
+            axioms.add(df.getOWLSubClassOfAxiom(c, df.getOWLObjectSomeValuesFrom(p, a)));
+            axioms.add(df.getOWLSubClassOfAxiom(a, df.getOWLObjectAllValuesFrom(p, c)));
+            axioms.add(df.getOWLAnnotationAssertionAxiom(c.getIRI(), df.getRDFSLabel("c" + i)));
+        }
+        ordered.add(axioms);
+        hashed.add(axioms);
+        ordered.remove(axioms.subList(0, 20));
+        hashed.remove(axioms.subList(0, 20));
+        assertEquals(asUnorderedSet(hashed.axioms()), asUnorderedSet(ordered.axioms()));
+        assertSorted(ordered.axioms());
+        assertSorted(ordered.axioms(AxiomType.SUBCLASS_OF));
+        assertSorted(ordered.subClassAxiomsForSubClass(a));
+        assertSorted(ordered.referencingAxioms(p));
+        assertSorted(ordered.classesInSignature());
+        assertTrue(ordered.containsAxiom(axioms.get(20)));
+        assertEquals(functional(hashed), functional(ordered));
+    }
+}
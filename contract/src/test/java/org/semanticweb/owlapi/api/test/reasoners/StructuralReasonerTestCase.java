@@ -13,9 +13,12 @@
 package org.semanticweb.owlapi.api.test.reasoners;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.EquivalentClasses;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.OWLNothing;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.OWLThing;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
@@ -23,9 +26,11 @@ import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubCl
 import org.junit.Test;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
 import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.reasoner.BufferingMode;
+import org.semanticweb.owlapi.reasoner.InferenceType;
 import org.semanticweb.owlapi.reasoner.Node;
 import org.semanticweb.owlapi.reasoner.NodeSet;
 import org.semanticweb.owlapi.reasoner.SimpleConfiguration;
@@ -90,4 +95,32 @@ public class StructuralReasonerTestCase extends TestBase {
         ont.remove(SubClassOf(clsA, OWLThing()));
         testClassHierarchy(reasoner);
     }
+
+    @Test
+    public void testInstancesIndexUpdatedOnFlush() {
+        OWLClass clsA = Class(iri("A"));
+        OWLClass clsB = Class(iri("B"));
+        OWLNamedIndividual a = NamedIndividual(iri("a"));
+        OWLNamedIndividual b = NamedIndividual(iri("b"));
+        OWLOntology ont = getOWLOntology();
+        ont.add(SubClassOf(clsB, clsA), ClassAssertion(clsA, a), ClassAssertion(clsB, b));
+        StructuralReasoner reasoner = new StructuralReasoner(ont, new SimpleConfiguration(),
+            BufferingMode.BUFFERING);
+        reasoner.precomputeInferences(InferenceType.CLASS_ASSERTIONS);
+        assertTrue(reasoner.isPrecomputed(InferenceType.CLASS_ASSERTIONS));
+        assertEquals(1, reasoner.getInstances(clsA, true).nodes().count());
+        assertTrue(reasoner.getInstances(clsA, true).containsEntity(a));
+        assertEquals(2, reasoner.getInstances(clsA, false).nodes().count());
+        assertTrue(reasoner.getTypes(b, true).containsEntity(clsB));
+        assertTrue(reasoner.getTypes(b, false).containsEntity(clsA));
+        ont.remove(ClassAssertion(clsB, b));
+        ont.add(ClassAssertion(clsB, a));
+        // buffered changes are not visible until flushed
+        assertTrue(reasoner.getInstances(clsB, true).containsEntity(b));
+        reasoner.flush();
+        assertFalse(reasoner.getInstances(clsB, true).containsEntity(b));
+        assertTrue(reasoner.getInstances(clsB, true).containsEntity(a));
+        assertEquals(1, reasoner.getInstances(clsA, false).nodes().count());
+        assertTrue(reasoner.getTypes(b, false).isEmpty());
+    }
 }
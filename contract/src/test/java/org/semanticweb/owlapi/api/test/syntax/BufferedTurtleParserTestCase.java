@@ -0,0 +1,71 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.rdf.turtle.parser.TurtleOntologyParser;
+
+@SuppressWarnings("javadoc")
+public class BufferedTurtleParserTestCase extends TestBase {
+
+    private static final String INPUT = "@prefix : <urn:test#> .\n"
+        + "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+        + "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n"
+        + "# comment\n"
+        + ":p a owl:ObjectProperty . :d a owl:DatatypeProperty .\n"
+        + ":A a owl:Class ; rdfs:subClassOf [ a owl:Restriction ; owl:onProperty :p ;\n"
+        + "    owl:someValuesFrom [ a owl:Class ; owl:unionOf ( :B :C ) ] ] ;\n"
+        + "  rdfs:label \"\"\"multi \"line\"\n label\"\"\"@en, 'single' ;\n"
+        + "  rdfs:comment 12, 1.5, 2e3, true .\n"
+        + ":B a owl:Class . :C a owl:Class .\n"
+        + ":x :d \"5\"^^<http://www.w3.org/2001/XMLSchema#int> .\n";
+
+    private OWLOntology parse(boolean buffered, String input) {
+        OWLOntology o = getAnonymousOWLOntology();
+        new TurtleOntologyParser(buffered).parse(new StringDocumentSource(input), o,
+            new OWLOntologyLoaderConfiguration());
+        return o;
+    }
+
+    @Test
+    public void shouldParseSameAxiomsAsGeneratedParser() {
+        OWLOntology expected = parse(false, INPUT);
+        OWLOntology actual = parse(true, INPUT);
+        assertEquals(13, actual.getAxiomCount());
+        assertTrue(equal(expected, actual));
+    }
+
+    @Test
+    public void shouldUnescapeLiteralsAndIRIs() {
+        OWLOntology o = parse(true, "<urn:test#B\\u0020C> "
+            + "<http://www.w3.org/2000/01/rdf-schema#label> \"a\\nb\\t\\\"c\\\" \\\\ \\u00E9\" .");
+        assertTrue(o.containsAxiom(df.getOWLAnnotationAssertionAxiom(IRI.create("urn:test#B C"),
+            df.getRDFSLabel(df.getOWLLiteral("a\nb\t\"c\" \\ \u00E9")))));
+    }
+
+    @Test
+    public void shouldReportLineOfMalformedStatement() {
+        try {
+            parse(true, INPUT + ":x :d \"x\" ;\n ; .\n:x :d .");
+            fail("malformed statement accepted");
+        } catch (OWLParserException e) {
+            assertEquals(15, e.getLineNumber());
+        }
+    }
+
+    @Test
+    public void shouldResolveRelativeBaseAgainstCurrentBase() {
+        OWLOntology o = parse(true, "@base <http://example.org/a/> .\n@base <b/> .\n"
+            + "<C> a <http://www.w3.org/2002/07/owl#Class> .");
+        assertTrue(o.containsAxiom(
+            df.getOWLDeclarationAxiom(df.getOWLClass(IRI.create("http://example.org/a/b/C")))));
+    }
+}
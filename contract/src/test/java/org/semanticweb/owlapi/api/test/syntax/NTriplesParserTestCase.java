@@ -0,0 +1,97 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.NTriplesDocumentFormat;
+import org.semanticweb.owlapi.formats.NTriplesSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.io.OWLParserFactory;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.rdf.ntriples.parser.NTriplesOntologyParser;
+import org.semanticweb.owlapi.rdf.ntriples.parser.NTriplesOntologyParserFactory;
+
+@SuppressWarnings("javadoc")
+public class NTriplesParserTestCase extends TestBase {
+
+    private static final String LABEL = "<http://www.w3.org/2000/01/rdf-schema#label>";
+    private static final String TYPE = "<http://www.w3.org/1999/02/22-rdf-syntax-ns#type>";
+    private static final String CLASS = "<http://www.w3.org/2002/07/owl#Class>";
+    private static final String INPUT = "# comment\n\n<urn:test#A> " + TYPE + ' ' + CLASS + " .\r\n"
+        + "<urn:test#A> " + LABEL + " \"a\\nb\\r\\t\\\"c\\\" \\\\ \\u00E9\"@en . # comment\r"
+        + "<urn:test#B\\u0020C> " + TYPE + ' ' + CLASS + ".\n"
+        + "_:x " + TYPE + ' ' + CLASS + " .\n"
+        + "<urn:test#B\\u0020C> " + LABEL
+        + " \"1\"^^<http://www.w3.org/2001/XMLSchema#integer> .";
+
+    private static final IRI A = IRI.create("urn:test#A");
+    private static final IRI B = IRI.create("urn:test#B C");
+
+    private OWLOntology parse(NTriplesOntologyParser parser, String input) {
+        OWLOntology o = getAnonymousOWLOntology();
+        parser.parse(new StringDocumentSource(input), o, new OWLOntologyLoaderConfiguration());
+        return o;
+    }
+
+    @Test
+    public void shouldUnescapeLiteralsAndIRIs() throws OWLOntologyCreationException {
+        // the native parser is opt-in
+        m.getOntologyParsers().add(new NTriplesOntologyParserFactory());
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new StringDocumentSource(INPUT,
+            IRI.generateDocumentIRI(), new NTriplesSyntaxDocumentFormat(), null));
+        assertTrue(o.getFormat() instanceof NTriplesSyntaxDocumentFormat);
+        assertTrue(o.containsAxiom(df.getOWLDeclarationAxiom(df.getOWLClass(B))));
+        assertTrue(o.containsAxiom(df.getOWLAnnotationAssertionAxiom(A,
+            df.getRDFSLabel(df.getOWLLiteral("a\nb\r\t\"c\" \\ \u00E9", "en")))));
+        assertTrue(o.containsAxiom(df.getOWLAnnotationAssertionAxiom(df.getRDFSLabel(), B,
+            df.getOWLLiteral(1))));
+    }
+
+    @Test
+    public void shouldParseSameAxiomsInParallel() {
+        // urn:test#B C is not a valid URI, so the axioms are compared without equal(), which
+        // converts IRIs to URIs
+        OWLOntology expected = parse(new NTriplesOntologyParser(), INPUT);
+        assertTrue(expected.containsEntityInSignature(B));
+        for (int chunkSize : new int[] {1, 20, 100}) {
+            OWLOntology actual =
+                parse(new NTriplesOntologyParser(ForkJoinPool.commonPool(), chunkSize), INPUT);
+            assertEquals(asUnorderedSet(expected.axioms()), asUnorderedSet(actual.axioms()));
+        }
+    }
+
+    @Test
+    public void shouldReportLineOfMalformedStatement() {
+        String input = INPUT + "\n<urn:test#A> " + LABEL + " \"x\" ;\n";
+        for (NTriplesOntologyParser parser : new NTriplesOntologyParser[] {
+            new NTriplesOntologyParser(), new NTriplesOntologyParser(ForkJoinPool.commonPool(), 30)}) {
+            try {
+                parse(parser, input);
+                fail("malformed statement accepted");
+            } catch (OWLParserException e) {
+                assertEquals(8, e.getLineNumber());
+            }
+        }
+    }
+
+    @Test
+    public void shouldLeaveRioNTriplesToRio() throws OWLOntologyCreationException {
+        for (OWLParserFactory factory : m.getOntologyParsers()) {
+            assertFalse(factory instanceof NTriplesOntologyParserFactory);
+        }
+        String input = "<urn:test#A> " + TYPE + ' ' + CLASS + " .\n";
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new StringDocumentSource(input,
+            IRI.generateDocumentIRI(), new NTriplesDocumentFormat(), null));
+        assertTrue(o.getFormat() instanceof NTriplesDocumentFormat);
+    }
+}
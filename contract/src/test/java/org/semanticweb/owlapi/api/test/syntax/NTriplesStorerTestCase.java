@@ -0,0 +1,77 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.NQuadsDocumentFormat;
+import org.semanticweb.owlapi.formats.NQuadsSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.NTriplesDocumentFormat;
+import org.semanticweb.owlapi.formats.NTriplesSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.model.OWLStorerFactory;
+import org.semanticweb.owlapi.rdf.ntriples.renderer.NQuadsStorerFactory;
+import org.semanticweb.owlapi.rdf.ntriples.renderer.NTriplesStorer;
+import org.semanticweb.owlapi.rdf.ntriples.renderer.NTriplesStorerFactory;
+
+@SuppressWarnings("javadoc")
+public class NTriplesStorerTestCase extends TestBase {
+
+    @Before
+    public void setUpStorers() {
+        m.getOntologyStorers().add(new NTriplesStorerFactory(), new NQuadsStorerFactory());
+    }
+
+    private OWLOntology ontology() {
+        OWLOntology o = getOWLOntology();
+        OWLNamedIndividual x = df.getOWLNamedIndividual(iri("x"));
+        OWLClass b = df.getOWLClass(iri("B"));
+        OWLClass c = df.getOWLClass(iri("C"));
+        o.add(df.getOWLDeclarationAxiom(x), df.getOWLDeclarationAxiom(b),
+            df.getOWLDeclarationAxiom(c));
+        for (int i = 0; i < 10; i++) {
+            OWLClass a = df.getOWLClass(iri("A" + i));
+            o.add(df.getOWLDeclarationAxiom(a),
+                df.getOWLSubClassOfAxiom(a,
+                    df.getOWLObjectUnionOf(b, df.getOWLObjectComplementOf(c))),
+                df.getOWLAnnotationAssertionAxiom(a.getIRI(),
+                    df.getRDFSLabel(df.getOWLLiteral("a \"quoted\" \\ label " + i, "en"))),
+                df.getOWLClassAssertionAxiom(a, x));
+        }
+        return o;
+    }
+
+    @Test
+    public void shouldRoundTripNTriples() throws OWLOntologyStorageException {
+        OWLOntology o = ontology();
+        String triples = saveOntology(o, new NTriplesSyntaxDocumentFormat()).toString();
+        assertTrue(triples.contains("\"a \\\"quoted\\\" \\\\ label 0\"@en"));
+        assertTrue(equal(o, loadOntologyFromString(triples, new TurtleDocumentFormat())));
+    }
+
+    @Test
+    public void shouldWriteOntologyIRIAsGraph() throws OWLOntologyStorageException {
+        OWLOntology o = ontology();
+        String graph = " <" + o.getOntologyID().getOntologyIRI().get() + "> .";
+        for (String line : saveOntology(o, new NQuadsSyntaxDocumentFormat()).toString()
+            .split("\n")) {
+            assertTrue(line, line.endsWith(graph));
+        }
+    }
+
+    @Test
+    public void shouldLeaveRioFormatsToRio() {
+        NTriplesStorer storer = new NTriplesStorer();
+        assertFalse(storer.canStoreOntology(new NTriplesDocumentFormat()));
+        assertFalse(storer.canStoreOntology(new NQuadsDocumentFormat()));
+        for (OWLStorerFactory factory : setupManager().getOntologyStorers()) {
+            assertFalse(factory instanceof NTriplesStorerFactory);
+        }
+    }
+}
@@ -8,13 +8,16 @@ import java.io.File;
 import org.junit.Test;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
 import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.owlxml.parser.OWLXMLParser;
 
 @SuppressWarnings("javadoc")
 public class OWLXMLTestCase extends TestBase {
@@ -71,4 +74,19 @@ public class OWLXMLTestCase extends TestBase {
         assertTrue(out, out.contains("<Variable IRI=\"urn:swrl:var#y\"/>"));
     }
 
+    @Test
+    public void shouldParseSameAxiomsWithStax() throws OWLOntologyCreationException {
+        for (String name : new String[] {"owlxml_anonloop.owx", "primer.owlxml.xml"}) {
+            FileDocumentSource source = new FileDocumentSource(new File(RESOURCES, name));
+            OWLOntology sax = m.createOntology();
+            OWLOntology stax = m1.createOntology();
+            OWLDocumentFormat saxFormat = new OWLXMLParser().parse(source, sax, config);
+            OWLDocumentFormat staxFormat = new OWLXMLParser(true).parse(source, stax, config);
+            assertTrue(name, stax.getAxiomCount() > 0);
+            assertTrue(name, equal(sax, stax));
+            assertEquals(name, saxFormat.asPrefixOWLDocumentFormat().getPrefixName2PrefixMap(),
+                staxFormat.asPrefixOWLDocumentFormat().getPrefixName2PrefixMap());
+        }
+    }
+
 }
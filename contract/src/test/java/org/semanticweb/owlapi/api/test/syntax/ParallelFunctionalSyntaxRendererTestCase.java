@@ -0,0 +1,76 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.api.test.syntax.ParallelRendering.assertSameOutputInParallel;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.functional.renderer.FunctionalSyntaxStorer;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+@SuppressWarnings("javadoc")
+public class ParallelFunctionalSyntaxRendererTestCase extends TestBase {
+
+    @Test
+    public void shouldRenderTheSameOutputInParallel() throws OWLOntologyStorageException {
+        OWLOntology o = getOWLOntology();
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        for (int i = 0; i < 40; i++) {
+            OWLClass a = df.getOWLClass(iri("A" + i));
+            OWLClass b = df.getOWLClass(iri("B" + i % 5));
+            OWLNamedIndividual x = df.getOWLNamedIndividual(iri("A" + i));
+            o.add(df.getOWLSubClassOfAxiom(a, df.getOWLObjectSomeValuesFrom(p, b)),
+                df.getOWLDisjointClassesAxiom(a, b), df.getOWLClassAssertionAxiom(a, x),
+                df.getOWLAnnotationAssertionAxiom(a.getIRI(), df.getRDFSLabel("a" + i)));
+            if (i % 3 == 0) {
+                o.add(df.getOWLDeclarationAxiom(a), df.getOWLDisjointClassesAxiom(a, b,
+                    df.getOWLClass(iri("A" + (i + 1)))));
+            }
+        }
+        o.add(df.getOWLSubClassOfAxiom(df.getOWLObjectSomeValuesFrom(p, df.getOWLThing()),
+            df.getOWLClass(iri("B0"))));
+        assertSameOutputInParallel(o, new FunctionalSyntaxDocumentFormat(),
+            FunctionalSyntaxStorer::new, 1, 7, 1000);
+    }
+
+    private static IRI c(int i) {
+        return iri(String.format("C%02d", i));
+    }
+
+    @Test
+    public void shouldKeepTheSectionOrderAcrossChunkBoundaries()
+        throws OWLOntologyStorageException {
+        OWLOntology o = getOWLOntology();
+        // C00 to C03 have no class section, so the banner is written by a later chunk
+        for (int i = 0; i < 4; i++) {
+            o.add(df.getOWLClassAssertionAxiom(df.getOWLClass(c(i)),
+                df.getOWLNamedIndividual(iri("x" + i))));
+        }
+        // each axiom of the chain belongs to two sections, and is written in the first one, so
+        // the axioms of the first section of a chunk depend on the last section of the chunk
+        // before it
+        for (int i = 4; i < 12; i++) {
+            o.add(df.getOWLDisjointClassesAxiom(df.getOWLClass(c(i)), df.getOWLClass(c(i + 1))));
+        }
+        String output = assertSameOutputInParallel(o, new FunctionalSyntaxDocumentFormat(),
+            FunctionalSyntaxStorer::new, 1, 2, 3, 5);
+        assertEquals(output, output.indexOf("#   Classes"), output.lastIndexOf("#   Classes"));
+        int previous = output.indexOf("#   Classes");
+        for (int i = 4; i < 12; i++) {
+            int section = output.indexOf("# Class: " + c(i).toQuotedString());
+            String axiom =
+                "DisjointClasses(" + c(i).toQuotedString() + ' ' + c(i + 1).toQuotedString() + ')';
+            assertTrue(output, previous < section);
+            assertTrue(output, section < output.indexOf(axiom));
+            assertEquals(output, output.indexOf(axiom), output.lastIndexOf(axiom));
+            previous = output.indexOf(axiom);
+        }
+    }
+}
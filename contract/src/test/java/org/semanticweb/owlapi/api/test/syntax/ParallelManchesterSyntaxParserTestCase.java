@@ -0,0 +1,150 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.manchestersyntax.parser.ManchesterOWLSyntaxParserImpl;
+import org.semanticweb.owlapi.manchestersyntax.renderer.ParserException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OntologyConfigurator;
+
+@SuppressWarnings("javadoc")
+public class ParallelManchesterSyntaxParserTestCase extends TestBase {
+
+    private static String document() {
+        StringBuilder b = new StringBuilder();
+        b.append("Prefix: : <http://owlapi.sourceforge.net/parallel#>\n");
+        b.append("ObjectProperty: p\nDataProperty: d\n");
+        for (int i = 0; i < 5; i++) {
+            b.append("Class: B").append(i).append('\n');
+        }
+        for (int i = 0; i < 30; i++) {
+            b.append("Class: A").append(i).append("\n    SubClassOf: p some (B").append(i % 5)
+                .append(" and A").append((i + 1) % 30).append("), d value ").append(i)
+                .append("\nIndividual: x").append(i).append("\n    Types: A").append(i)
+                .append("\n    Facts: p _:n").append(i % 4).append('\n');
+            if (i % 3 == 0) {
+                b.append("DisjointClasses: A").append(i).append(", B").append(i % 5).append('\n');
+            }
+        }
+        return b.toString();
+    }
+
+    private OWLOntology parse(String text, @Nullable ForkJoinPool pool, int chunkSize,
+        int expectedCopies) {
+        CountingParser parser = new CountingParser(df);
+        parser.setParallel(pool, chunkSize);
+        parser.setStringToParse(text);
+        OWLOntology o = getOWLOntology();
+        parser.parseOntology(o);
+        assertEquals(expectedCopies, parser.copies.get());
+        return o;
+    }
+
+    @Test
+    public void shouldParseTheSameFramesInParallel() {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        String text = document();
+        OWLOntology expected = parse(text, null, 1, 0);
+        // 67 frames: one parser for each chunk, none if there is a single chunk
+        int[][] chunkSizes = {{1, 67}, {7, 10}, {1000, 0}};
+        for (int[] chunkSize : chunkSizes) {
+            OWLOntology actual = parse(text, pool, chunkSize[0], chunkSize[1]);
+            assertTrue(equal(expected, actual));
+            assertEquals(4, actual.referencedAnonymousIndividuals().count());
+        }
+    }
+
+    @Test
+    public void shouldParseSequentiallyWhenFramesCannotBeSplit() {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        // prefixes, imports and ontology headers after the first frame change the following
+        // frames; no chunk parser is created
+        String prefixed = document() + "Prefix: q: <urn:q#>\nClass: q:C\n";
+        OWLOntology o = parse(prefixed, pool, 1, 0);
+        assertTrue(equal(parse(prefixed, null, 1, 0), o));
+        assertTrue(o.containsClassInSignature(IRI.create("urn:q#C")));
+        String header = document() + "Ontology:\nClass: C\n";
+        assertTrue(equal(parse(header, null, 1, 0), parse(header, pool, 1, 0)));
+        // no more frames than the chunk size
+        String text = document();
+        assertTrue(equal(parse(text, null, 1, 0), parse(text, pool, 1000, 0)));
+    }
+
+    @Test
+    public void shouldReportTheErrorPositionInParallel() {
+        // E is not declared; the error is in the middle of a chunk
+        String text = document().replace("Class: A20\n", "Class: A20\n    SubClassOf: p some E\n");
+        assertSameError(text);
+        // errors in two chunks: the first one in document order is reported
+        assertSameError(text.replace("Class: A5\n", "Class: A5\n    SubClassOf: p some F\n"));
+    }
+
+    private void assertSameError(String text) {
+        ParserException expected = parseError(text, null);
+        ParserException actual = parseError(text, ForkJoinPool.commonPool());
+        assertEquals(expected.getCurrentToken(), actual.getCurrentToken());
+        assertEquals(expected.getStartPos(), actual.getStartPos());
+        assertEquals(expected.getLineNumber(), actual.getLineNumber());
+        assertEquals(expected.getColumnNumber(), actual.getColumnNumber());
+    }
+
+    private ParserException parseError(String text, @Nullable ForkJoinPool pool) {
+        CountingParser parser = new CountingParser(df);
+        parser.setParallel(pool, 3);
+        parser.setStringToParse(text);
+        try {
+            parser.parseOntology(getOWLOntology());
+        } catch (ParserException e) {
+            // the error comes from a chunk parser, not from parsing again sequentially
+            assertEquals(pool != null, parser.copies.get() > 0);
+            return e;
+        }
+        fail("Expected a parser exception");
+        return null;
+    }
+
+    @Test
+    public void shouldNotParseAgainAfterOtherExceptions() {
+        ManchesterOWLSyntaxParserImpl parser =
+            new ManchesterOWLSyntaxParserImpl(new OntologyConfigurator(), df) {
+
+                @Override
+                protected ManchesterOWLSyntaxParserImpl createParser() {
+                    throw new IllegalStateException("chunk parser");
+                }
+            };
+        parser.setParallel(ForkJoinPool.commonPool(), 3);
+        parser.setStringToParse(document());
+        OWLOntology o = getOWLOntology();
+        try {
+            parser.parseOntology(o);
+            fail("Expected the exception of the chunk parser");
+        } catch (IllegalStateException e) {
+            assertEquals(0, o.getAxiomCount());
+        }
+    }
+
+    private static class CountingParser extends ManchesterOWLSyntaxParserImpl {
+
+        final AtomicInteger copies = new AtomicInteger();
+
+        CountingParser(OWLDataFactory df) {
+            super(new OntologyConfigurator(), df);
+        }
+
+        @Override
+        protected ManchesterOWLSyntaxParserImpl createParser() {
+            copies.incrementAndGet();
+            return super.createParser();
+        }
+    }
+}
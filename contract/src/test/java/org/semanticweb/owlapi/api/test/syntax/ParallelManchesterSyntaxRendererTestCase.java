@@ -0,0 +1,75 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.api.test.syntax.ParallelRendering.assertSameOutputInParallel;
+
+import java.io.StringWriter;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.OWLRendererException;
+import org.semanticweb.owlapi.manchestersyntax.renderer.ManchesterOWLSyntaxFrameRenderer;
+import org.semanticweb.owlapi.manchestersyntax.renderer.ManchesterOWLSyntaxPrefixNameShortFormProvider;
+import org.semanticweb.owlapi.manchestersyntax.renderer.ManchesterSyntaxStorer;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.util.CachingShortFormProvider;
+
+@SuppressWarnings("javadoc")
+public class ParallelManchesterSyntaxRendererTestCase extends TestBase {
+
+    private static ManchesterSyntaxDocumentFormat prefixedFormat() {
+        ManchesterSyntaxDocumentFormat format = new ManchesterSyntaxDocumentFormat();
+        format.setPrefix("ex:", uriBase + '#');
+        return format;
+    }
+
+    @Test
+    public void shouldRenderTheSameFramesInParallel() throws OWLOntologyStorageException {
+        OWLOntology o = getOWLOntology();
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        OWLAnonymousIndividual anon = df.getOWLAnonymousIndividual();
+        for (int i = 0; i < 40; i++) {
+            OWLClass a = df.getOWLClass(iri("A" + i));
+            OWLClass b = df.getOWLClass(iri("B" + i % 5));
+            OWLNamedIndividual x = df.getOWLNamedIndividual(iri("x" + i % 7));
+            o.add(df.getOWLSubClassOfAxiom(a, df.getOWLObjectSomeValuesFrom(p,
+                df.getOWLObjectIntersectionOf(b, df.getOWLClass(iri("A" + (i + 1) % 40))))),
+                df.getOWLDisjointClassesAxiom(a, b), df.getOWLClassAssertionAxiom(a, x),
+                df.getOWLAnnotationAssertionAxiom(a.getIRI(), df.getRDFSLabel("a\n" + i)));
+        }
+        // frames for anonymous individuals and general axioms follow the entity frames
+        o.add(df.getOWLObjectPropertyAssertionAxiom(p, anon, df.getOWLNamedIndividual(iri("x0"))),
+            df.getOWLInverseFunctionalObjectPropertyAxiom(df.getOWLObjectInverseOf(p)));
+        String expected = assertSameOutputInParallel(o, prefixedFormat(),
+            ManchesterSyntaxStorer::new, 1, 7, 1000);
+        assertTrue(expected, expected.contains("Prefix: ex: <" + uriBase + "#>"));
+        assertTrue(expected, expected.contains("Class: ex:A0"));
+    }
+
+    @Test
+    public void shouldWritePrefixesOfAWrappedProvider() throws OWLRendererException {
+        OWLOntology o = getOWLOntology();
+        o.add(df.getOWLDeclarationAxiom(df.getOWLClass(iri("A"))));
+        ManchesterOWLSyntaxPrefixNameShortFormProvider prefixes =
+            new ManchesterOWLSyntaxPrefixNameShortFormProvider(prefixedFormat());
+        StringWriter plain = new StringWriter();
+        new ManchesterOWLSyntaxFrameRenderer(o, plain, prefixes).writeOntology();
+        StringWriter unset = new StringWriter();
+        new ManchesterOWLSyntaxFrameRenderer(o, unset, new CachingShortFormProvider(prefixes))
+            .writeOntology();
+        assertFalse(unset.toString(), unset.toString().contains("Prefix:"));
+        StringWriter wrapped = new StringWriter();
+        ManchesterOWLSyntaxFrameRenderer renderer = new ManchesterOWLSyntaxFrameRenderer(o,
+            wrapped, new CachingShortFormProvider(prefixes));
+        renderer.setPrefixes(prefixes);
+        renderer.writeOntology();
+        assertEquals(plain.toString(), wrapped.toString());
+    }
+}
@@ -0,0 +1,50 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.util.AbstractOWLStorer;
+
+/**
+ * Comparison of the output of storers rendering in parallel with their sequential output.
+ */
+final class ParallelRendering {
+
+    private ParallelRendering() {}
+
+    static String store(OWLOntology o, AbstractOWLStorer storer, OWLDocumentFormat format)
+        throws OWLOntologyStorageException {
+        StringDocumentTarget target = new StringDocumentTarget();
+        storer.storeOntology(o, target, format);
+        return target.toString();
+    }
+
+    /**
+     * @param o ontology to store
+     * @param format format to store in
+     * @param storers creates a storer from a pool, or null to render sequentially, and a chunk
+     *        size
+     * @param chunkSizes chunk sizes to render in parallel with
+     * @return the sequential output, the same as each parallel output
+     */
+    static String assertSameOutputInParallel(OWLOntology o, OWLDocumentFormat format,
+        BiFunction<ForkJoinPool, Integer, AbstractOWLStorer> storers, int... chunkSizes)
+        throws OWLOntologyStorageException {
+        String expected = store(o, storers.apply(null, Integer.valueOf(1)), format);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int chunkSize : chunkSizes) {
+                assertEquals("chunk size " + chunkSize, expected,
+                    store(o, storers.apply(pool, Integer.valueOf(chunkSize)), format));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return expected;
+    }
+}
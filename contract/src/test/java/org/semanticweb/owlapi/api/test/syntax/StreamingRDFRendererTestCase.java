@@ -0,0 +1,75 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.RDFLiteral;
+import org.semanticweb.owlapi.io.RDFNode;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.rdf.StreamingRDFRenderer;
+import org.semanticweb.owlapi.util.EscapeUtils;
+
+@SuppressWarnings("javadoc")
+public class StreamingRDFRendererTestCase extends TestBase {
+
+    private static String toNTriples(OWLOntology o) {
+        StringBuilder b = new StringBuilder();
+        new StreamingRDFRenderer(o, t -> b.append(node(t.getSubject())).append(' ')
+            .append(node(t.getPredicate())).append(' ').append(node(t.getObject()))
+            .append(" .\n")).render();
+        return b.toString();
+    }
+
+    private static String node(RDFNode n) {
+        if (n.isLiteral()) {
+            RDFLiteral l = (RDFLiteral) n;
+            String lexical = '"' + EscapeUtils.escapeString(l.getLexicalValue()) + '"';
+            return l.hasLang() ? lexical + '@' + l.getLang()
+                : lexical + "^^<" + l.getDatatype() + '>';
+        }
+        return n.isAnonymous() ? n.getIRI().toString() : "<" + n.getIRI() + '>';
+    }
+
+    @Test
+    public void shouldRoundTripStreamedTriples() {
+        OWLOntology o = getOWLOntology();
+        m.applyChange(new AddOntologyAnnotation(o, df.getRDFSComment("comment")));
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        OWLDataProperty d = df.getOWLDataProperty(iri("d"));
+        OWLNamedIndividual x = df.getOWLNamedIndividual(iri("x"));
+        OWLAnonymousIndividual anon = df.getOWLAnonymousIndividual();
+        o.add(df.getOWLDeclarationAxiom(p), df.getOWLDeclarationAxiom(d),
+            df.getOWLDeclarationAxiom(x));
+        for (int i = 0; i < 20; i++) {
+            OWLClass a = df.getOWLClass(iri("A" + i));
+            OWLClass b = df.getOWLClass(iri("B" + i % 3));
+            // the same restriction appears twice in the axiom
+            OWLClassExpression some = df.getOWLDataSomeValuesFrom(d,
+                df.getOWLDataUnionOf(df.getIntegerOWLDatatype(), df.getBooleanOWLDatatype()));
+            o.add(df.getOWLDeclarationAxiom(a), df.getOWLDeclarationAxiom(b),
+                df.getOWLSubClassOfAxiom(a, df.getOWLObjectIntersectionOf(some,
+                    df.getOWLObjectAllValuesFrom(p, some))),
+                df.getOWLSubClassOfAxiom(b, df.getOWLDataSomeValuesFrom(d,
+                    df.getOWLDataOneOf(df.getOWLLiteral(i), df.getOWLLiteral("v\"" + i)))),
+                df.getOWLDisjointClassesAxiom(
+                    Arrays.asList(a, b, df.getOWLClass(iri("A" + (i + 1) % 20))),
+                    Collections.singleton(df.getRDFSLabel("a" + i))));
+        }
+        o.add(df.getOWLClassAssertionAxiom(df.getOWLClass(iri("A0")), anon),
+            df.getOWLObjectPropertyAssertionAxiom(p, x, anon),
+            df.getOWLDataPropertyAssertionAxiom(d, anon, df.getOWLLiteral("value", "en")));
+        String triples = toNTriples(o);
+        assertTrue(equal(o, loadOntologyFromString(triples, new TurtleDocumentFormat())));
+    }
+}
@@ -0,0 +1,90 @@
+package org.semanticweb.owlapi.api.test.syntax.rdfxml;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.owlxml.renderer.OWLXMLStorer;
+import org.semanticweb.owlapi.rdf.rdfxml.renderer.RDFXMLStorer;
+import org.semanticweb.owlapi.util.AbstractOWLStorer;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+@SuppressWarnings("javadoc")
+public class BufferedXMLWriterTestCase extends TestBase {
+
+    private static String store(OWLOntology o, AbstractOWLStorer storer,
+        OWLDocumentFormat format) throws OWLOntologyStorageException {
+        StringDocumentTarget target = new StringDocumentTarget();
+        storer.storeOntology(o, target, format);
+        return target.toString();
+    }
+
+    private OWLOntology ontology() {
+        OWLOntology o = getOWLOntology();
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        OWLDataProperty d = df.getOWLDataProperty(iri("d"));
+        for (int i = 0; i < 30; i++) {
+            OWLClass a = df.getOWLClass(iri("A" + i));
+            // markup, quotes, non ASCII characters and a surrogate pair
+            String label = "<a> & \"b\" 'c' \u00e9\u4e2d\ud83d\ude00 -- " + i;
+            o.add(df.getOWLDeclarationAxiom(a),
+                df.getOWLSubClassOfAxiom(a, df.getOWLObjectSomeValuesFrom(p,
+                    df.getOWLClass("urn:other:", "B" + i % 4))),
+                df.getOWLAnnotationAssertionAxiom(a.getIRI(),
+                    df.getOWLAnnotation(df.getRDFSLabel(), df.getOWLLiteral(label, "en"))),
+                df.getOWLAnnotationAssertionAxiom(a.getIRI(), df.getRDFSComment(
+                    df.getOWLLiteral("<b>" + i + "</b>", OWL2Datatype.RDF_XML_LITERAL))),
+                df.getOWLDataPropertyAssertionAxiom(d,
+                    df.getOWLNamedIndividual(iri("i" + i)), i));
+        }
+        return o;
+    }
+
+    @Test
+    public void shouldWriteTheSameRDFXML() throws OWLOntologyStorageException {
+        OWLOntology o = ontology();
+        for (boolean entities : new boolean[] {false, true}) {
+            for (boolean indenting : new boolean[] {true, false}) {
+                m.getOntologyConfigurator().withUseNamespaceEntities(entities)
+                    .withIndenting(indenting);
+                assertEquals(store(o, new RDFXMLStorer(), new RDFXMLDocumentFormat()),
+                    store(o, new RDFXMLStorer(true), new RDFXMLDocumentFormat()));
+            }
+        }
+    }
+
+    @Test
+    public void shouldWriteTheSameRDFXMLWithMoreNamesThanCached()
+        throws OWLOntologyStorageException {
+        OWLOntology o = getOWLOntology();
+        OWLNamedIndividual i = df.getOWLNamedIndividual(iri("i"));
+        for (int j = 0; j < 5000; j++) {
+            o.add(df.getOWLDataPropertyAssertionAxiom(df.getOWLDataProperty(iri("d" + j)), i, j));
+        }
+        assertEquals(store(o, new RDFXMLStorer(), new RDFXMLDocumentFormat()),
+            store(o, new RDFXMLStorer(true), new RDFXMLDocumentFormat()));
+    }
+
+    @Test
+    public void shouldWriteTheSameOWLXML() throws OWLOntologyStorageException {
+        OWLOntology o = ontology();
+        for (boolean entities : new boolean[] {false, true}) {
+            for (boolean indenting : new boolean[] {true, false}) {
+                m.getOntologyConfigurator().withUseNamespaceEntities(entities)
+                    .withIndenting(indenting);
+                assertEquals(store(o, new OWLXMLStorer(), new OWLXMLDocumentFormat()),
+                    store(o, new OWLXMLStorer(true), new OWLXMLDocumentFormat()));
+            }
+        }
+    }
+}
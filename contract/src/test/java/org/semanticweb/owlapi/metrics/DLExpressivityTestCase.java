@@ -0,0 +1,58 @@
+package org.semanticweb.owlapi.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.Collections;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.RemoveImport;
+import org.semanticweb.owlapi.util.DLExpressivityChecker;
+
+@SuppressWarnings("javadoc")
+public class DLExpressivityTestCase extends TestBase {
+
+    private static String expected(OWLOntology o) {
+        return new DLExpressivityChecker(asList(o.importsClosure())).getDescriptionLogicName();
+    }
+
+    @Test
+    public void shouldUpdateExpressivityFromChanges() throws OWLOntologyCreationException {
+        IRI importedIRI = iri("imported");
+        OWLOntology imported = getOWLOntology(importedIRI);
+        OWLOntology o = getOWLOntology();
+        OWLClass a = df.getOWLClass(iri("A"));
+        OWLClass b = df.getOWLClass(iri("B"));
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        o.add(df.getOWLSubClassOfAxiom(a, b));
+        DLExpressivity metric = new DLExpressivity(o);
+        metric.setImportsClosureUsed(true);
+        assertEquals("AL", metric.getValue());
+        OWLAxiom union = df.getOWLSubClassOfAxiom(a, df.getOWLObjectUnionOf(a, b));
+        OWLAxiom some = df.getOWLSubClassOfAxiom(a, df.getOWLObjectSomeValuesFrom(p, b));
+        o.add(union, some);
+        assertEquals(expected(o), metric.getValue());
+        assertEquals("ALC", metric.getValue());
+        imported.add(df.getOWLTransitiveObjectPropertyAxiom(p));
+        AddImport addImport = new AddImport(o, df.getOWLImportsDeclaration(importedIRI));
+        m.applyChange(addImport);
+        assertEquals("S", metric.getValue());
+        imported.add(df.getOWLSubObjectPropertyOfAxiom(df.getOWLObjectInverseOf(p), p));
+        assertEquals(expected(o), metric.getValue());
+        assertEquals("SHI", metric.getValue());
+        o.remove(union);
+        assertEquals(expected(o), metric.getValue());
+        m.applyChange(new RemoveImport(o, addImport.getImportDeclaration()));
+        assertEquals(expected(o), metric.getValue());
+        metric.setImportsClosureUsed(false);
+        assertEquals(new DLExpressivityChecker(Collections.singleton(o))
+            .getDescriptionLogicName(), metric.getValue());
+    }
+}
@@ -0,0 +1,131 @@
+package org.semanticweb.owlapi.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+@SuppressWarnings("javadoc")
+public class OWLMetricManagerTestCase extends TestBase {
+
+    private static List<OWLMetric<?>> metrics(OWLOntology o) {
+        return new ArrayList<>(Arrays.asList(new AxiomCount(o), new LogicalAxiomCount(o),
+            new GCICount(o), new ReferencedClassCount(o), new ReferencedObjectPropertyCount(o),
+            new ReferencedIndividualCount(o), new AxiomTypeMetric(o, AxiomType.SUBCLASS_OF),
+            new HiddenGCICount(o)));
+    }
+
+    private static void assertSameValues(List<OWLMetric<?>> expected,
+        List<OWLMetric<?>> actual) {
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), expected.get(i).getValue(),
+                actual.get(i).getValue());
+        }
+    }
+
+    @Test
+    public void shouldUpdateIncrementalMetricsFromChanges() {
+        OWLOntology o = getOWLOntology();
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        for (int i = 0; i < 30; i++) {
+            OWLClass a = df.getOWLClass(iri("A" + i));
+            o.add(df.getOWLSubClassOfAxiom(a, df.getOWLObjectSomeValuesFrom(p,
+                df.getOWLClass(iri("B" + i % 7)))));
+            o.add(df.getOWLClassAssertionAxiom(a, df.getOWLNamedIndividual(iri("i" + i))));
+        }
+        List<OWLMetric<?>> incremental = metrics(o);
+        OWLMetricManager manager =
+            new OWLMetricManager(incremental, ForkJoinPool.commonPool(), 8);
+        manager.setIncremental(true);
+        manager.computeValues();
+        assertTrue(((ObjectCountMetric<?>) incremental.get(3)).isIncremental());
+        assertSameValues(metrics(o), incremental);
+        OWLAxiom gci = df.getOWLSubClassOfAxiom(df.getOWLObjectSomeValuesFrom(p,
+            df.getOWLClass(iri("C"))), df.getOWLClass(iri("A0")));
+        o.add(gci);
+        assertSameValues(metrics(o), incremental);
+        o.remove(df.getOWLSubClassOfAxiom(df.getOWLClass(iri("A3")),
+            df.getOWLObjectSomeValuesFrom(p, df.getOWLClass(iri("B3")))));
+        o.remove(gci);
+        assertSameValues(metrics(o), incremental);
+    }
+
+    @Test
+    public void shouldPrintCachedValuesWithoutComputing() {
+        OWLOntology o = getOWLOntology();
+        OWLClass a = df.getOWLClass(iri("A"));
+        o.add(df.getOWLSubClassOfAxiom(a, df.getOWLClass(iri("B"))));
+        AxiomCount count = new AxiomCount(o);
+        OWLMetricManager manager = new OWLMetricManager(Arrays.<OWLMetric<?>>asList(count));
+        assertEquals("Axiom: not computed\n", manager.toString());
+        assertTrue(count.isDirty());
+        manager.computeValues();
+        assertEquals("Axiom: 1\n", manager.toString());
+        o.add(df.getOWLDeclarationAxiom(a));
+        assertEquals("Axiom: not computed\n", manager.toString());
+        assertTrue(count.isDirty());
+        assertEquals(Integer.valueOf(2), count.getValue());
+        assertFalse(count.isDirty());
+    }
+
+    @Test
+    public void shouldIgnoreIncrementalModeWhenNotSupported() {
+        OWLOntology o = getOWLOntology();
+        o.add(df.getOWLSubClassOfAxiom(df.getOWLClass(iri("A")), df.getOWLClass(iri("B"))));
+        ReferencedClassCount count = new ReferencedClassCount(o) {
+
+            @Override
+            protected boolean isCountedPerAxiom() {
+                return false;
+            }
+        };
+        assertFalse(count.supportsIncremental());
+        assertFalse(count.setIncremental(true));
+        assertFalse(count.isIncremental());
+        assertTrue(count.setIncremental(false));
+        OWLMetricManager manager = new OWLMetricManager(Arrays.<OWLMetric<?>>asList(count));
+        manager.setIncremental(true);
+        assertFalse(count.isIncremental());
+        manager.computeValues();
+        assertEquals(Integer.valueOf(2), count.getValue());
+        assertTrue(new ReferencedClassCount(o).supportsIncremental());
+    }
+
+    @Test
+    public void shouldRecomputeWhenImportsClosureIsSwitched() throws Exception {
+        IRI importedIRI = iri("imported");
+        OWLOntology imported = getOWLOntology(importedIRI);
+        imported.add(df.getOWLDeclarationAxiom(df.getOWLClass(iri("C"))));
+        OWLOntology o = getOWLOntology();
+        o.add(df.getOWLSubClassOfAxiom(df.getOWLClass(iri("A")), df.getOWLClass(iri("B"))));
+        m.applyChange(new AddImport(o, df.getOWLImportsDeclaration(importedIRI)));
+        for (boolean incremental : new boolean[] {false, true}) {
+            ReferencedClassCount count = new ReferencedClassCount(o);
+            count.setIncremental(incremental);
+            assertEquals(Integer.valueOf(2), count.getValue());
+            // the value computed before the switch is not returned
+            count.setImportsClosureUsed(true);
+            assertEquals(Integer.valueOf(3), count.getValue());
+            // the metric still follows the changes
+            imported.add(df.getOWLDeclarationAxiom(df.getOWLClass(iri("D"))));
+            assertEquals(Integer.valueOf(4), count.getValue());
+            count.setImportsClosureUsed(false);
+            assertEquals(Integer.valueOf(2), count.getValue());
+            imported.remove(df.getOWLDeclarationAxiom(df.getOWLClass(iri("D"))));
+            count.dispose();
+        }
+    }
+}
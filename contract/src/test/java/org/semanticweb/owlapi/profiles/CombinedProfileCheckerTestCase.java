@@ -0,0 +1,96 @@
+package org.semanticweb.owlapi.profiles;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+@SuppressWarnings("javadoc")
+public class CombinedProfileCheckerTestCase extends TestBase {
+
+    private static List<String> violations(OWLProfileReport report) {
+        return report.getViolations().stream().map(Object::toString).sorted()
+            .collect(Collectors.toList());
+    }
+
+    private static void assertSameReports(OWLOntology o) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int chunkSize : new int[] {1, 2, CombinedProfileChecker.DEFAULT_CHUNK_SIZE}) {
+                Map<Profiles, OWLProfileReport> reports = new CombinedProfileChecker(
+                    Collections.<Profiles>emptyList(), pool, chunkSize).checkOntology(o);
+                for (Profiles p : Profiles.values()) {
+                    assertEquals(p + " " + chunkSize, violations(p.checkOntology(o)),
+                        violations(reports.get(p)));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReportTheSameViolationsAsTheIndividualCheckers()
+        throws OWLOntologyCreationException {
+        List<String> data = new ArrayList<>();
+        data.addAll(ProfileAllProfilesTestCase.getData());
+        data.addAll(ProfileDLOnlyTestCase.getData());
+        data.addAll(ProfileELDLOnlyTestCase.getData());
+        data.addAll(ProfileFullTestCase.getData());
+        data.addAll(ProfileNoELTestCase.getData());
+        data.addAll(ProfileNoQLTestCase.getData());
+        data.addAll(ProfileNoRLTestCase.getData());
+        data.addAll(ProfileQLDLOnlyTestCase.getData());
+        data.addAll(ProfileRLDLOnlyTestCase.getData());
+        for (String in : data) {
+            OWLOntology o = loadOntologyFromString(in);
+            assertSameReports(o);
+            m.removeOntology(o);
+        }
+    }
+
+    @Test
+    public void shouldUseThePropertyHierarchyOfTheImportsClosure()
+        throws OWLOntologyCreationException {
+        IRI importedIRI = iri("imported");
+        OWLOntology imported = getOWLOntology(importedIRI);
+        OWLOntology o = getOWLOntology();
+        m.applyChange(new AddImport(o, df.getOWLImportsDeclaration(importedIRI)));
+        OWLClass a = df.getOWLClass(iri("A"));
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        OWLObjectProperty q = df.getOWLObjectProperty(iri("q"));
+        for (OWLOntology ont : Arrays.asList(o, imported)) {
+            ont.add(df.getOWLDeclarationAxiom(a), df.getOWLDeclarationAxiom(p),
+                df.getOWLDeclarationAxiom(q));
+        }
+        // p is not simple in the closure of o, but is in the closure of the imported ontology
+        o.add(df.getOWLTransitiveObjectPropertyAxiom(q), df.getOWLSubObjectPropertyOfAxiom(q, p));
+        imported.add(df.getOWLSubClassOfAxiom(a, df.getOWLObjectMaxCardinality(1, p, a)));
+        assertSameReports(o);
+        assertTrue(Profiles.OWL2_DL.checkOntology(o).isInProfile());
+        o.add(df.getOWLSubClassOfAxiom(a, df.getOWLObjectMaxCardinality(1, p, a)));
+        assertFalse(Profiles.OWL2_DL.checkOntology(o).isInProfile());
+        assertSameReports(o);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectChunkSizesBelowOne() {
+        new CombinedProfileChecker(Collections.<Profiles>emptyList(), ForkJoinPool.commonPool(),
+            0);
+    }
+}
@@ -0,0 +1,104 @@
+package org.semanticweb.owlapi.profiles;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.RemoveImport;
+
+@SuppressWarnings("javadoc")
+public class IncrementalProfileCheckerTestCase extends TestBase {
+
+    private static void assertSameReports(IncrementalProfileChecker checker, OWLOntology o) {
+        Map<Profiles, OWLProfileReport> expected = new CombinedProfileChecker().checkOntology(o);
+        Map<Profiles, OWLProfileReport> actual = checker.getReports();
+        for (Profiles p : checker.getProfiles()) {
+            assertEquals(p.toString(), violations(expected.get(p)), violations(actual.get(p)));
+        }
+    }
+
+    private static List<String> violations(OWLProfileReport report) {
+        return report.getViolations().stream().map(Object::toString).sorted()
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void shouldTrackDeclarationsAndPropertyHierarchy() {
+        OWLOntology o = getOWLOntology();
+        OWLClass a = df.getOWLClass(iri("A"));
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        OWLObjectProperty q = df.getOWLObjectProperty(iri("q"));
+        IncrementalProfileChecker checker = new IncrementalProfileChecker(o);
+        try {
+            OWLAxiom cardinality =
+                df.getOWLSubClassOfAxiom(a, df.getOWLObjectMaxCardinality(1, p, a));
+            o.add(cardinality);
+            assertFalse(checker.getReport(Profiles.OWL2_DL).isInProfile());
+            assertSameReports(checker, o);
+            o.add(df.getOWLDeclarationAxiom(a), df.getOWLDeclarationAxiom(p),
+                df.getOWLDeclarationAxiom(q));
+            assertTrue(checker.getReport(Profiles.OWL2_DL).isInProfile());
+            assertSameReports(checker, o);
+            // p becomes non simple
+            OWLAxiom transitive = df.getOWLTransitiveObjectPropertyAxiom(q);
+            o.add(transitive, df.getOWLSubObjectPropertyOfAxiom(q, p));
+            assertFalse(checker.getReport(Profiles.OWL2_DL).isInProfile());
+            assertSameReports(checker, o);
+            o.remove(transitive);
+            assertTrue(checker.getReport(Profiles.OWL2_DL).isInProfile());
+            assertSameReports(checker, o);
+            o.remove(cardinality);
+            m.applyChange(new AddOntologyAnnotation(o, df.getRDFSComment("comment")));
+            assertSameReports(checker, o);
+        } finally {
+            checker.dispose();
+        }
+    }
+
+    @Test
+    public void shouldTrackImportsClosure() throws OWLOntologyCreationException {
+        IRI importedIRI = iri("imported");
+        OWLOntology imported = getOWLOntology(importedIRI);
+        OWLOntology o = getOWLOntology();
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        OWLDataProperty d = df.getOWLDataProperty(iri("p"));
+        o.add(df.getOWLDeclarationAxiom(p),
+            df.getOWLObjectPropertyAssertionAxiom(p, df.getOWLNamedIndividual(iri("i")),
+                df.getOWLNamedIndividual(iri("j"))));
+        imported.add(df.getOWLDeclarationAxiom(d));
+        IncrementalProfileChecker checker = new IncrementalProfileChecker(o,
+            new CombinedProfileChecker(Arrays.asList(Profiles.OWL2_DL, Profiles.OWL2_EL),
+                ForkJoinPool.commonPool(), 1));
+        try {
+            assertTrue(checker.getReport(Profiles.OWL2_DL).isInProfile());
+            AddImport addImport = new AddImport(o, df.getOWLImportsDeclaration(importedIRI));
+            m.applyChange(addImport);
+            // p is both an object and a data property in the imports closure
+            assertFalse(checker.getReport(Profiles.OWL2_DL).isInProfile());
+            assertSameReports(checker, o);
+            imported.add(df.getOWLSubClassOfAxiom(df.getOWLClass(iri("B")),
+                df.getOWLDataSomeValuesFrom(d, df.getIntegerOWLDatatype())));
+            assertSameReports(checker, o);
+            m.applyChange(new RemoveImport(o, addImport.getImportDeclaration()));
+            assertSameReports(checker, o);
+        } finally {
+            checker.dispose();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.semanticweb.owlapi.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+@SuppressWarnings("javadoc")
+public class ParallelOWLOntologyWalkerTest extends TestBase {
+
+    private static List<String> walk(OWLOntology o) {
+        OWLOntologyWalker walker = new OWLOntologyWalker(Collections.singleton(o));
+        Recorder recorder = new Recorder(walker);
+        walker.walkStructure(recorder);
+        return recorder.visited;
+    }
+
+    private static List<String> walkInParallel(OWLOntology o, int chunkSize) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            return new ParallelOWLOntologyWalker(Collections.singleton(o), pool, chunkSize,
+                OWLOntologyWalker::new).walkStructure(Recorder::new, r -> r.visited,
+                new ArrayList<>(), (a, b) -> {
+                    List<String> l = new ArrayList<>(a);
+                    l.addAll(b);
+                    return l;
+                });
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldVisitTheSameObjectsInTheSameOrder() {
+        OWLOntology o = getOWLOntology();
+        m.applyChange(new AddOntologyAnnotation(o, df.getRDFSComment("comment")));
+        OWLObjectProperty p = df.getOWLObjectProperty(iri("p"));
+        for (int i = 0; i < 50; i++) {
+            OWLClass a = df.getOWLClass(iri("A" + i));
+            o.add(df.getOWLSubClassOfAxiom(a, df.getOWLObjectSomeValuesFrom(p,
+                df.getOWLClass(iri("B" + i)))));
+            o.add(df.getOWLDeclarationAxiom(a));
+        }
+        List<String> expected = walk(o);
+        for (int chunkSize : new int[] {1, 7, 100, 1000}) {
+            assertEquals(expected, walkInParallel(o, chunkSize));
+        }
+    }
+
+    @Test
+    public void shouldWalkOntologyWithoutAxioms() {
+        OWLOntology o = getOWLOntology();
+        m.applyChange(new AddOntologyAnnotation(o, df.getRDFSComment("comment")));
+        assertEquals(walk(o), walkInParallel(o, 10));
+    }
+
+    private static class Recorder extends OWLOntologyWalkerVisitor {
+
+        final List<String> visited = new ArrayList<>();
+
+        Recorder(OWLOntologyWalker walker) {
+            super(walker);
+        }
+
+        @Override
+        public void doDefault(Object object) {
+            visited.add(object + " in " + getCurrentAxiom());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.semanticweb.owlapitools.decomposition.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecompositionImpl;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecompositionModuleExtractor;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+@SuppressWarnings("javadoc")
+public class AtomicDecompositionModuleExtractorTest {
+
+    private final OWLDataFactory f = OWLManager.getOWLDataFactory();
+    private final OWLClass powerYoga = f.getOWLClass(IRI.create("urn:test#", "PowerYoga"));
+    private final OWLClass yoga = f.getOWLClass(IRI.create("urn:test#", "Yoga"));
+    private final OWLClass relaxation = f.getOWLClass(IRI.create("urn:test#", "Relaxation"));
+    private final OWLClass activity = f.getOWLClass(IRI.create("urn:test#", "Activity"));
+    private final OWLClass teacher = f.getOWLClass(IRI.create("urn:test#", "Teacher"));
+    private final OWLClass yogaTeacher = f.getOWLClass(IRI.create("urn:test#", "YogaTeacher"));
+    private final OWLObjectProperty teaches = f
+        .getOWLObjectProperty(IRI.create("urn:test#", "teaches"));
+
+    private List<OWLAxiom> getAxioms() {
+        return Arrays.asList(f.getOWLDeclarationAxiom(yoga),
+            f.getOWLSubClassOfAxiom(powerYoga, yoga), f.getOWLSubClassOfAxiom(yoga, relaxation),
+            f.getOWLSubClassOfAxiom(relaxation, activity),
+            f.getOWLSubClassOfAxiom(teacher, f.getOWLObjectSomeValuesFrom(teaches, activity)),
+            f.getOWLEquivalentClassesAxiom(yogaTeacher,
+                f.getOWLObjectIntersectionOf(teacher, f.getOWLObjectSomeValuesFrom(teaches, yoga))));
+    }
+
+    private void assertSameModules(ModuleType type) {
+        AtomicDecompositionImpl ad = new AtomicDecompositionImpl(getAxioms(), type);
+        AtomicDecompositionModuleExtractor extractor = new AtomicDecompositionModuleExtractor(ad);
+        List<Set<OWLEntity>> signatures = Arrays.asList(new HashSet<>(Arrays.asList(yoga)),
+            new HashSet<>(Arrays.asList(powerYoga)), new HashSet<>(Arrays.asList(teacher)),
+            new HashSet<>(Arrays.asList(teacher, teaches, yoga)),
+            new HashSet<>(Arrays.asList(yogaTeacher, relaxation)), new HashSet<>());
+        for (Set<OWLEntity> signature : signatures) {
+            Set<OWLAxiom> expected = ad.getModule(signature.stream(), false, type)
+                .collect(Collectors.toSet());
+            assertEquals(expected, extractor.getModule(signature));
+            assertEquals(expected, extractor.getModuleAtoms(signature).stream()
+                .flatMap(a -> a.getAxioms().stream()).collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    public void shouldMatchBottomModules() {
+        assertSameModules(ModuleType.BOT);
+    }
+
+    @Test
+    public void shouldMatchTopModules() {
+        assertSameModules(ModuleType.TOP);
+    }
+
+    @Test
+    public void shouldMatchStarModules() {
+        assertSameModules(ModuleType.STAR);
+    }
+
+    @Test
+    public void shouldFollowAxiomsWithLargeSignatures() {
+        // the last axiom has more entities than exact labels are computed for, and is only in
+        // the module of X and Y together
+        OWLClass x = f.getOWLClass(IRI.create("urn:test#", "X"));
+        OWLClass y = f.getOWLClass(IRI.create("urn:test#", "Y"));
+        List<OWLAxiom> axioms = new ArrayList<>();
+        Set<OWLClassExpression> conjuncts = new HashSet<>();
+        for (int i = 0; i < 11; i++) {
+            OWLClass c = f.getOWLClass(IRI.create("urn:test#", "C" + i));
+            conjuncts.add(c);
+            axioms.add(f.getOWLSubClassOfAxiom(i % 2 == 0 ? x : y, c));
+        }
+        axioms.add(f.getOWLSubClassOfAxiom(f.getOWLObjectIntersectionOf(conjuncts),
+            f.getOWLClass(IRI.create("urn:test#", "D"))));
+        AtomicDecompositionImpl ad = new AtomicDecompositionImpl(axioms, ModuleType.BOT);
+        AtomicDecompositionModuleExtractor extractor = new AtomicDecompositionModuleExtractor(ad);
+        Set<OWLEntity> signature = new HashSet<>(Arrays.asList(x, y));
+        assertEquals(new HashSet<>(axioms), extractor.getModule(signature));
+        assertEquals(ad.getModule(signature.stream(), false, ModuleType.BOT)
+            .collect(Collectors.toSet()), extractor.getModule(signature));
+    }
+}
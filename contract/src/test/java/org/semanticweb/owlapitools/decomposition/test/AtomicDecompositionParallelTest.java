@@ -0,0 +1,56 @@
+package org.semanticweb.owlapitools.decomposition.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapitools.decomposition.AxiomSelector;
+import uk.ac.manchester.cs.atomicdecomposition.Atom;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecompositionImpl;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+@SuppressWarnings("javadoc")
+public class AtomicDecompositionParallelTest {
+
+    private static List<OWLAxiom> pizza() throws OWLOntologyCreationException {
+        OWLOntology o = OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(
+            AtomicDecompositionParallelTest.class.getResourceAsStream("/pizza.owl"));
+        return AxiomSelector.selectAxioms(o);
+    }
+
+    private static Map<Atom, Set<Atom>> dependencies(AtomicDecompositionImpl ad) {
+        Map<Atom, Set<Atom>> map = new HashMap<>();
+        for (Atom atom : ad.getAtoms()) {
+            map.put(atom, ad.getDependencies(atom, true));
+        }
+        return map;
+    }
+
+    @Test
+    public void shouldDecomposeAsTheSequentialDecomposer() throws OWLOntologyCreationException {
+        List<OWLAxiom> axioms = pizza();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (ModuleType type : ModuleType.values()) {
+                AtomicDecompositionImpl expected = new AtomicDecompositionImpl(axioms, type);
+                AtomicDecompositionImpl actual = new AtomicDecompositionImpl(axioms, type, pool);
+                assertEquals(expected.getAtoms(), actual.getAtoms());
+                assertEquals(expected.getTautologies(), actual.getTautologies());
+                assertEquals(expected.getBottomAtoms(), actual.getBottomAtoms());
+                assertEquals(expected.getTopAtoms(), actual.getTopAtoms());
+                assertEquals(dependencies(expected), dependencies(actual));
+                assertEquals(expected.getTermBasedIndex(), actual.getTermBasedIndex());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.semanticweb.owlapitools.decomposition.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import uk.ac.manchester.cs.atomicdecomposition.Atom;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecompositionImpl;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+@SuppressWarnings("javadoc")
+public class AtomicDecompositionPersistenceTest {
+
+    private final OWLDataFactory f = OWLManager.getOWLDataFactory();
+    private final OWLOntologyManager m = OWLManager.createOWLOntologyManager();
+    private final OWLClass powerYoga = f.getOWLClass(IRI.create("urn:test#", "PowerYoga"));
+    private final OWLClass yoga = f.getOWLClass(IRI.create("urn:test#", "Yoga"));
+    private final OWLClass relaxation = f.getOWLClass(IRI.create("urn:test#", "Relaxation"));
+    private final OWLClass activity = f.getOWLClass(IRI.create("urn:test#", "Activity"));
+    private final OWLClass teacher = f.getOWLClass(IRI.create("urn:test#", "Teacher"));
+    private final OWLObjectProperty teaches = f
+        .getOWLObjectProperty(IRI.create("urn:test#", "teaches"));
+
+    private List<OWLAxiom> getAxioms() {
+        return new ArrayList<>(Arrays.asList(f.getOWLDeclarationAxiom(yoga),
+            f.getOWLSubClassOfAxiom(powerYoga, yoga), f.getOWLSubClassOfAxiom(yoga, relaxation),
+            f.getOWLSubClassOfAxiom(relaxation, activity),
+            f.getOWLSubClassOfAxiom(teacher, f.getOWLObjectSomeValuesFrom(teaches, yoga))));
+    }
+
+    private static Map<Set<OWLAxiom>, Set<OWLAxiom>> principalIdeals(AtomicDecompositionImpl ad) {
+        Map<Set<OWLAxiom>, Set<OWLAxiom>> map = new HashMap<>();
+        for (Atom atom : ad.getAtoms()) {
+            map.put(new HashSet<>(atom.getAxioms()), ad.getPrincipalIdeal(atom));
+        }
+        return map;
+    }
+
+    @Test
+    public void shouldRoundTripDecomposition() throws IOException {
+        AtomicDecompositionImpl ad = new AtomicDecompositionImpl(getAxioms(), ModuleType.BOT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ad.save(out, m);
+        AtomicDecompositionImpl loaded = AtomicDecompositionImpl
+            .load(new ByteArrayInputStream(out.toByteArray()), m);
+        assertEquals(ad.getAtoms(), loaded.getAtoms());
+        assertEquals(ad.getTautologies(), loaded.getTautologies());
+        assertEquals(ad.getTermBasedIndex(), loaded.getTermBasedIndex());
+        assertEquals(principalIdeals(ad), principalIdeals(loaded));
+        OWLAxiom axiom = f.getOWLSubClassOfAxiom(powerYoga, yoga);
+        Atom atom = ad.getAtomForAxiom(axiom);
+        Atom loadedAtom = loaded.getAtomForAxiom(axiom);
+        assertNotNull(atom);
+        assertNotNull(loadedAtom);
+        assertEquals(3, ad.getDependencies(atom).size());
+        assertEquals(ad.getDependencies(atom), loaded.getDependencies(loadedAtom));
+        // the temporary ontologies holding the axioms are removed
+        assertEquals(0, m.getOntologies().size());
+    }
+
+    @Test
+    public void shouldRejectStreamsWithoutADecomposition() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream serialized = new ObjectOutputStream(out)) {
+            serialized.writeObject(new ArrayList<>(getAxioms()));
+        }
+        try {
+            AtomicDecompositionImpl.load(new ByteArrayInputStream(out.toByteArray()), m);
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            assertEquals("Stream does not contain a saved atomic decomposition", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldUpdateOnlyAffectedAtoms() {
+        AtomicDecompositionImpl ad = new AtomicDecompositionImpl(getAxioms(), ModuleType.BOT);
+        OWLAxiom added = f.getOWLSubClassOfAxiom(powerYoga,
+            f.getOWLObjectSomeValuesFrom(teaches, teacher));
+        OWLAxiom removed = f.getOWLDeclarationAxiom(yoga);
+        Collection<Atom> recomputed = ad.update(Collections.singletonList(added),
+            Collections.singletonList(removed));
+        List<OWLAxiom> axioms = getAxioms();
+        axioms.remove(removed);
+        axioms.add(added);
+        AtomicDecompositionImpl fresh = new AtomicDecompositionImpl(axioms, ModuleType.BOT);
+        assertEquals(fresh.getAtoms(), ad.getAtoms());
+        assertEquals(fresh.getTautologies(), ad.getTautologies());
+        assertEquals(principalIdeals(fresh), principalIdeals(ad));
+        assertTrue(recomputed.size() < ad.getAtoms().size());
+    }
+
+    @Test
+    public void shouldUpdateWhenRemovingAxiomsWithoutAtoms() {
+        List<OWLAxiom> axioms = getAxioms();
+        OWLAxiom label =
+            f.getOWLAnnotationAssertionAxiom(yoga.getIRI(), f.getRDFSLabel("yoga"));
+        axioms.add(label);
+        AtomicDecompositionImpl ad = new AtomicDecompositionImpl(axioms, ModuleType.BOT);
+        OWLAxiom tautology = f.getOWLSubClassOfAxiom(yoga, f.getOWLThing());
+        ad.update(Collections.singletonList(tautology), Collections.emptyList());
+        assertTrue(ad.getTautologies().contains(tautology));
+        ad.update(Collections.emptyList(), Arrays.asList(label, tautology));
+        AtomicDecompositionImpl fresh = new AtomicDecompositionImpl(getAxioms(), ModuleType.BOT);
+        assertEquals(fresh.getAtoms(), ad.getAtoms());
+        assertEquals(fresh.getTautologies(), ad.getTautologies());
+        assertEquals(principalIdeals(fresh), principalIdeals(ad));
+    }
+}
@@ -0,0 +1,167 @@
+package org.semanticweb.owlapitools.decomposition.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
+import com.clarkparsia.owlapi.modularity.locality.SyntacticLocalityEvaluator;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+@SuppressWarnings("javadoc")
+public class SyntacticLocalityModuleExtractorTestCase extends TestBase {
+
+    /**
+     * The fixpoint loop the extractor used before its axioms were indexed: checks every axiom
+     * outside the module until the signature stops growing.
+     */
+    private static Set<OWLAxiom> baseline(Set<OWLAxiom> subOnt, Set<OWLEntity> signature,
+        LocalityClass localityClass) {
+        Set<OWLAxiom> mod = new HashSet<>();
+        Set<OWLAxiom> q2 = new HashSet<>(subOnt);
+        SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);
+        boolean change = true;
+        while (change) {
+            change = false;
+            Set<OWLAxiom> q2remove = new HashSet<>();
+            for (OWLAxiom ax : q2) {
+                if (!sle.isLocal(ax, signature)) {
+                    mod.add(ax);
+                    q2remove.add(ax);
+                    int oldSize = signature.size();
+                    add(signature, ax.signature());
+                    if (signature.size() > oldSize) {
+                        change = true;
+                    }
+                }
+            }
+            q2.removeAll(q2remove);
+        }
+        return mod;
+    }
+
+    /**
+     * @return the logical axioms of the module, with the same and different individuals axioms
+     *         that the extractor adds for the individuals in the signature of the module
+     */
+    private static Set<OWLAxiom> baseline(OWLOntology o, Set<OWLEntity> signature,
+        ModuleType type) {
+        Set<OWLAxiom> module = o.axioms(Imports.INCLUDED).collect(Collectors.toSet());
+        Set<OWLEntity> sig = new HashSet<>(signature);
+        switch (type) {
+            case BOT:
+                module = baseline(module, sig, LocalityClass.BOTTOM_BOTTOM);
+                break;
+            case TOP:
+                module = baseline(module, sig, LocalityClass.TOP_TOP);
+                break;
+            case STAR:
+                LocalityClass localityClass = LocalityClass.BOTTOM_BOTTOM;
+                boolean inFirstStep = true;
+                boolean nextStepNecessary = true;
+                while (nextStepNecessary) {
+                    int previousSize = module.size();
+                    sig = new HashSet<>(signature);
+                    module = baseline(module, sig, localityClass);
+                    nextStepNecessary = module.size() != previousSize || inFirstStep;
+                    inFirstStep = false;
+                    localityClass = localityClass == LocalityClass.BOTTOM_BOTTOM
+                        ? LocalityClass.TOP_TOP : LocalityClass.BOTTOM_BOTTOM;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported module type: " + type);
+        }
+        Set<OWLAxiom> enriched = new HashSet<>(module);
+        sig.stream().filter(OWLEntity::isOWLNamedIndividual).map(OWLEntity::asOWLNamedIndividual)
+            .forEach(i -> {
+                add(enriched, o.sameIndividualAxioms(i));
+                add(enriched, o.differentIndividualAxioms(i));
+            });
+        return logical(enriched);
+    }
+
+    private static Set<OWLAxiom> logical(Set<OWLAxiom> module) {
+        return module.stream().filter(OWLAxiom::isLogicalAxiom).collect(Collectors.toSet());
+    }
+
+    private OWLOntology pizza() throws OWLOntologyCreationException {
+        return m.loadOntologyFromOntologyDocument(
+            SyntacticLocalityModuleExtractorTestCase.class.getResourceAsStream("/pizza.owl"));
+    }
+
+    /**
+     * every entity on its own, the empty signature and the signatures of some axioms
+     */
+    private static List<Set<OWLEntity>> signatures(OWLOntology o) {
+        List<Set<OWLEntity>> signatures = new ArrayList<>();
+        o.signature().forEach(e -> signatures.add(new HashSet<>(Collections.singleton(e))));
+        signatures.add(new HashSet<>());
+        List<OWLAxiom> logical =
+            o.logicalAxioms().map(OWLAxiom.class::cast).collect(Collectors.toList());
+        for (int i = 0; i < logical.size(); i += 7) {
+            signatures.add(logical.get(i).signature().collect(Collectors.toSet()));
+        }
+        return signatures;
+    }
+
+    @Test
+    public void shouldExtractTheSameModulesAsTheBaseline() throws OWLOntologyCreationException {
+        OWLOntology o = pizza();
+        for (ModuleType type : ModuleType.values()) {
+            SyntacticLocalityModuleExtractor extractor =
+                new SyntacticLocalityModuleExtractor(m, o, type);
+            boolean nonEmpty = false;
+            for (Set<OWLEntity> sig : signatures(o)) {
+                Set<OWLAxiom> expected = baseline(o, sig, type);
+                nonEmpty |= !expected.isEmpty();
+                assertEquals(type + " " + sig, expected,
+                    logical(extractor.extract(new HashSet<>(sig))));
+            }
+            assertTrue(type.toString(), nonEmpty);
+        }
+    }
+
+    @Test
+    public void shouldExtractTheSameModulesFromSeveralThreads()
+        throws OWLOntologyCreationException {
+        OWLOntology o = pizza();
+        List<Set<OWLEntity>> signatures = signatures(o);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (ModuleType type : ModuleType.values()) {
+                List<Set<OWLAxiom>> expected = new ArrayList<>();
+                SyntacticLocalityModuleExtractor sequential =
+                    new SyntacticLocalityModuleExtractor(m, o, type);
+                for (Set<OWLEntity> sig : signatures) {
+                    expected.add(sequential.extract(sig));
+                }
+                // a fresh extractor, so that the threads race to build its index
+                SyntacticLocalityModuleExtractor shared =
+                    new SyntacticLocalityModuleExtractor(m, o, type);
+                List<Set<OWLAxiom>> actual = pool.submit(() -> signatures.parallelStream()
+                    .map(sig -> shared.extract(new LinkedHashSet<>(sig)))
+                    .collect(Collectors.toList())).join();
+                assertEquals(type.toString(), expected, actual);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
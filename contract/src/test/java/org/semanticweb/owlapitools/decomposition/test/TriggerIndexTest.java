@@ -0,0 +1,146 @@
+package org.semanticweb.owlapitools.decomposition.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapitools.decomposition.AxiomSelector;
+import org.semanticweb.owlapitools.decomposition.AxiomWrapper;
+import org.semanticweb.owlapitools.decomposition.Decomposer;
+import org.semanticweb.owlapitools.decomposition.Modularizer;
+import org.semanticweb.owlapitools.decomposition.Signature;
+import org.semanticweb.owlapitools.decomposition.SyntacticLocalityChecker;
+import org.semanticweb.owlapitools.decomposition.TriggerIndex;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+@SuppressWarnings("javadoc")
+public class TriggerIndexTest {
+
+    private final OWLDataFactory f = OWLManager.getOWLDataFactory();
+    private final OWLObjectProperty r = f.getOWLObjectProperty(IRI.create("urn:test#", "r"));
+
+    private OWLClass a(int i) {
+        return f.getOWLClass(IRI.create("urn:test#", "A" + i));
+    }
+
+    private Set<OWLClassExpression> classes(int from, int to) {
+        Set<OWLClassExpression> set = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            set.add(a(i));
+        }
+        return set;
+    }
+
+    /**
+     * axioms with signatures around {@link TriggerIndex#MAX_EXACT_SIGNATURE} entities; the
+     * larger ones are not expanded into triggers
+     */
+    private List<OWLAxiom> axioms() {
+        return new ArrayList<>(Arrays.asList(
+            // 10 entities
+            f.getOWLSubClassOfAxiom(f.getOWLObjectUnionOf(classes(0, 9)), a(9)),
+            f.getOWLSubClassOfAxiom(f.getOWLObjectIntersectionOf(classes(1, 10)), a(10)),
+            // 11 and more entities
+            f.getOWLSubClassOfAxiom(a(0), f.getOWLObjectIntersectionOf(classes(1, 12))),
+            f.getOWLSubClassOfAxiom(f.getOWLObjectIntersectionOf(classes(1, 13)), a(13)),
+            f.getOWLEquivalentClassesAxiom(a(14),
+                f.getOWLObjectSomeValuesFrom(r, f.getOWLObjectIntersectionOf(classes(2, 12)))),
+            f.getOWLSubClassOfAxiom(f.getOWLObjectUnionOf(classes(3, 15)),
+                f.getOWLObjectAllValuesFrom(r, a(15))),
+            f.getOWLDisjointClassesAxiom(classes(4, 16)),
+            f.getOWLSubClassOfAxiom(f.getOWLObjectComplementOf(a(16)),
+                f.getOWLObjectUnionOf(classes(5, 17))),
+            // small signatures
+            f.getOWLSubClassOfAxiom(a(13), a(14)), f.getOWLSubClassOfAxiom(a(15), a(16)),
+            f.getOWLSubClassOfAxiom(a(16), f.getOWLObjectSomeValuesFrom(r, a(0))),
+            f.getOWLObjectPropertyDomainAxiom(r, a(17)), f.getOWLTransitiveObjectPropertyAxiom(r),
+            f.getOWLSubClassOfAxiom(f.getOWLThing(), a(17))));
+    }
+
+    private static Set<OWLAxiom> module(Modularizer m, List<AxiomWrapper> axioms,
+        Set<OWLEntity> signature, ModuleType type) {
+        m.extract(axioms, new Signature(signature.stream()), type);
+        return m.getModule().stream().map(AxiomWrapper::getAxiom).collect(Collectors.toSet());
+    }
+
+    private static void assertSameModules(List<OWLAxiom> list) {
+        // extraction marks the axiom wrappers, so each modularizer has its own
+        List<AxiomWrapper> checked = AxiomSelector.wrap(list);
+        Modularizer checking =
+            Decomposer.buildModulariser(checked, new SyntacticLocalityChecker());
+        List<AxiomWrapper> indexed = AxiomSelector.wrap(list);
+        Modularizer triggers =
+            Decomposer.buildModulariser(indexed, new SyntacticLocalityChecker());
+        triggers.setUseTriggerIndex(true);
+        List<Set<OWLEntity>> signatures = new ArrayList<>();
+        Set<OWLEntity> all = new LinkedHashSet<>();
+        for (OWLAxiom ax : list) {
+            signatures.add(ax.signature().collect(Collectors.toSet()));
+            ax.signature().forEach(all::add);
+        }
+        all.forEach(e -> signatures.add(new HashSet<>(Arrays.asList(e))));
+        signatures.add(new HashSet<>());
+        for (ModuleType type : ModuleType.values()) {
+            for (Set<OWLEntity> sig : signatures) {
+                assertEquals(type + " " + sig, module(checking, checked, sig, type),
+                    module(triggers, indexed, sig, type));
+            }
+        }
+    }
+
+    @Test
+    public void shouldExtractTheSameModulesForLargeSignatures() {
+        List<OWLAxiom> axioms = axioms();
+        assertTrue(axioms.stream().anyMatch(
+            ax -> ax.signature().count() > TriggerIndex.MAX_EXACT_SIGNATURE));
+        assertSameModules(axioms);
+    }
+
+    @Test
+    public void shouldExtractTheSameModulesForPizza() throws OWLOntologyCreationException {
+        assertSameModules(AxiomSelector.selectAxioms(OWLManager.createOWLOntologyManager()
+            .loadOntologyFromOntologyDocument(
+                TriggerIndexTest.class.getResourceAsStream("/pizza.owl"))));
+    }
+
+    @Test
+    public void shouldNotUseTheTriggerIndexByDefault() {
+        Modularizer m = Decomposer.buildModulariser(AxiomSelector.wrap(axioms()),
+            new SyntacticLocalityChecker());
+        assertFalse(m.isUsingTriggerIndex());
+    }
+
+    @Test
+    public void shouldExpandOnlySmallSignatures() {
+        SyntacticLocalityChecker checker = new SyntacticLocalityChecker();
+        int unexpanded = 0;
+        for (OWLAxiom ax : axioms()) {
+            Set<Set<OWLEntity>> triggers =
+                TriggerIndex.minimalNonLocalSignatures(ax, checker, false, false);
+            if (ax.signature().count() <= TriggerIndex.MAX_EXACT_SIGNATURE) {
+                assertNotNull(ax.toString(), triggers);
+            } else if (triggers == null) {
+                unexpanded++;
+            }
+        }
+        assertTrue(unexpanded > 0);
+    }
+}
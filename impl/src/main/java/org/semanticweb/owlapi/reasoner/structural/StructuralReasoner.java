@@ -20,6 +20,10 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -35,6 +39,7 @@ import javax.annotation.Nullable;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLDataProperty;
@@ -94,6 +99,7 @@ public class StructuralReasoner extends OWLReasonerBase {
     private final ClassHierarchyInfo classHierarchyInfo = new ClassHierarchyInfo();
     private final ObjectPropertyHierarchyInfo objectPropertyHierarchyInfo = new ObjectPropertyHierarchyInfo();
     private final DataPropertyHierarchyInfo dataPropertyHierarchyInfo = new DataPropertyHierarchyInfo();
+    private final ClassAssertionIndex classAssertionIndex = new ClassAssertionIndex();
     private boolean interrupted = false;
     private boolean prepared = false;
 
@@ -149,6 +155,7 @@ public class StructuralReasoner extends OWLReasonerBase {
         handleChanges(addAxioms, removeAxioms, classHierarchyInfo);
         handleChanges(addAxioms, removeAxioms, objectPropertyHierarchyInfo);
         handleChanges(addAxioms, removeAxioms, dataPropertyHierarchyInfo);
+        classAssertionIndex.processChanges(addAxioms, removeAxioms);
     }
 
     @Override
@@ -173,13 +180,26 @@ public class StructuralReasoner extends OWLReasonerBase {
         prepared = true;
     }
 
+    private void ensureClassAssertionsIndexed() {
+        ensurePrepared();
+        if (!classAssertionIndex.isComputed()) {
+            classAssertionIndex.computeIndex();
+        }
+    }
+
     @Override
     public void precomputeInferences(InferenceType... inferenceTypes) {
         prepareReasoner();
+        if (Arrays.asList(inferenceTypes).contains(InferenceType.CLASS_ASSERTIONS)) {
+            classAssertionIndex.computeIndex();
+        }
     }
 
     @Override
     public boolean isPrecomputed(InferenceType inferenceType) {
+        if (inferenceType == InferenceType.CLASS_ASSERTIONS) {
+            return classAssertionIndex.isComputed();
+        }
         return true;
     }
 
@@ -187,7 +207,7 @@ public class StructuralReasoner extends OWLReasonerBase {
     public Set<InferenceType> getPrecomputableInferenceTypes() {
         return CollectionFactory
             .createSet(InferenceType.CLASS_HIERARCHY, InferenceType.OBJECT_PROPERTY_HIERARCHY,
-                InferenceType.DATA_PROPERTY_HIERARCHY);
+                InferenceType.DATA_PROPERTY_HIERARCHY, InferenceType.CLASS_ASSERTIONS);
     }
 
     protected void throwExceptionIfInterrupted() {
@@ -465,39 +485,26 @@ public class StructuralReasoner extends OWLReasonerBase {
 
     @Override
     public NodeSet<OWLClass> getTypes(OWLNamedIndividual ind, boolean direct) {
-        ensurePrepared();
+        ensureClassAssertionsIndexed();
         DefaultNodeSet<OWLClass> result = new OWLClassNodeSet();
-        getRootOntology().importsClosure().flatMap(o -> o.classAssertionAxioms(ind))
-            .forEach(ax -> addClasses(direct,
-                result, ax.getClassExpression()));
+        classAssertionIndex.types(ind).forEach(type -> addClasses(direct, result, type));
         return result;
     }
 
     @Override
     public NodeSet<OWLNamedIndividual> getInstances(OWLClassExpression ce, boolean direct) {
-        ensurePrepared();
+        ensureClassAssertionsIndexed();
         DefaultNodeSet<OWLNamedIndividual> result = new OWLNamedIndividualNodeSet();
         if (ce.isAnonymous()) {
             return result;
         }
-        OWLClass cls = ce.asOWLClass();
-        Set<OWLClass> clses = new HashSet<>();
-        clses.add(cls);
-        if (!direct) {
-            clses.addAll(asList(getSubClasses(cls, false).entities()));
-        }
-        for (OWLClass curCls : clses) {
-            getRootOntology().importsClosure().flatMap(o -> o.classAssertionAxioms(curCls))
-                .map(ax -> ax
-                    .getIndividual()).filter(i -> !i.isAnonymous())
-                .map(i -> i.asOWLNamedIndividual()).forEach(i -> {
-                if (getIndividualNodeSetPolicy().equals(IndividualNodeSetPolicy.BY_SAME_AS)) {
-                    result.addNode(getSameIndividuals(i));
-                } else {
-                    result.addNode(new OWLNamedIndividualNode(i));
-                }
-            });
-        }
+        classAssertionIndex.instances(ce.asOWLClass(), direct).forEach(i -> {
+            if (getIndividualNodeSetPolicy().equals(IndividualNodeSetPolicy.BY_SAME_AS)) {
+                result.addNode(getSameIndividuals(i));
+            } else {
+                result.addNode(new OWLNamedIndividualNode(i));
+            }
+        });
         return result;
     }
 
@@ -782,6 +789,208 @@ public class StructuralReasoner extends OWLReasonerBase {
         }
     }
 
+    /**
+     * Index of the class assertions in the imports closure of the root
+     * ontology. Classes and named individuals are mapped to ordinals; each
+     * class has a sorted posting list of the ordinals of its asserted
+     * instances and each individual a sorted posting list of the ordinals of
+     * its asserted named types. The index is kept up to date on flush; the
+     * instances of a class and its subclasses are cached until the next change.
+     */
+    private class ClassAssertionIndex {
+
+        private final TObjectIntHashMap<OWLClass> classOrdinals = new TObjectIntHashMap<>(16,
+            0.75F, -1);
+        private final TObjectIntHashMap<OWLNamedIndividual> individualOrdinals =
+            new TObjectIntHashMap<>(16, 0.75F, -1);
+        private final List<OWLClass> classes = new ArrayList<>();
+        private final List<OWLNamedIndividual> individuals = new ArrayList<>();
+        private final List<TIntArrayList> instancesByClass = new ArrayList<>();
+        private final List<TIntArrayList> typesByIndividual = new ArrayList<>();
+        /**
+         * Individuals with at least one class assertion on an anonymous class
+         * expression; the types of such individuals include an empty node.
+         */
+        private final Set<OWLNamedIndividual> anonymousTypes = new HashSet<>();
+        private final Map<OWLClass, int[]> indirectInstances = new HashMap<>();
+        private boolean computed = false;
+
+        ClassAssertionIndex() {
+        }
+
+        public boolean isComputed() {
+            return computed;
+        }
+
+        public void computeIndex() {
+            pm.reasonerTaskStarted("Computing class assertions");
+            pm.reasonerTaskBusy();
+            clear();
+            getRootOntology().importsClosure().flatMap(o -> o.axioms(AxiomType.CLASS_ASSERTION))
+                .forEach(this::add);
+            computed = true;
+            pm.reasonerTaskStopped();
+        }
+
+        private void clear() {
+            classOrdinals.clear();
+            individualOrdinals.clear();
+            classes.clear();
+            individuals.clear();
+            instancesByClass.clear();
+            typesByIndividual.clear();
+            anonymousTypes.clear();
+            indirectInstances.clear();
+        }
+
+        /**
+         * @param added added axioms
+         * @param removed removed axioms
+         */
+        public void processChanges(Set<OWLAxiom> added, Set<OWLAxiom> removed) {
+            // changes to the class hierarchy invalidate the cached instances
+            // of subclasses as well
+            indirectInstances.clear();
+            if (!computed) {
+                return;
+            }
+            removed.stream().filter(ax -> ax.isOfType(AxiomType.CLASS_ASSERTION))
+                .forEach(ax -> remove((OWLClassAssertionAxiom) ax));
+            added.stream().filter(ax -> ax.isOfType(AxiomType.CLASS_ASSERTION))
+                .forEach(ax -> add((OWLClassAssertionAxiom) ax));
+        }
+
+        private void add(OWLClassAssertionAxiom ax) {
+            if (!ax.getIndividual().isNamed()) {
+                return;
+            }
+            OWLNamedIndividual ind = ax.getIndividual().asOWLNamedIndividual();
+            int i = ordinal(ind, individualOrdinals, individuals, typesByIndividual);
+            if (ax.getClassExpression().isAnonymous()) {
+                anonymousTypes.add(ind);
+                return;
+            }
+            int c = ordinal(ax.getClassExpression().asOWLClass(), classOrdinals, classes,
+                instancesByClass);
+            insert(instancesByClass.get(c), i);
+            insert(typesByIndividual.get(i), c);
+        }
+
+        private void remove(OWLClassAssertionAxiom ax) {
+            // the same assertion might still be present with different
+            // annotations or in another ontology of the imports closure
+            if (!ax.getIndividual().isNamed() || getRootOntology()
+                .containsAxiom(ax, INCLUDED, AxiomAnnotations.IGNORE_AXIOM_ANNOTATIONS)) {
+                return;
+            }
+            OWLNamedIndividual ind = ax.getIndividual().asOWLNamedIndividual();
+            int i = individualOrdinals.get(ind);
+            if (i < 0) {
+                return;
+            }
+            if (ax.getClassExpression().isAnonymous()) {
+                if (getRootOntology().importsClosure().flatMap(o -> o.classAssertionAxioms(ind))
+                    .noneMatch(a -> a.getClassExpression().isAnonymous())) {
+                    anonymousTypes.remove(ind);
+                }
+                return;
+            }
+            int c = classOrdinals.get(ax.getClassExpression().asOWLClass());
+            if (c < 0) {
+                return;
+            }
+            delete(instancesByClass.get(c), i);
+            delete(typesByIndividual.get(i), c);
+        }
+
+        private <T> int ordinal(T t, TObjectIntHashMap<T> ordinals, List<T> values,
+            List<TIntArrayList> postings) {
+            int ordinal = ordinals.get(t);
+            if (ordinal < 0) {
+                ordinal = values.size();
+                ordinals.put(t, ordinal);
+                values.add(t);
+                postings.add(new TIntArrayList(2));
+            }
+            return ordinal;
+        }
+
+        private void insert(TIntArrayList postings, int value) {
+            int position = postings.binarySearch(value);
+            if (position < 0) {
+                postings.insert(-position - 1, value);
+            }
+        }
+
+        private void delete(TIntArrayList postings, int value) {
+            int position = postings.binarySearch(value);
+            if (position >= 0) {
+                postings.removeAt(position);
+            }
+        }
+
+        /**
+         * @param ind individual
+         * @return the asserted types of the individual; anonymous class
+         * expressions are represented by an anonymous placeholder
+         */
+        public Stream<OWLClassExpression> types(OWLNamedIndividual ind) {
+            int i = individualOrdinals.get(ind);
+            if (i < 0) {
+                return Stream.empty();
+            }
+            TIntArrayList postings = typesByIndividual.get(i);
+            Stream<OWLClassExpression> named = Arrays.stream(postings.toArray())
+                .mapToObj(classes::get);
+            if (anonymousTypes.contains(ind)) {
+                return Stream.concat(named, getRootOntology().importsClosure()
+                    .flatMap(o -> o.classAssertionAxioms(ind))
+                    .map(OWLClassAssertionAxiom::getClassExpression)
+                    .filter(OWLClassExpression::isAnonymous).limit(1));
+            }
+            return named;
+        }
+
+        /**
+         * @param cls class
+         * @param direct true if only the asserted instances of cls are required; false if the
+         * instances of all its subclasses are to be included
+         * @return the instances
+         */
+        public Stream<OWLNamedIndividual> instances(OWLClass cls, boolean direct) {
+            int[] ordinals;
+            if (direct) {
+                int c = classOrdinals.get(cls);
+                ordinals = c < 0 ? new int[0] : instancesByClass.get(c).toArray();
+            } else {
+                ordinals = indirectInstances.computeIfAbsent(cls, this::computeIndirectInstances);
+            }
+            return Arrays.stream(ordinals).mapToObj(individuals::get);
+        }
+
+        private int[] computeIndirectInstances(OWLClass cls) {
+            TIntArrayList result = new TIntArrayList();
+            Set<OWLClass> clses = new HashSet<>();
+            clses.add(cls);
+            getSubClasses(cls, false).entities().forEach(clses::add);
+            for (OWLClass c : clses) {
+                int ordinal = classOrdinals.get(c);
+                if (ordinal >= 0) {
+                    result.addAll(instancesByClass.get(ordinal));
+                }
+            }
+            result.sort();
+            int[] sorted = result.toArray();
+            int size = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[size++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, size);
+        }
+    }
+
     // HierarchyInfo
     private abstract class AbstractHierarchyInfo<T extends OWLObject> {
 
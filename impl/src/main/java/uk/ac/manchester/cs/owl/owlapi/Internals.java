@@ -73,8 +73,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Nullable;
 
@@ -145,6 +148,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Axiom indexes for an ontology. By default, the indexes are hash based and streams come out in no
+ * particular order. With ordered indexes, keys and axioms are kept in their natural
+ * {@link org.semanticweb.owlapi.model.OWLObject} order as they are inserted: entity keys, axioms per
+ * key, and all axioms of the ontology (axiom types sort before their content) stream already
+ * sorted, so that {@code sorted()} calls on these streams do no work. Ordered indexes use more
+ * memory and make insertions logarithmic rather than constant time.
+ *
  * @author ignazio
  */
 public class Internals implements Serializable {
@@ -215,6 +225,32 @@ public class Internals implements Serializable {
 
     @Nullable
     private List<OWLAxiom> axiomsForSerialization;
+    private final boolean ordered;
+
+    /**
+     * Creates hash based indexes.
+     */
+    public Internals() {
+        this(false);
+    }
+
+    /**
+     * @param ordered true if keys and values should be kept in their natural order
+     */
+    public Internals(boolean ordered) {
+        this.ordered = ordered;
+        if (ordered) {
+            // the field initializers built hash based pointers
+            initPointers();
+        }
+    }
+
+    /**
+     * @return true if keys and values are kept in their natural order
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
 
     /**
      * @param p pointer
@@ -231,6 +267,12 @@ public class Internals implements Serializable {
     @SuppressWarnings("null")
     private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
         stream.defaultReadObject();
+        initPointers();
+        axiomsForSerialization.forEach(this::addAxiom);
+        axiomsForSerialization = null;
+    }
+
+    private void initPointers() {
         axiomsByType = build();
         owlClassReferences = build();
         owlObjectPropertyReferences = build();
@@ -285,8 +327,6 @@ public class Internals implements Serializable {
             buildLazy(NEGATIVE_DATA_PROPERTY_ASSERTION, INDIVIDUALSUBNAMED);
         differentIndividualsAxiomsByIndividual = buildLazy(DIFFERENT_INDIVIDUALS, ICOLLECTIONS);
         sameIndividualsAxiomsByIndividual = buildLazy(SAME_INDIVIDUAL, ICOLLECTIONS);
-        axiomsForSerialization.forEach(this::addAxiom);
-        axiomsForSerialization = null;
     }
 
     /**
@@ -871,7 +911,14 @@ public class Internals implements Serializable {
      * @return the axioms by type
      */
     public Stream<OWLAxiom> getAxioms() {
-        return axiomsByType.getAllValues();
+        Stream<OWLAxiom> axioms = axiomsByType.getAllValues();
+        if (!ordered) {
+            return axioms;
+        }
+        // types are visited in index order, and axioms compare by type index first
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(axioms.iterator(),
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL),
+            false);
     }
 
     /**
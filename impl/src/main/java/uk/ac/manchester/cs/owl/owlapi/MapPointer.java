@@ -14,6 +14,7 @@ package uk.ac.manchester.cs.owl.owlapi;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.empty;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.streamFromSorted;
 
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
@@ -22,6 +23,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -48,6 +50,9 @@ import uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.InitVisitor;
 /**
  * * Objects that identify contained maps - so that getting the keys of a specific map does not
  * require a specific method for each map nor does it require the map to be copied and returned.
+ * If the internals are {@link Internals#isOrdered() ordered}, keys are also kept in a tree set and
+ * multiple values in tree sets, so that both stream in their natural order; lookups still go
+ * through the hash map.
  *
  * @param <K> key
  * @param <V> value
@@ -65,6 +70,9 @@ public class MapPointer<K, V extends OWLAxiom> {
     @Nullable
     private final OWLAxiomVisitorEx<?> visitor;
     private final THashMap<K, Collection<V>> map = new THashMap<>(17, 0.75F);
+    private final boolean ordered;
+    @Nullable
+    private final Set<K> sortedKeys;
     private boolean initialized;
     @Nullable
     private SoftReference<Set<IRI>> iris;
@@ -83,6 +91,8 @@ public class MapPointer<K, V extends OWLAxiom> {
         visitor = v;
         this.initialized = initialized;
         this.i = checkNotNull(i, "i cannot be null");
+        ordered = i.isOrdered();
+        sortedKeys = ordered ? new TreeSet<>() : null;
     }
 
     static synchronized void resetCounts() {
@@ -187,6 +197,9 @@ public class MapPointer<K, V extends OWLAxiom> {
      */
     public synchronized Collection<K> keySet() {
         init();
+        if (sortedKeys != null) {
+            return sortedKeys;
+        }
         Set<K> keySet = map.keySet();
         assert keySet != null;
         return keySet;
@@ -203,9 +216,9 @@ public class MapPointer<K, V extends OWLAxiom> {
             return Stream.empty();
         }
         if (t.size() < 3) {
-            return t.stream();
+            return stream(t);
         }
-        return new ArrayList<>(t).stream();
+        return stream(new ArrayList<>(t));
     }
 
     /**
@@ -385,10 +398,21 @@ public class MapPointer<K, V extends OWLAxiom> {
         if (set == null) {
             set = Collections.singleton(v);
             map.put(k, set);
+            if (sortedKeys != null) {
+                sortedKeys.add(k);
+            }
             size++;
             return true;
         }
-        if (set.size() == 1) {
+        if (ordered) {
+            if (set.size() == 1) {
+                if (set.contains(v)) {
+                    return false;
+                }
+                set = new TreeSet<>(set);
+                map.put(k, set);
+            }
+        } else if (set.size() == 1) {
             if (set.contains(v)) {
                 return false;
             } else {
@@ -430,7 +454,7 @@ public class MapPointer<K, V extends OWLAxiom> {
         }
         if (t.size() == 1) {
             if (t.contains(v)) {
-                map.remove(k);
+                removeKey(k);
                 size--;
                 return true;
             } else {
@@ -442,11 +466,18 @@ public class MapPointer<K, V extends OWLAxiom> {
             size--;
         }
         if (t.isEmpty()) {
-            map.remove(k);
+            removeKey(k);
         }
         return removed;
     }
 
+    private void removeKey(K k) {
+        map.remove(k);
+        if (sortedKeys != null) {
+            sortedKeys.remove(k);
+        }
+    }
+
     private Collection<V> makeSet(Collection<V> collection, V extra) {
         if (neverTrimmed) {
             List<V> list = new ArrayList<>(collection);
@@ -458,6 +489,9 @@ public class MapPointer<K, V extends OWLAxiom> {
     }
 
     private Stream<V> values() {
+        if (sortedKeys != null) {
+            return sortedKeys.stream().flatMap(k -> map.get(k).stream());
+        }
         return map.values().stream().flatMap(Collection::stream);
     }
 
@@ -469,6 +503,13 @@ public class MapPointer<K, V extends OWLAxiom> {
         return t.stream();
     }
 
+    private Stream<V> stream(Collection<V> t) {
+        if (ordered) {
+            return streamFromSorted(t);
+        }
+        return t.stream();
+    }
+
     /**
      * Trims the capacity of the map entries . An application can use this operation to minimize the
      * storage of the map pointer instance.
@@ -17,7 +17,22 @@ import org.semanticweb.owlapi.search.Filters;
 public abstract class OWLAxiomIndexImpl extends OWLObjectImpl implements OWLAxiomIndex,
     HasTrimToSize {
 
-    protected final Internals ints = new Internals();
+    protected final Internals ints;
+
+    /**
+     * Creates hash based indexes.
+     */
+    protected OWLAxiomIndexImpl() {
+        this(false);
+    }
+
+    /**
+     * @param orderedIndexes true if the indexes should keep entities and axioms in their natural
+     *        order, see {@link Internals}
+     */
+    protected OWLAxiomIndexImpl(boolean orderedIndexes) {
+        ints = new Internals(orderedIndexes);
+    }
 
     @Override
     public void trimToSize() {
@@ -125,6 +125,18 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
      * @param ontologyID ontology id
      */
     public OWLImmutableOntologyImpl(OWLOntologyManager manager, OWLOntologyID ontologyID) {
+        this(manager, ontologyID, false);
+    }
+
+    /**
+     * @param manager ontology manager
+     * @param ontologyID ontology id
+     * @param orderedIndexes true if the axiom indexes should keep entities and axioms in their
+     *        natural order, so that sorted streams need no sorting, see {@link Internals}
+     */
+    public OWLImmutableOntologyImpl(OWLOntologyManager manager, OWLOntologyID ontologyID,
+        boolean orderedIndexes) {
+        super(orderedIndexes);
         this.manager = checkNotNull(manager, "manager cannot be null");
         this.ontologyID = checkNotNull(ontologyID, "ontologyID cannot be null");
         df = manager.getOWLDataFactory();
@@ -55,6 +55,17 @@ public class OWLOntologyImpl extends OWLImmutableOntologyImpl
         super(manager, ontologyID);
     }
 
+    /**
+     * @param manager ontology manager
+     * @param ontologyID ontology id
+     * @param orderedIndexes true if the axiom indexes should keep entities and axioms in their
+     *        natural order, see {@link Internals}
+     */
+    public OWLOntologyImpl(OWLOntologyManager manager, OWLOntologyID ontologyID,
+        boolean orderedIndexes) {
+        super(manager, ontologyID, orderedIndexes);
+    }
+
     @Override
     public ChangeApplied applyDirectChange(OWLOntologyChange change) {
         OWLOntologyChangeFilter changeFilter = new OWLOntologyChangeFilter();
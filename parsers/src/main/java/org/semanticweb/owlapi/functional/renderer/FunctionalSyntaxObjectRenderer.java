@@ -100,6 +100,7 @@ import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.TRANSITIVE_OBJECT_PR
 import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.VARIABLE;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -110,6 +111,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -227,13 +233,19 @@ import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.semanticweb.owlapi.vocab.OWLXMLVocabulary;
 
 /**
- * The Class OWLObjectRenderer.
+ * The Class OWLObjectRenderer.<br>
+ * Declarations and entity sections can be rendered in parallel, see
+ * {@link #setParallel(ForkJoinPool, int)}; the output is the same as the sequential output.
  *
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.0.0
  */
 public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
 
+    /**
+     * Default number of entities rendered by each task in parallel mode.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
     protected final OWLOntology ont;
     private final Writer writer;
     @Nullable
@@ -242,6 +254,9 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
     private PrefixManager prefixManager;
     private boolean writeEntitiesAsURIs = true;
     private boolean addMissingDeclarations = true;
+    @Nullable
+    private ForkJoinPool pool;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
 
     /**
      * @param ontology the ontology
@@ -279,6 +294,54 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
             prefLangMap, manager, defaultPrefixManager);
     }
 
+    /**
+     * Creates a renderer with the same settings as another renderer, writing to a different
+     * writer; the prefix managers and the label provider are shared.
+     *
+     * @param renderer the renderer to copy the settings from
+     * @param writer the writer
+     */
+    protected FunctionalSyntaxObjectRenderer(FunctionalSyntaxObjectRenderer renderer,
+        Writer writer) {
+        ont = renderer.ont;
+        this.writer = writer;
+        labelMaker = renderer.labelMaker;
+        defaultPrefixManager = renderer.defaultPrefixManager;
+        prefixManager = renderer.prefixManager;
+        writeEntitiesAsURIs = renderer.writeEntitiesAsURIs;
+        addMissingDeclarations = renderer.addMissingDeclarations;
+    }
+
+    /**
+     * Renders the declarations and the entity sections in parallel. The entities are split in
+     * chunks of {@code chunkSize} entities; the axioms of each chunk are retrieved and sorted by a
+     * task of the pool, and each chunk is then rendered to its own buffer by a renderer created
+     * with {@link #createRenderer(Writer)}. The buffers are written in entity order, so the output
+     * is the same as the sequential output. The prefix manager and the label provider are used
+     * concurrently, and must support concurrent reads.
+     *
+     * @param pool pool to render on; null to render sequentially
+     * @param chunkSize number of entities rendered by each task
+     */
+    public void setParallel(@Nullable ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates the renderers for the chunks rendered in parallel. Subclasses changing the rendering
+     * should override this method to return an instance of the subclass.
+     *
+     * @param buffer the writer for the chunk
+     * @return a renderer with the settings of this renderer, writing to the buffer
+     */
+    protected FunctionalSyntaxObjectRenderer createRenderer(Writer buffer) {
+        return new FunctionalSyntaxObjectRenderer(this, buffer);
+    }
+
     /**
      * Set the add missing declaration flag.
      *
@@ -380,7 +443,11 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         Set<OWLAxiom> writtenAxioms = new HashSet<>();
         Collection<IRI> illegals = OWLDocumentFormat.determineIllegalPunnings(
             addMissingDeclarations, ontology.unsortedSignature(), ont.getPunnedIRIs(INCLUDED));
-        ontology.signature().forEach(e -> writeDeclarations(e, writtenAxioms, illegals));
+        if (pool == null) {
+            ontology.signature().forEach(e -> writeDeclarations(e, writtenAxioms, illegals));
+        } else {
+            writeDeclarationsInParallel(asList(ontology.signature()), writtenAxioms, illegals);
+        }
         writeSortedEntities("Annotation Properties", "Annotation Property",
             ontology.annotationPropertiesInSignature(EXCLUDED), writtenAxioms);
         writeSortedEntities("Object Properties", "Object Property",
@@ -404,11 +471,23 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         Stream<? extends OWLEntity> entities, Set<OWLAxiom> writtenAxioms) {
         List<? extends OWLEntity> sortOptionally = asList(entities.sorted());
         if (!sortOptionally.isEmpty()) {
-            writeEntities(bannerComment, entityTypeName, sortOptionally, writtenAxioms);
+            if (pool == null) {
+                writeEntities(bannerComment, entityTypeName, sortOptionally, writtenAxioms);
+            } else {
+                writeEntitiesInParallel(bannerComment, entityTypeName, sortOptionally,
+                    writtenAxioms);
+            }
             writeReturn();
         }
     }
 
+    private void writeBanner(String comment) {
+        writeln("############################");
+        writeln("#   " + comment);
+        writeln("############################");
+        writeReturn();
+    }
+
     private void writeln(String s) {
         write(s);
         writeReturn();
@@ -427,10 +506,7 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
                 continue;
             }
             if (!haveWrittenBanner) {
-                writeln("############################");
-                writeln("#   " + comment);
-                writeln("############################");
-                writeReturn();
+                writeBanner(comment);
                 haveWrittenBanner = true;
             }
             axiomsForEntity.sort(null);
@@ -439,6 +515,94 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         }
     }
 
+    /**
+     * Parallel version of {@link #writeEntities(String, String, List, Set)}. Retrieving and
+     * sorting the axioms of an entity does not depend on the other entities, and is done in
+     * parallel; which axioms are written in each section depends on the sections before it, and
+     * is decided sequentially; the sections are then rendered in parallel.
+     */
+    private void writeEntitiesInParallel(String comment, String entityTypeName,
+        List<? extends OWLEntity> entities, Set<OWLAxiom> writtenAxioms) {
+        List<Section> sections = new ArrayList<>();
+        for (ForkJoinTask<List<Section>> task : inChunks(entities,
+            chunk -> asList(chunk.stream().map(this::section)))) {
+            sections.addAll(task.join());
+        }
+        List<Section> toWrite = new ArrayList<>();
+        for (Section section : sections) {
+            // same selection as writeEntities() and writeEntity2()
+            List<OWLAxiom> axiomsForEntity =
+                asList(section.axioms.stream().filter(ax -> !writtenAxioms.contains(ax)));
+            List<OWLAnnotationAssertionAxiom> list =
+                asList(section.annotations.stream().filter(ax -> !writtenAxioms.contains(ax)));
+            if (axiomsForEntity.isEmpty() && list.isEmpty()) {
+                continue;
+            }
+            section.banner = toWrite.isEmpty();
+            section.annotations = asList(list.stream().filter(writtenAxioms::add));
+            section.axioms = asList(axiomsForEntity.stream().filter(this::shouldWrite)
+                .filter(writtenAxioms::add));
+            toWrite.add(section);
+        }
+        for (ForkJoinTask<String> task : inChunks(toWrite, chunk -> render(r -> {
+            for (Section section : chunk) {
+                if (section.banner) {
+                    r.writeBanner(comment);
+                }
+                r.writeEntity2(section.entity, entityTypeName, section.axioms,
+                    section.annotations, new HashSet<>());
+            }
+        }))) {
+            write(task.join());
+        }
+    }
+
+    private Section section(OWLEntity entity) {
+        List<OWLAxiom> axioms = new ArrayList<>();
+        getUnsortedAxiomsForEntity(entity).forEach(axioms::add);
+        axioms.sort(null);
+        List<OWLAnnotationAssertionAxiom> annotations =
+            asList(ont.annotationAssertionAxioms(entity.getIRI()));
+        annotations.sort(null);
+        return new Section(entity, axioms, annotations);
+    }
+
+    private void writeDeclarationsInParallel(List<OWLEntity> entities,
+        Set<OWLAxiom> writtenAxioms, Collection<IRI> illegals) {
+        // declaration axioms belong to a single entity, so the chunks do not depend on each other
+        Set<OWLAxiom> declarations = ConcurrentHashMap.newKeySet();
+        for (ForkJoinTask<String> task : inChunks(entities,
+            chunk -> render(r -> chunk.forEach(e -> r.writeDeclarations(e, declarations,
+                illegals))))) {
+            write(task.join());
+        }
+        writtenAxioms.addAll(declarations);
+    }
+
+    /**
+     * Submits one task per chunk of items to the pool.
+     *
+     * @return the tasks, in the order of the chunks
+     */
+    private <T, R> List<ForkJoinTask<R>> inChunks(List<T> items, Function<List<T>, R> task) {
+        ForkJoinPool p = verifyNotNull(pool, "pool has not been set");
+        List<ForkJoinTask<R>> tasks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            List<T> chunk = items.subList(start, Math.min(start + chunkSize, items.size()));
+            tasks.add(p.submit(() -> task.apply(chunk)));
+        }
+        return tasks;
+    }
+
+    /**
+     * @return the output of a renderer writing to a buffer
+     */
+    private String render(Consumer<FunctionalSyntaxObjectRenderer> rendering) {
+        StringWriter buffer = new StringWriter();
+        rendering.accept(createRenderer(buffer));
+        return buffer.toString();
+    }
+
     /**
      * Writes out the axioms that define the specified entity.
      *
@@ -1366,6 +1530,24 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         writeCloseBracket();
     }
 
+    /**
+     * The sorted axioms of an entity, and whether a banner precedes its section.
+     */
+    private static class Section {
+
+        final OWLEntity entity;
+        List<OWLAxiom> axioms;
+        List<OWLAnnotationAssertionAxiom> annotations;
+        boolean banner;
+
+        Section(OWLEntity entity, List<OWLAxiom> axioms,
+            List<OWLAnnotationAssertionAxiom> annotations) {
+            this.entity = entity;
+            this.axioms = axioms;
+            this.annotations = annotations;
+        }
+    }
+
     class AxiomRetriever implements OWLEntityVisitorEx<Stream<? extends OWLAxiom>> {
 
         @Override
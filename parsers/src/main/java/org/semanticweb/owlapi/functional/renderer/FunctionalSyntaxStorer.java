@@ -13,6 +13,8 @@
 package org.semanticweb.owlapi.functional.renderer;
 
 import java.io.PrintWriter;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
 import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLOntology;
@@ -26,6 +28,28 @@ import org.semanticweb.owlapi.util.AbstractOWLStorer;
  */
 public class FunctionalSyntaxStorer extends AbstractOWLStorer {
 
+    @Nullable
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Storer rendering sequentially.
+     */
+    public FunctionalSyntaxStorer() {
+        this(null, FunctionalSyntaxObjectRenderer.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param pool pool to render on, see
+     *        {@link FunctionalSyntaxObjectRenderer#setParallel(ForkJoinPool, int)}; null to render
+     *        sequentially
+     * @param chunkSize number of entities rendered by each task
+     */
+    public FunctionalSyntaxStorer(@Nullable ForkJoinPool pool, int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
     @Override
     public boolean canStoreOntology(OWLDocumentFormat ontologyFormat) {
         return ontologyFormat instanceof FunctionalSyntaxDocumentFormat;
@@ -35,7 +59,10 @@ public class FunctionalSyntaxStorer extends AbstractOWLStorer {
     protected void storeOntology(OWLOntology ontology, PrintWriter writer, OWLDocumentFormat format)
         throws OWLOntologyStorageException {
         try {
-            ontology.accept(new FunctionalSyntaxObjectRenderer(ontology, writer));
+            FunctionalSyntaxObjectRenderer renderer =
+                new FunctionalSyntaxObjectRenderer(ontology, writer);
+            renderer.setParallel(pool, chunkSize);
+            ontology.accept(renderer);
             writer.flush();
         } catch (OWLRuntimeException e) {
             throw new OWLOntologyStorageException(e);
@@ -35,6 +35,8 @@
  */
 package org.semanticweb.owlapi.functional.renderer;
 
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
 import org.semanticweb.owlapi.annotations.HasPriority;
 import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormatFactory;
 import org.semanticweb.owlapi.model.OWLStorer;
@@ -47,15 +49,29 @@ import org.semanticweb.owlapi.util.OWLStorerFactoryImpl;
 @HasPriority(2)
 public class FunctionalSyntaxStorerFactory extends OWLStorerFactoryImpl {
 
+    @Nullable
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
     /**
      * Default constructor.
      */
     public FunctionalSyntaxStorerFactory() {
+        this(null, FunctionalSyntaxObjectRenderer.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param pool pool for the storers to render on; null to render sequentially
+     * @param chunkSize number of entities rendered by each task
+     */
+    public FunctionalSyntaxStorerFactory(@Nullable ForkJoinPool pool, int chunkSize) {
         super(new FunctionalSyntaxDocumentFormatFactory());
+        this.pool = pool;
+        this.chunkSize = chunkSize;
     }
 
     @Override
     public OWLStorer createStorer() {
-        return new FunctionalSyntaxStorer();
+        return new FunctionalSyntaxStorer(pool, chunkSize);
     }
 }
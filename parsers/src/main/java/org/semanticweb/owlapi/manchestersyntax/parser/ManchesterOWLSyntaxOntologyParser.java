@@ -15,6 +15,8 @@ package org.semanticweb.owlapi.manchestersyntax.parser;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
 import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormatFactory;
 import org.semanticweb.owlapi.io.AbstractOWLParser;
 import org.semanticweb.owlapi.io.DocumentSources;
@@ -26,7 +28,6 @@ import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 import org.semanticweb.owlapi.model.OntologyConfigurator;
-import org.semanticweb.owlapi.util.mansyntax.ManchesterOWLSyntaxParser;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
@@ -35,6 +36,28 @@ import org.semanticweb.owlapi.util.mansyntax.ManchesterOWLSyntaxParser;
 public class ManchesterOWLSyntaxOntologyParser extends AbstractOWLParser {
 
     private static final String COMMENT_START_CHAR = "#";
+    @Nullable
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Parser parsing the frames sequentially.
+     */
+    public ManchesterOWLSyntaxOntologyParser() {
+        this(null, ManchesterOWLSyntaxParserImpl.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param pool pool to parse the frames on; null to parse sequentially
+     * @param chunkSize number of frames parsed by each task
+     */
+    public ManchesterOWLSyntaxOntologyParser(@Nullable ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
 
     private static boolean startsWithMagicNumber(String line) {
         return line.indexOf(ManchesterOWLSyntax.PREFIX.toString()) != -1
@@ -85,9 +108,10 @@ public class ManchesterOWLSyntaxOntologyParser extends AbstractOWLParser {
                 lineCount++;
             }
             String s = sb.toString();
-            ManchesterOWLSyntaxParser parser = new ManchesterOWLSyntaxParserImpl(
+            ManchesterOWLSyntaxParserImpl parser = new ManchesterOWLSyntaxParserImpl(
                 new OntologyConfigurator(), ontology
                 .getOWLOntologyManager().getOWLDataFactory());
+            parser.setParallel(pool, chunkSize);
             parser.setOntologyLoaderConfiguration(config);
             parser.setStringToParse(s);
             return parser.parseOntology(ontology);
@@ -35,6 +35,8 @@
  */
 package org.semanticweb.owlapi.manchestersyntax.parser;
 
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
 import org.semanticweb.owlapi.annotations.HasPriority;
 import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormatFactory;
 import org.semanticweb.owlapi.io.OWLParser;
@@ -47,15 +49,29 @@ import org.semanticweb.owlapi.io.OWLParserFactoryImpl;
 @HasPriority(4)
 public class ManchesterOWLSyntaxOntologyParserFactory extends OWLParserFactoryImpl {
 
+    @Nullable
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
     /**
      * Default constructor.
      */
     public ManchesterOWLSyntaxOntologyParserFactory() {
+        this(null, ManchesterOWLSyntaxParserImpl.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param pool pool for the parsers to parse the frames on; null to parse sequentially
+     * @param chunkSize number of frames parsed by each task
+     */
+    public ManchesterOWLSyntaxOntologyParserFactory(@Nullable ForkJoinPool pool, int chunkSize) {
         super(new ManchesterSyntaxDocumentFormatFactory());
+        this.pool = pool;
+        this.chunkSize = chunkSize;
     }
 
     @Override
     public OWLParser createParser() {
-        return new ManchesterOWLSyntaxOntologyParser();
+        return new ManchesterOWLSyntaxOntologyParser(pool, chunkSize);
     }
 }
@@ -114,6 +114,9 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
 
 import javax.annotation.Nullable;
@@ -133,6 +136,7 @@ import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnnotationSubject;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
 import org.semanticweb.owlapi.model.OWLAnnotationValue;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -205,15 +209,19 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
 
     private static final String INFINITY = "Infinity";
     private static final boolean ALLOWEMPTYFRAMESECTIONS = false;
-    protected final Set<String> classNames = new HashSet<>();
-    protected final Set<String> objectPropertyNames = new HashSet<>();
-    protected final Set<String> dataPropertyNames = new HashSet<>();
-    protected final Set<String> individualNames = new HashSet<>();
-    protected final Set<String> dataTypeNames = new HashSet<>();
-    protected final Set<String> annotationPropertyNames = new HashSet<>();
+    /**
+     * Default number of frames parsed by each task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 100;
+    protected final Set<String> classNames;
+    protected final Set<String> objectPropertyNames;
+    protected final Set<String> dataPropertyNames;
+    protected final Set<String> individualNames;
+    protected final Set<String> dataTypeNames;
+    protected final Set<String> annotationPropertyNames;
     protected final DefaultPrefixManager pm = new DefaultPrefixManager();
     protected final Set<ManchesterOWLSyntax> potentialKeywords = new HashSet<>();
-    private final List<Token> tokens = new ArrayList<>();
+    private List<Token> tokens = new ArrayList<>();
     private final Map<ManchesterOWLSyntax, AnnAxiom<OWLClass, ?>> classFrameSections =
         new EnumMap<>(ManchesterOWLSyntax.class);
     private final Map<String, SWRLBuiltInsVocabulary> ruleBuiltIns = new TreeMap<>();
@@ -225,7 +233,7 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
         new EnumMap<>(ManchesterOWLSyntax.class);
     private final Map<ManchesterOWLSyntax, AnnAxiom<OWLIndividual, ?>> individualFrameSections =
         new EnumMap<>(ManchesterOWLSyntax.class);
-    private final Map<String, IRI> nameIRIMap = new HashMap<>();
+    private Map<String, IRI> nameIRIMap = new HashMap<>();
     protected OWLDataFactory df;
     protected RemappingIndividualProvider anonProvider;
     // This parser was built by hand! After struggling with terrible
@@ -239,6 +247,9 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
     private OWLOntologyChecker owlOntologyChecker = name -> null;
     @Nullable
     private OWLOntology defaultOntology;
+    @Nullable
+    private ForkJoinPool pool;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
 
     /**
      * @param configurationProvider configuration provider
@@ -247,6 +258,12 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
     @Inject
     public ManchesterOWLSyntaxParserImpl(OntologyConfigurator configurationProvider,
         OWLDataFactory dataFactory) {
+        classNames = new HashSet<>();
+        objectPropertyNames = new HashSet<>();
+        dataPropertyNames = new HashSet<>();
+        individualNames = new HashSet<>();
+        dataTypeNames = new HashSet<>();
+        annotationPropertyNames = new HashSet<>();
         loaderConfig = configurationProvider.buildLoaderConfiguration();
         df = dataFactory;
         anonProvider = new RemappingIndividualProvider(configurationProvider, df);
@@ -286,6 +303,40 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
         }
     }
 
+    /**
+     * Copy constructor for the parsers of the frames parsed in parallel. The copy shares the
+     * tokens, the entity names, the resolved IRIs and the anonymous individuals of {@code other},
+     * copies its prefixes, and has its own position in the tokens. The entity names are only read
+     * while the frames are parsed.
+     *
+     * @param other the parser to copy
+     */
+    protected ManchesterOWLSyntaxParserImpl(ManchesterOWLSyntaxParserImpl other) {
+        classNames = other.classNames;
+        objectPropertyNames = other.objectPropertyNames;
+        dataPropertyNames = other.dataPropertyNames;
+        individualNames = other.individualNames;
+        dataTypeNames = other.dataTypeNames;
+        annotationPropertyNames = other.annotationPropertyNames;
+        loaderConfig = other.loaderConfig;
+        df = other.df;
+        anonProvider = other.anonProvider;
+        pm.copyPrefixesFrom(other.pm);
+        initialiseClassFrameSections();
+        initialiseObjectPropertyFrameSections();
+        initialiseDataPropertyFrameSections();
+        initialiseAnnotationPropertyFrameSections();
+        initialiseIndividualFrameSections();
+        ruleBuiltIns.putAll(other.ruleBuiltIns);
+        tokens = other.tokens;
+        nameIRIMap = other.nameIRIMap;
+        // the default checker resolves names with the parser it belongs to
+        checker = other.checker instanceof DefaultEntityChecker ? new DefaultEntityChecker()
+            : other.checker;
+        owlOntologyChecker = other.owlOntologyChecker;
+        defaultOntology = other.defaultOntology;
+    }
+
     protected static ManchesterOWLSyntaxTokenizer getTokenizer(String s) {
         return new ManchesterOWLSyntaxTokenizer(s);
     }
@@ -352,11 +403,47 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
 
     @Override
     public void setStringToParse(String s) {
-        tokens.clear();
-        tokens.addAll(getTokenizer(s).tokenize());
+        tokens = getTokenizer(s).tokenize();
         tokenIndex = 0;
     }
 
+    /**
+     * Parses the frames of {@link #parseOntology(OWLOntology)} in parallel. The prefixes, the
+     * ontology header and the imports are parsed first, and the entity names declared by the
+     * frame keywords are collected; the frames are then split in chunks of {@code chunkSize}
+     * frames, and each chunk is parsed by a task of the pool, with a parser created by
+     * {@link #createParser()}. The axioms are added to the ontology together once all chunks are
+     * parsed, so the result is the same as the sequential result. Documents with prefixes,
+     * imports or ontology headers after the first frame, which change how the following frames
+     * are parsed, cannot be split in chunks and are parsed sequentially, as are documents with no
+     * more than {@code chunkSize} frames. A parse error in a chunk is thrown with the same token
+     * and position as in the sequential parse; the error of the first chunk in document order is
+     * thrown. The expected keywords of the error can differ, since the sequential parser keeps
+     * some of the keywords expected in a frame for the frames after it. An entity checker set with
+     * {@link #setOWLEntityChecker(OWLEntityChecker)} is used concurrently, and must support
+     * concurrent reads.
+     *
+     * @param pool pool to parse on; null to parse sequentially
+     * @param chunkSize number of frames parsed by each task
+     */
+    public void setParallel(@Nullable ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates the parsers for the chunks parsed in parallel. Subclasses changing the parsing
+     * should override this method to return an instance of the subclass.
+     *
+     * @return a copy of this parser sharing its tokens and entity names
+     */
+    protected ManchesterOWLSyntaxParserImpl createParser() {
+        return new ManchesterOWLSyntaxParserImpl(this);
+    }
+
     private void initialiseClassFrameSections() {
         //@formatter:off
         initialiseSection(new AnnAxiom<OWLClass, OWLAnnotation>(x -> parseAnnotation(), ANNOTATIONS, (s, o, anns) -> df.getOWLAnnotationAssertionAxiom(s.getIRI(), o, anns)), classFrameSections);
@@ -2114,36 +2201,11 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
         Set<AddOntologyAnnotation> ontologyAnnotations = new HashSet<>();
         defaultOntology = ont;
         processDeclaredEntities();
+        boolean splitFrames = pool != null;
         while (true) {
             String section = peekToken();
             if (ONTOLOGY.matches(section)) {
                 ontologyID = handleOntology(ont, imports, ontologyAnnotations);
-            } else if (DISJOINT_CLASSES.matches(section)) {
-                axioms.addAll(parseDisjointClasses());
-            } else if (EQUIVALENT_CLASSES.matches(section)) {
-                axioms.addAll(parseNaryEquivalentClasses());
-            } else if (EQUIVALENT_PROPERTIES.matches(section)) {
-                axioms.addAll(parseNaryEquivalentProperties());
-            } else if (DISJOINT_PROPERTIES.matches(section)) {
-                axioms.addAll(parseDisjointProperties());
-            } else if (DIFFERENT_INDIVIDUALS.matches(section)) {
-                axioms.addAll(parseDifferentIndividuals());
-            } else if (SAME_INDIVIDUAL.matches(section)) {
-                axioms.addAll(parseSameIndividual());
-            } else if (CLASS.matches(section)) {
-                axioms.addAll(parseClassFrame());
-            } else if (OBJECT_PROPERTY.matches(section)) {
-                axioms.addAll(parseObjectPropertyFrame());
-            } else if (DATA_PROPERTY.matches(section)) {
-                axioms.addAll(parseDataPropertyFrame());
-            } else if (INDIVIDUAL.matches(section)) {
-                axioms.addAll(parseIndividualFrame());
-            } else if (DATATYPE.matches(section)) {
-                axioms.addAll(parseDatatypeFrame());
-            } else if (ANNOTATION_PROPERTY.matches(section)) {
-                axioms.addAll(parseAnnotationPropertyFrame());
-            } else if (VALUE_PARTITION.matches(section)) {
-                axioms.addAll(parseValuePartitionFrame());
             } else if (IMPORT.matches(section)) {
                 OWLImportsDeclaration decl = parseImportsDeclaration();
                 ont.getOWLOntologyManager().makeLoadImportRequest(decl,
@@ -2155,16 +2217,16 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
                 }
             } else if (PREFIX.matches(section)) {
                 parsePrefixDeclaration().forEach((k, v) -> pm.setPrefix(k, v.toString()));
-            } else if (RULE.matches(section)) {
-                axioms.addAll(parseRuleFrame());
             } else if (eof(section)) {
                 break;
+            } else if (splitFrames && isFrameKeyword(section)) {
+                // only the first frame is a candidate split point
+                splitFrames = false;
+                if (parseFramesInParallel(axioms)) {
+                    break;
+                }
             } else {
-                consumeToken();
-                throw new ExceptionBuilder().withKeyword(CLASS, OBJECT_PROPERTY, DATA_PROPERTY,
-                    INDIVIDUAL, DATATYPE, ANNOTATION_PROPERTY, IMPORT, VALUE_PARTITION, PREFIX,
-                    EQUIVALENT_CLASSES, DISJOINT_CLASSES, DISJOINT_PROPERTIES,
-                    DIFFERENT_INDIVIDUALS, SAME_INDIVIDUAL).build();
+                axioms.addAll(parseSection(section));
             }
         }
         List<OWLOntologyChange> changes = new ArrayList<>(axioms.size());
@@ -2180,6 +2242,134 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
         return format;
     }
 
+    private Collection<OntologyAxiomPair> parseSection(String section) {
+        if (DISJOINT_CLASSES.matches(section)) {
+            return parseDisjointClasses();
+        } else if (EQUIVALENT_CLASSES.matches(section)) {
+            return parseNaryEquivalentClasses();
+        } else if (EQUIVALENT_PROPERTIES.matches(section)) {
+            return parseNaryEquivalentProperties();
+        } else if (DISJOINT_PROPERTIES.matches(section)) {
+            return parseDisjointProperties();
+        } else if (DIFFERENT_INDIVIDUALS.matches(section)) {
+            return parseDifferentIndividuals();
+        } else if (SAME_INDIVIDUAL.matches(section)) {
+            return parseSameIndividual();
+        } else if (CLASS.matches(section)) {
+            return parseClassFrame();
+        } else if (OBJECT_PROPERTY.matches(section)) {
+            return parseObjectPropertyFrame();
+        } else if (DATA_PROPERTY.matches(section)) {
+            return parseDataPropertyFrame();
+        } else if (INDIVIDUAL.matches(section)) {
+            return parseIndividualFrame();
+        } else if (DATATYPE.matches(section)) {
+            return parseDatatypeFrame();
+        } else if (ANNOTATION_PROPERTY.matches(section)) {
+            return parseAnnotationPropertyFrame();
+        } else if (VALUE_PARTITION.matches(section)) {
+            return parseValuePartitionFrame();
+        } else if (RULE.matches(section)) {
+            return parseRuleFrame();
+        }
+        consumeToken();
+        throw new ExceptionBuilder().withKeyword(CLASS, OBJECT_PROPERTY, DATA_PROPERTY, INDIVIDUAL,
+            DATATYPE, ANNOTATION_PROPERTY, IMPORT, VALUE_PARTITION, PREFIX, EQUIVALENT_CLASSES,
+            DISJOINT_CLASSES, DISJOINT_PROPERTIES, DIFFERENT_INDIVIDUALS, SAME_INDIVIDUAL).build();
+    }
+
+    private static boolean isFrameKeyword(String token) {
+        return CLASS.matches(token) || OBJECT_PROPERTY.matches(token)
+            || DATA_PROPERTY.matches(token) || INDIVIDUAL.matches(token) || DATATYPE.matches(token)
+            || ANNOTATION_PROPERTY.matches(token);
+    }
+
+    /**
+     * Parses the frames from the current token to the end of the document in parallel. Entity
+     * frames cannot contain frame keywords, so each frame keyword starts a new top level section
+     * and the chunks can be parsed independently; the sections which are not entity frames are
+     * parsed with the frame before them.
+     *
+     * @param axioms the set to add the parsed axioms to
+     * @return false if the frames must be parsed sequentially; nothing has been parsed in this
+     *         case
+     */
+    private boolean parseFramesInParallel(Set<OntologyAxiomPair> axioms) {
+        List<Integer> frameStarts = new ArrayList<>();
+        for (int i = tokenIndex; i < tokens.size(); i++) {
+            String token = tokens.get(i).getToken();
+            if (ONTOLOGY.matches(token) || IMPORT.matches(token) || PREFIX.matches(token)) {
+                return false;
+            }
+            if (isFrameKeyword(token)) {
+                frameStarts.add(Integer.valueOf(i));
+            }
+        }
+        if (frameStarts.size() <= chunkSize) {
+            return false;
+        }
+        ForkJoinPool p = verifyNotNull(pool, "pool has not been set");
+        RemappingIndividualProvider provider = anonProvider;
+        anonProvider = new SynchronizedIndividualProvider(df, provider);
+        nameIRIMap = new ConcurrentHashMap<>(nameIRIMap);
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+        for (int start = 0; start < frameStarts.size(); start += chunkSize) {
+            int from = frameStarts.get(start).intValue();
+            int to = start + chunkSize < frameStarts.size()
+                ? frameStarts.get(start + chunkSize).intValue() : tokens.size();
+            tasks.add(p.submit(() -> parseChunk(from, to)));
+        }
+        try {
+            Set<OntologyAxiomPair> parsed = new HashSet<>();
+            for (ForkJoinTask<Chunk> task : tasks) {
+                Chunk chunk = task.join();
+                ParserException error = chunk.error;
+                if (error != null) {
+                    // the chunks start at frame boundaries and the tokens keep their positions,
+                    // so the first error in document order is at the position of the error of
+                    // the sequential parser
+                    throw error;
+                }
+                parsed.addAll(chunk.axioms);
+            }
+            axioms.addAll(parsed);
+            tokenIndex = tokens.size();
+            return true;
+        } catch (RuntimeException e) {
+            // the tasks still running must stop using the shared state first
+            for (ForkJoinTask<Chunk> task : tasks) {
+                task.cancel(false);
+                task.quietlyJoin();
+            }
+            throw e;
+        } finally {
+            anonProvider = provider;
+        }
+    }
+
+    /**
+     * Parses the sections of a chunk with a parser created by {@link #createParser()}; parser
+     * errors are returned rather than thrown, so that they reach the caller unchanged by the pool.
+     */
+    private Chunk parseChunk(int from, int to) {
+        Chunk chunk = new Chunk();
+        try {
+            chunk.axioms = createParser().parseSections(from, to);
+        } catch (ParserException e) {
+            chunk.error = e;
+        }
+        return chunk;
+    }
+
+    private Set<OntologyAxiomPair> parseSections(int from, int to) {
+        tokenIndex = from;
+        Set<OntologyAxiomPair> axioms = new HashSet<>();
+        while (tokenIndex < to && !eof(peekToken())) {
+            axioms.addAll(parseSection(peekToken()));
+        }
+        return axioms;
+    }
+
     protected OWLOntologyID handleOntology(OWLOntology ont, Set<AddImport> imports,
         Set<AddOntologyAnnotation> ontologyAnnotations) {
         OWLOntologyID ontologyID;
@@ -2761,6 +2951,32 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
         }
     }
 
+    /**
+     * Provider shared by the parsers of the frames parsed in parallel, so that the same node ids
+     * are mapped to the same anonymous individuals in all frames.
+     */
+    private static class Chunk {
+
+        Set<OntologyAxiomPair> axioms = Collections.emptySet();
+        @Nullable
+        ParserException error;
+    }
+
+    private static class SynchronizedIndividualProvider extends RemappingIndividualProvider {
+
+        private final RemappingIndividualProvider delegate;
+
+        SynchronizedIndividualProvider(OWLDataFactory df, RemappingIndividualProvider delegate) {
+            super(new OntologyConfigurator(), df);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized OWLAnonymousIndividual getOWLAnonymousIndividual(String nodeId) {
+            return delegate.getOWLAnonymousIndividual(nodeId);
+        }
+    }
+
     class DefaultEntityChecker implements OWLEntityChecker {
 
         @Override
@@ -55,10 +55,12 @@ import static org.semanticweb.owlapi.manchestersyntax.parser.ManchesterOWLSyntax
 import static org.semanticweb.owlapi.manchestersyntax.parser.ManchesterOWLSyntax.SYMMETRIC;
 import static org.semanticweb.owlapi.manchestersyntax.parser.ManchesterOWLSyntax.TRANSITIVE;
 import static org.semanticweb.owlapi.manchestersyntax.parser.ManchesterOWLSyntax.TYPES;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
 import com.google.common.collect.Sets;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -71,6 +73,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -100,6 +104,7 @@ import org.semanticweb.owlapi.model.OWLNaryPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLPropertyAssertionAxiom;
@@ -107,6 +112,7 @@ import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
 import org.semanticweb.owlapi.model.SWRLAtom;
 import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.util.CachingShortFormProvider;
 import org.semanticweb.owlapi.util.CollectionFactory;
 import org.semanticweb.owlapi.util.OWLAxiomFilter;
 import org.semanticweb.owlapi.util.OWLObjectComparator;
@@ -114,7 +120,9 @@ import org.semanticweb.owlapi.util.OntologyIRIShortFormProvider;
 import org.semanticweb.owlapi.util.ShortFormProvider;
 
 /**
- * The Class ManchesterOWLSyntaxFrameRenderer.
+ * The Class ManchesterOWLSyntaxFrameRenderer.<br>
+ * Entity frames can be rendered in parallel, see {@link #setParallel(ForkJoinPool, int)}; the
+ * output is the same as the sequential output.
  *
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.0.0
@@ -122,9 +130,13 @@ import org.semanticweb.owlapi.util.ShortFormProvider;
 public class ManchesterOWLSyntaxFrameRenderer extends ManchesterOWLSyntaxObjectRenderer implements
     OWLEntityVisitor {
 
+    /**
+     * Default number of frames rendered by each task in parallel mode.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 100;
     protected final OWLObjectComparator ooc;
     private final OWLOntology o;
-    private final Set<AxiomType<?>> filteredAxiomTypes = Sets.newHashSet(AxiomType.SWRL_RULE);
+    private final Set<AxiomType<?>> filteredAxiomTypes;
     private final List<RendererListener> listeners = new ArrayList<>();
     private final Predicate<OWLAxiom> props = ax ->
         ((OWLNaryPropertyAxiom<?>) ax).properties().count() == 2;
@@ -137,6 +149,12 @@ public class ManchesterOWLSyntaxFrameRenderer extends ManchesterOWLSyntaxObjectR
      */
     @Nullable
     private RendererEvent event;
+    @Nullable
+    private ForkJoinPool pool;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    @Nullable
+    private ManchesterOWLSyntaxPrefixNameShortFormProvider prefixes;
+
     /**
      * Instantiates a new manchester owl syntax frame renderer.
      *
@@ -149,6 +167,7 @@ public class ManchesterOWLSyntaxFrameRenderer extends ManchesterOWLSyntaxObjectR
         super(writer, entityShortFormProvider);
         o = ontology;
         ooc = new OWLObjectComparator(entityShortFormProvider);
+        filteredAxiomTypes = Sets.newHashSet(AxiomType.SWRL_RULE);
     }
 
     /**
@@ -166,6 +185,85 @@ public class ManchesterOWLSyntaxFrameRenderer extends ManchesterOWLSyntaxObjectR
         }
         o = ontologies.iterator().next();
         ooc = new OWLObjectComparator(entityShortFormProvider);
+        filteredAxiomTypes = Sets.newHashSet(AxiomType.SWRL_RULE);
+    }
+
+    /**
+     * Creates a renderer with the same settings as another renderer, writing to a different
+     * writer; the short form providers, the comparator, the axiom filter and the rendering
+     * director are shared. Listeners are not copied.
+     *
+     * @param renderer the renderer to copy the settings from
+     * @param writer the writer
+     */
+    protected ManchesterOWLSyntaxFrameRenderer(ManchesterOWLSyntaxFrameRenderer renderer,
+        Writer writer) {
+        super(writer, renderer.getShortFormProvider());
+        o = renderer.o;
+        ooc = renderer.ooc;
+        filteredAxiomTypes = new HashSet<>(renderer.filteredAxiomTypes);
+        shortFormProvider = renderer.shortFormProvider;
+        renderExtensions = renderer.renderExtensions;
+        axiomFilter = renderer.axiomFilter;
+        renderingDirector = renderer.renderingDirector;
+        prefixes = renderer.prefixes;
+        setUseTabbing(renderer.isUseTabbing());
+        setUseWrapping(renderer.isUseWrapping());
+    }
+
+    /**
+     * Renders the entity frames in parallel. The frames are split in chunks of {@code chunkSize}
+     * frames; each chunk is rendered to its own buffer by a task of the pool, with a renderer
+     * created by {@link #createRenderer(Writer)}. The buffers are written in the sequential frame
+     * order, so the output is the same as the sequential output. The short form provider is used
+     * concurrently, and must support concurrent reads; wrapping it in a
+     * {@link CachingShortFormProvider} also avoids computing the same short forms for each frame
+     * and each sort. A wrapped prefix provider must be passed to {@link #setPrefixes} for the
+     * prefix map to be written. Renderers with listeners always render sequentially, so that
+     * events are fired in document order.
+     *
+     * @param pool pool to render on; null to render sequentially
+     * @param chunkSize number of frames rendered by each task
+     */
+    public void setParallel(@Nullable ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Sets the provider whose prefixes are written in the prefix map. By default, this is the
+     * entity short form provider if it is a {@link ManchesterOWLSyntaxPrefixNameShortFormProvider};
+     * it must be set when that provider is wrapped, for example in a
+     * {@link CachingShortFormProvider}.
+     *
+     * @param prefixes provider of the prefixes to write; null to use the entity short form
+     *        provider
+     */
+    public void setPrefixes(@Nullable ManchesterOWLSyntaxPrefixNameShortFormProvider prefixes) {
+        this.prefixes = prefixes;
+    }
+
+    @Nullable
+    private static ManchesterOWLSyntaxPrefixNameShortFormProvider prefixes(
+        ShortFormProvider provider) {
+        if (provider instanceof ManchesterOWLSyntaxPrefixNameShortFormProvider) {
+            return (ManchesterOWLSyntaxPrefixNameShortFormProvider) provider;
+        }
+        return null;
+    }
+
+    /**
+     * Creates the renderers for the chunks rendered in parallel. Subclasses changing the rendering
+     * should override this method to return an instance of the subclass.
+     *
+     * @param buffer the writer for the chunk
+     * @return a renderer with the settings of this renderer, writing to the buffer
+     */
+    protected ManchesterOWLSyntaxFrameRenderer createRenderer(Writer buffer) {
+        return new ManchesterOWLSyntaxFrameRenderer(this, buffer);
     }
 
     static <E> Collection<E> sortedSet() {
@@ -249,19 +347,17 @@ public class ManchesterOWLSyntaxFrameRenderer extends ManchesterOWLSyntaxObjectR
         writePrefixMap();
         writeNewLine();
         writeOntologyHeader();
-        o.annotationPropertiesInSignature().sorted(ooc).forEach(this::write);
-        o.datatypesInSignature().sorted(ooc).forEach(this::write);
-        o.objectPropertiesInSignature().sorted(ooc).forEach(prop -> {
-            write(prop);
-            OWLObjectPropertyExpression invProp = prop.getInverseProperty();
-            if (o.axioms(invProp).count() > 0) {
-                write(invProp);
-            }
-        });
-        o.dataPropertiesInSignature().sorted(ooc).forEach(this::write);
-        o.classesInSignature().sorted(ooc).forEach(this::write);
-        o.individualsInSignature().sorted(ooc).forEach(this::write);
-        o.referencedAnonymousIndividuals().sorted(ooc).forEach(this::write);
+        if (pool == null || !listeners.isEmpty()) {
+            o.annotationPropertiesInSignature().sorted(ooc).forEach(this::write);
+            o.datatypesInSignature().sorted(ooc).forEach(this::write);
+            o.objectPropertiesInSignature().sorted(ooc).forEach(this::writeWithInverse);
+            o.dataPropertiesInSignature().sorted(ooc).forEach(this::write);
+            o.classesInSignature().sorted(ooc).forEach(this::write);
+            o.individualsInSignature().sorted(ooc).forEach(this::write);
+            o.referencedAnonymousIndividuals().sorted(ooc).forEach(this::write);
+        } else {
+            writeFramesInParallel();
+        }
         // Nary disjoint classes axioms
         event = new RendererEvent(this, o);
         o.axioms(AxiomType.DISJOINT_CLASSES).sorted(ooc)
@@ -297,6 +393,70 @@ public class ManchesterOWLSyntaxFrameRenderer extends ManchesterOWLSyntaxObjectR
         flush();
     }
 
+    private void writeWithInverse(OWLObjectProperty prop) {
+        write(prop);
+        OWLObjectPropertyExpression invProp = prop.getInverseProperty();
+        if (o.axioms(invProp).count() > 0) {
+            write(invProp);
+        }
+    }
+
+    /**
+     * Parallel version of the frame rendering in {@link #writeOntology()}. Frames do not depend on
+     * each other: each frame starts on a new line with no indentation, so a renderer starting on
+     * an empty buffer writes the same text as the sequential renderer.
+     */
+    private void writeFramesInParallel() {
+        List<OWLObject> frames = new ArrayList<>();
+        add(frames, o.annotationPropertiesInSignature().sorted(ooc));
+        add(frames, o.datatypesInSignature().sorted(ooc));
+        add(frames, o.objectPropertiesInSignature().sorted(ooc));
+        add(frames, o.dataPropertiesInSignature().sorted(ooc));
+        add(frames, o.classesInSignature().sorted(ooc));
+        add(frames, o.individualsInSignature().sorted(ooc));
+        add(frames, o.referencedAnonymousIndividuals().sorted(ooc));
+        ForkJoinPool p = verifyNotNull(pool, "pool has not been set");
+        List<ForkJoinTask<String>> tasks = new ArrayList<>();
+        for (int start = 0; start < frames.size(); start += chunkSize) {
+            List<OWLObject> chunk = frames.subList(start,
+                Math.min(start + chunkSize, frames.size()));
+            tasks.add(p.submit(() -> {
+                StringWriter buffer = new StringWriter();
+                ManchesterOWLSyntaxFrameRenderer renderer = createRenderer(buffer);
+                chunk.forEach(renderer::writeFrameObject);
+                return buffer.toString();
+            }));
+        }
+        for (ForkJoinTask<String> task : tasks) {
+            writeRendered(task.join());
+        }
+    }
+
+    private void writeFrameObject(OWLObject frame) {
+        if (frame instanceof OWLObjectProperty) {
+            writeWithInverse((OWLObjectProperty) frame);
+        } else if (frame instanceof OWLEntity) {
+            writeFrame((OWLEntity) frame);
+        } else if (frame instanceof OWLAnonymousIndividual) {
+            write((OWLAnonymousIndividual) frame);
+        }
+    }
+
+    /**
+     * Writes text rendered by another renderer. Line positions are only updated for the first new
+     * line in a string, so the text is written in two parts, the second starting with the last new
+     * line.
+     */
+    private void writeRendered(String rendered) {
+        int lastNewLine = rendered.lastIndexOf('\n');
+        if (lastNewLine > 0) {
+            write(rendered.substring(0, lastNewLine));
+            write(rendered.substring(lastNewLine));
+        } else {
+            write(rendered);
+        }
+    }
+
     protected <T> void writeMoreThanTwo(OWLAxiom ax, Stream<T> stream,
         ManchesterOWLSyntax section) {
         List<T> individuals = asList(stream);
@@ -350,11 +510,13 @@ public class ManchesterOWLSyntaxFrameRenderer extends ManchesterOWLSyntaxObjectR
      * Write prefix map.
      */
     public void writePrefixMap() {
-        ShortFormProvider sfp = getShortFormProvider();
-        if (!(sfp instanceof ManchesterOWLSyntaxPrefixNameShortFormProvider)) {
+        ManchesterOWLSyntaxPrefixNameShortFormProvider prov = prefixes;
+        if (prov == null) {
+            prov = prefixes(getShortFormProvider());
+        }
+        if (prov == null) {
             return;
         }
-        ManchesterOWLSyntaxPrefixNameShortFormProvider prov = (ManchesterOWLSyntaxPrefixNameShortFormProvider) sfp;
         Map<String, String> prefixMap = prov.getPrefixName2PrefixMap();
         prefixMap.entrySet().stream().sorted((o1, o2) -> o1.getKey().compareTo(o2.getKey()))
             .forEach(value -> {
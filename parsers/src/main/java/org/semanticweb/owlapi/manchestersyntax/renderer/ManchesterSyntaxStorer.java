@@ -13,11 +13,14 @@
 package org.semanticweb.owlapi.manchestersyntax.renderer;
 
 import java.io.PrintWriter;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
 import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyStorageException;
 import org.semanticweb.owlapi.util.AbstractOWLStorer;
+import org.semanticweb.owlapi.util.CachingShortFormProvider;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
@@ -25,6 +28,28 @@ import org.semanticweb.owlapi.util.AbstractOWLStorer;
  */
 public class ManchesterSyntaxStorer extends AbstractOWLStorer {
 
+    @Nullable
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Storer rendering sequentially.
+     */
+    public ManchesterSyntaxStorer() {
+        this(null, ManchesterOWLSyntaxFrameRenderer.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param pool pool to render on, see
+     *        {@link ManchesterOWLSyntaxFrameRenderer#setParallel(ForkJoinPool, int)}; null to
+     *        render sequentially
+     * @param chunkSize number of frames rendered by each task
+     */
+    public ManchesterSyntaxStorer(@Nullable ForkJoinPool pool, int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
     @Override
     public boolean canStoreOntology(OWLDocumentFormat ontologyFormat) {
         return ontologyFormat instanceof ManchesterSyntaxDocumentFormat;
@@ -33,9 +58,18 @@ public class ManchesterSyntaxStorer extends AbstractOWLStorer {
     @Override
     protected void storeOntology(OWLOntology ontology, PrintWriter writer,
         OWLDocumentFormat format) throws OWLOntologyStorageException {
-        ManchesterOWLSyntaxFrameRenderer ren = new ManchesterOWLSyntaxFrameRenderer(
-            ontology, writer,
-            new ManchesterOWLSyntaxPrefixNameShortFormProvider(format));
+        ManchesterOWLSyntaxPrefixNameShortFormProvider prefixes =
+            new ManchesterOWLSyntaxPrefixNameShortFormProvider(format);
+        if (pool == null) {
+            new ManchesterOWLSyntaxFrameRenderer(ontology, writer, prefixes).writeOntology();
+            return;
+        }
+        // the chunks share the short forms, computed once per entity rather than at every
+        // comparison
+        ManchesterOWLSyntaxFrameRenderer ren = new ManchesterOWLSyntaxFrameRenderer(ontology,
+            writer, new CachingShortFormProvider(prefixes));
+        ren.setPrefixes(prefixes);
+        ren.setParallel(pool, chunkSize);
         ren.writeOntology();
     }
 }
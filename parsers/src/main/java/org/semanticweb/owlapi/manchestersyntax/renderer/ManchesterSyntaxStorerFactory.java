@@ -35,6 +35,8 @@
  */
 package org.semanticweb.owlapi.manchestersyntax.renderer;
 
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
 import org.semanticweb.owlapi.annotations.HasPriority;
 import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormatFactory;
 import org.semanticweb.owlapi.model.OWLStorer;
@@ -47,15 +49,29 @@ import org.semanticweb.owlapi.util.OWLStorerFactoryImpl;
 @HasPriority(3)
 public class ManchesterSyntaxStorerFactory extends OWLStorerFactoryImpl {
 
+    @Nullable
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
     /**
      * Default constructor.
      */
     public ManchesterSyntaxStorerFactory() {
+        this(null, ManchesterOWLSyntaxFrameRenderer.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param pool pool for the storers to render on; null to render sequentially
+     * @param chunkSize number of frames rendered by each task
+     */
+    public ManchesterSyntaxStorerFactory(@Nullable ForkJoinPool pool, int chunkSize) {
         super(new ManchesterSyntaxDocumentFormatFactory());
+        this.pool = pool;
+        this.chunkSize = chunkSize;
     }
 
     @Override
     public OWLStorer createStorer() {
-        return new ManchesterSyntaxStorer();
+        return new ManchesterSyntaxStorer(pool, chunkSize);
     }
 }
@@ -144,6 +144,7 @@ import org.xml.sax.helpers.DefaultHandler;
 class OWLXMLPH extends DefaultHandler implements AnonymousIndividualByIdProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OWLXMLPH.class);
+    private static final int DISPATCH_SIZE = 256;
     private final OWLOntologyManager owlOntologyManager;
     private final OWLOntology ontology;
     private final List<OWLEH<?, ?>> handlerStack = new ArrayList<>();
@@ -152,6 +153,13 @@ class OWLXMLPH extends DefaultHandler implements AnonymousIndividualByIdProvider
     private final Deque<URI> bases = new LinkedList<>();
     private final OWLOntologyLoaderConfiguration configuration;
     private final Map<String, IRI> iriMap = new HashMap<>();
+    private final Map<String, IRI> abbreviatedIRIMap = new HashMap<>();
+    // element names seen last, by identity; parsers return the same instance for the same name
+    private final String[] dispatchNames = new String[DISPATCH_SIZE];
+    private final PARSER_OWLXMLVocabulary[] dispatchHandlers =
+        new PARSER_OWLXMLVocabulary[DISPATCH_SIZE];
+    private final boolean poolHandlers;
+    private final List<OWLEH<?, ?>[]> handlerPools = new ArrayList<>();
     private final RemappingIndividualProvider anonProvider;
     @Nullable
     private Locator locator;
@@ -193,6 +201,24 @@ class OWLXMLPH extends DefaultHandler implements AnonymousIndividualByIdProvider
      */
     public OWLXMLPH(OWLOntology ontology, @Nullable OWLEH<?, ?> topHandler,
         OWLOntologyLoaderConfiguration configuration) {
+        this(ontology, topHandler, configuration, false);
+    }
+
+    /**
+     * @param ontology ontology to add to
+     * @param configuration load configuration
+     * @param poolHandlers true if element handlers should be reused: one handler per depth and
+     *        element type is kept and reset when the next element of that type starts at that
+     *        depth, since the previous one has ended by then
+     */
+    OWLXMLPH(OWLOntology ontology, OWLOntologyLoaderConfiguration configuration,
+        boolean poolHandlers) {
+        this(ontology, null, configuration, poolHandlers);
+    }
+
+    private OWLXMLPH(OWLOntology ontology, @Nullable OWLEH<?, ?> topHandler,
+        OWLOntologyLoaderConfiguration configuration, boolean poolHandlers) {
+        this.poolHandlers = poolHandlers;
         owlOntologyManager = ontology.getOWLOntologyManager();
         this.ontology = ontology;
         this.configuration = configuration;
@@ -384,6 +410,15 @@ class OWLXMLPH extends DefaultHandler implements AnonymousIndividualByIdProvider
      * @return extended iri
      */
     public IRI getAbbreviatedIRI(String abbreviatedIRI) {
+        IRI iri = abbreviatedIRIMap.get(abbreviatedIRI);
+        if (iri == null) {
+            iri = expandAbbreviatedIRI(abbreviatedIRI);
+            abbreviatedIRIMap.put(abbreviatedIRI, iri);
+        }
+        return iri;
+    }
+
+    private IRI expandAbbreviatedIRI(String abbreviatedIRI) {
         String normalisedAbbreviatedIRI = getNormalisedAbbreviatedIRI(abbreviatedIRI);
         int sepIndex = normalisedAbbreviatedIRI.indexOf(':');
         String prefixName = normalisedAbbreviatedIRI.substring(0, sepIndex + 1);
@@ -402,6 +437,42 @@ class OWLXMLPH extends DefaultHandler implements AnonymousIndividualByIdProvider
         return prefixName2PrefixMap;
     }
 
+    private void putPrefix(String prefixName, String prefix) {
+        prefixName2PrefixMap.put(prefixName, prefix);
+        abbreviatedIRIMap.clear();
+    }
+
+    @Nullable
+    private PARSER_OWLXMLVocabulary getHandlerFactory(String localName) {
+        int i = System.identityHashCode(localName) & DISPATCH_SIZE - 1;
+        if (dispatchNames[i] == localName) {
+            return dispatchHandlers[i];
+        }
+        PARSER_OWLXMLVocabulary factory = handlerMap.get(localName);
+        dispatchNames[i] = localName;
+        dispatchHandlers[i] = factory;
+        return factory;
+    }
+
+    private OWLEH<?, ?> createHandler(PARSER_OWLXMLVocabulary factory) {
+        if (!poolHandlers) {
+            return factory.createHandler(this);
+        }
+        int depth = handlerStack.size();
+        while (handlerPools.size() <= depth) {
+            handlerPools.add(new OWLEH<?, ?>[PARSER_OWLXMLVocabulary.values().length]);
+        }
+        OWLEH<?, ?>[] pool = handlerPools.get(depth);
+        OWLEH<?, ?> handler = pool[factory.ordinal()];
+        if (handler == null) {
+            handler = factory.createHandler(this);
+            pool[factory.ordinal()] = handler;
+        } else {
+            handler.reset();
+        }
+        return handler;
+    }
+
     private void addFactory(PARSER_OWLXMLVocabulary factory, String... legacyElementNames) {
         handlerMap.put(factory.getShortName(), factory);
         for (String elementName : legacyElementNames) {
@@ -462,17 +533,17 @@ class OWLXMLPH extends DefaultHandler implements AnonymousIndividualByIdProvider
             String iriString = attributes.getValue(IRI_ATTRIBUTE.getShortForm());
             if (name != null && iriString != null) {
                 if (name.endsWith(":")) {
-                    prefixName2PrefixMap.put(name, iriString);
+                    putPrefix(name, iriString);
                 } else {
-                    prefixName2PrefixMap.put(name + ':', iriString);
+                    putPrefix(name + ':', iriString);
                 }
             }
             return;
         }
-        PARSER_OWLXMLVocabulary handlerFactory = handlerMap.get(localName);
+        PARSER_OWLXMLVocabulary handlerFactory = getHandlerFactory(localName);
         if (handlerFactory != null) {
             atLeastOneValidTagFound = true;
-            OWLEH<?, ?> handler = handlerFactory.createHandler(this);
+            OWLEH<?, ?> handler = createHandler(handlerFactory);
             if (!handlerStack.isEmpty()) {
                 handler.setParentHandler(handlerStack.get(0));
             }
@@ -517,7 +588,7 @@ class OWLXMLPH extends DefaultHandler implements AnonymousIndividualByIdProvider
 
     @Override
     public void startPrefixMapping(@Nullable String prefix, @Nullable String uri) {
-        prefixName2PrefixMap.put(prefix, uri);
+        putPrefix(prefix, uri);
     }
 
     /**
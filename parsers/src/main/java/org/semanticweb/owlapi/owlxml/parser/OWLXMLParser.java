@@ -13,10 +13,17 @@
 package org.semanticweb.owlapi.owlxml.parser;
 
 import java.io.IOException;
+import java.io.Reader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
 import org.semanticweb.owlapi.formats.OWLXMLDocumentFormatFactory;
 import org.semanticweb.owlapi.io.AbstractOWLParser;
+import org.semanticweb.owlapi.io.DocumentSources;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
 import org.semanticweb.owlapi.io.OWLParserException;
@@ -25,6 +32,8 @@ import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 import org.semanticweb.owlapi.util.SAXParsers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
@@ -34,6 +43,33 @@ import org.xml.sax.SAXException;
  */
 public class OWLXMLParser extends AbstractOWLParser {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(OWLXMLParser.class);
+    private static final String ORACLE_EXPANSION_LIMIT =
+        "http://www.oracle.com/xml/jaxp/properties/entityExpansionLimit";
+    private final boolean streaming;
+
+    /**
+     * Creates a parser based on SAX.
+     */
+    public OWLXMLParser() {
+        this(false);
+    }
+
+    /**
+     * @param streaming true to read the document with a StAX {@link XMLStreamReader} pull loop and
+     *        reuse element handlers, false to use SAX
+     */
+    public OWLXMLParser(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * @return true if this parser reads documents with StAX
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
     @Override
     public OWLDocumentFormatFactory getSupportedFormat() {
         return new OWLXMLDocumentFormatFactory();
@@ -44,10 +80,17 @@ public class OWLXMLParser extends AbstractOWLParser {
         OWLOntologyLoaderConfiguration configuration) {
         try {
             OWLXMLDocumentFormat format = new OWLXMLDocumentFormat();
-            InputSource isrc = getInputSource(documentSource, configuration);
-            OWLXMLPH handler = new OWLXMLPH(ontology, configuration);
-            SAXParsers.initParserWithOWLAPIStandards(null, configuration.getEntityExpansionLimit())
-                .parse(isrc, handler);
+            OWLXMLPH handler;
+            if (streaming) {
+                handler = new OWLXMLPH(ontology, configuration, true);
+                parse(documentSource, configuration, handler);
+            } else {
+                InputSource isrc = getInputSource(documentSource, configuration);
+                handler = new OWLXMLPH(ontology, configuration);
+                SAXParsers
+                    .initParserWithOWLAPIStandards(null, configuration.getEntityExpansionLimit())
+                    .parse(isrc, handler);
+            }
             if (!handler.atLeastOneTagFound()) {
                 throw new OWLXMLParserException(handler,
                     "No known tags in the input: is the file an OWL/XML ontology?");
@@ -56,9 +99,65 @@ public class OWLXMLParser extends AbstractOWLParser {
             format.setDefaultPrefix(handler.getBase().toString());
             return format;
         } catch (SAXException | IOException | OWLOntologyInputSourceException
-            | IllegalStateException e) {
+            | XMLStreamException | IllegalStateException e) {
             // General exception
             throw new OWLParserException(e);
         }
     }
+
+    private static void parse(OWLOntologyDocumentSource documentSource,
+        OWLOntologyLoaderConfiguration configuration, OWLXMLPH handler)
+        throws OWLOntologyInputSourceException, IOException, XMLStreamException, SAXException {
+        try (Reader in = DocumentSources.wrapInputAsReader(documentSource, configuration)) {
+            XMLStreamReader reader = createInputFactory(configuration)
+                .createXMLStreamReader(documentSource.getDocumentIRI().toString(), in);
+            try {
+                XMLStreamReaderAdapter adapter = new XMLStreamReaderAdapter(reader);
+                handler.setDocumentLocator(adapter);
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                                String prefix = reader.getNamespacePrefix(i);
+                                handler.startPrefixMapping(prefix == null ? "" : prefix,
+                                    reader.getNamespaceURI(i));
+                            }
+                            handler.startElement(reader.getNamespaceURI(), reader.getLocalName(),
+                                null, adapter);
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            handler.endElement(reader.getNamespaceURI(), reader.getLocalName(),
+                                null);
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                        case XMLStreamConstants.SPACE:
+                            handler.characters(reader.getTextCharacters(), reader.getTextStart(),
+                                reader.getTextLength());
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    private static XMLInputFactory createInputFactory(
+        OWLOntologyLoaderConfiguration configuration) {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        try {
+            factory.setProperty(ORACLE_EXPANSION_LIMIT,
+                configuration.getEntityExpansionLimit());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("{} not supported by {}, error message: {}", ORACLE_EXPANSION_LIMIT,
+                factory.getClass().getName(), e.getMessage());
+        }
+        return factory;
+    }
 }
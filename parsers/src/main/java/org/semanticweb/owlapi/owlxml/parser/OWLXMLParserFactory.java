@@ -47,15 +47,26 @@ import org.semanticweb.owlapi.io.OWLParserFactoryImpl;
 @HasPriority(1)
 public class OWLXMLParserFactory extends OWLParserFactoryImpl {
 
+    private final boolean streaming;
+
     /**
      * Default constructor.
      */
     public OWLXMLParserFactory() {
+        this(false);
+    }
+
+    /**
+     * @param streaming true to create parsers that read documents with StAX, false for SAX
+     *        based parsers
+     */
+    public OWLXMLParserFactory(boolean streaming) {
         super(new OWLXMLDocumentFormatFactory());
+        this.streaming = streaming;
     }
 
     @Override
     public OWLParser createParser() {
-        return new OWLXMLParser();
+        return new OWLXMLParser(streaming);
     }
 }
@@ -479,6 +479,17 @@ abstract class OWLEH<O, B extends Builder<O>> {
         }
     }
 
+    /**
+     * Prepares a handler that has already been used for a new element with the same parent
+     * handler type.
+     */
+    void reset() {
+        sb.setLength(0);
+        parentHandler = null;
+        elementName = null;
+        setHandler(handler);
+    }
+
     public <T> T getOWLObject() {
         return (T) builder.buildObject();
     }
@@ -1713,6 +1724,12 @@ class ChainEH extends
         child = HandleChild.OWLSubObjectPropertyChainEH;
     }
 
+    @Override
+    void reset() {
+        super.reset();
+        propertyList.clear();
+    }
+
     @Override
     public List<OWLObjectPropertyExpression> getOWLObject() {
         return propertyList;
@@ -1795,6 +1812,12 @@ class AtomListEH extends OWLEH<List<SWRLAtom>, Builder<List<SWRLAtom>>> {
         child = HandleChild.SWRLAtomListEH;
     }
 
+    @Override
+    void reset() {
+        super.reset();
+        atoms.clear();
+    }
+
     @Override
     void handleChild(AtomEH<?, ?> h) {
         atoms.add(h.getOWLObject(SWRLAtom.class));
@@ -0,0 +1,134 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.owlxml.parser;
+
+import javax.annotation.Nullable;
+import javax.xml.stream.XMLStreamReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+
+/**
+ * Presents the attributes of the current element and the position of an {@link XMLStreamReader}
+ * through the SAX interfaces used by {@link OWLXMLPH}, so that the same handler can be driven by a
+ * pull loop. A single instance is reused for every element.
+ */
+class XMLStreamReaderAdapter implements Attributes, Locator {
+
+    private final XMLStreamReader reader;
+
+    XMLStreamReaderAdapter(XMLStreamReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public int getLength() {
+        return reader.getAttributeCount();
+    }
+
+    @Override
+    public String getURI(int index) {
+        String uri = reader.getAttributeNamespace(index);
+        return uri == null ? "" : uri;
+    }
+
+    @Override
+    public String getLocalName(int index) {
+        return reader.getAttributeLocalName(index);
+    }
+
+    @Override
+    public String getQName(int index) {
+        String prefix = reader.getAttributePrefix(index);
+        String localName = reader.getAttributeLocalName(index);
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ':' + localName;
+    }
+
+    @Override
+    public String getType(int index) {
+        return reader.getAttributeType(index);
+    }
+
+    @Override
+    public String getValue(int index) {
+        return reader.getAttributeValue(index);
+    }
+
+    @Override
+    public int getIndex(@Nullable String uri, @Nullable String localName) {
+        for (int i = 0; i < getLength(); i++) {
+            if (getURI(i).equals(uri) && getLocalName(i).equals(localName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getIndex(@Nullable String qName) {
+        for (int i = 0; i < getLength(); i++) {
+            if (getQName(i).equals(qName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Nullable
+    @Override
+    public String getType(@Nullable String uri, @Nullable String localName) {
+        int index = getIndex(uri, localName);
+        return index < 0 ? null : getType(index);
+    }
+
+    @Nullable
+    @Override
+    public String getType(@Nullable String qName) {
+        int index = getIndex(qName);
+        return index < 0 ? null : getType(index);
+    }
+
+    @Nullable
+    @Override
+    public String getValue(@Nullable String uri, @Nullable String localName) {
+        return reader.getAttributeValue(uri, localName);
+    }
+
+    @Nullable
+    @Override
+    public String getValue(@Nullable String qName) {
+        int index = getIndex(qName);
+        return index < 0 ? null : getValue(index);
+    }
+
+    @Nullable
+    @Override
+    public String getPublicId() {
+        return reader.getLocation().getPublicId();
+    }
+
+    @Nullable
+    @Override
+    public String getSystemId() {
+        return reader.getLocation().getSystemId();
+    }
+
+    @Override
+    public int getLineNumber() {
+        return reader.getLocation().getLineNumber();
+    }
+
+    @Override
+    public int getColumnNumber() {
+        return reader.getLocation().getColumnNumber();
+    }
+}
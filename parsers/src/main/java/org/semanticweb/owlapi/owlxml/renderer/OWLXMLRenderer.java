@@ -39,11 +39,24 @@ public class OWLXMLRenderer extends AbstractOWLRenderer {
      */
     public static void render(OWLOntology ontology, PrintWriter writer, OWLDocumentFormat format)
         throws OWLRendererException {
+        render(ontology, writer, format, false);
+    }
+
+    /**
+     * @param ontology ontology
+     * @param writer writer
+     * @param format format
+     * @param buffered true to write through a
+     *        {@link org.semanticweb.owlapi.rdf.rdfxml.renderer.BufferedXMLWriter}
+     * @throws OWLRendererException renderer error
+     */
+    public static void render(OWLOntology ontology, PrintWriter writer, OWLDocumentFormat format,
+        boolean buffered) throws OWLRendererException {
         checkNotNull(ontology, "ontology cannot be null");
         checkNotNull(writer, "writer cannot be null");
         checkNotNull(format, "format cannot be null");
         try {
-            OWLXMLWriter w = new OWLXMLWriter(writer, ontology);
+            OWLXMLWriter w = new OWLXMLWriter(writer, ontology, buffered);
             w.startDocument(ontology);
             if (format instanceof PrefixDocumentFormat) {
                 PrefixDocumentFormat fromPrefixFormat = (PrefixDocumentFormat) format;
@@ -25,6 +25,23 @@ import org.semanticweb.owlapi.util.AbstractOWLStorer;
  */
 public class OWLXMLStorer extends AbstractOWLStorer {
 
+    private final boolean buffered;
+
+    /**
+     * Default constructor.
+     */
+    public OWLXMLStorer() {
+        this(false);
+    }
+
+    /**
+     * @param buffered true to write through a
+     *        {@link org.semanticweb.owlapi.rdf.rdfxml.renderer.BufferedXMLWriter}
+     */
+    public OWLXMLStorer(boolean buffered) {
+        this.buffered = buffered;
+    }
+
     @Override
     public boolean canStoreOntology(OWLDocumentFormat ontologyFormat) {
         return ontologyFormat instanceof OWLXMLDocumentFormat;
@@ -33,6 +50,6 @@ public class OWLXMLStorer extends AbstractOWLStorer {
     @Override
     protected void storeOntology(OWLOntology ontology, PrintWriter writer, OWLDocumentFormat format)
         throws OWLOntologyStorageException {
-        OWLXMLRenderer.render(ontology, writer, format);
+        OWLXMLRenderer.render(ontology, writer, format, buffered);
     }
 }
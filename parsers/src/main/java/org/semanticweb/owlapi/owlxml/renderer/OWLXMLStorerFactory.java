@@ -47,15 +47,26 @@ import org.semanticweb.owlapi.util.OWLStorerFactoryImpl;
 @HasPriority(1)
 public class OWLXMLStorerFactory extends OWLStorerFactoryImpl {
 
+    private final boolean buffered;
+
     /**
      * Default constructor.
      */
     public OWLXMLStorerFactory() {
+        this(false);
+    }
+
+    /**
+     * @param buffered true to create storers that write through a
+     *        {@link org.semanticweb.owlapi.rdf.rdfxml.renderer.BufferedXMLWriter}
+     */
+    public OWLXMLStorerFactory(boolean buffered) {
         super(new OWLXMLDocumentFormatFactory());
+        this.buffered = buffered;
     }
 
     @Override
     public OWLStorer createStorer() {
-        return new OWLXMLStorer();
+        return new OWLXMLStorer(buffered);
     }
 }
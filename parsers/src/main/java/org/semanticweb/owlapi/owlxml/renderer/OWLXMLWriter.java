@@ -36,7 +36,9 @@ import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.NodeID;
 import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyWriterConfiguration;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.rdf.rdfxml.renderer.BufferedXMLWriter;
 import org.semanticweb.owlapi.rdf.rdfxml.renderer.XMLWriter;
 import org.semanticweb.owlapi.rdf.rdfxml.renderer.XMLWriterImpl;
 import org.semanticweb.owlapi.rdf.rdfxml.renderer.XMLWriterNamespaceManager;
@@ -70,6 +72,16 @@ public class OWLXMLWriter {
      * @param ontology ontology
      */
     public OWLXMLWriter(PrintWriter writer, OWLOntology ontology) {
+        this(writer, ontology, false);
+    }
+
+    /**
+     * @param writer writer
+     * @param ontology ontology
+     * @param buffered true to write through a {@link BufferedXMLWriter}, false to use
+     *        {@link XMLWriterImpl}
+     */
+    public OWLXMLWriter(PrintWriter writer, OWLOntology ontology, boolean buffered) {
         XMLWriterNamespaceManager nsm = new XMLWriterNamespaceManager(Namespaces.OWL.toString());
         nsm.setPrefix("xsd", Namespaces.XSD.toString());
         nsm.setPrefix("rdf", Namespaces.RDF.toString());
@@ -79,8 +91,13 @@ public class OWLXMLWriter {
         if (!ontology.isAnonymous()) {
             base = ontology.getOntologyID().getOntologyIRI().get().toString();
         }
-        this.writer = new XMLWriterImpl(writer, nsm, base, ontology.getOWLOntologyManager()
-            .getOntologyWriterConfiguration());
+        OWLOntologyWriterConfiguration config =
+            ontology.getOWLOntologyManager().getOntologyWriterConfiguration();
+        if (buffered) {
+            this.writer = new BufferedXMLWriter(writer, nsm, base, config);
+        } else {
+            this.writer = new XMLWriterImpl(writer, nsm, base, config);
+        }
     }
 
     /**
@@ -0,0 +1,218 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf;
+
+import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.OWL_ANNOTATED_TARGET;
+import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.OWL_IMPORTS;
+import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.OWL_VERSION_IRI;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import org.semanticweb.owlapi.io.RDFNode;
+import org.semanticweb.owlapi.io.RDFResource;
+import org.semanticweb.owlapi.io.RDFResourceBlankNode;
+import org.semanticweb.owlapi.io.RDFTriple;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyWriterConfiguration;
+import org.semanticweb.owlapi.rdf.model.RDFGraph;
+import org.semanticweb.owlapi.rdf.model.RDFTranslator;
+import org.semanticweb.owlapi.util.AxiomAppearance;
+import org.semanticweb.owlapi.util.OWLObjectDesharer;
+
+/**
+ * Renders an ontology as a stream of triples, without building an RDF graph for the ontology or
+ * for its entities. The ontology header is rendered first, then the type triples for entities
+ * without declarations (if the format adds missing types), then the triples of each axiom. Only
+ * the triples of the axiom being rendered are kept in memory, so the memory used does not grow
+ * with the size of the ontology; the blank nodes of anonymous individuals, which are shared
+ * between axioms, are the only nodes remembered for the whole document.<br>
+ * Only the N-Triples and N-Quads storer renders through this class. Turtle, RDF/XML and the Rio
+ * formats nest blank nodes and group the triples by subject, so they still use the frames built by
+ * {@link RDFRendererBase}, and their memory use is unchanged. The triples describe the same axioms
+ * as the ones rendered by {@link RDFRendererBase}, but a triple shared by two axioms is passed to
+ * the sink once per axiom.
+ */
+public class StreamingRDFRenderer {
+
+    private final OWLOntology ontology;
+    private final Consumer<RDFTriple> sink;
+    private final boolean addMissingTypes;
+    private final AxiomAppearance axiomOccurrences;
+    private final OWLObjectDesharer desharer;
+    private final AtomicInteger nextBlankNodeId = new AtomicInteger(1);
+    private final Map<OWLAnonymousIndividual, RDFResourceBlankNode> individuals = new HashMap<>();
+
+    /**
+     * @param ontology ontology to render
+     * @param sink consumer for the triples
+     */
+    public StreamingRDFRenderer(OWLOntology ontology, Consumer<RDFTriple> sink) {
+        this(ontology, ontology.getFormat(),
+            ontology.getOWLOntologyManager().getOntologyWriterConfiguration(), sink);
+    }
+
+    /**
+     * @param ontology ontology to render
+     * @param format format the ontology is rendered in; missing types are added if the format is
+     *        null or requires them
+     * @param config writer configuration
+     * @param sink consumer for the triples
+     */
+    public StreamingRDFRenderer(OWLOntology ontology, @Nullable OWLDocumentFormat format,
+        OWLOntologyWriterConfiguration config, Consumer<RDFTriple> sink) {
+        this.ontology = checkNotNull(ontology, "ontology cannot be null");
+        this.sink = checkNotNull(sink, "sink cannot be null");
+        checkNotNull(config, "config cannot be null");
+        addMissingTypes = format == null || format.isAddMissingTypes();
+        if (config.shouldSaveIdsForAllAnonymousIndividuals()) {
+            axiomOccurrences = x -> true;
+        } else {
+            axiomOccurrences = x -> x.annotations().anyMatch(a -> a.annotations().count() > 0);
+        }
+        desharer = new OWLObjectDesharer(ontology.getOWLOntologyManager());
+    }
+
+    /**
+     * Renders the ontology.
+     */
+    public void render() {
+        renderOntologyHeader();
+        if (addMissingTypes) {
+            renderMissingTypes();
+        }
+        ontology.axioms().forEach(this::translate);
+    }
+
+    private void renderOntologyHeader() {
+        Translator translator = new Translator();
+        ontology.accept(translator);
+        RDFResource node =
+            verifyNotNull(translator.getMappedNode(ontology), "ontology header node not found");
+        ontology.getOntologyID().getVersionIRI()
+            .ifPresent(v -> translator.addTriple(node, OWL_VERSION_IRI.getIRI(), v));
+        ontology.importsDeclarations()
+            .forEach(d -> translator.addTriple(node, OWL_IMPORTS.getIRI(), d.getIRI()));
+        // the axioms about anonymous individuals in the annotations are rendered with the other
+        // axioms
+        ontology.annotations()
+            .forEach(a -> translator.addTriple(node, a.getProperty().getIRI(), a.getValue()));
+        emit(translator.getGraph());
+    }
+
+    /**
+     * Types the entities without declarations, except for illegal puns.
+     */
+    private void renderMissingTypes() {
+        Collection<IRI> illegalPuns = OWLDocumentFormat.determineIllegalPunnings(true,
+            ontology.signature(), ontology.getPunnedIRIs(INCLUDED));
+        ontology.signature().filter(e -> !illegalPuns.contains(e.getIRI()))
+            .filter(e -> OWLDocumentFormat.isMissingType(e, ontology))
+            .forEach(this::renderType);
+    }
+
+    private void renderType(OWLEntity entity) {
+        translate(ontology.getOWLOntologyManager().getOWLDataFactory()
+            .getOWLDeclarationAxiom(entity));
+    }
+
+    private void translate(OWLAxiom axiom) {
+        OWLObject o = axiom.hasSharedStructure() ? axiom.accept(desharer) : axiom;
+        Translator translator = new Translator();
+        o.accept(translator);
+        emit(translator.getGraph());
+    }
+
+    /**
+     * Passes the triples of a graph to the sink, starting from the named subjects and the root
+     * blank nodes. A blank node that is the object of more than one triple is copied for each
+     * triple after the first, with all the triples below it, as the nesting renderers do; blank
+     * nodes for anonymous individuals and reified axioms keep their id.
+     *
+     * @param graph graph for one axiom or for the ontology header
+     */
+    private void emit(RDFGraph graph) {
+        Set<RDFNode> visited = new HashSet<>();
+        Set<RDFResourceBlankNode> roots = graph.getRootAnonymousNodes();
+        graph.getAllTriples().stream().map(RDFTriple::getSubject)
+            .filter(s -> !s.isAnonymous() || roots.contains(s))
+            .forEach(s -> emit(graph, s, s, visited));
+        // anonymous individuals referring to each other might have no root
+        graph.getAllTriples().stream().map(RDFTriple::getSubject)
+            .filter(s -> s.isIndividual() || s.isAxiom())
+            .forEach(s -> emit(graph, s, s, visited));
+    }
+
+    private void emit(RDFGraph graph, RDFResource subject, RDFResource original,
+        Set<RDFNode> visited) {
+        if (!visited.add(subject)) {
+            return;
+        }
+        for (RDFTriple t : graph.getTriplesForSubject(original)) {
+            RDFNode object = t.getObject();
+            if (!object.isAnonymous() || OWL_ANNOTATED_TARGET.getIRI().equals(t.getPredicate()
+                .getIRI())) {
+                sink.accept(new RDFTriple(subject, t.getPredicate(), object));
+            } else if (object.isIndividual() || object.isAxiom()) {
+                sink.accept(new RDFTriple(subject, t.getPredicate(), object));
+                emit(graph, (RDFResource) object, (RDFResource) object, visited);
+            } else {
+                RDFResource node = (RDFResource) object;
+                if (visited.contains(node)) {
+                    node = new RDFResourceBlankNode(nextBlankNodeId.getAndIncrement(), false,
+                        object.shouldOutputId(), false);
+                }
+                sink.accept(new RDFTriple(subject, t.getPredicate(), node));
+                emit(graph, node, (RDFResource) object, visited);
+            }
+        }
+    }
+
+    /**
+     * Translates one axiom, or the ontology header. Blank node ids are drawn from a counter shared
+     * by all translators, and anonymous individuals keep their node across translators.
+     */
+    private class Translator extends RDFTranslator {
+
+        Translator() {
+            super(StreamingRDFRenderer.this.ontology.getOWLOntologyManager(),
+                StreamingRDFRenderer.this.ontology, false, x -> true,
+                StreamingRDFRenderer.this.axiomOccurrences,
+                StreamingRDFRenderer.this.nextBlankNodeId);
+        }
+
+        @Override
+        protected RDFResourceBlankNode getAnonymousNode(Object key) {
+            if (key instanceof OWLAnonymousIndividual) {
+                return individuals.computeIfAbsent((OWLAnonymousIndividual) key,
+                    i -> new RDFResourceBlankNode(nextBlankNodeId.getAndIncrement(), true, true,
+                        false));
+            }
+            return super.getAnonymousNode(key);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads an input stream in chunks of complete lines. A line longer than the buffer makes the
+ * buffer grow.
+ */
+class ChunkReader {
+
+    private final InputStream in;
+    private byte[] buffer;
+    /**
+     * bytes read into the buffer
+     */
+    private int length;
+    /**
+     * end of the complete lines of the current chunk
+     */
+    private int end;
+    private boolean eof;
+
+    /**
+     * @param in input
+     * @param size initial size of the buffer, in bytes
+     */
+    ChunkReader(InputStream in, int size) {
+        this.in = in;
+        buffer = new byte[size];
+    }
+
+    /**
+     * Discards the current chunk and reads the next one.
+     *
+     * @return false at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    boolean next() throws IOException {
+        if (end > 0) {
+            length -= end;
+            System.arraycopy(buffer, end, buffer, 0, length);
+            end = 0;
+        }
+        while (true) {
+            while (!eof && length < buffer.length) {
+                int read = in.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    length += read;
+                }
+            }
+            end = eof ? length : NTriplesTokenizer.lastLineEnd(buffer, length);
+            if (end > 0 || eof) {
+                return end > 0;
+            }
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+    }
+
+    /**
+     * @return the buffer holding the current chunk, from position 0
+     */
+    byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * @return end of the current chunk
+     */
+    int end() {
+        return end;
+    }
+
+    /**
+     * Hands over the buffer holding the current chunk; the rest of the input is read into a new
+     * buffer.
+     *
+     * @return the buffer holding the current chunk, from position 0 to {@link #end()}
+     */
+    byte[] detach() {
+        byte[] chunk = buffer;
+        buffer = new byte[chunk.length];
+        length -= end;
+        System.arraycopy(chunk, end, buffer, 0, length);
+        end = 0;
+        return chunk;
+    }
+}
@@ -0,0 +1,187 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.parser;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import javax.annotation.Nullable;
+import org.apache.commons.io.input.ReaderInputStream;
+import org.semanticweb.owlapi.formats.NTriplesSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.NTriplesSyntaxDocumentFormatFactory;
+import org.semanticweb.owlapi.formats.RDFDocumentFormat;
+import org.semanticweb.owlapi.io.AbstractOWLParser;
+import org.semanticweb.owlapi.io.DocumentSources;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.rdf.rdfxml.parser.OWLRDFConsumer;
+
+/**
+ * Parses N-Triples without going through Rio. Lines are tokenised straight from the bytes of the
+ * input, and the statements are passed to an {@link OWLRDFConsumer} with interned IRIs.<br>
+ * With a pool, the input is read in chunks of complete lines of about {@link #getChunkSize()}
+ * bytes, which are tokenised in parallel; the statements of each chunk are handed to the
+ * consumer, in the calling thread, once the preceding chunks have been handed off, so the
+ * consumer receives the statements in document order.<br>
+ * Unicode escapes in IRIs are decoded as written and the result is not checked: an escape for
+ * a character that IRIs do not allow, such as a space, gives an {@link IRI} that
+ * {@link IRI#toURI()} rejects.
+ */
+public class NTriplesOntologyParser extends AbstractOWLParser {
+
+    /**
+     * Default number of bytes tokenised by each task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    private static final int BUFFER_SIZE = 1 << 16;
+    @Nullable
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Parser tokenising sequentially.
+     */
+    public NTriplesOntologyParser() {
+        this(null, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param pool pool to tokenise on; null to tokenise sequentially
+     * @param chunkSize number of bytes tokenised by each task; chunks are extended to the end of
+     *        a line
+     */
+    public NTriplesOntologyParser(@Nullable ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return number of bytes tokenised by each task
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public OWLDocumentFormatFactory getSupportedFormat() {
+        return new NTriplesSyntaxDocumentFormatFactory();
+    }
+
+    /**
+     * @return true if statements may have a graph
+     */
+    protected boolean isQuads() {
+        return false;
+    }
+
+    /**
+     * @return format to return from a parse
+     */
+    protected RDFDocumentFormat createFormat() {
+        return new NTriplesSyntaxDocumentFormat();
+    }
+
+    @Override
+    public OWLDocumentFormat parse(OWLOntologyDocumentSource source, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration config) {
+        RDFDocumentFormat format = createFormat();
+        OWLRDFConsumer consumer = new OWLRDFConsumer(ontology, config);
+        consumer.setOntologyFormat(format);
+        Optional<Reader> reader = source.getReader();
+        try (InputStream in = reader.isPresent()
+            ? new ReaderInputStream(reader.get(), StandardCharsets.UTF_8)
+            : DocumentSources.wrap(DocumentSources.wrapInput(source, config))) {
+            consumer.startModel(source.getDocumentIRI());
+            NTriplesHandler handler = new ConsumerHandler(consumer);
+            if (pool == null) {
+                parse(in, handler);
+            } else {
+                parseInParallel(in, handler, pool);
+            }
+            consumer.endModel();
+            return format;
+        } catch (IOException | OWLOntologyInputSourceException e) {
+            throw new NTriplesParserException(e);
+        }
+    }
+
+    private void parse(InputStream in, NTriplesHandler handler) throws IOException {
+        NTriplesTokenizer tokenizer = new NTriplesTokenizer(isQuads(), handler);
+        ChunkReader chunks = new ChunkReader(in, BUFFER_SIZE);
+        int lines = 0;
+        while (chunks.next()) {
+            lines += tokenizer.tokenize(chunks.buffer(), 0, chunks.end(), lines);
+        }
+    }
+
+    private void parseInParallel(InputStream in, NTriplesHandler handler, ForkJoinPool p)
+        throws IOException {
+        boolean quads = isQuads();
+        // enough chunks to keep the pool busy while the oldest one is handed off
+        int window = p.getParallelism() + 1;
+        Deque<ForkJoinTask<StatementBuffer>> pending = new ArrayDeque<>();
+        ChunkReader chunks = new ChunkReader(in, chunkSize);
+        int lines = 0;
+        while (chunks.next()) {
+            int end = chunks.end();
+            byte[] chunk = chunks.detach();
+            pending.add(p.submit(() -> StatementBuffer.tokenize(chunk, end, quads)));
+            if (pending.size() == window) {
+                lines += verifyNotNull(pending.poll()).join().replay(handler, lines);
+            }
+        }
+        while (!pending.isEmpty()) {
+            lines += verifyNotNull(pending.poll()).join().replay(handler, lines);
+        }
+    }
+
+    /**
+     * Passes the statements to an OWLRDFConsumer.
+     */
+    private static class ConsumerHandler implements NTriplesHandler {
+
+        private final OWLRDFConsumer consumer;
+
+        ConsumerHandler(OWLRDFConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void statement(IRI subject, IRI predicate, IRI object) {
+            consumer.statementWithResourceValue(subject, predicate, object);
+        }
+
+        @Override
+        public void statement(IRI subject, IRI predicate, String lexicalValue,
+            @Nullable String language, @Nullable IRI datatype) {
+            consumer.statementWithLiteralValue(subject, predicate, lexicalValue, language,
+                datatype);
+        }
+    }
+}
@@ -0,0 +1,426 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.parser;
+
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.NodeID;
+
+/**
+ * Tokenises N-Triples or N-Quads lines straight from UTF-8 bytes. IRIs and blank node labels are
+ * interned by their bytes, so that a repeated IRI costs neither a string nor an IRI object; blank
+ * node labels are turned into IRIs the same way the Turtle parser turns them. The graph of a quad
+ * is checked but not reported, since OWL ontologies are read from a single graph.<br>
+ * Not thread safe; a tokenizer can be reused for any number of chunks of lines.
+ */
+class NTriplesTokenizer {
+
+    /**
+     * Number of interned terms above which the intern table is emptied.
+     */
+    private static final int MAX_INTERNED = 1 << 17;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    /**
+     * Bytes that cannot appear, unescaped, in an IRI.
+     */
+    private static final boolean[] IRI_FORBIDDEN = new boolean[128];
+    static {
+        for (int i = 0; i <= ' '; i++) {
+            IRI_FORBIDDEN[i] = true;
+        }
+        for (char c : "<\"{}|^`".toCharArray()) {
+            IRI_FORBIDDEN[c] = true;
+        }
+    }
+    private final boolean quads;
+    private final NTriplesHandler handler;
+    private final StringBuilder unescaped = new StringBuilder();
+    private byte[][] keys = new byte[INITIAL_CAPACITY][];
+    private IRI[] values = new IRI[INITIAL_CAPACITY];
+    private int interned;
+    // state of the line being tokenised
+    private byte[] buffer = new byte[0];
+    private int pos;
+    private int lineStart;
+    private int lineEnd;
+    private int line;
+
+    /**
+     * @param quads true if a graph may follow the object of each statement
+     * @param handler handler for the statements
+     */
+    NTriplesTokenizer(boolean quads, NTriplesHandler handler) {
+        this.quads = quads;
+        this.handler = handler;
+    }
+
+    /**
+     * @param bytes input
+     * @param length number of bytes in the input
+     * @return position after the last line terminator in the input, or 0 if there is none
+     */
+    static int lastLineEnd(byte[] bytes, int length) {
+        int crEnd = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i + 1;
+            }
+            if (bytes[i] == '\r' && crEnd == 0) {
+                crEnd = i + 1;
+            }
+        }
+        return crEnd;
+    }
+
+    /**
+     * Tokenises the complete lines of some input. A line terminator is not required at the end
+     * of the input.
+     *
+     * @param bytes input
+     * @param start position of the first line
+     * @param end end of the last line
+     * @param lines number of lines preceding the input, used for error messages
+     * @return number of lines read
+     * @throws NTriplesParserException if a line is malformed
+     */
+    int tokenize(byte[] bytes, int start, int end, int lines) {
+        buffer = bytes;
+        line = lines;
+        int i = start;
+        while (i < end) {
+            int next = i;
+            while (next < end && bytes[next] != '\n' && bytes[next] != '\r') {
+                next++;
+            }
+            line++;
+            lineStart = i;
+            lineEnd = next;
+            pos = i;
+            statement();
+            if (next < end - 1 && bytes[next] == '\r' && bytes[next + 1] == '\n') {
+                next++;
+            }
+            i = next + 1;
+        }
+        return line - lines;
+    }
+
+    private void statement() {
+        skipWhitespace();
+        if (pos == lineEnd || buffer[pos] == '#') {
+            return;
+        }
+        IRI subject = resource("subject");
+        skipWhitespace();
+        if (pos == lineEnd || buffer[pos] != '<') {
+            throw error("predicate IRI expected");
+        }
+        IRI predicate = iri();
+        skipWhitespace();
+        if (pos < lineEnd && buffer[pos] == '"') {
+            String lexicalValue = literal();
+            String language = null;
+            IRI datatype = null;
+            if (pos < lineEnd && buffer[pos] == '@') {
+                language = language();
+            } else if (pos < lineEnd && buffer[pos] == '^') {
+                if (++pos == lineEnd || buffer[pos] != '^' || ++pos == lineEnd
+                    || buffer[pos] != '<') {
+                    throw error("datatype IRI expected");
+                }
+                datatype = iri();
+            }
+            end();
+            handler.statement(subject, predicate, lexicalValue, language, datatype);
+        } else {
+            IRI object = resource("object");
+            end();
+            handler.statement(subject, predicate, object);
+        }
+    }
+
+    /**
+     * Reads the optional graph and the final dot.
+     */
+    private void end() {
+        skipWhitespace();
+        if (quads && pos < lineEnd && buffer[pos] != '.') {
+            resource("graph");
+            skipWhitespace();
+        }
+        if (pos == lineEnd || buffer[pos] != '.') {
+            throw error("'.' expected");
+        }
+        pos++;
+        skipWhitespace();
+        if (pos < lineEnd && buffer[pos] != '#') {
+            throw error("end of line expected");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < lineEnd && (buffer[pos] == ' ' || buffer[pos] == '\t')) {
+            pos++;
+        }
+    }
+
+    private IRI resource(String term) {
+        if (pos < lineEnd) {
+            if (buffer[pos] == '<') {
+                return iri();
+            }
+            if (buffer[pos] == '_') {
+                return blankNode();
+            }
+        }
+        throw error(term + " expected");
+    }
+
+    private IRI iri() {
+        int start = pos;
+        pos++;
+        boolean escaped = false;
+        while (pos < lineEnd && buffer[pos] != '>') {
+            int b = buffer[pos];
+            if (b == '\\') {
+                escaped = true;
+            } else if (b >= 0 && IRI_FORBIDDEN[b]) {
+                throw error("invalid character in IRI");
+            }
+            pos++;
+        }
+        if (pos == lineEnd) {
+            throw error("unterminated IRI");
+        }
+        pos++;
+        if (escaped) {
+            // rare enough not to be interned
+            return IRI.create(unescape(start + 1, pos - 1, false));
+        }
+        // the key includes the opening bracket, so IRIs and blank node labels cannot clash
+        IRI iri = lookup(start, pos - 1);
+        if (iri == null) {
+            iri = intern(start, pos - 1,
+                IRI.create(new String(buffer, start + 1, pos - start - 2, StandardCharsets.UTF_8)));
+        }
+        return iri;
+    }
+
+    private IRI blankNode() {
+        int start = pos;
+        if (++pos == lineEnd || buffer[pos] != ':') {
+            throw error("blank node expected");
+        }
+        pos++;
+        while (pos < lineEnd && buffer[pos] > ' ' && buffer[pos] != '<' && buffer[pos] != '"') {
+            pos++;
+        }
+        // a label cannot end with a dot: that is the end of the statement
+        while (buffer[pos - 1] == '.') {
+            pos--;
+        }
+        if (pos - start == 2) {
+            throw error("empty blank node label");
+        }
+        IRI iri = lookup(start, pos);
+        if (iri == null) {
+            String label = new String(buffer, start + 2, pos - start - 2, StandardCharsets.UTF_8);
+            iri = intern(start, pos, IRI.create(NodeID.getIRIFromNodeID(label)));
+        }
+        return iri;
+    }
+
+    private String literal() {
+        int start = ++pos;
+        boolean escaped = false;
+        while (pos < lineEnd && buffer[pos] != '"') {
+            if (buffer[pos] == '\\') {
+                escaped = true;
+                pos++;
+            }
+            pos++;
+        }
+        if (pos >= lineEnd) {
+            throw error("unterminated literal");
+        }
+        pos++;
+        if (escaped) {
+            return unescape(start, pos - 1, true);
+        }
+        return new String(buffer, start, pos - start - 1, StandardCharsets.UTF_8);
+    }
+
+    private String language() {
+        int start = ++pos;
+        while (pos < lineEnd && (Character.isLetterOrDigit(buffer[pos]) || buffer[pos] == '-')) {
+            pos++;
+        }
+        if (pos == start) {
+            throw error("language tag expected");
+        }
+        return new String(buffer, start, pos - start, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @param start start of the escaped text
+     * @param end end of the escaped text
+     * @param literal true for the text of a literal, false for an IRI, which only allows Unicode
+     *        escapes
+     * @return unescaped text
+     */
+    private String unescape(int start, int end, boolean literal) {
+        unescaped.setLength(0);
+        int segment = start;
+        for (int i = start; i < end; i++) {
+            if (buffer[i] != '\\') {
+                continue;
+            }
+            // escapes are ASCII, so the segments never split a multibyte character
+            unescaped.append(new String(buffer, segment, i - segment, StandardCharsets.UTF_8));
+            byte b = buffer[++i];
+            if (b == 'u' || b == 'U') {
+                int digits = b == 'u' ? 4 : 8;
+                unescaped.appendCodePoint(codePoint(i + 1, digits, end));
+                i += digits;
+            } else if (literal) {
+                unescaped.append(escaped(b, i));
+            } else {
+                throw error("invalid escape in IRI", i);
+            }
+            segment = i + 1;
+        }
+        unescaped.append(new String(buffer, segment, end - segment, StandardCharsets.UTF_8));
+        return unescaped.toString();
+    }
+
+    private char escaped(byte b, int position) {
+        switch (b) {
+            case 't':
+                return '\t';
+            case 'b':
+                return '\b';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case '"':
+                return '"';
+            case '\'':
+                return '\'';
+            case '\\':
+                return '\\';
+            default:
+                throw error("invalid escape", position);
+        }
+    }
+
+    private int codePoint(int start, int digits, int end) {
+        if (start + digits > end) {
+            throw error("invalid Unicode escape", start);
+        }
+        int codePoint = 0;
+        for (int i = start; i < start + digits; i++) {
+            int digit = Character.digit(buffer[i], 16);
+            if (digit < 0) {
+                throw error("invalid Unicode escape", i);
+            }
+            codePoint = codePoint * 16 + digit;
+        }
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw error("invalid Unicode escape", start);
+        }
+        return codePoint;
+    }
+
+    private static int hash(byte[] bytes, int start, int end) {
+        int h = 1;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + bytes[i];
+        }
+        return h ^ h >>> 16;
+    }
+
+    @Nullable
+    private IRI lookup(int start, int end) {
+        int mask = keys.length - 1;
+        for (int i = hash(buffer, start, end) & mask;; i = i + 1 & mask) {
+            byte[] key = keys[i];
+            if (key == null) {
+                return null;
+            }
+            if (matches(key, start, end)) {
+                return values[i];
+            }
+        }
+    }
+
+    private boolean matches(byte[] key, int start, int end) {
+        if (key.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private IRI intern(int start, int end, IRI iri) {
+        if (interned == MAX_INTERNED) {
+            keys = new byte[INITIAL_CAPACITY][];
+            values = new IRI[INITIAL_CAPACITY];
+            interned = 0;
+        } else if (2 * interned >= keys.length) {
+            rehash();
+        }
+        byte[] key = new byte[end - start];
+        System.arraycopy(buffer, start, key, 0, key.length);
+        insert(key, iri);
+        interned++;
+        return iri;
+    }
+
+    private void rehash() {
+        byte[][] oldKeys = keys;
+        IRI[] oldValues = values;
+        keys = new byte[oldKeys.length * 2][];
+        values = new IRI[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void insert(byte[] key, IRI iri) {
+        int mask = keys.length - 1;
+        int i = hash(key, 0, key.length) & mask;
+        while (keys[i] != null) {
+            i = i + 1 & mask;
+        }
+        keys[i] = key;
+        values[i] = iri;
+    }
+
+    private NTriplesParserException error(String message) {
+        return error(message, pos);
+    }
+
+    private NTriplesParserException error(String message, int position) {
+        return new NTriplesParserException(message, line, position - lineStart + 1);
+    }
+}
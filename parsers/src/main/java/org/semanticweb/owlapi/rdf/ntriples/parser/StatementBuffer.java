@@ -0,0 +1,99 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * Statements tokenised from a chunk of lines, kept until the statements of all the preceding
+ * chunks have been handed off. An error found in the chunk is kept as well, and raised when the
+ * chunk is handed off, so that the statements before it are handled first.
+ */
+class StatementBuffer implements NTriplesHandler {
+
+    /**
+     * Resource statements are stored as subject, predicate, object; literal statements as
+     * subject, predicate, lexical value, language, datatype.
+     */
+    private final List<Object> terms = new ArrayList<>();
+    private int lines;
+    @Nullable
+    private NTriplesParserException error;
+
+    /**
+     * @param bytes input
+     * @param end end of the complete lines in the input
+     * @param quads true if the input is N-Quads
+     * @return the statements in the input
+     */
+    static StatementBuffer tokenize(byte[] bytes, int end, boolean quads) {
+        StatementBuffer buffer = new StatementBuffer();
+        NTriplesTokenizer tokenizer = new NTriplesTokenizer(quads, buffer);
+        try {
+            buffer.lines = tokenizer.tokenize(bytes, 0, end, 0);
+        } catch (NTriplesParserException e) {
+            buffer.error = e;
+        }
+        return buffer;
+    }
+
+    @Override
+    public void statement(IRI subject, IRI predicate, IRI object) {
+        terms.add(subject);
+        terms.add(predicate);
+        terms.add(object);
+    }
+
+    @Override
+    public void statement(IRI subject, IRI predicate, String lexicalValue,
+        @Nullable String language, @Nullable IRI datatype) {
+        terms.add(subject);
+        terms.add(predicate);
+        terms.add(lexicalValue);
+        terms.add(language);
+        terms.add(datatype);
+    }
+
+    /**
+     * Hands off the statements.
+     *
+     * @param handler handler to receive the statements
+     * @param precedingLines number of lines before the chunk
+     * @return number of lines in the chunk
+     * @throws NTriplesParserException if the chunk is malformed
+     */
+    int replay(NTriplesHandler handler, int precedingLines) {
+        int i = 0;
+        while (i < terms.size()) {
+            IRI subject = (IRI) terms.get(i);
+            IRI predicate = (IRI) terms.get(i + 1);
+            Object object = terms.get(i + 2);
+            if (object instanceof IRI) {
+                handler.statement(subject, predicate, (IRI) object);
+                i += 3;
+            } else {
+                handler.statement(subject, predicate, (String) object, (String) terms.get(i + 3),
+                    (IRI) terms.get(i + 4));
+                i += 5;
+            }
+        }
+        NTriplesParserException e = error;
+        if (e != null) {
+            throw e.afterLines(precedingLines);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,78 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.renderer;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nullable;
+import org.semanticweb.owlapi.formats.NQuadsSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.NTriplesSyntaxDocumentFormat;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.rdf.StreamingRDFRenderer;
+import org.semanticweb.owlapi.util.AbstractOWLStorer;
+
+/**
+ * Stores ontologies as N-Triples or N-Quads without going through Rio. The triples are produced
+ * axiom by axiom by a {@link StreamingRDFRenderer} and written by a {@link NTriplesWriter} as they
+ * arrive. In N-Quads, the ontology IRI, if any, is the graph of all the triples.<br>
+ * Only {@link NTriplesSyntaxDocumentFormat} and {@link NQuadsSyntaxDocumentFormat} are accepted;
+ * the Rio N-Triples and N-Quads formats are left to the Rio storers.
+ */
+public class NTriplesStorer extends AbstractOWLStorer {
+
+    private static final String N_TRIPLES = new NTriplesSyntaxDocumentFormat().getKey();
+    private static final String N_QUADS = new NQuadsSyntaxDocumentFormat().getKey();
+
+    @Override
+    public boolean canStoreOntology(OWLDocumentFormat ontologyFormat) {
+        return N_TRIPLES.equals(ontologyFormat.getKey()) || N_QUADS.equals(ontologyFormat.getKey());
+    }
+
+    @Override
+    protected void storeOntology(OWLOntology ontology, PrintWriter writer,
+        OWLDocumentFormat format) throws OWLOntologyStorageException {
+        render(ontology, writer, format);
+    }
+
+    @Override
+    protected void storeOntology(OWLOntology ontology, OutputStream outputStream,
+        OWLDocumentFormat format) throws OWLOntologyStorageException {
+        // the triple writer has its own buffer
+        render(ontology, new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), format);
+    }
+
+    private static void render(OWLOntology ontology, Writer writer, OWLDocumentFormat format)
+        throws OWLOntologyStorageException {
+        @Nullable
+        IRI graph = null;
+        if (N_QUADS.equals(format.getKey())) {
+            graph = ontology.getOntologyID().getOntologyIRI().orElse(null);
+        }
+        NTriplesWriter triples = new NTriplesWriter(writer, graph);
+        try {
+            new StreamingRDFRenderer(ontology, format,
+                ontology.getOWLOntologyManager().getOntologyWriterConfiguration(),
+                triples::write).render();
+            triples.flush();
+        } catch (OWLRuntimeException e) {
+            throw new OWLOntologyStorageException(e);
+        }
+    }
+}
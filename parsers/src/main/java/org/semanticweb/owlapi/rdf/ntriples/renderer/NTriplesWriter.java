@@ -0,0 +1,259 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.renderer;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.semanticweb.owlapi.io.RDFLiteral;
+import org.semanticweb.owlapi.io.RDFNode;
+import org.semanticweb.owlapi.io.RDFTriple;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+/**
+ * Writes triples as N-Triples lines, or as N-Quads lines if a graph is specified. The characters
+ * are collected in a buffer and passed to the underlying writer in blocks; IRIs are escaped once
+ * and kept, escaped, in a cache, since the same predicates, classes and datatypes recur in most
+ * lines. Characters that do not need escaping are copied in bulk.<br>
+ * Instances are not thread safe.
+ */
+public class NTriplesWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+    /**
+     * Maximum number of escaped IRIs kept; the cache is emptied when it is full.
+     */
+    private static final int CACHE_SIZE = 10000;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    /**
+     * ASCII characters that need escaping in an IRI.
+     */
+    private static final boolean[] IRI_ESCAPES = new boolean[128];
+    /**
+     * ASCII characters that need escaping in a literal, and their escape.
+     */
+    private static final char[] LITERAL_ESCAPES = new char[128];
+    static {
+        for (int i = 0; i <= ' '; i++) {
+            IRI_ESCAPES[i] = true;
+        }
+        for (char c : "<>\"{}|^`\\".toCharArray()) {
+            IRI_ESCAPES[c] = true;
+        }
+        LITERAL_ESCAPES['"'] = '"';
+        LITERAL_ESCAPES['\\'] = '\\';
+        LITERAL_ESCAPES['\n'] = 'n';
+        LITERAL_ESCAPES['\r'] = 'r';
+    }
+    private final Writer out;
+    @Nullable
+    private final char[] graph;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0;
+    private final Map<IRI, char[]> iris = new HashMap<>();
+
+    /**
+     * @param out writer to write to
+     */
+    public NTriplesWriter(Writer out) {
+        this(out, null);
+    }
+
+    /**
+     * @param out writer to write to
+     * @param graph graph name to add to each triple; if null, the lines are N-Triples lines
+     */
+    public NTriplesWriter(Writer out, @Nullable IRI graph) {
+        this.out = checkNotNull(out, "out cannot be null");
+        this.graph = graph == null ? null : escape(graph);
+    }
+
+    /**
+     * Writes a triple on a line.
+     *
+     * @param triple triple to write
+     * @throws OWLRuntimeException if the underlying writer fails
+     */
+    public void write(RDFTriple triple) {
+        write(triple.getSubject());
+        append(' ');
+        write(triple.getPredicate().getIRI());
+        append(' ');
+        write(triple.getObject());
+        if (graph != null) {
+            append(' ');
+            append(graph);
+        }
+        append(' ');
+        append('.');
+        append('\n');
+    }
+
+    /**
+     * Writes the buffered characters and flushes the underlying writer.
+     *
+     * @throws OWLRuntimeException if the underlying writer fails
+     */
+    public void flush() {
+        writeBuffer();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new OWLRuntimeException(e);
+        }
+    }
+
+    private void write(RDFNode node) {
+        if (node.isLiteral()) {
+            write((RDFLiteral) node);
+        } else if (node.isAnonymous()) {
+            writeBlankNode(node.getIRI().toString());
+        } else {
+            write(node.getIRI());
+        }
+    }
+
+    private void write(IRI iri) {
+        char[] escaped = iris.get(iri);
+        if (escaped == null) {
+            if (iris.size() == CACHE_SIZE) {
+                iris.clear();
+            }
+            escaped = escape(iri);
+            iris.put(iri, escaped);
+        }
+        append(escaped);
+    }
+
+    private void write(RDFLiteral literal) {
+        append('"');
+        String lexical = literal.getLexicalValue();
+        int start = 0;
+        for (int i = 0; i < lexical.length(); i++) {
+            char c = lexical.charAt(i);
+            if (c < 128 && LITERAL_ESCAPES[c] != 0) {
+                append(lexical, start, i);
+                append('\\');
+                append(LITERAL_ESCAPES[c]);
+                start = i + 1;
+            }
+        }
+        append(lexical, start, lexical.length());
+        append('"');
+        if (literal.hasLang()) {
+            append('@');
+            append(literal.getLang(), 0, literal.getLang().length());
+        } else if (!isPlain(literal.getDatatype())) {
+            append('^');
+            append('^');
+            write(literal.getDatatype());
+        }
+    }
+
+    private static boolean isPlain(IRI datatype) {
+        return OWL2Datatype.XSD_STRING.getIRI().equals(datatype)
+            || OWL2Datatype.RDF_PLAIN_LITERAL.getIRI().equals(datatype);
+    }
+
+    /**
+     * Writes a blank node label; characters not allowed in labels are replaced by their code.
+     */
+    private void writeBlankNode(String id) {
+        append('_');
+        append(':');
+        for (int i = id.startsWith("_:") ? 2 : 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_'
+                || c == '-') {
+                append(c);
+            } else {
+                append('x');
+                appendHex(c);
+            }
+        }
+    }
+
+    private static char[] escape(IRI iri) {
+        String s = iri.toString();
+        StringBuilder b = new StringBuilder(s.length() + 2).append('<');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 128 && IRI_ESCAPES[c]) {
+                b.append("\\u");
+                for (int shift = 12; shift >= 0; shift -= 4) {
+                    b.append(HEX[c >> shift & 0xF]);
+                }
+            } else {
+                b.append(c);
+            }
+        }
+        return b.append('>').toString().toCharArray();
+    }
+
+    private void appendHex(char c) {
+        for (int shift = 12; shift >= 0; shift -= 4) {
+            append(HEX[c >> shift & 0xF]);
+        }
+    }
+
+    private void append(char c) {
+        if (position == BUFFER_SIZE) {
+            writeBuffer();
+        }
+        buffer[position++] = c;
+    }
+
+    private void append(char[] chars) {
+        if (chars.length > BUFFER_SIZE - position) {
+            writeBuffer();
+            if (chars.length > BUFFER_SIZE) {
+                write(chars, chars.length);
+                return;
+            }
+        }
+        System.arraycopy(chars, 0, buffer, position, chars.length);
+        position += chars.length;
+    }
+
+    private void append(String s, int start, int end) {
+        int from = start;
+        while (from < end) {
+            if (position == BUFFER_SIZE) {
+                writeBuffer();
+            }
+            int length = Math.min(end - from, BUFFER_SIZE - position);
+            s.getChars(from, from + length, buffer, position);
+            position += length;
+            from += length;
+        }
+    }
+
+    private void writeBuffer() {
+        write(buffer, position);
+        position = 0;
+    }
+
+    private void write(char[] chars, int length) {
+        try {
+            out.write(chars, 0, length);
+        } catch (IOException e) {
+            throw new OWLRuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,548 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.rdfxml.renderer;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.xml.parsers.SAXParser;
+
+import org.semanticweb.owlapi.io.XMLUtils;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntologyWriterConfiguration;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+import org.semanticweb.owlapi.util.SAXParsers;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * An {@link XMLWriter} that produces the same output as {@link XMLWriterImpl} but writes through a
+ * private char buffer instead of issuing many small writes and intermediate strings. Text and
+ * attribute values are escaped in place, copying runs of characters that need no escaping in one
+ * go; the QNames of element and attribute names are computed by the
+ * {@link XMLWriterNamespaceManager} and kept in a bounded cache for the document, since the
+ * prefixes are declared on the root element and cannot change afterwards. Element records are
+ * reused across the document. Indentation
+ * follows {@link OWLOntologyWriterConfiguration#isIndenting()}.
+ * <p>
+ * The buffer is handed to the underlying writer when it fills up and whenever the writer returns
+ * to the document level, e.g., after {@link #endDocument()} and after comments written outside the
+ * root element.
+ */
+public class BufferedXMLWriter implements XMLWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * Maximum number of QNames cached; element and attribute names mostly come from a small
+     * vocabulary.
+     */
+    private static final int QNAME_CACHE_SIZE = 4096;
+    private static final String PERCENT_ENTITY = "&#37;";
+    private static final String XML_LITERAL =
+        "http://www.w3.org/1999/02/22-rdf-syntax-ns#XMLLiteral";
+    private static final char[] SPACES = new char[64];
+    /**
+     * Replacements for the ASCII characters that need escaping, null for all others. Characters
+     * outside ASCII never need escaping.
+     */
+    private static final String[] ESCAPES = new String[128];
+    static {
+        Arrays.fill(SPACES, ' ');
+        ESCAPES['<'] = XMLUtils.LT;
+        ESCAPES['>'] = XMLUtils.GT;
+        ESCAPES['"'] = XMLUtils.QUOT;
+        ESCAPES['&'] = XMLUtils.AMP;
+        ESCAPES['\''] = XMLUtils.APOS;
+    }
+    private final PrintWriter writer;
+    private final XMLWriterNamespaceManager xmlWriterNamespaceManager;
+    private final String xmlBase;
+    private final boolean useNamespaceEntities;
+    private final int indentSize;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int length;
+    private final Map<String, String> entities = new LinkedHashMap<>();
+    private final Set<String> validQNames = new HashSet<>();
+    private final Map<IRI, String> qNames = new LinkedHashMap<IRI, String>(16, 0.75F, true) {
+
+        @Override
+        protected boolean removeEldestEntry(@Nullable Map.Entry<IRI, String> eldest) {
+            return size() > QNAME_CACHE_SIZE;
+        }
+    };
+    private Element[] elements = new Element[16];
+    private int depth;
+    private String encoding = "";
+    private boolean preambleWritten;
+
+    /**
+     * @param writer writer
+     * @param xmlWriterNamespaceManager xmlWriterNamespaceManager
+     * @param xmlBase xmlBase
+     * @param preferences xml writer preferences instance
+     */
+    public BufferedXMLWriter(PrintWriter writer,
+        XMLWriterNamespaceManager xmlWriterNamespaceManager, String xmlBase,
+        OWLOntologyWriterConfiguration preferences) {
+        this.writer = checkNotNull(writer, "writer cannot be null");
+        this.xmlWriterNamespaceManager =
+            checkNotNull(xmlWriterNamespaceManager, "xmlWriterNamespaceManager cannot be null");
+        this.xmlBase = checkNotNull(xmlBase, "xmlBase cannot be null");
+        checkNotNull(preferences, "preferences cannot be null");
+        useNamespaceEntities = preferences.isUseNamespaceEntities();
+        indentSize = preferences.isIndenting() ? preferences.getIndentSize() : 0;
+        for (String curNamespace : xmlWriterNamespaceManager.getNamespaces()) {
+            String curPrefix = getCurrentPrefix(curNamespace);
+            if (curPrefix != null && !curPrefix.isEmpty()) {
+                entities.put(curNamespace, '&' + curPrefix + ';');
+            }
+        }
+    }
+
+    @Nullable
+    private String getCurrentPrefix(String curNamespace) {
+        if (xmlWriterNamespaceManager.getDefaultNamespace().equals(curNamespace)) {
+            return xmlWriterNamespaceManager.getDefaultPrefix();
+        }
+        return xmlWriterNamespaceManager.getPrefixForNamespace(curNamespace);
+    }
+
+    private String swapForEntity(String value) {
+        for (Map.Entry<String, String> e : entities.entrySet()) {
+            if (value.length() > e.getKey().length()) {
+                String repVal = value.replace(e.getKey(), e.getValue());
+                if (repVal.length() < value.length()) {
+                    return repVal;
+                }
+            }
+        }
+        return value;
+    }
+
+    private String getQName(IRI name) {
+        String qName = qNames.get(name);
+        if (qName == null) {
+            qName = xmlWriterNamespaceManager.getQName(name);
+            qNames.put(name, qName);
+        }
+        return qName;
+    }
+
+    @Override
+    public String getXMLBase() {
+        return xmlBase;
+    }
+
+    @Override
+    public XMLWriterNamespaceManager getNamespacePrefixes() {
+        return xmlWriterNamespaceManager;
+    }
+
+    @Override
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    @Override
+    public void setWrapAttributes(boolean b) {
+        if (depth > 0) {
+            elements[depth - 1].wrapAttributes = b;
+        }
+    }
+
+    @Override
+    public void writeStartElement(IRI name) {
+        String qName = getQName(name);
+        if (!validQNames.contains(qName)) {
+            if (!XMLUtils.isQName(qName)) {
+                // Could not generate a valid QName, therefore, we cannot
+                // write valid XML - just throw an exception!
+                throw new IllegalElementNameException(name.toString());
+            }
+            validQNames.add(qName);
+        }
+        startChild();
+        push(qName);
+    }
+
+    @Override
+    public void writeEndElement() {
+        // Pop the element off the stack and write it out
+        if (depth > 0) {
+            depth--;
+            writeElementEnd(elements[depth]);
+        }
+    }
+
+    @Override
+    public void writeAttribute(String attr, String val) {
+        String qName = xmlWriterNamespaceManager.getQName(attr);
+        if (qName != null) {
+            top().setAttribute(qName, val);
+        }
+    }
+
+    @Override
+    public void writeAttribute(IRI attr, String val) {
+        top().setAttribute(getQName(attr), val);
+    }
+
+    @Override
+    public void writeTextContent(String text) {
+        top().textContent = text;
+    }
+
+    @Override
+    public void writeComment(String commentText) {
+        startChild();
+        String text = "<!-- " + commentText.replace("--", "&#45;&#45;") + " -->";
+        if (preambleWritten) {
+            // the element is written straight away, the free slot above the top is enough
+            Element element = element(depth, null);
+            element.textContent = text;
+            writeElementStart(element, true);
+            if (depth == 0) {
+                flushBuffer();
+            }
+        } else {
+            push(null).textContent = text;
+        }
+    }
+
+    private void writeEntities(IRI rootName) {
+        String qName = getQName(rootName);
+        if (!XMLUtils.isQName(qName)) {
+            throw new OWLRuntimeException(
+                "Cannot create valid XML: qname for " + rootName + " is null");
+        }
+        write("\n\n<!DOCTYPE ");
+        write(qName);
+        write(" [\n");
+        for (Map.Entry<String, String> e : entities.entrySet()) {
+            write("    <!ENTITY ");
+            write(e.getValue(), 1, e.getValue().length() - 1);
+            write(" \"");
+            write(XMLUtils.escapeXML(e.getKey()).replace("%", PERCENT_ENTITY));
+            write("\" >\n");
+        }
+        write("]>\n\n\n");
+    }
+
+    @Override
+    public void startDocument(IRI rootElement) {
+        qNames.clear();
+        write("<?xml version=\"1.0\"");
+        if (!encoding.isEmpty()) {
+            write(" encoding=\"");
+            write(encoding);
+            write('"');
+        }
+        write("?>\n");
+        if (useNamespaceEntities) {
+            writeEntities(rootElement);
+        }
+        preambleWritten = true;
+        while (depth > 0) {
+            depth--;
+            writeElementStart(elements[depth], true);
+        }
+        writeStartElement(rootElement);
+        setWrapAttributes(true);
+        writeAttribute("xmlns", xmlWriterNamespaceManager.getDefaultNamespace());
+        if (!xmlBase.isEmpty()) {
+            writeAttribute("xml:base", xmlBase);
+        }
+        for (String curPrefix : xmlWriterNamespaceManager.getPrefixes()) {
+            if (!curPrefix.isEmpty()) {
+                writeAttribute("xmlns:" + curPrefix,
+                    verifyNotNull(xmlWriterNamespaceManager.getNamespaceForPrefix(curPrefix)));
+            }
+        }
+    }
+
+    @Override
+    public void endDocument() {
+        // Pop of each element
+        while (depth > 0) {
+            writeEndElement();
+        }
+        flushBuffer();
+        writer.flush();
+    }
+
+    private Element top() {
+        return elements[depth - 1];
+    }
+
+    /**
+     * Writes the start tag of the current element, if any, before a child is added to it.
+     */
+    private void startChild() {
+        if (depth > 0) {
+            writeElementStart(top(), false);
+        }
+    }
+
+    private Element push(@Nullable String name) {
+        if (depth == elements.length) {
+            elements = Arrays.copyOf(elements, depth * 2);
+        }
+        return element(depth++, name);
+    }
+
+    private Element element(int index, @Nullable String name) {
+        Element element = elements[index];
+        if (element == null) {
+            element = new Element();
+            elements[index] = element;
+        }
+        element.reset(name, index);
+        return element;
+    }
+
+    private void writeElementStart(Element element, boolean close) {
+        if (element.startWritten) {
+            return;
+        }
+        element.startWritten = true;
+        indent(element.indentation);
+        String name = element.name;
+        String textContent = element.textContent;
+        if (name == null) {
+            // Name is null so by convention this is a comment
+            if (textContent != null) {
+                write("\n\n\n");
+                int start = 0;
+                int end;
+                while ((end = textContent.indexOf('\n', start)) >= 0) {
+                    writeCommentLine(element, textContent, start, end);
+                    start = end + 1;
+                }
+                writeCommentLine(element, textContent, start, textContent.length());
+                write("\n\n");
+            }
+            return;
+        }
+        write('<');
+        write(name);
+        writeAttributes(element);
+        if (textContent != null) {
+            write('>');
+            writeTextContent(element, textContent);
+        }
+        if (close) {
+            if (textContent != null) {
+                writeElementEnd(element);
+            } else {
+                write("/>\n");
+            }
+        } else if (textContent == null) {
+            write(">\n");
+        }
+    }
+
+    private void writeCommentLine(Element element, String text, int start, int end) {
+        indent(element.indentation);
+        write(text, start, end);
+        write('\n');
+    }
+
+    private void writeElementEnd(Element element) {
+        String name = element.name;
+        if (name == null) {
+            return;
+        }
+        if (!element.startWritten) {
+            writeElementStart(element, true);
+            return;
+        }
+        if (element.textContent == null) {
+            indent(element.indentation);
+        }
+        write("</");
+        write(name);
+        write(">\n");
+    }
+
+    private void writeAttributes(Element element) {
+        for (int i = 0; i < element.attributeCount; i++) {
+            write(' ');
+            write(element.attributeNames[i]);
+            write("=\"");
+            String value = element.attributeValues[i];
+            if (useNamespaceEntities) {
+                write(swapForEntity(XMLUtils.escapeXML(value)));
+            } else {
+                writeEscaped(value);
+            }
+            write('"');
+            if (element.wrapAttributes && i < element.attributeCount - 1) {
+                write('\n');
+                indent(element.indentation + 1);
+            }
+        }
+    }
+
+    private void writeTextContent(Element element, String textContent) {
+        // only escape the data if this is not an XML literal
+        if (XML_LITERAL.equals(element.getAttribute("rdf:datatype"))
+            || "Literal".equals(element.getAttribute("rdf:parseType"))) {
+            checkProperXMLLiteral(textContent);
+            write(textContent);
+        } else {
+            writeEscaped(textContent);
+        }
+    }
+
+    private static void checkProperXMLLiteral(String text) {
+        try {
+            String expansions = ConfigurationOptions.ENTITY_EXPANSION_LIMIT.getValue(String.class,
+                Collections.emptyMap());
+            SAXParser parser = SAXParsers.initParserWithOWLAPIStandards(null, expansions);
+            parser.parse(new InputSource(new StringReader(text)), new DefaultHandler());
+        } catch (SAXException | IOException e) {
+            throw new OWLRuntimeException("XML literal is not self contained: \"" + text + "\"", e);
+        }
+    }
+
+    private void indent(int indentation) {
+        int count = indentation * indentSize;
+        while (count > 0) {
+            int chunk = Math.min(count, SPACES.length);
+            write(SPACES, chunk);
+            count -= chunk;
+        }
+    }
+
+    /**
+     * Escapes the same characters as {@link XMLUtils#escapeXML(CharSequence)}, copying the runs
+     * in between unchanged.
+     */
+    private void writeEscaped(String s) {
+        int start = 0;
+        int size = s.length();
+        for (int i = 0; i < size; i++) {
+            char c = s.charAt(i);
+            if (c < ESCAPES.length && ESCAPES[c] != null) {
+                write(s, start, i);
+                write(ESCAPES[c]);
+                start = i + 1;
+            }
+        }
+        write(s, start, size);
+    }
+
+    private void write(char c) {
+        if (length == buffer.length) {
+            flushBuffer();
+        }
+        buffer[length++] = c;
+    }
+
+    private void write(String s) {
+        write(s, 0, s.length());
+    }
+
+    private void write(String s, int start, int end) {
+        int from = start;
+        while (from < end) {
+            if (length == buffer.length) {
+                flushBuffer();
+            }
+            int chunk = Math.min(end - from, buffer.length - length);
+            s.getChars(from, from + chunk, buffer, length);
+            length += chunk;
+            from += chunk;
+        }
+    }
+
+    private void write(char[] chars, int count) {
+        if (buffer.length - length < count) {
+            flushBuffer();
+        }
+        System.arraycopy(chars, 0, buffer, length, count);
+        length += count;
+    }
+
+    private void flushBuffer() {
+        writer.write(buffer, 0, length);
+        length = 0;
+    }
+
+    /**
+     * Reusable element record; attributes keep their insertion order, setting an attribute twice
+     * replaces its value.
+     */
+    private static class Element {
+
+        @Nullable
+        String name;
+        @Nullable
+        String textContent;
+        String[] attributeNames = new String[4];
+        String[] attributeValues = new String[4];
+        int attributeCount;
+        int indentation;
+        boolean startWritten;
+        boolean wrapAttributes;
+
+        void reset(@Nullable String elementName, int elementIndentation) {
+            name = elementName;
+            indentation = elementIndentation;
+            textContent = null;
+            Arrays.fill(attributeValues, 0, attributeCount, null);
+            attributeCount = 0;
+            startWritten = false;
+            wrapAttributes = false;
+        }
+
+        void setAttribute(String attribute, String value) {
+            for (int i = 0; i < attributeCount; i++) {
+                if (attributeNames[i].equals(attribute)) {
+                    attributeValues[i] = value;
+                    return;
+                }
+            }
+            if (attributeCount == attributeNames.length) {
+                attributeNames = Arrays.copyOf(attributeNames, attributeCount * 2);
+                attributeValues = Arrays.copyOf(attributeValues, attributeCount * 2);
+            }
+            attributeNames[attributeCount] = attribute;
+            attributeValues[attributeCount] = value;
+            attributeCount++;
+        }
+
+        @Nullable
+        String getAttribute(String attribute) {
+            for (int i = 0; i < attributeCount; i++) {
+                if (attributeNames[i].equals(attribute)) {
+                    return attributeValues[i];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -45,6 +45,7 @@ import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyWriterConfiguration;
 import org.semanticweb.owlapi.rdf.RDFRendererBase;
 import org.semanticweb.owlapi.util.AnnotationValueShortFormProvider;
 import org.semanticweb.owlapi.util.ShortFormProvider;
@@ -76,6 +77,18 @@ public class RDFXMLRenderer extends RDFRendererBase {
      * @param format format
      */
     public RDFXMLRenderer(OWLOntology ontology, PrintWriter w, OWLDocumentFormat format) {
+        this(ontology, w, format, false);
+    }
+
+    /**
+     * @param ontology ontology
+     * @param w writer
+     * @param format format
+     * @param buffered true to write through a {@link BufferedXMLWriter}, false to use
+     *        {@link XMLWriterImpl}
+     */
+    public RDFXMLRenderer(OWLOntology ontology, PrintWriter w, OWLDocumentFormat format,
+        boolean buffered) {
         super(checkNotNull(ontology, "ontology cannot be null"),
             checkNotNull(format, "format cannot be null"),
             ontology.getOWLOntologyManager().getOntologyWriterConfiguration());
@@ -83,8 +96,14 @@ public class RDFXMLRenderer extends RDFRendererBase {
         qnameManager = new RDFXMLNamespaceManager(ontology, format);
         String defaultNamespace = qnameManager.getDefaultNamespace();
         String base = base(defaultNamespace);
-        writer = new RDFXMLWriter(new XMLWriterImpl(checkNotNull(w, "w cannot be null"),
-            qnameManager, base, ontology.getOWLOntologyManager().getOntologyWriterConfiguration()));
+        checkNotNull(w, "w cannot be null");
+        OWLOntologyWriterConfiguration config =
+            ontology.getOWLOntologyManager().getOntologyWriterConfiguration();
+        if (buffered) {
+            writer = new RDFXMLWriter(new BufferedXMLWriter(w, qnameManager, base, config));
+        } else {
+            writer = new RDFXMLWriter(new XMLWriterImpl(w, qnameManager, base, config));
+        }
         Map<OWLAnnotationProperty, List<String>> prefLangMap = new HashMap<>();
         OWLOntologyManager manager = ontology.getOWLOntologyManager();
         OWLAnnotationProperty labelProp = manager.getOWLDataFactory().getRDFSLabel();
@@ -28,6 +28,22 @@ import org.semanticweb.owlapi.util.AbstractOWLStorer;
  */
 public class RDFXMLStorer extends AbstractOWLStorer {
 
+    private final boolean buffered;
+
+    /**
+     * Default constructor.
+     */
+    public RDFXMLStorer() {
+        this(false);
+    }
+
+    /**
+     * @param buffered true to write through a {@link BufferedXMLWriter}
+     */
+    public RDFXMLStorer(boolean buffered) {
+        this.buffered = buffered;
+    }
+
     @Override
     public boolean canStoreOntology(OWLDocumentFormat ontologyFormat) {
         return ontologyFormat instanceof RDFXMLDocumentFormat;
@@ -37,7 +53,7 @@ public class RDFXMLStorer extends AbstractOWLStorer {
     protected void storeOntology(OWLOntology ontology, PrintWriter writer, OWLDocumentFormat format)
         throws OWLOntologyStorageException {
         try {
-            RDFXMLRenderer renderer = new RDFXMLRenderer(ontology, writer, format);
+            RDFXMLRenderer renderer = new RDFXMLRenderer(ontology, writer, format, buffered);
             Set<OWLEntity> entities = renderer.getUnserialisableEntities();
             if (!entities.isEmpty()) {
                 StringBuilder sb = new StringBuilder();
@@ -47,15 +47,25 @@ import org.semanticweb.owlapi.util.OWLStorerFactoryImpl;
 @HasPriority(0)
 public class RDFXMLStorerFactory extends OWLStorerFactoryImpl {
 
+    private final boolean buffered;
+
     /**
      * Default constructor.
      */
     public RDFXMLStorerFactory() {
+        this(false);
+    }
+
+    /**
+     * @param buffered true to create storers that write through a {@link BufferedXMLWriter}
+     */
+    public RDFXMLStorerFactory(boolean buffered) {
         super(new RDFXMLDocumentFormatFactory());
+        this.buffered = buffered;
     }
 
     @Override
     public OWLStorer createStorer() {
-        return new RDFXMLStorer();
+        return new RDFXMLStorer(buffered);
     }
 }
@@ -0,0 +1,357 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.turtle.parser;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.NodeID;
+import org.semanticweb.owlapi.model.PrefixManager;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+
+/**
+ * Turtle parser on top of {@link TurtleLexer}. It produces the same triples, in the same order, as
+ * {@link TurtleParser}, but reads tokens straight from a large character buffer, resolves
+ * repeated IRIs and prefixed names without creating strings and calls the {@link TripleHandler}
+ * directly from the recursive descent. SPARQL style {@code PREFIX} and {@code BASE} directives
+ * are also accepted.
+ */
+public class BufferedTurtleParser {
+
+    private static final IRI RDF_TYPE = OWLRDFVocabulary.RDF_TYPE.getIRI();
+    private static final IRI RDF_FIRST = OWLRDFVocabulary.RDF_FIRST.getIRI();
+    private static final IRI RDF_REST = OWLRDFVocabulary.RDF_REST.getIRI();
+    private static final IRI RDF_LIST = OWLRDFVocabulary.RDF_LIST.getIRI();
+    private static final IRI RDF_NIL = OWLRDFVocabulary.RDF_NIL.getIRI();
+    private final TurtleLexer lexer;
+    private final TripleHandler handler;
+    private IRI base;
+    private final PrefixManager pm = new DefaultPrefixManager();
+    private final IRICache iris = new IRICache();
+    private final IRICache names = new IRICache();
+    private final IRICache blankNodes = new IRICache();
+
+    /**
+     * @param reader the reader
+     * @param handler the handler
+     * @param base the base
+     */
+    public BufferedTurtleParser(Reader reader, TripleHandler handler, IRI base) {
+        lexer = new TurtleLexer(checkNotNull(reader, "reader cannot be null"));
+        this.handler = checkNotNull(handler, "handler cannot be null");
+        this.base = checkNotNull(base, "base cannot be null");
+        pm.setDefaultPrefix("http://www.semanticweb.org/owl/owlapi/turtle#");
+    }
+
+    /**
+     * @return the prefix manager
+     */
+    public PrefixManager getPrefixManager() {
+        return pm;
+    }
+
+    /**
+     * Parses the whole document.
+     *
+     * @throws IOException if the reader fails
+     */
+    public void parseDocument() throws IOException {
+        if (lexer.next() == TurtleLexer.EOF) {
+            throw error("a directive or statement");
+        }
+        while (lexer.kind() != TurtleLexer.EOF) {
+            statement();
+        }
+        handler.handleEnd();
+    }
+
+    private void statement() throws IOException {
+        int kind = lexer.kind();
+        if (kind == TurtleLexer.AT_NAME && lexer.is("prefix")) {
+            prefix();
+            expect('.', "'.'");
+        } else if (kind == TurtleLexer.AT_NAME && lexer.is("base")) {
+            base();
+            expect('.', "'.'");
+        } else if (kind == TurtleLexer.NAME && lexer.isIgnoreCase("prefix")) {
+            prefix();
+        } else if (kind == TurtleLexer.NAME && lexer.isIgnoreCase("base")) {
+            base();
+        } else {
+            IRI subject = subject();
+            if (lexer.kind() != '.') {
+                predicateObjectList(subject);
+            }
+            expect('.', "'.'");
+        }
+    }
+
+    private void prefix() throws IOException {
+        if (lexer.next() != TurtleLexer.PNAME || lexer.colon() != lexer.end() - 1) {
+            throw error("a prefix name");
+        }
+        String prefixName = lexer.text();
+        if (lexer.next() != TurtleLexer.IRI_REF) {
+            throw error("an IRI");
+        }
+        String ns = iri().toString();
+        pm.setPrefix(prefixName, ns);
+        names.clear();
+        handler.handlePrefixDirective(prefixName, ns);
+    }
+
+    private void base() throws IOException {
+        if (lexer.next() != TurtleLexer.IRI_REF) {
+            throw error("an IRI");
+        }
+        base = resolve(lexer.text());
+        lexer.next();
+        iris.clear();
+        handler.handleBaseDirective(base);
+    }
+
+    private IRI subject() throws IOException {
+        switch (lexer.kind()) {
+            case TurtleLexer.IRI_REF:
+                return iri();
+            case TurtleLexer.PNAME:
+                return prefixedName();
+            case TurtleLexer.BLANK_NODE:
+            case '[':
+            case '(':
+                return blankNode();
+            default:
+                throw error("a subject");
+        }
+    }
+
+    private IRI predicate() throws IOException {
+        switch (lexer.kind()) {
+            case TurtleLexer.IRI_REF:
+                return iri();
+            case TurtleLexer.PNAME:
+                return prefixedName();
+            case TurtleLexer.NAME:
+                if (lexer.is("a")) {
+                    lexer.next();
+                    return RDF_TYPE;
+                }
+                throw error("a predicate");
+            default:
+                throw error("a predicate");
+        }
+    }
+
+    private void predicateObjectList(IRI subject) throws IOException {
+        IRI predicate = predicate();
+        objectList(subject, predicate);
+        while (lexer.kind() == ';') {
+            while (lexer.next() == ';') {
+                // repeated semicolons are allowed
+            }
+            int kind = lexer.kind();
+            if (kind != TurtleLexer.IRI_REF && kind != TurtleLexer.PNAME
+                && !(kind == TurtleLexer.NAME && lexer.is("a"))) {
+                return;
+            }
+            predicate = predicate();
+            objectList(subject, predicate);
+        }
+    }
+
+    private void objectList(IRI subject, IRI predicate) throws IOException {
+        object(subject, predicate);
+        while (lexer.kind() == ',') {
+            lexer.next();
+            object(subject, predicate);
+        }
+    }
+
+    private void object(IRI subject, IRI predicate) throws IOException {
+        switch (lexer.kind()) {
+            case TurtleLexer.IRI_REF:
+                handler.handleTriple(subject, predicate, iri());
+                return;
+            case TurtleLexer.PNAME:
+                handler.handleTriple(subject, predicate, prefixedName());
+                return;
+            case TurtleLexer.BLANK_NODE:
+            case '[':
+            case '(':
+                handler.handleTriple(subject, predicate, blankNode());
+                return;
+            case TurtleLexer.STRING:
+                string(subject, predicate);
+                return;
+            case TurtleLexer.INTEGER:
+                literal(subject, predicate, XSDVocabulary.INTEGER.getIRI());
+                return;
+            case TurtleLexer.DECIMAL:
+                literal(subject, predicate, XSDVocabulary.DECIMAL.getIRI());
+                return;
+            case TurtleLexer.DOUBLE:
+                literal(subject, predicate, XSDVocabulary.DOUBLE.getIRI());
+                return;
+            case TurtleLexer.NAME:
+                if (lexer.is("true") || lexer.is("false")) {
+                    literal(subject, predicate, XSDVocabulary.BOOLEAN.getIRI());
+                    return;
+                }
+                throw error("an object");
+            default:
+                throw error("an object");
+        }
+    }
+
+    private void literal(IRI subject, IRI predicate, IRI datatype) throws IOException {
+        String literal = lexer.text();
+        lexer.next();
+        handler.handleTriple(subject, predicate, literal, datatype);
+    }
+
+    private void string(IRI subject, IRI predicate) throws IOException {
+        String literal = lexer.text();
+        int kind = lexer.next();
+        if (kind == TurtleLexer.DOUBLE_CARET) {
+            lexer.next();
+            IRI datatype;
+            if (lexer.kind() == TurtleLexer.IRI_REF) {
+                datatype = iri();
+            } else if (lexer.kind() == TurtleLexer.PNAME) {
+                datatype = prefixedName();
+            } else {
+                throw error("a datatype");
+            }
+            handler.handleTriple(subject, predicate, literal, datatype);
+        } else if (kind == TurtleLexer.AT_NAME) {
+            String lang = lexer.text();
+            lexer.next();
+            handler.handleTriple(subject, predicate, literal, lang);
+        } else {
+            handler.handleTriple(subject, predicate, literal);
+        }
+    }
+
+    private IRI blankNode() throws IOException {
+        switch (lexer.kind()) {
+            case TurtleLexer.BLANK_NODE:
+                return blankNodeLabel();
+            case '[':
+                IRI node = freshNode();
+                if (lexer.next() != ']') {
+                    predicateObjectList(node);
+                    if (lexer.kind() == '.') {
+                        lexer.next();
+                    }
+                }
+                expect(']', "']'");
+                return node;
+            default:
+                return collection();
+        }
+    }
+
+    private IRI collection() throws IOException {
+        lexer.next();
+        IRI first = RDF_NIL;
+        IRI node = null;
+        while (lexer.kind() != ')') {
+            IRI previous = node;
+            node = freshNode();
+            if (previous == null) {
+                first = node;
+            } else {
+                handler.handleTriple(previous, RDF_REST, node);
+            }
+            handler.handleTriple(node, RDF_TYPE, RDF_LIST);
+            object(node, RDF_FIRST);
+        }
+        if (node != null) {
+            handler.handleTriple(node, RDF_REST, RDF_NIL);
+        }
+        lexer.next();
+        return first;
+    }
+
+    private IRI iri() throws IOException {
+        IRI iri;
+        if (lexer.isEscaped()) {
+            iri = resolve(lexer.text());
+        } else {
+            char[] buffer = lexer.buffer();
+            iri = iris.get(buffer, lexer.start(), lexer.end());
+            if (iri == null) {
+                iri = iris.put(buffer, lexer.start(), lexer.end(), resolve(lexer.text()));
+            }
+        }
+        lexer.next();
+        return iri;
+    }
+
+    private IRI resolve(String s) {
+        IRI iri = IRI.create(s);
+        if (iri.isAbsolute()) {
+            return iri;
+        }
+        String namespace = base.getNamespace();
+        return IRI.create(namespace.substring(0, namespace.lastIndexOf('/') + 1), s);
+    }
+
+    private IRI prefixedName() throws IOException {
+        char[] buffer = lexer.buffer();
+        IRI iri = names.get(buffer, lexer.start(), lexer.end());
+        if (iri == null) {
+            String prefix = new String(buffer, lexer.start(), lexer.colon() - lexer.start() + 1);
+            if (!pm.containsPrefixMapping(prefix)) {
+                throw new TurtleParserException("Prefix not declared: " + prefix, lexer.line(),
+                    lexer.column());
+            }
+            iri = names.put(buffer, lexer.start(), lexer.end(), pm.getIRI(lexer.text()));
+        }
+        lexer.next();
+        return iri;
+    }
+
+    private IRI blankNodeLabel() throws IOException {
+        char[] buffer = lexer.buffer();
+        IRI iri = blankNodes.get(buffer, lexer.start(), lexer.end());
+        if (iri == null) {
+            String id = lexer.text();
+            iri = blankNodes.put(buffer, lexer.start(), lexer.end(), IRI
+                .create(NodeID.isAnonymousNodeID(id) ? id : NodeID.getIRIFromNodeID(id)));
+        }
+        lexer.next();
+        return iri;
+    }
+
+    private static IRI freshNode() {
+        return IRI.create(NodeID.nextAnonymousIRI());
+    }
+
+    private void expect(int kind, String expected) throws IOException {
+        if (lexer.kind() != kind) {
+            throw error(expected);
+        }
+        lexer.next();
+    }
+
+    private TurtleParserException error(String expected) {
+        return new TurtleParserException(
+            "Expected " + expected + " but found " + lexer.describe(), lexer.line(),
+            lexer.column());
+    }
+}
@@ -0,0 +1,121 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.turtle.parser;
+
+import javax.annotation.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * IRIs keyed by the text they were read from, looked up straight from the lexer buffer so that
+ * a repeated IRI or prefixed name costs no string. The cache is emptied when it grows past a fixed
+ * size, and whenever a directive changes the meaning of the text.
+ */
+class IRICache {
+
+    private static final int MAX_SIZE = 1 << 17;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private char[][] keys = new char[INITIAL_CAPACITY][];
+    private IRI[] values = new IRI[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @param buffer buffer holding the text
+     * @param start start of the text
+     * @param end end of the text
+     * @return the IRI cached for the text, or null
+     */
+    @Nullable
+    IRI get(char[] buffer, int start, int end) {
+        int mask = keys.length - 1;
+        for (int i = hash(buffer, start, end) & mask;; i = i + 1 & mask) {
+            char[] key = keys[i];
+            if (key == null) {
+                return null;
+            }
+            if (matches(key, buffer, start, end)) {
+                return values[i];
+            }
+        }
+    }
+
+    /**
+     * @param buffer buffer holding the text
+     * @param start start of the text
+     * @param end end of the text
+     * @param iri IRI for the text
+     * @return the IRI
+     */
+    IRI put(char[] buffer, int start, int end, IRI iri) {
+        if (size == MAX_SIZE) {
+            clear();
+        } else if (2 * size >= keys.length) {
+            rehash();
+        }
+        char[] key = new char[end - start];
+        System.arraycopy(buffer, start, key, 0, key.length);
+        insert(key, iri);
+        size++;
+        return iri;
+    }
+
+    /**
+     * Empties the cache.
+     */
+    void clear() {
+        keys = new char[INITIAL_CAPACITY][];
+        values = new IRI[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    private static int hash(char[] chars, int start, int end) {
+        int h = 1;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + chars[i];
+        }
+        return h ^ h >>> 16;
+    }
+
+    private static boolean matches(char[] key, char[] buffer, int start, int end) {
+        if (key.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        char[][] oldKeys = keys;
+        IRI[] oldValues = values;
+        keys = new char[oldKeys.length * 2][];
+        values = new IRI[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void insert(char[] key, IRI iri) {
+        int mask = keys.length - 1;
+        int i = hash(key, 0, key.length) & mask;
+        while (keys[i] != null) {
+            i = i + 1 & mask;
+        }
+        keys[i] = key;
+        values[i] = iri;
+    }
+}
@@ -0,0 +1,576 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.turtle.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Hand written Turtle tokenizer. Characters are read in large blocks into a single buffer and
+ * tokens are reported as slices of that buffer; only strings and IRIs that contain escapes are
+ * copied. A slice stays valid until the next call to {@link #next()}.
+ */
+class TurtleLexer {
+
+    /** End of input. */
+    static final int EOF = 0;
+    /** IRI reference; the slice excludes the angle brackets. */
+    static final int IRI_REF = 1;
+    /** Prefixed name; see {@link #colon()}. */
+    static final int PNAME = 2;
+    /** Blank node label; the slice includes the leading {@code _:}. */
+    static final int BLANK_NODE = 3;
+    /** Quoted string; the slice excludes the quotes. */
+    static final int STRING = 4;
+    /** Integer literal. */
+    static final int INTEGER = 5;
+    /** Decimal literal. */
+    static final int DECIMAL = 6;
+    /** Double literal. */
+    static final int DOUBLE = 7;
+    /** Language tag or {@code @prefix}/{@code @base}; the slice excludes the {@code @}. */
+    static final int AT_NAME = 8;
+    /** Bare word such as {@code a}, {@code true} or {@code PREFIX}. */
+    static final int NAME = 9;
+    /** The {@code ^^} datatype marker. */
+    static final int DOUBLE_CARET = 10;
+    // punctuation tokens use their own character as kind
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private final Reader reader;
+    private char[] buffer;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private int kind;
+    private int start;
+    private int end;
+    private int colon;
+    private boolean escaped;
+    private final StringBuilder unescaped = new StringBuilder();
+    private int line = 1;
+    private int lineStart;
+    private int tokenLine;
+    private int tokenColumn;
+
+    TurtleLexer(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    TurtleLexer(Reader reader, int bufferSize) {
+        this.reader = reader;
+        buffer = new char[bufferSize];
+    }
+
+    /**
+     * @return kind of the current token
+     */
+    int kind() {
+        return kind;
+    }
+
+    /**
+     * @return buffer holding the current token
+     */
+    char[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * @return start of the current token in the buffer
+     */
+    int start() {
+        return start;
+    }
+
+    /**
+     * @return end of the current token in the buffer
+     */
+    int end() {
+        return end;
+    }
+
+    /**
+     * @return position of the separating colon in a prefixed name
+     */
+    int colon() {
+        return colon;
+    }
+
+    /**
+     * @return true if the token text contains escapes and {@link #text()} differs from the slice
+     */
+    boolean isEscaped() {
+        return escaped;
+    }
+
+    /**
+     * @return the text of the current token, with escapes resolved
+     */
+    String text() {
+        if (escaped) {
+            return unescaped.toString();
+        }
+        return new String(buffer, start, end - start);
+    }
+
+    /**
+     * @param s string to compare
+     * @return true if the slice of the current token equals s
+     */
+    boolean is(String s) {
+        if (end - start != s.length()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (buffer[start + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param s string to compare
+     * @return true if the slice of the current token equals s, ignoring case
+     */
+    boolean isIgnoreCase(String s) {
+        return end - start == s.length() && s.regionMatches(true, 0, text(), 0, s.length());
+    }
+
+    /**
+     * @return line of the current token
+     */
+    int line() {
+        return tokenLine;
+    }
+
+    /**
+     * @return column of the current token
+     */
+    int column() {
+        return tokenColumn;
+    }
+
+    /**
+     * @return a description of the current token for error messages
+     */
+    String describe() {
+        switch (kind) {
+            case EOF:
+                return "end of input";
+            case IRI_REF:
+                return '<' + text() + '>';
+            case STRING:
+                return '"' + text() + '"';
+            case AT_NAME:
+                return '@' + text();
+            default:
+                return text();
+        }
+    }
+
+    /**
+     * Reads the next token.
+     *
+     * @return kind of the token read
+     * @throws IOException if the reader fails
+     */
+    int next() throws IOException {
+        escaped = false;
+        int c = skipWhitespace();
+        start = pos;
+        tokenLine = line;
+        tokenColumn = pos - lineStart + 1;
+        if (c < 0) {
+            end = pos;
+            kind = EOF;
+            return kind;
+        }
+        switch (c) {
+            case '<':
+                return iri();
+            case '"':
+            case '\'':
+                return string((char) c);
+            case '@':
+                pos++;
+                while (isLangChar(peek(0))) {
+                    pos++;
+                }
+                if (pos == start + 1) {
+                    throw error("Expected a name after '@'");
+                }
+                kind = AT_NAME;
+                start++;
+                end = pos;
+                return kind;
+            case '^':
+                if (peek(1) != '^') {
+                    throw error("Expected '^^'");
+                }
+                pos += 2;
+                return token(DOUBLE_CARET);
+            case '.':
+                if (isDigit(peek(1))) {
+                    return number();
+                }
+                pos++;
+                return token(c);
+            case ';':
+            case ',':
+            case '[':
+            case ']':
+            case '(':
+            case ')':
+                pos++;
+                return token(c);
+            case '+':
+            case '-':
+                return number();
+            case '_':
+                if (peek(1) == ':') {
+                    return blankNode();
+                }
+                break;
+            default:
+                if (isDigit(c)) {
+                    return number();
+                }
+        }
+        return name(c);
+    }
+
+    private int token(int k) {
+        kind = k;
+        end = pos;
+        return kind;
+    }
+
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            int c = peek(0);
+            if (c == '\n') {
+                pos++;
+                newLine();
+            } else if (c == ' ' || c == '\t' || c == '\r') {
+                pos++;
+            } else if (c == '#') {
+                while ((c = peek(0)) >= 0 && c != '\n') {
+                    pos++;
+                }
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private void newLine() {
+        line++;
+        lineStart = pos;
+    }
+
+    private int iri() throws IOException {
+        pos++;
+        while (true) {
+            int c = peek(0);
+            if (c == '>') {
+                end = pos;
+                pos++;
+                kind = IRI_REF;
+                start++;
+                return kind;
+            }
+            if (c < 0 || c <= ' ' || c == '<' || c == '"' || c == '{' || c == '}' || c == '|'
+                || c == '^' || c == '`') {
+                throw error(c < 0 ? "Unterminated IRI" : "Illegal character in IRI");
+            }
+            if (c == '\\') {
+                int u = peek(1);
+                if (u != 'u' && u != 'U') {
+                    throw error("Illegal escape in IRI");
+                }
+                startEscapes(start + 1);
+                pos += 2;
+                appendCodePoint(hex(u == 'u' ? 4 : 8));
+            } else {
+                if (escaped) {
+                    unescaped.append((char) c);
+                }
+                pos++;
+            }
+        }
+    }
+
+    private int string(char quote) throws IOException {
+        int quotes = peek(1) == quote && peek(2) == quote ? 3 : 1;
+        pos += quotes;
+        while (true) {
+            int c = peek(0);
+            if (c < 0) {
+                throw error("Unterminated string");
+            }
+            if (c == quote && (quotes == 1 || peek(1) == quote && peek(2) == quote)) {
+                // a long string may end with up to two extra quotes
+                while (quotes == 3 && peek(3) == quote) {
+                    append(c);
+                    pos++;
+                }
+                end = pos;
+                pos += quotes;
+                kind = STRING;
+                start += quotes;
+                return kind;
+            }
+            if (c == '\\') {
+                startEscapes(start + quotes);
+                pos++;
+                unescape(peek(0));
+            } else {
+                if (c == '\n') {
+                    pos++;
+                    newLine();
+                } else {
+                    pos++;
+                }
+                append(c);
+            }
+        }
+    }
+
+    private void unescape(int c) throws IOException {
+        pos++;
+        switch (c) {
+            case 't':
+                unescaped.append('\t');
+                break;
+            case 'b':
+                unescaped.append('\b');
+                break;
+            case 'n':
+                unescaped.append('\n');
+                break;
+            case 'r':
+                unescaped.append('\r');
+                break;
+            case 'f':
+                unescaped.append('\f');
+                break;
+            case 'u':
+                appendCodePoint(hex(4));
+                break;
+            case 'U':
+                appendCodePoint(hex(8));
+                break;
+            case -1:
+                throw error("Unterminated string");
+            default:
+                // quotes, backslash and any other escaped character stand for themselves
+                if (c == '\n') {
+                    newLine();
+                }
+                unescaped.append((char) c);
+        }
+    }
+
+    private void append(int c) {
+        if (escaped) {
+            unescaped.append((char) c);
+        }
+    }
+
+    private void startEscapes(int s) {
+        if (!escaped) {
+            escaped = true;
+            unescaped.setLength(0);
+            unescaped.append(buffer, s, pos - s);
+        }
+    }
+
+    private void appendCodePoint(int codePoint) {
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw error("Illegal code point " + Integer.toHexString(codePoint));
+        }
+        unescaped.appendCodePoint(codePoint);
+    }
+
+    private int hex(int digits) throws IOException {
+        int value = 0;
+        for (int i = 0; i < digits; i++) {
+            int d = Character.digit(peek(0), 16);
+            if (d < 0) {
+                throw error("Illegal unicode escape");
+            }
+            value = value * 16 + d;
+            pos++;
+        }
+        return value;
+    }
+
+    private int number() throws IOException {
+        int k = INTEGER;
+        if (peek(0) == '+' || peek(0) == '-') {
+            pos++;
+        }
+        boolean digits = skipDigits();
+        if (peek(0) == '.' && (isDigit(peek(1)) || digits && exponentAt(1))) {
+            pos++;
+            skipDigits();
+            digits = true;
+            k = DECIMAL;
+        }
+        if (!digits) {
+            throw error("Expected a number");
+        }
+        if (exponentAt(0)) {
+            pos++;
+            if (peek(0) == '+' || peek(0) == '-') {
+                pos++;
+            }
+            skipDigits();
+            k = DOUBLE;
+        }
+        return token(k);
+    }
+
+    private boolean skipDigits() throws IOException {
+        boolean digits = false;
+        while (isDigit(peek(0))) {
+            pos++;
+            digits = true;
+        }
+        return digits;
+    }
+
+    private boolean exponentAt(int offset) throws IOException {
+        int c = peek(offset);
+        if (c != 'e' && c != 'E') {
+            return false;
+        }
+        c = peek(offset + 1);
+        if (c == '+' || c == '-') {
+            c = peek(offset + 2);
+        }
+        return isDigit(c);
+    }
+
+    private int blankNode() throws IOException {
+        pos += 2;
+        int c = peek(0);
+        if (!isNameStartChar(c) && c != '_' && !isDigit(c)) {
+            throw error("Expected a blank node label");
+        }
+        skipLocalName();
+        return token(BLANK_NODE);
+    }
+
+    private int name(int c) throws IOException {
+        if (c != ':' && !isNameStartChar(c)) {
+            throw error("Unexpected character '" + (char) c + '\'');
+        }
+        while (isNameChar(peek(0)) || peek(0) == '.') {
+            pos++;
+        }
+        while (buffer[pos - 1] == '.') {
+            pos--;
+        }
+        if (peek(0) != ':') {
+            return token(NAME);
+        }
+        int colonOffset = pos - start;
+        pos++;
+        c = peek(0);
+        if (isNameStartChar(c) || c == '_' || c == ':' || isDigit(c)) {
+            skipLocalName();
+        }
+        colon = start + colonOffset;
+        return token(PNAME);
+    }
+
+    private void skipLocalName() throws IOException {
+        int c;
+        while (isNameChar(c = peek(0)) || c == '.' || c == ':') {
+            pos++;
+        }
+        while (buffer[pos - 1] == '.') {
+            pos--;
+        }
+    }
+
+    /**
+     * @param offset offset from the current position
+     * @return the character at the offset, or -1 past the end of input
+     * @throws IOException if the reader fails
+     */
+    private int peek(int offset) throws IOException {
+        int i = pos + offset;
+        if (i < limit) {
+            return buffer[i];
+        }
+        return fill(offset);
+    }
+
+    private int fill(int offset) throws IOException {
+        while (!eof && pos + offset >= limit) {
+            // keep the current token, drop everything before it
+            int keep = Math.min(start, pos);
+            if (keep > 0) {
+                System.arraycopy(buffer, keep, buffer, 0, limit - keep);
+                limit -= keep;
+                pos -= keep;
+                start -= keep;
+                lineStart -= keep;
+            }
+            if (limit == buffer.length) {
+                char[] larger = new char[buffer.length * 2];
+                System.arraycopy(buffer, 0, larger, 0, limit);
+                buffer = larger;
+            }
+            int read = reader.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+        int i = pos + offset;
+        return i < limit ? buffer[i] : -1;
+    }
+
+    private TurtleParserException error(String message) {
+        return new TurtleParserException(message, line, pos - lineStart + 1);
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLangChar(int c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || isDigit(c) || c == '-';
+    }
+
+    private static boolean isNameStartChar(int c) {
+        if (c < 0x80) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+        }
+        return c >= 0xC0 && c <= 0xD6 || c >= 0xD8 && c <= 0xF6 || c >= 0xF8 && c <= 0x2FF
+            || c >= 0x370 && c <= 0x37D || c >= 0x37F && c <= 0x1FFF || c == 0x200C
+            || c == 0x200D || c >= 0x2070 && c <= 0x218F || c >= 0x2C00 && c <= 0x2FEF
+            || c >= 0x3001 && c <= 0xD7FF || c >= 0xF900 && c <= 0xFDCF
+            || c >= 0xFDF0 && c <= 0xFFFD || Character.isSurrogate((char) c);
+    }
+
+    private static boolean isNameChar(int c) {
+        return isNameStartChar(c) || isDigit(c) || c == '_' || c == '-' || c == 0xB7
+            || c >= 0x300 && c <= 0x36F || c == 0x203F || c == 0x2040;
+    }
+}
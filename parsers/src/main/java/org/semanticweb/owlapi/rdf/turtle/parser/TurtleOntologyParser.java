@@ -33,6 +33,30 @@ import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
  */
 public class TurtleOntologyParser extends AbstractOWLParser {
 
+    private final boolean buffered;
+
+    /**
+     * Creates a parser based on the generated {@link TurtleParser}.
+     */
+    public TurtleOntologyParser() {
+        this(false);
+    }
+
+    /**
+     * @param buffered true to parse with {@link BufferedTurtleParser}, false to use the generated
+     *        {@link TurtleParser}
+     */
+    public TurtleOntologyParser(boolean buffered) {
+        this.buffered = buffered;
+    }
+
+    /**
+     * @return true if this parser uses {@link BufferedTurtleParser}
+     */
+    public boolean isBuffered() {
+        return buffered;
+    }
+
     @Override
     public OWLDocumentFormatFactory getSupportedFormat() {
         return new TurtleDocumentFormatFactory();
@@ -42,14 +66,21 @@ public class TurtleOntologyParser extends AbstractOWLParser {
     public OWLDocumentFormat parse(OWLOntologyDocumentSource source,
         OWLOntology ontology, OWLOntologyLoaderConfiguration config) {
         try (Reader r = DocumentSources.wrapInputAsReader(source, config)) {
-            TurtleParser parser;
-            parser = new TurtleParser(r, new ConsoleTripleHandler(),
-                source.getDocumentIRI());
             OWLRDFConsumerAdapter consumer = new OWLRDFConsumerAdapter(
                 ontology, config);
             TurtleDocumentFormat format = new TurtleDocumentFormat();
             consumer.setOntologyFormat(format);
             consumer.startModel(source.getDocumentIRI());
+            if (buffered) {
+                BufferedTurtleParser parser =
+                    new BufferedTurtleParser(r, consumer, source.getDocumentIRI());
+                parser.parseDocument();
+                format.copyPrefixesFrom(parser.getPrefixManager());
+                return format;
+            }
+            TurtleParser parser;
+            parser = new TurtleParser(r, new ConsoleTripleHandler(),
+                source.getDocumentIRI());
             parser.setTripleHandler(consumer);
             parser.parseDocument();
             format.copyPrefixesFrom(parser.getPrefixManager());
@@ -47,15 +47,26 @@ import org.semanticweb.owlapi.io.OWLParserFactoryImpl;
 @HasPriority(12)
 public class TurtleOntologyParserFactory extends OWLParserFactoryImpl {
 
+    private final boolean buffered;
+
     /**
      * Default constructor.
      */
     public TurtleOntologyParserFactory() {
+        this(false);
+    }
+
+    /**
+     * @param buffered true to create parsers based on {@link BufferedTurtleParser}, false for
+     *        parsers based on the generated {@link TurtleParser}
+     */
+    public TurtleOntologyParserFactory(boolean buffered) {
         super(new TurtleDocumentFormatFactory());
+        this.buffered = buffered;
     }
 
     @Override
     public OWLParser createParser() {
-        return new TurtleOntologyParser();
+        return new TurtleOntologyParser(buffered);
     }
 }
@@ -34,4 +34,8 @@ class TurtleParserException extends OWLParserException {
     TurtleParserException(Throwable cause) {
         super(cause);
     }
+
+    TurtleParserException(String message, int lineNumber, int columnNumber) {
+        super(message, lineNumber, columnNumber);
+    }
 }
@@ -13,6 +13,7 @@
 package com.clarkparsia.owlapi.explanation;
 
 import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
@@ -22,11 +23,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ServiceLoader;
 import java.util.Set;
 
 import javax.annotation.Nullable;
 
+import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationAxiom;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -36,18 +40,27 @@ import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLException;
 import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyManagerFactory;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.RemoveAxiom;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.clarkparsia.owlapi.explanation.util.ModuleCache;
 import com.clarkparsia.owlapi.explanation.util.OntologyUtils;
 
 /**
- * A black box explanation.
+ * A black box explanation.<br>
+ * Satisfiability is tested on a debugging ontology, held by the manager passed to the constructor
+ * or, if none is passed, by a new manager from the first {@link OWLOntologyManagerFactory}
+ * service on the class path ({@code OWLManager} when the apibinding module is present). Without
+ * such a service, the debugging ontology is created in the ontology manager.
  */
 public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
     implements SingleExplanationGenerator {
@@ -86,6 +99,12 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
      * The owl ontology manager.
      */
     private final OWLOntologyManager man;
+    /**
+     * The manager holding the debugging ontology, so that users and listeners of the ontology
+     * manager do not see it; created when first needed.
+     */
+    @Nullable
+    private OWLOntologyManager debuggingManager;
     /**
      * The debugging axioms.
      */
@@ -95,6 +114,16 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
      */
     @Nullable
     private OWLOntology debuggingOntology;
+    /**
+     * The axioms currently in the debugging ontology.
+     */
+    private final Set<OWLAxiom> loadedAxioms = new HashSet<>();
+    /**
+     * Buffering reasoner for the debugging ontology; it is created once and flushed after the
+     * debugging ontology has been updated, instead of being recreated for every test.
+     */
+    @Nullable
+    private OWLReasoner debuggingReasoner;
     /**
      * The expansion limit.
      */
@@ -105,9 +134,20 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
     private int fastPruningWindowSize;
     // Creation of debugging ontology and satisfiability testing
     private int satTestCount;
+    private int reasonerCreationCount;
+    /**
+     * Modules of the ontology, used to restrict the search space; null if pruning is disabled.
+     */
+    @Nullable
+    private ModuleCache moduleCache;
+    /**
+     * The module for the class being explained, if any.
+     */
+    @Nullable
+    private Set<OWLAxiom> module;
 
     /**
-     * Instantiates a new black box explanation.
+     * Instantiates a new black box explanation, searching the whole imports closure.
      *
      * @param ontology the ontology
      * @param reasonerFactory the reasoner factory
@@ -115,8 +155,44 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
      */
     public BlackBoxExplanation(OWLOntology ontology, OWLReasonerFactory reasonerFactory,
         OWLReasoner reasoner) {
+        this(ontology, reasonerFactory, reasoner, false);
+    }
+
+    /**
+     * Instantiates a new black box explanation.
+     *
+     * @param ontology the ontology
+     * @param reasonerFactory the reasoner factory
+     * @param reasoner the reasoner
+     * @param useModules true if the search should be restricted to the syntactic locality star
+     * module of the signature of the class being explained. Modules are cached by signature
+     * during each explanation, or each transaction, and dropped if the imports closure changes;
+     * the ontology manager is only listened to meanwhile.
+     */
+    public BlackBoxExplanation(OWLOntology ontology, OWLReasonerFactory reasonerFactory,
+        OWLReasoner reasoner, boolean useModules) {
         super(ontology, reasonerFactory, reasoner);
         man = ontology.getOWLOntologyManager();
+        if (useModules) {
+            moduleCache = new ModuleCache(ontology);
+        }
+    }
+
+    /**
+     * Instantiates a new black box explanation.
+     *
+     * @param ontology the ontology
+     * @param reasonerFactory the reasoner factory
+     * @param reasoner the reasoner
+     * @param useModules true if the search should be restricted to the syntactic locality star
+     * module of the signature of the class being explained
+     * @param debuggingManager manager to create the debugging ontology in; it should not be the
+     * ontology manager, whose listeners would otherwise see every change to the debugging ontology
+     */
+    public BlackBoxExplanation(OWLOntology ontology, OWLReasonerFactory reasonerFactory,
+        OWLReasoner reasoner, boolean useModules, OWLOntologyManager debuggingManager) {
+        this(ontology, reasonerFactory, reasoner, useModules);
+        this.debuggingManager = checkNotNull(debuggingManager, "debuggingManager cannot be null");
     }
 
     /**
@@ -142,23 +218,101 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         return count;
     }
 
+    @Override
+    public boolean supportsCopy() {
+        return true;
+    }
+
+    @Override
+    public BlackBoxExplanation copy(OWLOntologyManager manager)
+        throws OWLOntologyCreationException {
+        OWLOntology copy =
+            manager.createOntology(getOntology().importsClosure().flatMap(OWLOntology::axioms));
+        // managers are not shared between copies
+        return new BlackBoxExplanation(copy, getReasonerFactory(),
+            getReasonerFactory().createNonBufferingReasoner(copy), moduleCache != null, manager);
+    }
+
+    /**
+     * Module pruning enabled: the copy contains only the module for the signature of the class,
+     * plus declarations and annotation axioms, since no justification can be found outside it.
+     */
+    @Override
+    public BlackBoxExplanation copy(OWLOntologyManager manager, OWLClassExpression unsatClass)
+        throws OWLOntologyCreationException {
+        ModuleCache cache = moduleCache;
+        if (cache == null) {
+            return copy(manager);
+        }
+        Set<OWLAxiom> m = cache.getModule(asUnorderedSet(unsatClass.signature()));
+        OWLOntology copy = manager.createOntology(getOntology().importsClosure()
+            .flatMap(OWLOntology::axioms).filter(ax -> !ax.isLogicalAxiom() || m.contains(ax)));
+        return new BlackBoxExplanation(copy, getReasonerFactory(),
+            getReasonerFactory().createNonBufferingReasoner(copy), false, manager);
+    }
+
+    @Override
+    public void beginTransaction() {
+        super.beginTransaction();
+        if (moduleCache != null) {
+            moduleCache.startListening();
+            // axioms removed during a transaction are restored at its end
+            moduleCache.freeze();
+        }
+    }
+
+    @Override
+    public void endTransaction() {
+        super.endTransaction();
+        if (moduleCache != null) {
+            moduleCache.unfreeze();
+            moduleCache.stopListening();
+        }
+    }
+
+    /**
+     * @return the number of satisfiability checks performed during the last call to
+     * {@link #getExplanation(OWLClassExpression)}
+     */
+    public int getSatisfiabilityCheckCount() {
+        return satTestCount;
+    }
+
+    /**
+     * @return the number of reasoners created during the last call to
+     * {@link #getExplanation(OWLClassExpression)}; the debugging reasoner is created by the first
+     * explanation that needs it and reused by the following ones
+     */
+    public int getReasonerCreationCount() {
+        return reasonerCreationCount;
+    }
+
     @Override
     public void dispose() {
         reset();
+        if (debuggingReasoner != null) {
+            verifyNotNull(debuggingReasoner).dispose();
+            debuggingReasoner = null;
+        }
+        if (debuggingOntology != null) {
+            getDebuggingManager().removeOntology(verifyNotNull(debuggingOntology));
+            debuggingOntology = null;
+        }
+        loadedAxioms.clear();
+        if (moduleCache != null) {
+            moduleCache.dispose();
+        }
         getReasoner().dispose();
     }
 
     private void reset() {
-        if (debuggingOntology != null) {
-            man.removeOntology(verifyNotNull(debuggingOntology));
-            debuggingOntology = null;
-        }
         debuggingAxioms.clear();
         objectsExpandedWithDefiningAxioms.clear();
         objectsExpandedWithReferencingAxioms.clear();
         expandedWithDefiningAxioms.clear();
         expandedWithReferencingAxioms.clear();
         expansionLimit = initialExpansionLimit;
+        module = null;
     }
 
     @Override
@@ -166,18 +320,32 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         if (!getDefinitionTracker().isDefined(unsatClass)) {
             return Collections.emptySet();
         }
+        satTestCount = 0;
+        reasonerCreationCount = 0;
+        if (moduleCache != null) {
+            moduleCache.startListening();
+        }
         try {
-            satTestCount++;
-            if (isFirstExplanation() && getReasoner().isSatisfiable(unsatClass)) {
-                return Collections.emptySet();
+            if (isFirstExplanation()) {
+                satTestCount++;
+                if (getReasoner().isSatisfiable(unsatClass)) {
+                    return Collections.emptySet();
+                }
             }
             reset();
+            if (moduleCache != null) {
+                module = moduleCache.getModule(asUnorderedSet(unsatClass.signature()));
+            }
             expandUntilUnsatisfiable(unsatClass);
             pruneUntilMinimal(unsatClass);
             removeDeclarations();
             return new HashSet<>(debuggingAxioms);
         } catch (OWLException e) {
             throw new OWLRuntimeException(e);
+        } finally {
+            if (moduleCache != null) {
+                moduleCache.stopListening();
+            }
         }
     }
 
@@ -251,13 +419,17 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         getOntology().importsClosure().forEach(ont -> {
             boolean referenceFound = false;
             if (obj instanceof OWLClass) {
-                referenceFound = add(expansionAxioms, ont.axioms((OWLClass) obj));
+                referenceFound =
+                    add(expansionAxioms, ont.axioms((OWLClass) obj).filter(this::inModule));
             } else if (obj.isOWLObjectProperty()) {
-                referenceFound = add(expansionAxioms, ont.axioms(obj.asOWLObjectProperty()));
+                referenceFound = add(expansionAxioms,
+                    ont.axioms(obj.asOWLObjectProperty()).filter(this::inModule));
             } else if (obj.isOWLDataProperty()) {
-                referenceFound = add(expansionAxioms, ont.axioms(obj.asOWLDataProperty()));
+                referenceFound = add(expansionAxioms,
+                    ont.axioms(obj.asOWLDataProperty()).filter(this::inModule));
             } else if (obj instanceof OWLIndividual) {
-                referenceFound = add(expansionAxioms, ont.axioms((OWLIndividual) obj));
+                referenceFound =
+                    add(expansionAxioms, ont.axioms((OWLIndividual) obj).filter(this::inModule));
             }
             if (!referenceFound) {
                 expansionAxioms.add(man.getOWLDataFactory().getOWLDeclarationAxiom(obj));
@@ -267,6 +439,14 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         return addMax(expansionAxioms, debuggingAxioms, limit);
     }
 
+    /**
+     * @param ax axiom
+     * @return true if the axiom can be part of an explanation for the current class
+     */
+    private boolean inModule(OWLAxiom ax) {
+        return module == null || !ax.isLogicalAxiom() || verifyNotNull(module).contains(ax);
+    }
+
     /**
      * Expands the axiom set by adding the referencing axioms for the specified entity.
      *
@@ -277,8 +457,8 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
     private int expandWithReferencingAxioms(OWLEntity obj, int limit) {
         // First expand by getting the defining axioms - if this doesn't
         // return any axioms, then get the axioms that reference the entity
-        Set<OWLAxiom> expansionAxioms =
-            asUnorderedSet(getOntology().referencingAxioms(obj, INCLUDED));
+        Set<OWLAxiom> expansionAxioms = asUnorderedSet(
+            getOntology().referencingAxioms(obj, INCLUDED).filter(this::inModule));
         expansionAxioms.removeAll(debuggingAxioms);
         return addMax(expansionAxioms, debuggingAxioms, limit);
     }
@@ -337,8 +517,8 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
     }
 
     /**
-     * Tests the satisfiability of the test class. The ontology is recreated before the test is
-     * performed.
+     * Tests the satisfiability of the test class. The debugging ontology is updated to contain
+     * the debugging axioms before the test is performed.
      *
      * @param unsatClass the unsat class
      * @return true, if is satisfiable
@@ -346,18 +526,13 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
      */
     private boolean isSatisfiable(OWLClassExpression unsatClass) throws OWLException {
         try {
-            createDebuggingOntology();
-            OWLReasoner reasoner =
-                getReasonerFactory().createNonBufferingReasoner(verifyNotNull(debuggingOntology));
+            OWLReasoner reasoner = updateDebuggingOntology();
             if (OntologyUtils.containsUnreferencedEntity(verifyNotNull(debuggingOntology),
                 unsatClass)) {
-                reasoner.dispose();
                 return true;
             }
             satTestCount++;
-            boolean sat = reasoner.isSatisfiable(unsatClass);
-            reasoner.dispose();
-            return sat;
+            return reasoner.isSatisfiable(unsatClass);
         } catch (IllegalArgumentException e) {
             LOGGER.warn(
                 "Illegal argument found - satisfiability cannot be checked for {} because of {}",
@@ -366,23 +541,67 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         }
     }
 
-    private void createDebuggingOntology() throws OWLException {
-        if (debuggingOntology != null) {
-            man.removeOntology(verifyNotNull(debuggingOntology));
+    /**
+     * Brings the debugging ontology in line with the debugging axioms, adding and removing only
+     * the axioms that changed since the last test, and flushes the reasoner.
+     *
+     * @return the reasoner for the debugging ontology
+     * @throws OWLException if the debugging ontology cannot be created
+     */
+    private OWLReasoner updateDebuggingOntology() throws OWLException {
+        OWLOntology ont = debuggingOntology;
+        if (ont == null) {
+            ont = getDebuggingManager().createOntology();
+            debuggingOntology = ont;
+        }
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        for (OWLAxiom ax : loadedAxioms) {
+            if (!debuggingAxioms.contains(ax)) {
+                changes.add(new RemoveAxiom(ont, ax));
+            }
+        }
+        for (OWLAxiom ax : debuggingAxioms) {
+            if (!loadedAxioms.contains(ax)) {
+                changes.add(new AddAxiom(ont, ax));
+            }
         }
-        debuggingOntology = man.createOntology();
-        debuggingOntology.add(debuggingAxioms);
+        if (!changes.isEmpty()) {
+            getDebuggingManager().applyChanges(changes);
+            loadedAxioms.clear();
+            loadedAxioms.addAll(debuggingAxioms);
+        }
+        OWLReasoner reasoner = debuggingReasoner;
+        if (reasoner == null) {
+            reasoner = getReasonerFactory().createReasoner(ont);
+            debuggingReasoner = reasoner;
+            reasonerCreationCount++;
+        } else if (!changes.isEmpty()) {
+            reasoner.flush();
+        }
+        return reasoner;
     }
 
-    private void resetSatisfiabilityTestCounter() {
-        satTestCount = 0;
+    /**
+     * @return the manager for the debugging ontology: the one passed to the constructor or, if
+     * none was, a new manager from the first {@link OWLOntologyManagerFactory} service on the
+     * class path ({@code OWLManager} when the apibinding module is present), or the ontology
+     * manager if there is no such service
+     */
+    private OWLOntologyManager getDebuggingManager() {
+        OWLOntologyManager m = debuggingManager;
+        if (m == null) {
+            Iterator<OWLOntologyManagerFactory> factories =
+                ServiceLoader.load(OWLOntologyManagerFactory.class).iterator();
+            m = factories.hasNext() ? factories.next().get() : man;
+            debuggingManager = m;
+        }
+        return m;
     }
 
     private void expandUntilUnsatisfiable(OWLClassExpression unsatClass) throws OWLException {
         // Perform the initial expansion - this will cause
         // the debugging axioms set to be expanded to the
         // defining axioms for the class being debugged
-        resetSatisfiabilityTestCounter();
         if (unsatClass.isAnonymous()) {
             OWLClass owlThing = man.getOWLDataFactory().getOWLThing();
             OWLSubClassOfAxiom axiom =
@@ -419,24 +638,22 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
      */
     protected void pruneUntilMinimal(OWLClassExpression unsatClass) throws OWLException {
         LOGGER.info("FOUND CLASH! Pruning {} axioms...", Integer.valueOf(debuggingAxioms.size()));
-        resetSatisfiabilityTestCounter();
+        int start = satTestCount;
         LOGGER.info("Fast pruning...");
         fastPruningWindowSize = DEFAULT_FAST_PRUNING_WINDOW_SIZE;
         performFastPruning(unsatClass);
         LOGGER.info("... end of fast pruning. Axioms remaining: {}",
             Integer.valueOf(debuggingAxioms.size()));
+        int fastPruningTests = satTestCount - start;
         LOGGER.info("Performed {} satisfiability tests during fast pruning",
-            Integer.valueOf(satTestCount));
-        int totalSatTests = satTestCount;
-        resetSatisfiabilityTestCounter();
+            Integer.valueOf(fastPruningTests));
         LOGGER.info("Slow pruning...");
         performSlowPruning(unsatClass);
         LOGGER.info("... end of slow pruning");
         LOGGER.info("Performed {} satisfiability tests during slow pruning",
-            Integer.valueOf(satTestCount));
-        totalSatTests += satTestCount;
+            Integer.valueOf(satTestCount - start - fastPruningTests));
         LOGGER.info("Total number of satisfiability tests performed: {}",
-            Integer.valueOf(totalSatTests));
+            Integer.valueOf(satTestCount - start));
     }
 
     private void removeDeclarations() {
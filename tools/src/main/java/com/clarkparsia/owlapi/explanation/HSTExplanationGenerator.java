@@ -14,6 +14,7 @@ package com.clarkparsia.owlapi.explanation;
 
 import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import com.clarkparsia.owlapi.explanation.util.ExplanationProgressMonitor;
 import com.clarkparsia.owlapi.explanation.util.OntologyUtils;
@@ -25,6 +26,11 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -34,6 +40,7 @@ import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLException;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyManagerFactory;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
@@ -43,12 +50,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * HST explanation generator.
+ * HST explanation generator. By default the hitting set tree is explored depth
+ * first on the calling thread; in parallel mode independent branches are
+ * expanded concurrently on a fork-join pool, each worker explaining with its
+ * own copy of the single explanation generator.
  */
 public class HSTExplanationGenerator implements MultipleExplanationGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HSTExplanationGenerator.class);
     private final TransactionAwareSingleExpGen singleExplanationGenerator;
+    @Nullable
+    private final OWLOntologyManagerFactory workerManagers;
+    private final int parallelism;
     private ExplanationProgressMonitor progressMonitor = new SilentExplanationProgressMonitor();
 
     /**
@@ -59,6 +72,31 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
     public HSTExplanationGenerator(TransactionAwareSingleExpGen singleExplanationGenerator) {
         this.singleExplanationGenerator = checkNotNull(singleExplanationGenerator,
             "singleExplanationGenerator cannot be null");
+        workerManagers = null;
+        parallelism = 1;
+    }
+
+    /**
+     * Instantiates a new HST explanation generator in parallel mode. Each worker gets a copy of
+     * the single explanation generator, created through
+     * {@link TransactionAwareSingleExpGen#copy(OWLOntologyManager, OWLClassExpression)} with a
+     * new manager from {@code workerManagers}; the copies are disposed of once the explanations
+     * have been computed. Generators that do not support copies, as reported by
+     * {@link TransactionAwareSingleExpGen#supportsCopy()}, are searched sequentially.
+     *
+     * @param singleExplanationGenerator explanation generator to use
+     * @param workerManagers factory for the managers holding the worker ontology copies
+     * @param parallelism number of workers
+     */
+    public HSTExplanationGenerator(TransactionAwareSingleExpGen singleExplanationGenerator,
+        OWLOntologyManagerFactory workerManagers, int parallelism) {
+        this.singleExplanationGenerator = checkNotNull(singleExplanationGenerator,
+            "singleExplanationGenerator cannot be null");
+        this.workerManagers = checkNotNull(workerManagers, "workerManagers cannot be null");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
     }
 
     /**
@@ -204,6 +242,14 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
             Set<Set<OWLAxiom>> allMups = new LinkedHashSet<>();
             progressMonitor.foundExplanation(firstMups);
             allMups.add(firstMups);
+            // generators that cannot be copied are searched sequentially
+            if (workerManagers != null && singleExplanationGenerator.supportsCopy()) {
+                if (maxExplanations != 1) {
+                    new ParallelSearch(unsatClass, maxExplanations).run(firstMups, allMups);
+                }
+                progressMonitor.foundAllExplanations();
+                return allMups;
+            }
             Set<Set<OWLAxiom>> satPaths = new HashSet<>();
             Set<OWLAxiom> currentPathContents = new HashSet<>();
             singleExplanationGenerator.beginTransaction();
@@ -262,8 +308,8 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
             // Removal may have dereferenced some entities, if so declarations
             // are added
             List<OWLDeclarationAxiom> temporaryDeclarations = new ArrayList<>();
-            Set<OWLOntology> ontologies = removeAxiomAndAddDeclarations(axiom,
-                temporaryDeclarations);
+            Set<OWLOntology> ontologies = removeAxiomAndAddDeclarations(
+                singleExplanationGenerator, axiom, temporaryDeclarations);
             currentPathContents.add(axiom);
             boolean earlyTermination = checkEarlyTermination(satPaths, currentPathContents);
             if (!earlyTermination) {
@@ -323,9 +369,14 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
         // Back track - go one level up the tree and run for the next axiom
         currentPathContents.remove(axiom);
         LOGGER.info("Restoring axiom: {}", axiom);
+        restoreAxiom(singleExplanationGenerator, axiom, temporaryDeclarations, ontologies);
+    }
+
+    private static void restoreAxiom(SingleExplanationGenerator gen, OWLAxiom axiom,
+        List<OWLDeclarationAxiom> temporaryDeclarations, Set<OWLOntology> ontologies) {
         // Remove any temporary declarations
         for (OWLDeclarationAxiom decl : temporaryDeclarations) {
-            OntologyUtils.removeAxiom(decl, getReasoner().getRootOntology().importsClosure());
+            OntologyUtils.removeAxiom(decl, gen.getReasoner().getRootOntology().importsClosure());
         }
         // Done with the axiom that was removed. Add it back in
         OntologyUtils.addAxiom(axiom, ontologies.stream());
@@ -359,41 +410,273 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
     /**
      * Removes the axiom and add declarations.
      *
+     * @param gen the generator whose ontologies are modified
      * @param axiom the axiom
      * @param temporaryDeclarations the temporary declarations
      * @return the sets the
      */
-    private Set<OWLOntology> removeAxiomAndAddDeclarations(OWLAxiom axiom,
-        List<OWLDeclarationAxiom> temporaryDeclarations) {
+    private static Set<OWLOntology> removeAxiomAndAddDeclarations(SingleExplanationGenerator gen,
+        OWLAxiom axiom, List<OWLDeclarationAxiom> temporaryDeclarations) {
         // Remove the current axiom from all the ontologies it is included
         // in
         Set<OWLOntology> ontologies = OntologyUtils
-            .removeAxiom(axiom, getReasoner().getRootOntology()
+            .removeAxiom(axiom, gen.getReasoner().getRootOntology()
                 .importsClosure());
-        collectTemporaryDeclarations(axiom, temporaryDeclarations);
+        collectTemporaryDeclarations(gen, axiom, temporaryDeclarations);
         for (OWLDeclarationAxiom decl : temporaryDeclarations) {
-            OntologyUtils.addAxiom(decl, getReasoner().getRootOntology().importsClosure());
+            OntologyUtils.addAxiom(decl, gen.getReasoner().getRootOntology().importsClosure());
         }
         return ontologies;
     }
 
-    private void collectTemporaryDeclarations(OWLAxiom axiom,
-        List<OWLDeclarationAxiom> temporaryDeclarations) {
+    private static void collectTemporaryDeclarations(SingleExplanationGenerator gen,
+        OWLAxiom axiom, List<OWLDeclarationAxiom> temporaryDeclarations) {
         for (OWLEntity e : getSignature(axiom)) {
-            boolean referenced = getReasoner().getRootOntology().isDeclared(e, INCLUDED);
+            boolean referenced = gen.getReasoner().getRootOntology().isDeclared(e, INCLUDED);
             if (!referenced) {
-                temporaryDeclarations.add(getDeclaration(e));
+                temporaryDeclarations.add(
+                    gen.getOntologyManager().getOWLDataFactory().getOWLDeclarationAxiom(e));
             }
         }
     }
 
     /**
-     * Gets the declaration.
-     *
-     * @param e the e
-     * @return the declaration
+     * State of a parallel hitting set tree search. Nodes are identified by the
+     * set of axioms removed along their path; each node is a fork-join task
+     * that computes its justification (reusing a known one when possible) and
+     * forks its children. Found justifications, satisfiable paths and expanded
+     * paths are shared between all tasks.
      */
-    private OWLDeclarationAxiom getDeclaration(OWLEntity e) {
-        return getOntologyManager().getOWLDataFactory().getOWLDeclarationAxiom(e);
+    private class ParallelSearch {
+
+        private final OWLClassExpression unsatClass;
+        private final int maxExplanations;
+        private final Set<Set<OWLAxiom>> found = ConcurrentHashMap.newKeySet();
+        private final Set<Set<OWLAxiom>> satPaths = ConcurrentHashMap.newKeySet();
+        private final Set<Set<OWLAxiom>> expandedPaths = ConcurrentHashMap.newKeySet();
+        private final BlockingQueue<TransactionAwareSingleExpGen> idleWorkers =
+            new LinkedBlockingQueue<>();
+        @Nullable
+        private Set<Set<OWLAxiom>> allMups;
+        private volatile boolean limitReached = false;
+
+        ParallelSearch(OWLClassExpression unsatClass, int maxExplanations) {
+            this.unsatClass = unsatClass;
+            this.maxExplanations = maxExplanations;
+        }
+
+        /**
+         * @param firstMups the first justification, root of the tree
+         * @param mups the justifications found, in order; initially only the first one
+         * @throws OWLException if the worker copies cannot be created
+         */
+        void run(Set<OWLAxiom> firstMups, Set<Set<OWLAxiom>> mups) throws OWLException {
+            allMups = mups;
+            found.addAll(mups);
+            List<TransactionAwareSingleExpGen> workers = new ArrayList<>();
+            try {
+                // the generator is not modified; the transaction lets it keep state, e.g.,
+                // cached modules, between the copies
+                singleExplanationGenerator.beginTransaction();
+                try {
+                    for (int i = 0; i < parallelism; i++) {
+                        TransactionAwareSingleExpGen worker = singleExplanationGenerator
+                            .copy(verifyNotNull(workerManagers).get(), unsatClass);
+                        workers.add(worker);
+                        worker.beginTransaction();
+                        idleWorkers.add(worker);
+                    }
+                } finally {
+                    singleExplanationGenerator.endTransaction();
+                }
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                try {
+                    pool.invoke(new Expansion(firstMups, Collections.emptySet()));
+                } finally {
+                    pool.shutdown();
+                }
+            } finally {
+                for (TransactionAwareSingleExpGen worker : workers) {
+                    worker.endTransaction();
+                    worker.dispose();
+                }
+            }
+        }
+
+        boolean isStopped() {
+            return limitReached || progressMonitor.isCancelled();
+        }
+
+        /**
+         * Records a justification.
+         *
+         * @param mups justification
+         * @return false if the justification was not recorded because the maximum number of
+         * explanations has been reached
+         */
+        boolean record(Set<OWLAxiom> mups) {
+            Set<Set<OWLAxiom>> ordered = verifyNotNull(allMups);
+            synchronized (ordered) {
+                if (found.contains(mups)) {
+                    return !limitReached;
+                }
+                if (limitReached) {
+                    return false;
+                }
+                LOGGER.info("MUPS {}: {}", Integer.valueOf(ordered.size()), mups);
+                found.add(mups);
+                ordered.add(mups);
+                progressMonitor.foundExplanation(mups);
+                if (ordered.size() == maxExplanations) {
+                    LOGGER.info("Computed {} explanations", Integer.valueOf(maxExplanations));
+                    limitReached = true;
+                }
+                return true;
+            }
+        }
+
+        Set<OWLAxiom> getNewMUPS(Set<OWLAxiom> pathContents) {
+            for (Set<OWLAxiom> foundMUPS : found) {
+                if (Collections.disjoint(foundMUPS, pathContents)) {
+                    return foundMUPS;
+                }
+            }
+            TransactionAwareSingleExpGen worker = borrowWorker();
+            try {
+                return explain(worker, pathContents);
+            } finally {
+                idleWorkers.add(worker);
+            }
+        }
+
+        /**
+         * Waits for an idle worker; the pool can add a thread while this one is blocked.
+         */
+        private TransactionAwareSingleExpGen borrowWorker() {
+            WorkerBlocker blocker = new WorkerBlocker();
+            try {
+                ForkJoinPool.managedBlock(blocker);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OWLRuntimeException(e);
+            }
+            return verifyNotNull(blocker.worker);
+        }
+
+        /**
+         * Takes an idle worker, blocking only if none is available.
+         */
+        private class WorkerBlocker implements ForkJoinPool.ManagedBlocker {
+
+            @Nullable
+            TransactionAwareSingleExpGen worker;
+
+            @Override
+            public boolean block() throws InterruptedException {
+                if (worker == null) {
+                    worker = idleWorkers.take();
+                }
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                if (worker == null) {
+                    worker = idleWorkers.poll();
+                }
+                return worker != null;
+            }
+        }
+
+        /**
+         * Removes the path contents from the worker ontologies, computes an explanation and
+         * restores the worker ontologies.
+         */
+        private Set<OWLAxiom> explain(TransactionAwareSingleExpGen worker,
+            Set<OWLAxiom> pathContents) {
+            List<OWLAxiom> removed = new ArrayList<>(pathContents);
+            List<List<OWLDeclarationAxiom>> declarations = new ArrayList<>();
+            List<Set<OWLOntology>> ontologies = new ArrayList<>();
+            try {
+                for (OWLAxiom axiom : removed) {
+                    List<OWLDeclarationAxiom> temporaryDeclarations = new ArrayList<>();
+                    ontologies.add(
+                        removeAxiomAndAddDeclarations(worker, axiom, temporaryDeclarations));
+                    declarations.add(temporaryDeclarations);
+                }
+                return worker.getExplanation(unsatClass);
+            } finally {
+                for (int i = ontologies.size() - 1; i >= 0; i--) {
+                    restoreAxiom(worker, removed.get(i), declarations.get(i), ontologies.get(i));
+                }
+            }
+        }
+
+        /**
+         * Expansion of a node of the hitting set tree: one child per axiom of the node
+         * justification.
+         */
+        private class Expansion extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+            private final Set<OWLAxiom> mups;
+            private final Set<OWLAxiom> pathContents;
+
+            Expansion(Set<OWLAxiom> mups, Set<OWLAxiom> pathContents) {
+                this.mups = mups;
+                this.pathContents = pathContents;
+            }
+
+            @Override
+            protected void compute() {
+                if (isStopped()) {
+                    return;
+                }
+                List<Edge> edges = new ArrayList<>();
+                for (OWLAxiom axiom : getOrderedMUPS(new ArrayList<>(mups), new HashSet<>(found))) {
+                    Set<OWLAxiom> path = new HashSet<>(pathContents);
+                    path.add(axiom);
+                    if (expandedPaths.add(path)) {
+                        edges.add(new Edge(axiom, path));
+                    }
+                }
+                invokeAll(edges);
+            }
+        }
+
+        /**
+         * An edge of the hitting set tree: computes the justification for the path ending
+         * with the edge axiom and expands the resulting node.
+         */
+        private class Edge extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+            private final OWLAxiom axiom;
+            private final Set<OWLAxiom> pathContents;
+
+            Edge(OWLAxiom axiom, Set<OWLAxiom> pathContents) {
+                this.axiom = axiom;
+                this.pathContents = pathContents;
+            }
+
+            @Override
+            protected void compute() {
+                if (isStopped() || checkEarlyTermination(satPaths, pathContents)) {
+                    return;
+                }
+                LOGGER.info("Removing axiom: {} {} more removed: {}", axiom,
+                    Integer.valueOf(pathContents.size() - 1), pathContents);
+                Set<OWLAxiom> newMUPS = getNewMUPS(pathContents);
+                if (newMUPS.contains(axiom)) {
+                    throw new OWLRuntimeException("Explanation contains removed axiom: " + axiom);
+                }
+                if (newMUPS.isEmpty()) {
+                    LOGGER.info("Stop - satisfiable");
+                    satPaths.add(pathContents);
+                } else if (record(newMUPS)) {
+                    new Expansion(newMUPS, pathContents).compute();
+                }
+            }
+        }
     }
 }
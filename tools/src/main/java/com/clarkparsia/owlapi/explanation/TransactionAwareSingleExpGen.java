@@ -12,6 +12,10 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package com.clarkparsia.owlapi.explanation;
 
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
 /**
  * transactional support for single explanation generator.
  */
@@ -30,4 +34,45 @@ public interface TransactionAwareSingleExpGen extends
      * End a transaction. See {@link #beginTransaction()}
      */
     void endTransaction();
+
+    /**
+     * @return true if {@link #copy(OWLOntologyManager)} is supported; false by default, in which
+     * case {@link HSTExplanationGenerator} searches sequentially
+     */
+    default boolean supportsCopy() {
+        return false;
+    }
+
+    /**
+     * Creates an explanation generator of the same kind, working on a copy of
+     * the imports closure of the ontology and with its own reasoner. The copy
+     * can be modified independently of this generator; this is used by the
+     * workers of a parallel {@link HSTExplanationGenerator}.
+     *
+     * @param manager the manager that will hold the ontology copy. Managers should not be shared
+     * between copies used concurrently.
+     * @return a new explanation generator
+     * @throws OWLOntologyCreationException if the ontology copy cannot be created
+     * @throws UnsupportedOperationException if {@link #supportsCopy()} is false
+     */
+    default TransactionAwareSingleExpGen copy(
+        @SuppressWarnings("unused") OWLOntologyManager manager)
+        throws OWLOntologyCreationException {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot be copied");
+    }
+
+    /**
+     * Creates a copy as {@link #copy(OWLOntologyManager)} does, for explaining the given class
+     * only. Implementations can use this to copy a smaller part of the ontology.
+     *
+     * @param manager the manager that will hold the ontology copy
+     * @param unsatClass the class that the copy will be used to explain
+     * @return a new explanation generator
+     * @throws OWLOntologyCreationException if the ontology copy cannot be created
+     */
+    default TransactionAwareSingleExpGen copy(OWLOntologyManager manager,
+        @SuppressWarnings("unused") OWLClassExpression unsatClass)
+        throws OWLOntologyCreationException {
+        return copy(manager);
+    }
 }
@@ -0,0 +1,200 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package com.clarkparsia.owlapi.explanation.util;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapitools.decomposition.AxiomSelector;
+import org.semanticweb.owlapitools.decomposition.AxiomWrapper;
+import org.semanticweb.owlapitools.decomposition.Decomposer;
+import org.semanticweb.owlapitools.decomposition.SyntacticLocalityChecker;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+/**
+ * Cache of syntactic locality modules for the imports closure of an ontology, keyed by seed
+ * signature. A module for the signature of an entailment contains all the justifications for that
+ * entailment, so explanation generators can restrict their search to it. The locality index is
+ * built lazily and reused across calls between {@link #startListening()} and
+ * {@link #stopListening()}, while the cache listens to the ontology manager; any change to an
+ * ontology in the imports closure drops it, unless the cache is frozen. Outside of these periods
+ * the cache does not listen to changes, so nothing is reused.
+ */
+public class ModuleCache implements OWLOntologyChangeListener {
+
+    /**
+     * Default number of modules kept.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 128;
+    private final OWLOntology ontology;
+    private final ModuleType moduleType;
+    private final Map<Set<OWLEntity>, Set<OWLAxiom>> modules;
+    @Nullable
+    private Decomposer decomposer;
+    private boolean frozen;
+    private int listening;
+
+    /**
+     * Creates a cache of star modules.
+     *
+     * @param ontology the ontology whose imports closure modules are extracted from
+     */
+    public ModuleCache(OWLOntology ontology) {
+        this(ontology, ModuleType.STAR, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param ontology the ontology whose imports closure modules are extracted from
+     * @param moduleType type of module to extract
+     * @param cacheSize maximum number of modules kept; least recently used modules are evicted
+     * first
+     */
+    public ModuleCache(OWLOntology ontology, ModuleType moduleType, int cacheSize) {
+        this.ontology = checkNotNull(ontology, "ontology cannot be null");
+        this.moduleType = checkNotNull(moduleType, "moduleType cannot be null");
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("cacheSize must be positive: " + cacheSize);
+        }
+        modules = new LinkedHashMap<Set<OWLEntity>, Set<OWLAxiom>>(16, 0.75F, true) {
+
+            @Override
+            protected boolean removeEldestEntry(
+                @Nullable Map.Entry<Set<OWLEntity>, Set<OWLAxiom>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * @param signature seed signature
+     * @return the logical axioms in the module for the signature; the set is shared between
+     * callers and must not be modified
+     */
+    public synchronized Set<OWLAxiom> getModule(Set<OWLEntity> signature) {
+        if (listening == 0) {
+            // changes are not tracked
+            clear();
+        }
+        Set<OWLAxiom> module = modules.get(signature);
+        if (module == null) {
+            module = new HashSet<>();
+            for (AxiomWrapper w : getDecomposer().getModule(signature.stream(), false,
+                moduleType)) {
+                module.add(w.getAxiom());
+            }
+            module = Collections.unmodifiableSet(module);
+            modules.put(new HashSet<>(signature), module);
+        }
+        return module;
+    }
+
+    private Decomposer getDecomposer() {
+        Decomposer d = decomposer;
+        if (d == null) {
+            List<AxiomWrapper> axioms = AxiomSelector.wrap(AxiomSelector.selectAxioms(ontology));
+            d = new Decomposer(axioms, new SyntacticLocalityChecker());
+            decomposer = d;
+        }
+        return d;
+    }
+
+    /**
+     * Freezes the cache: the current state of the imports closure is indexed, and changes are
+     * ignored until {@link #unfreeze()} is called. Modules of the frozen state remain valid for any
+     * subset of its axioms, which is what temporary axiom removals need.
+     */
+    public synchronized void freeze() {
+        getDecomposer();
+        frozen = true;
+    }
+
+    /**
+     * Stops ignoring changes. See {@link #freeze()}.
+     */
+    public synchronized void unfreeze() {
+        frozen = false;
+    }
+
+    /**
+     * Drops all cached modules and the locality index.
+     */
+    public synchronized void clear() {
+        modules.clear();
+        decomposer = null;
+    }
+
+    /**
+     * Starts listening to changes of the ontology manager, if the cache is not listening already.
+     * Cached modules are dropped when listening starts, since the ontologies may have changed in
+     * the meantime. Each call must be matched by a call to {@link #stopListening()}.
+     */
+    public void startListening() {
+        synchronized (this) {
+            if (listening++ > 0) {
+                return;
+            }
+        }
+        ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+        clear();
+    }
+
+    /**
+     * Stops listening to changes once every call to {@link #startListening()} has been matched.
+     */
+    public void stopListening() {
+        synchronized (this) {
+            if (listening == 0 || --listening > 0) {
+                return;
+            }
+        }
+        ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+    }
+
+    /**
+     * Stops listening to changes and drops all cached modules.
+     */
+    public void dispose() {
+        synchronized (this) {
+            listening = 0;
+        }
+        ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+        clear();
+    }
+
+    @Override
+    public synchronized void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
+        if (frozen || decomposer == null && modules.isEmpty()) {
+            return;
+        }
+        Set<OWLOntology> closure = new HashSet<>();
+        ontology.importsClosure().forEach(closure::add);
+        if (changes.stream().anyMatch(c -> (c.isAxiomChange() || c.isImportChange())
+            && closure.contains(c.getOntology()))) {
+            clear();
+        }
+    }
+}
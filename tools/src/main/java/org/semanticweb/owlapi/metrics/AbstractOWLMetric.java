@@ -72,15 +72,41 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
     @Override
     public M getValue() {
         if (dirty) {
-            value = recomputeMetric();
+            setValue(recomputeMetric());
         }
         return verifyNotNull(value);
     }
 
-    private void setDirty(boolean dirty) {
+    /**
+     * @return the last computed value, or null if the value has to be recomputed; nothing is
+     * computed
+     */
+    @Nullable
+    M getCachedValue() {
+        return dirty ? null : value;
+    }
+
+    void setDirty(boolean dirty) {
         this.dirty = dirty;
     }
 
+    /**
+     * @return true if the value has to be recomputed before it is returned
+     */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Sets a value computed elsewhere, e.g., by a pass shared with other metrics.
+     *
+     * @param value the up to date value
+     */
+    void setValue(M value) {
+        this.value = value;
+        dirty = false;
+    }
+
     /**
      * Gets the ontologies.
      *
@@ -97,7 +123,12 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
     @Override
     public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
         if (isMetricInvalidated(changes)) {
-            setDirty(true);
+            M updated = dirty ? null : updateMetric(changes);
+            if (updated == null) {
+                setDirty(true);
+            } else {
+                value = updated;
+            }
         }
     }
 
@@ -120,7 +151,7 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
     @Override
     public void setImportsClosureUsed(boolean b) {
         importsClosureUsed = b;
-        recomputeMetric();
+        setDirty(true);
     }
 
     /**
@@ -135,6 +166,18 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
      */
     protected abstract boolean isMetricInvalidated(List<? extends OWLOntologyChange> changes);
 
+    /**
+     * Updates the value of this metric from a list of changes that invalidated it; only called
+     * when the current value is up to date with the ontologies as they were before the changes.
+     *
+     * @param changes the changes applied
+     * @return the updated value, or null if the metric has to be recomputed
+     */
+    @Nullable
+    protected M updateMetric(List<? extends OWLOntologyChange> changes) {
+        return null;
+    }
+
     /**
      * Dispose metric.
      */
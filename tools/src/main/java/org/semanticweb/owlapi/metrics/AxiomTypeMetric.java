@@ -46,6 +46,16 @@ public class AxiomTypeMetric extends AxiomCountMetric {
         return ont.axioms(axiomType).map(x -> x);
     }
 
+    @Override
+    protected boolean isCountedPerAxiom() {
+        return true;
+    }
+
+    @Override
+    protected Stream<OWLAxiom> getObjects(OWLAxiom axiom) {
+        return axiom.getAxiomType() == axiomType ? Stream.of(axiom) : Stream.empty();
+    }
+
     /**
      * Gets the axiom type.
      *
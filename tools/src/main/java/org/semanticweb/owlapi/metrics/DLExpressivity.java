@@ -12,19 +12,31 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.metrics;
 
-import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.SetOntologyID;
 import org.semanticweb.owlapi.util.DLExpressivityChecker;
+import org.semanticweb.owlapi.util.DLExpressivityChecker.ConstructCounter;
 
 /**
+ * The constructs used by each ontology are counted once and kept up to date from the changes, so
+ * changes to the axioms do not require the ontologies to be checked again; when the imports
+ * closure changes, only the ontologies not counted yet are checked.
+ *
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.1.0
  */
 public class DLExpressivity extends AbstractOWLMetric<String> {
 
+    private final Map<OWLOntology, ConstructCounter> counters = new HashMap<>();
+
     /**
      * Instantiates a new dL expressivity.
      *
@@ -36,8 +48,46 @@ public class DLExpressivity extends AbstractOWLMetric<String> {
 
     @Override
     public String recomputeMetric() {
-        DLExpressivityChecker checker = new DLExpressivityChecker(asList(getOntologies()));
-        return checker.getDescriptionLogicName();
+        Set<OWLOntology> ontologies = asUnorderedSet(getOntologies());
+        counters.keySet().retainAll(ontologies);
+        ontologies.forEach(o -> counters.computeIfAbsent(o, ConstructCounter::new));
+        return name();
+    }
+
+    private String name() {
+        int mask = 0;
+        for (ConstructCounter counter : counters.values()) {
+            mask |= counter.getConstructs();
+        }
+        return DLExpressivityChecker.getDescriptionLogicName(mask);
+    }
+
+    @Override
+    public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
+        // counters must follow every change, including those received while the value is dirty
+        for (OWLOntologyChange change : changes) {
+            ConstructCounter counter = counters.get(change.getOntology());
+            if (counter != null && change.isAxiomChange()) {
+                if (change.isAddAxiom()) {
+                    counter.add(change.getAxiom());
+                } else {
+                    counter.remove(change.getAxiom());
+                }
+            }
+        }
+        super.ontologiesChanged(changes);
+    }
+
+    @Nullable
+    @Override
+    protected String updateMetric(List<? extends OWLOntologyChange> changes) {
+        for (OWLOntologyChange change : changes) {
+            if (isImportsClosureUsed()
+                && (change.isImportChange() || change instanceof SetOntologyID)) {
+                return null;
+            }
+        }
+        return name();
     }
 
     @Override
@@ -51,6 +101,9 @@ public class DLExpressivity extends AbstractOWLMetric<String> {
             if (change.isAxiomChange() && change.getAxiom().isLogicalAxiom()) {
                 return true;
             }
+            if (isImportsClosureUsed() && change.isImportChange()) {
+                return true;
+            }
         }
         return false;
     }
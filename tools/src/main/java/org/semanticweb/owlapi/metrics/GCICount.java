@@ -14,7 +14,12 @@ package org.semanticweb.owlapi.metrics;
 
 import java.util.stream.Stream;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLNaryClassAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
@@ -40,4 +45,31 @@ public class GCICount extends AxiomCountMetric {
     protected Stream<OWLAxiom> getObjects(OWLOntology ont) {
         return ont.generalClassAxioms().map(x -> x);
     }
+
+    @Override
+    protected boolean isCountedPerAxiom() {
+        return true;
+    }
+
+    @Override
+    protected Stream<OWLAxiom> getObjects(OWLAxiom axiom) {
+        return isGCI(axiom) ? Stream.of(axiom) : Stream.empty();
+    }
+
+    /**
+     * @param axiom axiom
+     * @return true if the axiom is a general class axiom, i.e., a subclass axiom with an anonymous
+     *         subclass, or an equivalent or disjoint classes axiom with no named class
+     */
+    private static boolean isGCI(OWLAxiom axiom) {
+        if (axiom instanceof OWLSubClassOfAxiom) {
+            return ((OWLSubClassOfAxiom) axiom).getSubClass().isAnonymous();
+        }
+        if (axiom instanceof OWLEquivalentClassesAxiom
+            || axiom instanceof OWLDisjointClassesAxiom) {
+            return ((OWLNaryClassAxiom) axiom).classExpressions()
+                .allMatch(OWLClassExpression::isAnonymous);
+        }
+        return false;
+    }
 }
@@ -40,4 +40,14 @@ public class LogicalAxiomCount extends AxiomCountMetric {
     protected Stream<OWLAxiom> getObjects(OWLOntology ont) {
         return ont.logicalAxioms().map(x -> x);
     }
+
+    @Override
+    protected boolean isCountedPerAxiom() {
+        return true;
+    }
+
+    @Override
+    protected Stream<OWLAxiom> getObjects(OWLAxiom axiom) {
+        return axiom.isLogicalAxiom() ? Stream.of(axiom) : Stream.empty();
+    }
 }
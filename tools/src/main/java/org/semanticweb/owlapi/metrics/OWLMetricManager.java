@@ -13,18 +13,41 @@
 package org.semanticweb.owlapi.metrics;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 
+import gnu.trove.map.hash.TObjectIntHashMap;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
 
 /**
+ * Manages a list of metrics. {@link #computeValues()} brings all the values up to date in parallel:
+ * incremental metrics (see {@link ObjectCountMetric#setIncremental(boolean)}) that need their
+ * counts rebuilt share a single pass over the axioms of their ontologies, split in chunks of
+ * {@link #getChunkSize()} axioms; the other metrics are recomputed at the same time, one task per
+ * metric. Metrics computed in parallel only read the ontologies.
+ *
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.1.0
  */
 public class OWLMetricManager {
 
+    /**
+     * Default number of axioms counted by each task of the shared pass.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 10000;
     private final List<OWLMetric<?>> metrics;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
 
     /**
      * Instantiates a new OWL metric manager.
@@ -32,7 +55,21 @@ public class OWLMetricManager {
      * @param metrics the metrics to use
      */
     public OWLMetricManager(List<OWLMetric<?>> metrics) {
+        this(metrics, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param metrics the metrics to use
+     * @param pool pool to compute the metrics on
+     * @param chunkSize number of axioms counted by each task of the shared pass
+     */
+    public OWLMetricManager(List<OWLMetric<?>> metrics, ForkJoinPool pool, int chunkSize) {
         this.metrics = new ArrayList<>(checkNotNull(metrics, "metrics cannot be null"));
+        this.pool = checkNotNull(pool, "pool cannot be null");
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
     }
 
     /**
@@ -49,13 +86,128 @@ public class OWLMetricManager {
         return new ArrayList<>(metrics);
     }
 
+    /**
+     * @return number of axioms counted by each task of the shared pass
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Switches incremental mode for all the metrics that support it.
+     *
+     * @param incremental true if the metrics should be updated from the changes instead of being
+     *        recomputed
+     */
+    public void setIncremental(boolean incremental) {
+        for (OWLMetric<?> m : metrics) {
+            if (m instanceof ObjectCountMetric) {
+                ((ObjectCountMetric<?>) m).setIncremental(incremental);
+            }
+        }
+    }
+
+    /**
+     * Brings the values of all the metrics up to date.
+     */
+    public void computeValues() {
+        List<Counter<?>> counters = new ArrayList<>();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (OWLMetric<?> m : metrics) {
+            if (m instanceof ObjectCountMetric && ((ObjectCountMetric<?>) m).isIncremental()) {
+                if (((ObjectCountMetric<?>) m).isDirty()) {
+                    counters.add(counter((ObjectCountMetric<?>) m));
+                }
+            } else {
+                tasks.add(pool.submit(() -> m.getValue()));
+            }
+        }
+        Map<OWLOntology, List<Counter<?>>> byOntology = new LinkedHashMap<>();
+        counters.forEach(c -> c.ontologies
+            .forEach(o -> byOntology.computeIfAbsent(o, x -> new ArrayList<>()).add(c)));
+        byOntology.forEach((o, list) -> {
+            List<OWLAxiom> axioms = asList(o.axioms());
+            for (int start = 0; start < axioms.size(); start += chunkSize) {
+                List<OWLAxiom> chunk =
+                    axioms.subList(start, Math.min(start + chunkSize, axioms.size()));
+                tasks.add(pool.submit(() -> count(chunk, list)));
+            }
+        });
+        tasks.forEach(ForkJoinTask::join);
+        counters.forEach(Counter::merge);
+    }
+
+    /**
+     * Counts the objects of a chunk of axioms for several metrics, in a single pass.
+     */
+    private static void count(List<OWLAxiom> chunk, List<Counter<?>> counters) {
+        List<Consumer<OWLAxiom>> parts = new ArrayList<>(counters.size());
+        counters.forEach(c -> parts.add(c.newPart()));
+        for (OWLAxiom ax : chunk) {
+            for (Consumer<OWLAxiom> part : parts) {
+                part.accept(ax);
+            }
+        }
+    }
+
+    private static <E> Counter<E> counter(ObjectCountMetric<E> metric) {
+        return new Counter<>(metric);
+    }
+
+    /**
+     * Lists the metrics with their last computed values; nothing is computed, so values that are
+     * out of date are shown as not computed. Call {@link #computeValues()} first to bring them up
+     * to date.
+     */
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         for (OWLMetric<?> m : metrics) {
-            sb.append(m);
+            if (m instanceof AbstractOWLMetric) {
+                Object value = ((AbstractOWLMetric<?>) m).getCachedValue();
+                sb.append(m.getName()).append(": ")
+                    .append(value == null ? "not computed" : value.toString());
+            } else {
+                sb.append(m);
+            }
             sb.append('\n');
         }
         return sb.toString();
     }
+
+    /**
+     * Collects the partial counts of an incremental metric from the chunks of the shared pass.
+     */
+    private static class Counter<E> {
+
+        final ObjectCountMetric<E> metric;
+        final Set<OWLOntology> ontologies;
+        private final List<TObjectIntHashMap<E>> parts =
+            Collections.synchronizedList(new ArrayList<>());
+
+        Counter(ObjectCountMetric<E> metric) {
+            this.metric = metric;
+            ontologies = asUnorderedSet(metric.getOntologies());
+        }
+
+        /**
+         * @return a consumer adding the objects of the axioms it is given to a new partial count
+         */
+        Consumer<OWLAxiom> newPart() {
+            TObjectIntHashMap<E> part = new TObjectIntHashMap<>();
+            parts.add(part);
+            return ax -> metric.count(ax, part);
+        }
+
+        void merge() {
+            TObjectIntHashMap<E> total = new TObjectIntHashMap<>();
+            for (TObjectIntHashMap<E> part : parts) {
+                part.forEachEntry((e, n) -> {
+                    total.adjustOrPutValue(e, n, n);
+                    return true;
+                });
+            }
+            metric.setCounts(ontologies, total);
+        }
+    }
 }
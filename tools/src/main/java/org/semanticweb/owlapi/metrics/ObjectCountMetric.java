@@ -14,19 +14,41 @@ package org.semanticweb.owlapi.metrics;
 
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 
+import gnu.trove.map.hash.TObjectIntHashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.SetOntologyID;
 
 /**
+ * Counts the distinct objects of some kind in the ontologies measured.<br>
+ * Metrics whose objects are collected from the axioms one at a time (see
+ * {@link #supportsIncremental()}) can be put in incremental mode: for each object, the metric
+ * then keeps the number of axioms, across the ontologies measured, that it comes from, and updates
+ * the value from the axioms added and removed, without looking at the rest of the ontologies.
+ *
  * @param <E> the entity type
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.1.0
  */
 public abstract class ObjectCountMetric<E> extends IntegerValuedMetric {
 
+    private boolean incremental;
+    /**
+     * number of axioms each object comes from, in incremental mode
+     */
+    @Nullable
+    private TObjectIntHashMap<E> counts;
+    /**
+     * ontologies the counts refer to
+     */
+    private Set<OWLOntology> counted = Collections.emptySet();
+
     /**
      * Instantiates a new object count metric.
      *
@@ -56,11 +78,117 @@ public abstract class ObjectCountMetric<E> extends IntegerValuedMetric {
      */
     protected abstract Stream<E> getObjects(OWLOntology ont);
 
+    /**
+     * @return true if the objects of an ontology are exactly the objects of its axioms, as
+     *         returned by {@link #getObjects(OWLAxiom)}, so that the metric can be updated
+     *         incrementally
+     */
+    protected boolean isCountedPerAxiom() {
+        return false;
+    }
+
+    /**
+     * @param axiom axiom
+     * @return the objects counted by this metric that come from the axiom; only used if
+     *         {@link #isCountedPerAxiom()} returns true
+     */
+    protected Stream<E> getObjects(OWLAxiom axiom) {
+        return Stream.empty();
+    }
+
+    /**
+     * @return true if the metric is updated from the changes instead of being recomputed
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * @return true if the metric can be updated incrementally, see {@link #setIncremental(boolean)}
+     */
+    public boolean supportsIncremental() {
+        return isCountedPerAxiom();
+    }
+
+    /**
+     * Switches incremental mode; the value is recomputed the next time it is requested. Metrics
+     * that do not support incremental updates (see {@link #supportsIncremental()}) ignore a
+     * request to switch it on.
+     *
+     * @param incremental true if the metric should be updated from the changes instead of being
+     *        recomputed
+     * @return true if the metric is now in the requested mode
+     */
+    public boolean setIncremental(boolean incremental) {
+        if (incremental && !supportsIncremental()) {
+            return false;
+        }
+        this.incremental = incremental;
+        counts = null;
+        counted = Collections.emptySet();
+        setDirty(true);
+        return true;
+    }
+
     @Override
     public Integer recomputeMetric() {
+        if (incremental) {
+            TObjectIntHashMap<E> newCounts = new TObjectIntHashMap<>();
+            Set<OWLOntology> ontologies = asUnorderedSet(getOntologies());
+            ontologies.forEach(o -> o.axioms().forEach(ax -> count(ax, newCounts)));
+            return setCounts(ontologies, newCounts);
+        }
         return Integer.valueOf(getObjects().size());
     }
 
+    void count(OWLAxiom axiom, TObjectIntHashMap<E> toUpdate) {
+        getObjects(axiom).forEach(e -> toUpdate.adjustOrPutValue(e, 1, 1));
+    }
+
+    /**
+     * Sets counts computed elsewhere, e.g., by a pass over the axioms shared with other metrics.
+     *
+     * @param ontologies the ontologies the counts refer to
+     * @param newCounts number of axioms each object comes from
+     * @return the new value
+     */
+    Integer setCounts(Set<OWLOntology> ontologies, TObjectIntHashMap<E> newCounts) {
+        counts = newCounts;
+        counted = ontologies;
+        Integer value = Integer.valueOf(newCounts.size());
+        setValue(value);
+        return value;
+    }
+
+    @Override
+    @Nullable
+    protected Integer updateMetric(List<? extends OWLOntologyChange> changes) {
+        TObjectIntHashMap<E> toUpdate = counts;
+        if (!incremental || toUpdate == null) {
+            return null;
+        }
+        for (OWLOntologyChange change : changes) {
+            if (change.isImportChange() || change instanceof SetOntologyID) {
+                if (isImportsClosureUsed()) {
+                    // the ontologies measured might have changed
+                    counts = null;
+                    return null;
+                }
+            } else if (change.isAxiomChange() && counted.contains(change.getOntology())) {
+                if (change.isAddAxiom()) {
+                    count(change.getAxiom(), toUpdate);
+                } else {
+                    getObjects(change.getAxiom()).forEach(e -> {
+                        if (toUpdate.adjustOrPutValue(e, -1, 0) <= 0) {
+                            toUpdate.remove(e);
+                        }
+                    });
+                }
+            }
+        }
+        return Integer.valueOf(toUpdate.size());
+    }
+
     /**
      * Gets the objects.
      *
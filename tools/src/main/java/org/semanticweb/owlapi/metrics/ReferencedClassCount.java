@@ -13,6 +13,7 @@
 package org.semanticweb.owlapi.metrics;
 
 import java.util.stream.Stream;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLOntology;
 
@@ -40,4 +41,14 @@ public class ReferencedClassCount extends ObjectCountMetric<OWLClass> {
     protected Stream<OWLClass> getObjects(OWLOntology ont) {
         return ont.classesInSignature();
     }
+
+    @Override
+    protected boolean isCountedPerAxiom() {
+        return true;
+    }
+
+    @Override
+    protected Stream<OWLClass> getObjects(OWLAxiom axiom) {
+        return axiom.classesInSignature();
+    }
 }
@@ -13,6 +13,7 @@
 package org.semanticweb.owlapi.metrics;
 
 import java.util.stream.Stream;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
 
@@ -40,4 +41,14 @@ public class ReferencedDataPropertyCount extends ObjectCountMetric<OWLDataProper
     protected Stream<OWLDataProperty> getObjects(OWLOntology ont) {
         return ont.dataPropertiesInSignature();
     }
+
+    @Override
+    protected boolean isCountedPerAxiom() {
+        return true;
+    }
+
+    @Override
+    protected Stream<OWLDataProperty> getObjects(OWLAxiom axiom) {
+        return axiom.dataPropertiesInSignature();
+    }
 }
@@ -13,6 +13,7 @@
 package org.semanticweb.owlapi.metrics;
 
 import java.util.stream.Stream;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLOntology;
 
@@ -40,4 +41,14 @@ public class ReferencedIndividualCount extends ObjectCountMetric<OWLNamedIndivid
     protected Stream<OWLNamedIndividual> getObjects(OWLOntology ont) {
         return ont.individualsInSignature();
     }
+
+    @Override
+    protected boolean isCountedPerAxiom() {
+        return true;
+    }
+
+    @Override
+    protected Stream<OWLNamedIndividual> getObjects(OWLAxiom axiom) {
+        return axiom.individualsInSignature();
+    }
 }
@@ -3,11 +3,21 @@ package org.semanticweb.owlapitools.decomposition;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -42,6 +52,14 @@ public class Decomposer {
      */
     private ModuleType type;
     private List<AxiomWrapper> axioms;
+    /**
+     * locality checks performed by the workers of the last parallel decomposition
+     */
+    private final AtomicLong workerChecks = new AtomicLong();
+    /**
+     * time taken by the last decomposition, in milliseconds
+     */
+    private long decompositionTime;
 
     /**
      * @param axioms axiom wrappers to decompose
@@ -70,6 +88,31 @@ public class Decomposer {
         return modularizer;
     }
 
+    /**
+     * Extracts the modules of the decomposition over a trigger index, see
+     * {@link Modularizer#setUseTriggerIndex(boolean)}; the workers of a parallel decomposition
+     * build an index each. Off by default.
+     *
+     * @param b true if the trigger index should be used
+     */
+    public void setUseTriggerIndex(boolean b) {
+        modularizer.setUseTriggerIndex(b);
+    }
+
+    /**
+     * @return number of locality checks performed, including those of parallel workers
+     */
+    public long getLocalityCheckCount() {
+        return modularizer.getNChecks() + workerChecks.get();
+    }
+
+    /**
+     * @return time taken by the last decomposition, in milliseconds
+     */
+    public long getDecompositionTime() {
+        return decompositionTime;
+    }
+
     /**
      * restore all tautologies back
      */
@@ -176,6 +219,7 @@ public class Decomposer {
      * @return the atomic structure for given module type T
      */
     public AtomList getAOS(ModuleType t) {
+        long start = System.currentTimeMillis();
         // remember the type of the module
         type = t;
         // prepare a new AO structure
@@ -206,9 +250,214 @@ public class Decomposer {
         // reduce graph
         assert atomList != null;
         atomList.reduceGraph();
+        decompositionTime = System.currentTimeMillis() - start;
         return verifyNotNull(atomList);
     }
 
+    /**
+     * Parallel version of {@link #getAOS(ModuleType)}. The axioms are shared among as many
+     * workers as the pool parallelism; each worker has its own modularizer, locality checker and
+     * copies of the axiom wrappers, since extraction marks them. A worker computes the module of
+     * an axiom and then, as the sequential decomposition does, the modules of the axioms in it,
+     * within that module; axioms whose module is already known are skipped. Atoms are then built
+     * by grouping the axioms with the same module, and an atom depends on the atoms of the axioms
+     * in its module. Atoms, modules and dependencies are the same as those of the sequential
+     * decomposition; atoms are numbered in the order of their first axiom, after the bottom atom.
+     *
+     * @param t module type
+     * @param pool pool to run the workers in
+     * @param checkers supplier of locality checkers for the workers, of the same kind as the
+     * checker of this decomposer
+     * @return the atomic structure for given module type T
+     */
+    public AtomList getAOS(ModuleType t, ForkJoinPool pool,
+        Supplier<? extends LocalityChecker> checkers) {
+        long start = System.currentTimeMillis();
+        type = t;
+        atomList = new AtomList();
+        workerChecks.set(0);
+        modularizer.preprocessOntology(axioms);
+        removeTautologies();
+        AtomList aos = verifyNotNull(atomList);
+        // build the "bottom" atom for an empty signature
+        modularizer.extract(axioms, new Signature(), type);
+        if (!modularizer.getModule().isEmpty()) {
+            OntologyAtom bottomAtom = aos.newAtom();
+            bottomAtom.setModule(modularizer.getModule());
+            bottomAtom.addAxioms(bottomAtom.getModule());
+        }
+        List<Integer> seeds = new ArrayList<>();
+        for (int i = 0; i < axioms.size(); i++) {
+            AxiomWrapper p = axioms.get(i);
+            if (p.isUsed() && !p.getAtom().isPresent()) {
+                seeds.add(Integer.valueOf(i));
+            }
+        }
+        AtomicReferenceArray<int[]> modules = computeModules(seeds, pool, checkers);
+        // group the axioms by module; equal modules share the same array
+        Map<int[], OntologyAtom> atoms = new IdentityHashMap<>();
+        for (Integer i : seeds) {
+            int[] module = modules.get(i.intValue());
+            OntologyAtom atom = atoms.get(module);
+            if (atom == null) {
+                atom = aos.newAtom();
+                List<AxiomWrapper> m = new ArrayList<>(module.length);
+                for (int q : module) {
+                    m.add(axioms.get(q));
+                }
+                atom.setModule(m);
+                atoms.put(module, atom);
+            }
+            atom.addAxiom(axioms.get(i.intValue()));
+        }
+        for (OntologyAtom atom : atoms.values()) {
+            for (AxiomWrapper q : atom.getModule()) {
+                atom.addDepAtom(q.getAtom().orElse(null));
+            }
+        }
+        restoreTautologies();
+        aos.reduceGraph();
+        decompositionTime = System.currentTimeMillis() - start;
+        return aos;
+    }
+
+    /**
+     * @param seeds positions of the axioms to compute modules for
+     * @param pool pool to run the workers in
+     * @param checkers supplier of locality checkers for the workers
+     * @return for each axiom position, the sorted positions of the axioms in the module of the
+     * axiom there; equal modules are represented by the same array. Positions of axioms that are
+     * neither seeds nor in a seed module are null.
+     */
+    private AtomicReferenceArray<int[]> computeModules(List<Integer> seeds, ForkJoinPool pool,
+        Supplier<? extends LocalityChecker> checkers) {
+        AtomicReferenceArray<int[]> modules = new AtomicReferenceArray<>(axioms.size());
+        Map<ModuleKey, int[]> distinctModules = new ConcurrentHashMap<>();
+        // the axioms already in an atom are in the bottom atom, and their module is known
+        List<Integer> bottomAxioms = new ArrayList<>();
+        for (int i = 0; i < axioms.size(); i++) {
+            if (axioms.get(i).getAtom().isPresent()) {
+                bottomAxioms.add(Integer.valueOf(i));
+            }
+        }
+        int[] bottom = bottomAxioms.stream().mapToInt(Integer::intValue).toArray();
+        for (int i : bottom) {
+            modules.set(i, bottom);
+        }
+        AtomicInteger next = new AtomicInteger();
+        List<ForkJoinTask<?>> workers = new ArrayList<>();
+        for (int w = 0; w < pool.getParallelism(); w++) {
+            workers.add(pool.submit(() -> {
+                ModuleWorker worker = new ModuleWorker(checkers.get(), modules, distinctModules);
+                for (int i = next.getAndIncrement(); i < seeds.size(); i =
+                    next.getAndIncrement()) {
+                    worker.createModule(seeds.get(i).intValue(), null, null);
+                }
+                workerChecks.addAndGet(worker.getNChecks());
+            }));
+        }
+        workers.forEach(ForkJoinTask::join);
+        return modules;
+    }
+
+    /**
+     * Computes modules on private copies of the axiom wrappers; the modules are shared with the
+     * other workers.
+     */
+    private class ModuleWorker {
+
+        private final List<AxiomWrapper> copies;
+        private final Map<AxiomWrapper, Integer> positions = new IdentityHashMap<>();
+        private final Modularizer m;
+        private final long initialChecks;
+        private final AtomicReferenceArray<int[]> modules;
+        private final Map<ModuleKey, int[]> distinctModules;
+
+        ModuleWorker(LocalityChecker checker, AtomicReferenceArray<int[]> modules,
+            Map<ModuleKey, int[]> distinctModules) {
+            this.modules = modules;
+            this.distinctModules = distinctModules;
+            copies = new ArrayList<>(axioms.size());
+            for (AxiomWrapper p : axioms) {
+                AxiomWrapper q = new AxiomWrapper(p.getAxiom());
+                q.setId(p.getId());
+                q.setUsed(p.isUsed());
+                positions.put(q, Integer.valueOf(copies.size()));
+                copies.add(q);
+            }
+            m = buildModulariser(copies, checker);
+            m.setUseTriggerIndex(modularizer.isUsingTriggerIndex());
+            initialChecks = m.getNChecks();
+        }
+
+        long getNChecks() {
+            return m.getNChecks() - initialChecks;
+        }
+
+        /**
+         * Computes the module of the axiom at position I, within the parent module if any, and
+         * then the modules of the axioms in it.
+         *
+         * @param i axiom position
+         * @param parent parent module, or null to use all the axioms
+         * @param parentPositions positions of the parent module axioms
+         */
+        void createModule(int i, @Nullable List<AxiomWrapper> parent,
+            @Nullable int[] parentPositions) {
+            if (modules.get(i) != null) {
+                return;
+            }
+            AxiomWrapper ax = copies.get(i);
+            m.extract(parent == null ? copies : parent, new Signature(ax.getAxiom().signature()),
+                type);
+            // modules are the same iff their sizes are the same
+            if (parent != null && m.getModule().size() == parent.size()) {
+                modules.set(i, parentPositions);
+                return;
+            }
+            List<AxiomWrapper> module = new ArrayList<>(m.getModule());
+            int[] sorted = new int[module.size()];
+            int k = 0;
+            for (AxiomWrapper q : module) {
+                sorted[k++] = positions.get(q).intValue();
+            }
+            Arrays.sort(sorted);
+            int[] canonical =
+                distinctModules.computeIfAbsent(new ModuleKey(sorted), key -> key.positions);
+            modules.set(i, canonical);
+            for (AxiomWrapper q : module) {
+                if (q != ax) {
+                    createModule(positions.get(q).intValue(), module, canonical);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorted axiom positions, compared by content.
+     */
+    private static class ModuleKey {
+
+        final int[] positions;
+        private final int hash;
+
+        ModuleKey(int[] positions) {
+            this.positions = positions;
+            hash = Arrays.hashCode(positions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return obj instanceof ModuleKey
+                && Arrays.equals(positions, ((ModuleKey) obj).positions);
+        }
+    }
+
     /**
      * @param signature the signature to use
      * @param moduletype the module type
@@ -2,11 +2,14 @@ package org.semanticweb.owlapitools.decomposition;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 
@@ -45,6 +48,18 @@ public class Modularizer {
      * number of non-local axioms
      */
     private long nNonLocal = 0;
+    /**
+     * axioms of the last preprocessed ontology
+     */
+    private Collection<AxiomWrapper> preprocessed = Collections.emptyList();
+    /**
+     * trigger indexes for syntactic locality, by locality values; built on first use
+     */
+    private final TriggerIndex[] triggers = new TriggerIndex[4];
+    /**
+     * true if modules are extracted over the trigger indexes
+     */
+    private boolean useTriggerIndex = false;
 
     /**
      * @param c the clocality checker
@@ -55,6 +70,28 @@ public class Modularizer {
         sigIndex = new SigIndex(checker);
     }
 
+    /**
+     * Extracts modules by propagating the signature over a {@link TriggerIndex} rather than by
+     * checking the locality of the axioms that share an entity with the signature; only used with
+     * a {@link SyntacticLocalityChecker}. The modules are the same. The index for a locality
+     * value is built by the first extraction with that value, and costs up to
+     * 2^{@link TriggerIndex#MAX_EXACT_SIGNATURE} - 1 locality checks per axiom, so it only pays
+     * off when many modules are extracted from the same axioms, as in an atomic decomposition.
+     * Off by default.
+     *
+     * @param b true if the trigger index should be used
+     */
+    public void setUseTriggerIndex(boolean b) {
+        useTriggerIndex = b;
+    }
+
+    /**
+     * @return true if modules are extracted over a trigger index
+     */
+    public boolean isUsingTriggerIndex() {
+        return useTriggerIndex;
+    }
+
     /**
      * @return the signature
      */
@@ -124,6 +161,11 @@ public class Modularizer {
      * build a module traversing axioms by a signature
      */
     private void extractModuleQueue() {
+        TriggerIndex index = getTriggers();
+        if (index != null) {
+            extractModuleTriggers(index);
+            return;
+        }
         // init queue with a sig
         workQueue.addAll(sig.getSignature());
         // add all the axioms that are non-local wrt given value of a
@@ -137,6 +179,50 @@ public class Modularizer {
         }
     }
 
+    /**
+     * build a module propagating the signature over the trigger index: an axiom is added as soon
+     * as one of its triggers is contained in the signature, so only axioms with signatures too
+     * large to be indexed need locality checks
+     *
+     * @param index trigger index for the current locality values
+     */
+    private void extractModuleTriggers(TriggerIndex index) {
+        workQueue.addAll(sig.getSignature());
+        addNonLocal(index.getNonLocal(), true);
+        while (!workQueue.isEmpty()) {
+            OWLEntity entity = workQueue.poll();
+            addNonLocal(index.getTriggered(entity), true);
+            for (TriggerIndex.Trigger t : index.getTriggers(entity)) {
+                AxiomWrapper ax = t.getAxiom();
+                if (!ax.isInModule() && ax.isInSearchSpace() && t.isContained(sig)) {
+                    addAxiomToModule(ax);
+                }
+            }
+            addNonLocal(index.getUnexpanded(entity), false);
+        }
+    }
+
+    /**
+     * @return the trigger index for the locality values of the current signature, or null if
+     * the index is not used or the locality checker is not syntactic
+     */
+    @Nullable
+    private TriggerIndex getTriggers() {
+        if (!useTriggerIndex || !(checker instanceof SyntacticLocalityChecker)) {
+            return null;
+        }
+        int key = (sig.topCLocal() ? 2 : 0) + (sig.topRLocal() ? 1 : 0);
+        TriggerIndex index = triggers[key];
+        if (index == null) {
+            index = new TriggerIndex(preprocessed, checker, sig.topCLocal(), sig.topRLocal());
+            nChecks += index.getNChecks();
+            triggers[key] = index;
+            // building the index changes the checker signature
+            checker.setSignatureValue(sig);
+        }
+        return index;
+    }
+
     /**
      * extract module wrt presence of a sig index
      *
@@ -160,6 +246,8 @@ public class Modularizer {
         checker.preprocessOntology(axioms);
         sigIndex.clear();
         sigIndex.preprocessOntology(axioms);
+        preprocessed = axioms;
+        Arrays.fill(triggers, null);
         workQueue = new ArrayDeque<>(axioms.size());
         nChecks += 2 * axioms.size();
     }
@@ -200,6 +288,7 @@ public class Modularizer {
     public boolean isTautology(OWLAxiom ax, ModuleType type) {
         boolean topLocality = type == ModuleType.TOP;
         sig = new Signature(ax.signature());
+        checker.setSignatureValue(sig);
         sig.setLocality(topLocality);
         // axiom is a tautology if it is local wrt its own signature
         boolean toReturn = checker.local(ax);
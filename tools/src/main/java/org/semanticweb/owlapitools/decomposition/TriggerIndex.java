@@ -0,0 +1,230 @@
+package org.semanticweb.owlapitools.decomposition;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+/**
+ * Index of the signatures that make axioms non-local. For syntactic locality, whether an axiom is
+ * local only depends on the part of the signature that the axiom uses, and a local axiom stays
+ * local when entities are removed from the signature; so each axiom has a set of minimal
+ * signatures (triggers), and the axiom is non-local wrt a signature iff the signature contains one
+ * of them. Once the triggers are known, module extraction is a propagation over this index and
+ * needs no locality checks. Axioms with large signatures are not expanded; they are indexed by
+ * entity and have to be checked as usual.
+ */
+public class TriggerIndex {
+
+    /**
+     * axioms whose signature is larger than this are not expanded into triggers. Expanding an
+     * axiom visits the subsets of its signature, so it takes up to 2^10 - 1 = 1023 locality
+     * checks (fewer when small triggers are found, since their supersets are skipped), and an
+     * axiom has at most 252 triggers, the number of subsets of 5 of 10 entities.
+     */
+    public static final int MAX_EXACT_SIGNATURE = 10;
+    /**
+     * axioms non-local wrt the empty signature
+     */
+    private final List<AxiomWrapper> nonLocal = new ArrayList<>();
+    /**
+     * axioms with a trigger made of a single entity, by entity
+     */
+    private final Map<OWLEntity, List<AxiomWrapper>> triggered = new HashMap<>();
+    /**
+     * triggers with more than one entity, by entity
+     */
+    private final Map<OWLEntity, List<Trigger>> triggers = new HashMap<>();
+    /**
+     * axioms that have to be checked, by entity
+     */
+    private final Map<OWLEntity, List<AxiomWrapper>> unexpanded = new HashMap<>();
+    private long nChecks = 0;
+
+    /**
+     * @param axioms axioms to index
+     * @param checker syntactic locality checker; its signature is changed
+     * @param topC top locality for classes
+     * @param topR top locality for properties
+     */
+    public TriggerIndex(Collection<AxiomWrapper> axioms, LocalityChecker checker, boolean topC,
+        boolean topR) {
+        for (AxiomWrapper ax : axioms) {
+            List<OWLEntity> sig = asList(ax.signature());
+            Set<Set<OWLEntity>> minimal = minimalNonLocalSignatures(ax.getAxiom(), sig, checker,
+                topC, topR, this);
+            if (minimal == null) {
+                sig.forEach(e -> add(unexpanded, e, ax));
+            } else if (minimal.contains(Collections.<OWLEntity> emptySet())) {
+                nonLocal.add(ax);
+            } else {
+                for (Set<OWLEntity> s : minimal) {
+                    if (s.size() == 1) {
+                        add(triggered, s.iterator().next(), ax);
+                    } else {
+                        Trigger t = new Trigger(ax, s.toArray(new OWLEntity[s.size()]));
+                        s.forEach(e -> add(triggers, e, t));
+                    }
+                }
+            }
+        }
+    }
+
+    private static <T> void add(Map<OWLEntity, List<T>> map, OWLEntity e, T t) {
+        map.computeIfAbsent(e, x -> new ArrayList<>(2)).add(t);
+    }
+
+    /**
+     * Computes the minimal signatures for which an axiom is not local; subsets of the axiom
+     * signature are visited by increasing size, skipping supersets of signatures already found.
+     *
+     * @param ax axiom
+     * @param checker syntactic locality checker; its signature is changed
+     * @param topC top locality for classes
+     * @param topR top locality for properties
+     * @return the minimal non-local signatures (a set containing the empty set if the axiom is
+     * non-local for the empty signature), or null if the axiom is local for the empty signature
+     * and its signature has more than {@link #MAX_EXACT_SIGNATURE} entities
+     */
+    @Nullable
+    public static Set<Set<OWLEntity>> minimalNonLocalSignatures(OWLAxiom ax,
+        LocalityChecker checker, boolean topC, boolean topR) {
+        return minimalNonLocalSignatures(ax, asList(ax.signature()), checker, topC, topR, null);
+    }
+
+    @Nullable
+    private static Set<Set<OWLEntity>> minimalNonLocalSignatures(OWLAxiom ax,
+        List<OWLEntity> sig, LocalityChecker checker, boolean topC, boolean topR,
+        @Nullable TriggerIndex counter) {
+        Set<Set<OWLEntity>> toReturn = new HashSet<>();
+        if (!isLocal(ax, Collections.emptyList(), checker, topC, topR, counter)) {
+            toReturn.add(Collections.emptySet());
+            return toReturn;
+        }
+        if (sig.size() > MAX_EXACT_SIGNATURE) {
+            return null;
+        }
+        List<Integer> found = new ArrayList<>();
+        int subsets = 1 << sig.size();
+        for (int size = 1; size <= sig.size(); size++) {
+            for (int mask = 1; mask < subsets; mask++) {
+                if (Integer.bitCount(mask) != size || containsFound(mask, found)) {
+                    continue;
+                }
+                List<OWLEntity> subset = new ArrayList<>(size);
+                for (int i = 0; i < sig.size(); i++) {
+                    if ((mask & 1 << i) != 0) {
+                        subset.add(sig.get(i));
+                    }
+                }
+                if (!isLocal(ax, subset, checker, topC, topR, counter)) {
+                    found.add(Integer.valueOf(mask));
+                    toReturn.add(new HashSet<>(subset));
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    private static boolean containsFound(int mask, List<Integer> found) {
+        for (Integer f : found) {
+            if ((mask & f.intValue()) == f.intValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLocal(OWLAxiom ax, List<OWLEntity> signature,
+        LocalityChecker checker, boolean topC, boolean topR, @Nullable TriggerIndex counter) {
+        if (counter != null) {
+            counter.nChecks++;
+        }
+        Signature s = new Signature(signature.stream());
+        s.setLocality(topC, topR);
+        checker.setSignatureValue(s);
+        return checker.local(ax);
+    }
+
+    /**
+     * @return axioms non-local wrt the empty signature
+     */
+    public Collection<AxiomWrapper> getNonLocal() {
+        return nonLocal;
+    }
+
+    /**
+     * @param e entity
+     * @return axioms that are non-local for any signature containing the entity
+     */
+    public Collection<AxiomWrapper> getTriggered(OWLEntity e) {
+        return triggered.getOrDefault(e, Collections.emptyList());
+    }
+
+    /**
+     * @param e entity
+     * @return triggers with more than one entity that contain the entity
+     */
+    public Collection<Trigger> getTriggers(OWLEntity e) {
+        return triggers.getOrDefault(e, Collections.emptyList());
+    }
+
+    /**
+     * @param e entity
+     * @return axioms with too large a signature to be expanded that contain the entity; their
+     * locality has to be checked
+     */
+    public Collection<AxiomWrapper> getUnexpanded(OWLEntity e) {
+        return unexpanded.getOrDefault(e, Collections.emptyList());
+    }
+
+    /**
+     * @return number of locality checks made to build the index
+     */
+    public long getNChecks() {
+        return nChecks;
+    }
+
+    /**
+     * A minimal signature for which an axiom is not local.
+     */
+    public static class Trigger {
+
+        private final AxiomWrapper axiom;
+        private final OWLEntity[] entities;
+
+        Trigger(AxiomWrapper axiom, OWLEntity[] entities) {
+            this.axiom = axiom;
+            this.entities = entities;
+        }
+
+        /**
+         * @return the axiom
+         */
+        public AxiomWrapper getAxiom() {
+            return axiom;
+        }
+
+        /**
+         * @param sig signature
+         * @return true if all the trigger entities are in the signature
+         */
+        public boolean isContained(Signature sig) {
+            for (OWLEntity e : entities) {
+                if (!sig.contains(e)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
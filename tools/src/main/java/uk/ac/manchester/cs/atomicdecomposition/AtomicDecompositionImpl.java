@@ -1,21 +1,40 @@
 package uk.ac.manchester.cs.atomicdecomposition;
 
+import static org.semanticweb.owlapi.model.AxiomType.LOGICAL_AXIOMS_AND_DECLARATIONS_TYPES;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import gnu.trove.map.hash.TObjectIntHashMap;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
 import org.semanticweb.owlapitools.decomposition.AtomList;
 import org.semanticweb.owlapitools.decomposition.AxiomSelector;
 import org.semanticweb.owlapitools.decomposition.AxiomWrapper;
@@ -26,19 +45,37 @@ import org.semanticweb.owlapitools.decomposition.SyntacticLocalityChecker;
 import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
 
 /**
- * atomc decomposition implementation
+ * atomc decomposition implementation. The decomposition can be saved to a compact form, with the
+ * axioms in functional syntax and the structure as axiom and atom indexes, with
+ * {@link #save(OutputStream, OWLOntologyManager)} and read back with
+ * {@link #load(InputStream, OWLOntologyManager)}, and can be
+ * brought up to date with {@link #update(Collection, Collection)} without decomposing the whole
+ * ontology again.
  */
 public class AtomicDecompositionImpl implements AtomicDecomposition {
 
+    private static final int MAGIC = 0x4F574C41;
+    private static final int VERSION = 1;
     final Multimap<OWLEntity, Atom> termBasedIndex = LinkedHashMultimap.create();
     private final ModuleType type;
     Set<OWLAxiom> globalAxioms;
-    Set<OWLAxiom> tautologies;
+    Set<OWLAxiom> tautologies = new HashSet<>();
     List<Atom> atoms;
     TObjectIntHashMap<Atom> atomIndex = new TObjectIntHashMap<>();
     IdentityMultiMap<Atom, Atom> dependents = new IdentityMultiMap<>();
     IdentityMultiMap<Atom, Atom> dependencies = new IdentityMultiMap<>();
-    Decomposer decomposer;
+    /**
+     * axioms being decomposed, in decomposition order
+     */
+    private final List<OWLAxiom> axioms;
+    /**
+     * atom for each non tautological axiom
+     */
+    private final Map<OWLAxiom, Atom> axiomAtoms = new HashMap<>();
+    @Nullable
+    private Decomposer decomposer;
+    @Nullable
+    private AtomList atomList;
 
     /**
      * @param o o
@@ -60,20 +97,33 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
      * @param type type
      */
     public AtomicDecompositionImpl(List<OWLAxiom> axioms, ModuleType type) {
+        this(axioms, type, null);
+    }
+
+    /**
+     * @param axioms axioms
+     * @param type type
+     * @param pool pool to compute the modules of the axioms in parallel, or null to decompose
+     * sequentially. The atoms and their dependencies are the same in both cases.
+     */
+    public AtomicDecompositionImpl(List<OWLAxiom> axioms, ModuleType type,
+        @Nullable ForkJoinPool pool) {
         this.type = type;
-        decomposer = new Decomposer(AxiomSelector.wrap(axioms), new SyntacticLocalityChecker());
-        int size = decomposer.getAOS(this.type).size();
+        this.axioms = new ArrayList<>(axioms);
+        Decomposer d = new Decomposer(AxiomSelector.wrap(this.axioms),
+            new SyntacticLocalityChecker());
+        decomposer = d;
+        AtomList aos = pool == null ? d.getAOS(this.type)
+            : d.getAOS(this.type, pool, SyntacticLocalityChecker::new);
+        atomList = aos;
+        tautologies.addAll(asSet(d.getTautologies()));
+        int size = aos.size();
         atoms = new ArrayList<>();
         for (int i = 0; i < size; i++) {
-            final Atom atom = new Atom(asSet(decomposer.getAOS().get(i).getAtomAxioms()));
-            atoms.add(atom);
-            atomIndex.put(atom, i);
-            for (OWLEntity e : atom.getSignature()) {
-                termBasedIndex.put(e, atom);
-            }
+            addAtom(new Atom(asSet(aos.get(i).getAtomAxioms())));
         }
         for (int i = 0; i < size; i++) {
-            Set<OntologyAtom> dependentIndexes = decomposer.getAOS().get(i).getDependencies();
+            Set<OntologyAtom> dependentIndexes = aos.get(i).getDependencies();
             for (OntologyAtom j : dependentIndexes) {
                 dependencies.put(atoms.get(i), atoms.get(j.getId()));
                 dependents.put(atoms.get(j.getId()), atoms.get(i));
@@ -81,6 +131,26 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
         }
     }
 
+    /**
+     * Constructor for decompositions read from a stream; the structure is filled in by the caller.
+     */
+    private AtomicDecompositionImpl(ModuleType type, List<OWLAxiom> axioms) {
+        this.type = type;
+        this.axioms = axioms;
+        atoms = new ArrayList<>();
+    }
+
+    private void addAtom(Atom atom) {
+        atomIndex.put(atom, atoms.size());
+        atoms.add(atom);
+        for (OWLAxiom ax : atom.getAxioms()) {
+            axiomAtoms.put(ax, atom);
+        }
+        for (OWLEntity e : atom.getSignature()) {
+            termBasedIndex.put(e, atom);
+        }
+    }
+
     Set<OWLAxiom> asSet(Collection<AxiomWrapper> c) {
         Set<OWLAxiom> toReturn = new HashSet<>();
         for (AxiomWrapper p : c) {
@@ -101,12 +171,7 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
     @Nullable
     @Override
     public Atom getAtomForAxiom(OWLAxiom axiom) {
-        for (int i = 0; i < atoms.size(); i++) {
-            if (atoms.get(i).contains(axiom)) {
-                return atoms.get(i);
-            }
-        }
-        return null;
+        return axiomAtoms.get(axiom);
     }
 
     @Override
@@ -121,12 +186,20 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
 
     @Override
     public Set<OWLAxiom> getPrincipalIdeal(Atom atom) {
-        return asSet(getAtomModule(atomIndex.get(atom)));
+        Set<OWLAxiom> toReturn = new HashSet<>();
+        for (Atom a : getDependencies(atom)) {
+            toReturn.addAll(a.getAxioms());
+        }
+        return toReturn;
     }
 
     @Override
     public Set<OWLEntity> getPrincipalIdealSignature(Atom atom) {
-        return Collections.emptySet();
+        Set<OWLEntity> toReturn = new HashSet<>();
+        for (Atom a : getDependencies(atom)) {
+            toReturn.addAll(a.getSignature());
+        }
+        return toReturn;
     }
 
     @Override
@@ -206,7 +279,7 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
 
     @Override
     public Set<OWLAxiom> getTautologies() {
-        return asSet(decomposer.getTautologies());
+        return new HashSet<>(tautologies);
     }
 
     @Override
@@ -226,19 +299,348 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
      * @return module at index
      */
     Collection<AxiomWrapper> getAtomModule(int index) {
-        return decomposer.getAOS().get(index).getModule();
+        return getAtomList().get(index).getModule();
     }
 
     @Override
     public AtomList getAtomList() {
-        return decomposer.getAOS();
+        AtomList list = atomList;
+        if (list == null) {
+            list = buildAtomList();
+            atomList = list;
+        }
+        return list;
+    }
+
+    /**
+     * @return atom list mirroring the current atoms, for decompositions that were loaded or
+     * updated
+     */
+    private AtomList buildAtomList() {
+        AtomList list = new AtomList();
+        Map<OWLAxiom, AxiomWrapper> wrappers = new HashMap<>();
+        for (Atom atom : atoms) {
+            OntologyAtom a = list.newAtom();
+            for (OWLAxiom ax : atom.getAxioms()) {
+                AxiomWrapper w = new AxiomWrapper(ax);
+                wrappers.put(ax, w);
+                a.addAxiom(w);
+            }
+        }
+        for (int i = 0; i < atoms.size(); i++) {
+            Atom atom = atoms.get(i);
+            OntologyAtom a = list.get(i);
+            List<AxiomWrapper> module = new ArrayList<>();
+            for (OWLAxiom ax : getPrincipalIdeal(atom)) {
+                module.add(wrappers.get(ax));
+            }
+            a.setModule(module);
+            for (Atom dep : dependencies.get(atom)) {
+                a.addDepAtom(list.get(atomIndex.get(dep)));
+            }
+        }
+        return list;
+    }
+
+    private Decomposer getDecomposer() {
+        Decomposer d = decomposer;
+        if (d == null) {
+            d = new Decomposer(AxiomSelector.wrap(axioms), new SyntacticLocalityChecker());
+            decomposer = d;
+        }
+        return d;
     }
 
     @Override
     public Stream<OWLAxiom> getModule(Stream<OWLEntity> signature, boolean useSemantics,
         ModuleType moduletype) {
-        return decomposer.getModule(signature, useSemantics, moduletype).stream()
+        return getDecomposer().getModule(signature, useSemantics, moduletype).stream()
             .map(AxiomWrapper::getAxiom).filter(
                 ax -> ax != null);
     }
+
+    /**
+     * Brings the decomposition up to date with the changes in the list; only axiom additions and
+     * removals of logical axioms and declarations are relevant.
+     *
+     * @param changes changes applied to the decomposed ontology
+     * @return the atoms that were recomputed
+     */
+    public Collection<Atom> update(List<? extends OWLOntologyChange> changes) {
+        List<OWLAxiom> added = new ArrayList<>();
+        List<OWLAxiom> removed = new ArrayList<>();
+        for (OWLOntologyChange c : changes) {
+            if (c.isAddAxiom()) {
+                added.add(c.getAxiom());
+            } else if (c.isRemoveAxiom()) {
+                removed.add(c.getAxiom());
+            }
+        }
+        return update(added, removed);
+    }
+
+    /**
+     * Brings the decomposition up to date with a set of added and removed axioms. Only the atoms
+     * whose principal ideal contains a removed axiom, or whose principal ideal signature overlaps
+     * the signature of an added axiom, can change; these atoms (which are closed under
+     * dependents) are dropped and rebuilt from the modules of their axioms and of the added
+     * axioms, and the rest of the decomposition is kept as is. An added axiom that is not local
+     * for the empty signature belongs to every module, so it causes a full recomputation.
+     *
+     * @param added axioms added to the ontology
+     * @param removed axioms removed from the ontology
+     * @return the atoms that were recomputed
+     */
+    public Collection<Atom> update(Collection<OWLAxiom> added, Collection<OWLAxiom> removed) {
+        Set<OWLAxiom> present = new HashSet<>(axioms);
+        Set<OWLAxiom> toRemove = new HashSet<>();
+        for (OWLAxiom ax : removed) {
+            if (present.remove(ax)) {
+                toRemove.add(ax);
+            }
+        }
+        List<OWLAxiom> toAdd = new ArrayList<>();
+        for (OWLAxiom ax : added) {
+            if (LOGICAL_AXIOMS_AND_DECLARATIONS_TYPES.contains(ax.getAxiomType())
+                && present.add(ax)) {
+                toAdd.add(ax);
+            }
+        }
+        if (toAdd.isEmpty() && toRemove.isEmpty()) {
+            return Collections.emptyList();
+        }
+        axioms.removeIf(toRemove::contains);
+        axioms.addAll(toAdd);
+        Decomposer d = new Decomposer(AxiomSelector.wrap(axioms), new SyntacticLocalityChecker());
+        decomposer = d;
+        atomList = null;
+        // find the atoms whose principal ideal is touched by the change
+        Set<Atom> touched = new HashSet<>();
+        for (OWLAxiom ax : toRemove) {
+            // tautologies, such as annotation assertions, belong to no atom
+            Atom atom = axiomAtoms.get(ax);
+            if (!tautologies.remove(ax) && atom != null) {
+                touched.add(atom);
+            }
+        }
+        List<OWLAxiom> newAxioms = new ArrayList<>();
+        Set<OWLAxiom> global = null;
+        boolean all = false;
+        for (OWLAxiom ax : toAdd) {
+            if (d.getModularizer().isTautology(ax, type)) {
+                tautologies.add(ax);
+                continue;
+            }
+            newAxioms.add(ax);
+            if (global == null) {
+                global = asSet(d.getModule(Stream.empty(), false, type));
+            }
+            all |= global.contains(ax);
+            ax.signature().forEach(e -> touched.addAll(termBasedIndex.get(e)));
+        }
+        Set<Atom> affected = new HashSet<>();
+        if (all) {
+            affected.addAll(atoms);
+        } else {
+            for (Atom a : touched) {
+                if (!affected.contains(a)) {
+                    affected.addAll(getDependents(a));
+                }
+            }
+        }
+        // detach the affected atoms; their dependents are affected as well
+        List<OWLAxiom> toPlace = new ArrayList<>();
+        for (Atom a : affected) {
+            for (OWLAxiom ax : a.getAxioms()) {
+                axiomAtoms.remove(ax);
+                if (!toRemove.contains(ax)) {
+                    toPlace.add(ax);
+                }
+            }
+            for (Atom dep : dependencies.get(a)) {
+                if (!affected.contains(dep)) {
+                    dependents.remove(dep, a);
+                }
+            }
+            dependencies.remove(a);
+            dependents.remove(a);
+            for (OWLEntity e : a.getSignature()) {
+                termBasedIndex.remove(e, a);
+            }
+        }
+        atoms.removeIf(affected::contains);
+        atomIndex.clear();
+        for (int i = 0; i < atoms.size(); i++) {
+            atomIndex.put(atoms.get(i), i);
+        }
+        // axioms with the same module form an atom
+        toPlace.addAll(newAxioms);
+        Map<Set<OWLAxiom>, Set<OWLAxiom>> modules = new LinkedHashMap<>();
+        for (OWLAxiom ax : toPlace) {
+            Set<OWLAxiom> module = asSet(d.getModule(ax.signature(), false, type));
+            module.removeAll(tautologies);
+            modules.computeIfAbsent(module, m -> new HashSet<>()).add(ax);
+        }
+        List<Atom> created = new ArrayList<>(modules.size());
+        for (Set<OWLAxiom> atomAxioms : modules.values()) {
+            Atom atom = new Atom(atomAxioms);
+            addAtom(atom);
+            created.add(atom);
+        }
+        int i = 0;
+        for (Set<OWLAxiom> module : modules.keySet()) {
+            Atom atom = created.get(i++);
+            for (OWLAxiom ax : module) {
+                Atom dep = axiomAtoms.get(ax);
+                if (dep != null && dep != atom) {
+                    dependencies.put(atom, dep);
+                    dependents.put(dep, atom);
+                }
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Writes the decomposition to the stream: module type, a table of the axioms in functional
+     * syntax, then the decomposition order, tautologies, atoms and the dependency graph as indexes
+     * in the table. The term based index is not written, since it can be rebuilt from the atoms.
+     * The stream is flushed but not closed.
+     *
+     * @param out stream to write to
+     * @param manager manager used to write the axiom table; the temporary ontology holding the
+     * axioms is removed afterwards
+     * @throws IOException if writing fails
+     */
+    public void save(OutputStream out, OWLOntologyManager manager) throws IOException {
+        List<OWLAxiom> table = axiomTable(axioms);
+        TObjectIntHashMap<OWLAxiom> axiomIds = new TObjectIntHashMap<>(table.size() * 2, 0.5F,
+            -1);
+        table.forEach(ax -> axiomIds.put(ax, axiomIds.size()));
+        ByteArrayOutputStream document = new ByteArrayOutputStream();
+        try {
+            OWLOntology o = manager.createOntology(table.stream());
+            FunctionalSyntaxDocumentFormat format = new FunctionalSyntaxDocumentFormat();
+            // the table must contain exactly the axioms of the decomposition
+            format.setAddMissingTypes(false);
+            try {
+                // the renderer reads the setting from the format of the ontology
+                manager.setOntologyFormat(o, format);
+                manager.saveOntology(o, format, document);
+            } finally {
+                manager.removeOntology(o);
+            }
+        } catch (OWLOntologyCreationException | OWLOntologyStorageException e) {
+            throw new IOException("Cannot write the axioms of the decomposition", e);
+        }
+        DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(out));
+        stream.writeInt(MAGIC);
+        stream.writeInt(VERSION);
+        stream.writeInt(type.ordinal());
+        stream.writeInt(table.size());
+        stream.writeInt(document.size());
+        document.writeTo(stream);
+        writeIndexes(stream, axioms, axiomIds);
+        writeIndexes(stream, tautologies, axiomIds);
+        stream.writeInt(atoms.size());
+        for (Atom atom : atoms) {
+            writeIndexes(stream, atom.getAxioms(), axiomIds);
+        }
+        for (Atom atom : atoms) {
+            writeIndexes(stream, dependencies.get(atom), atomIndex);
+        }
+        stream.flush();
+    }
+
+    /**
+     * @param axioms axioms to decompose
+     * @return the distinct axioms, sorted; the order does not depend on how the axioms are read
+     * back
+     */
+    private static List<OWLAxiom> axiomTable(Collection<OWLAxiom> axioms) {
+        List<OWLAxiom> table = new ArrayList<>(new HashSet<>(axioms));
+        Collections.sort(table);
+        return table;
+    }
+
+    private static <T> void writeIndexes(DataOutputStream stream, Collection<T> values,
+        TObjectIntHashMap<T> ids) throws IOException {
+        stream.writeInt(values.size());
+        for (T value : values) {
+            stream.writeInt(ids.get(value));
+        }
+    }
+
+    private static <T> List<T> readIndexes(DataInputStream stream, List<T> values)
+        throws IOException {
+        int size = stream.readInt();
+        if (size < 0 || size > values.size()) {
+            throw new IOException("Stream does not contain a saved atomic decomposition");
+        }
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(values.get(stream.readInt()));
+        }
+        return list;
+    }
+
+    /**
+     * Reads a decomposition written by {@link #save(OutputStream, OWLOntologyManager)}. The
+     * stream is not closed.
+     *
+     * @param in stream to read from
+     * @param manager manager used to read the axiom table; the temporary ontology holding the
+     * axioms is removed afterwards
+     * @return the decomposition
+     * @throws IOException if reading fails or the stream does not contain a decomposition
+     */
+    public static AtomicDecompositionImpl load(InputStream in, OWLOntologyManager manager)
+        throws IOException {
+        DataInputStream stream = new DataInputStream(in);
+        if (stream.readInt() != MAGIC || stream.readInt() != VERSION) {
+            throw new IOException("Stream does not contain a saved atomic decomposition");
+        }
+        try {
+            ModuleType type = ModuleType.values()[stream.readInt()];
+            int tableSize = stream.readInt();
+            int length = stream.readInt();
+            if (length < 0) {
+                throw new IOException("Stream does not contain a saved atomic decomposition");
+            }
+            byte[] document = new byte[length];
+            stream.readFully(document);
+            List<OWLAxiom> table;
+            try {
+                OWLOntology o = manager.loadOntologyFromOntologyDocument(new StreamDocumentSource(
+                    new ByteArrayInputStream(document), "inputstream:ontology",
+                    new FunctionalSyntaxDocumentFormat(), null));
+                try {
+                    table = axiomTable(asList(o.axioms()));
+                } finally {
+                    manager.removeOntology(o);
+                }
+            } catch (OWLOntologyCreationException e) {
+                throw new IOException("Cannot read the axioms of the decomposition", e);
+            }
+            if (table.size() != tableSize) {
+                throw new IOException("Stream does not contain a saved atomic decomposition");
+            }
+            AtomicDecompositionImpl ad =
+                new AtomicDecompositionImpl(type, readIndexes(stream, table));
+            ad.tautologies.addAll(readIndexes(stream, table));
+            int size = stream.readInt();
+            for (int i = 0; i < size; i++) {
+                ad.addAtom(new Atom(new HashSet<>(readIndexes(stream, table))));
+            }
+            for (Atom atom : ad.atoms) {
+                for (Atom dep : readIndexes(stream, ad.atoms)) {
+                    ad.dependencies.put(atom, dep);
+                    ad.dependents.put(dep, atom);
+                }
+            }
+            return ad;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Stream does not contain a saved atomic decomposition", e);
+        }
+    }
 }
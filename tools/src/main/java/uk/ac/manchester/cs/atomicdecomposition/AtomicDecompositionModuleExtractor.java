@@ -0,0 +1,309 @@
+package uk.ac.manchester.cs.atomicdecomposition;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapitools.decomposition.SyntacticLocalityChecker;
+import org.semanticweb.owlapitools.decomposition.TriggerIndex;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+/**
+ * Answers module queries from a precomputed atomic decomposition, without locality checks at
+ * query time. Every module is a union of principal ideals, so the module for a signature is
+ * collected as a set of atom ids: an atom is added, with its whole principal ideal, as soon as
+ * one of its labels is contained in the signature seen so far. The label of an atom is the set of
+ * minimal signatures for which one of its axioms is not local; these are computed once, when the
+ * extractor is built.<br>
+ * The extractor is a snapshot of the decomposition it was built from, and is safe for concurrent
+ * use; results are cached by signature. Only bottom and top decompositions can be answered from
+ * the atoms; for star decompositions the modules are extracted by the decomposition itself.
+ */
+public class AtomicDecompositionModuleExtractor {
+
+    /**
+     * Default number of modules kept in the cache.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+    private final AtomicDecompositionImpl ad;
+    private final ModuleType type;
+    private final Atom[] atoms;
+    private final int[][] atomDependencies;
+    private final int[][] atomSignatures;
+    private final TObjectIntHashMap<OWLEntity> entityIds = new TObjectIntHashMap<>(16, 0.5F, -1);
+    /**
+     * atoms with a label made of a single entity, by entity
+     */
+    private int[][] singleLabels;
+    /**
+     * labels with more than one entity, by entity
+     */
+    private int[][] multiLabels;
+    private int[] labelAtoms;
+    private int[][] labelEntities;
+    /**
+     * true for entities appearing in a label with more than one entity, or in an axiom labelled
+     * with each of its entities; these are queued when an ideal is added
+     */
+    private boolean[] tracked;
+    /**
+     * atoms whose axioms are not local for the empty signature
+     */
+    private int[] globalAtoms;
+    private final LoadingCache<Set<OWLEntity>, Set<OWLAxiom>> cache;
+
+    /**
+     * @param ad the decomposition to answer queries from
+     */
+    public AtomicDecompositionModuleExtractor(AtomicDecompositionImpl ad) {
+        this(ad, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param ad the decomposition to answer queries from
+     * @param cacheSize maximum number of modules kept in the cache
+     */
+    public AtomicDecompositionModuleExtractor(AtomicDecompositionImpl ad, int cacheSize) {
+        this.ad = checkNotNull(ad, "ad cannot be null");
+        type = ModuleType.values()[ad.getModuleType()];
+        atoms = ad.atoms.toArray(new Atom[ad.atoms.size()]);
+        atomDependencies = new int[atoms.length][];
+        atomSignatures = new int[atoms.length][];
+        for (int i = 0; i < atoms.length; i++) {
+            Collection<Atom> deps = ad.dependencies.get(atoms[i]);
+            atomDependencies[i] = new int[deps.size()];
+            int j = 0;
+            for (Atom dep : deps) {
+                atomDependencies[i][j++] = ad.atomIndex.get(dep);
+            }
+            atomSignatures[i] = atoms[i].getSignature().stream().distinct().mapToInt(this::entityId)
+                .toArray();
+        }
+        if (type != ModuleType.STAR) {
+            buildLabels();
+        }
+        cache = Caffeine.newBuilder().maximumSize(cacheSize).build(this::extract);
+    }
+
+    private int entityId(OWLEntity e) {
+        int id = entityIds.get(e);
+        if (id < 0) {
+            id = entityIds.size();
+            entityIds.put(e, id);
+        }
+        return id;
+    }
+
+    private void buildLabels() {
+        int entities = entityIds.size();
+        TIntArrayList[] single = new TIntArrayList[entities];
+        TIntArrayList[] multi = new TIntArrayList[entities];
+        TIntArrayList multiAtoms = new TIntArrayList();
+        List<int[]> multiEntities = new ArrayList<>();
+        TIntArrayList global = new TIntArrayList();
+        TIntArrayList approximated = new TIntArrayList();
+        SyntacticLocalityChecker checker = new SyntacticLocalityChecker();
+        for (int i = 0; i < atoms.length; i++) {
+            Set<Set<OWLEntity>> labels = new LinkedHashSet<>();
+            for (OWLAxiom ax : atoms[i].getAxioms()) {
+                labels.addAll(minimalNonLocalSignatures(ax, checker, approximated));
+            }
+            if (labels.contains(Collections.<OWLEntity> emptySet())) {
+                global.add(i);
+                continue;
+            }
+            for (Set<OWLEntity> label : labels) {
+                if (label.size() == 1) {
+                    add(single, entityIds.get(label.iterator().next()), i);
+                } else {
+                    int[] ids = label.stream().mapToInt(entityIds::get).toArray();
+                    for (int e : ids) {
+                        add(multi, e, multiAtoms.size());
+                    }
+                    multiAtoms.add(i);
+                    multiEntities.add(ids);
+                }
+            }
+        }
+        singleLabels = toArrays(single);
+        multiLabels = toArrays(multi);
+        labelAtoms = multiAtoms.toArray();
+        labelEntities = multiEntities.toArray(new int[multiEntities.size()][]);
+        tracked = new boolean[entities];
+        for (int[] label : labelEntities) {
+            for (int e : label) {
+                tracked[e] = true;
+            }
+        }
+        approximated.forEach(e -> {
+            tracked[e] = true;
+            return true;
+        });
+        globalAtoms = global.toArray();
+    }
+
+    private static void add(TIntArrayList[] lists, int index, int value) {
+        if (lists[index] == null) {
+            lists[index] = new TIntArrayList(2);
+        }
+        lists[index].add(value);
+    }
+
+    private static int[][] toArrays(TIntArrayList[] lists) {
+        int[][] toReturn = new int[lists.length][];
+        for (int i = 0; i < lists.length; i++) {
+            toReturn[i] = lists[i] == null ? new int[0] : lists[i].toArray();
+        }
+        return toReturn;
+    }
+
+    /**
+     * @param ax axiom
+     * @param checker locality checker
+     * @param approximated entities of the axioms labelled with each of their entities
+     * @return minimal signatures for which the axiom is not local; axioms with large signatures
+     * are labelled with each of their entities, which can only make modules larger. The ideals
+     * containing such entities are not closed under these labels, so the entities are tracked as
+     * those of labels with more than one entity are.
+     */
+    private Set<Set<OWLEntity>> minimalNonLocalSignatures(OWLAxiom ax,
+        SyntacticLocalityChecker checker, TIntArrayList approximated) {
+        boolean top = type == ModuleType.TOP;
+        Set<Set<OWLEntity>> toReturn = TriggerIndex.minimalNonLocalSignatures(ax, checker, top,
+            top);
+        if (toReturn == null) {
+            toReturn = new HashSet<>();
+            for (OWLEntity e : asList(ax.signature())) {
+                toReturn.add(Collections.singleton(e));
+                approximated.add(entityIds.get(e));
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * @param signature seed signature
+     * @return the module for the signature; the set is shared between callers and must not be
+     * modified
+     */
+    public Set<OWLAxiom> getModule(Set<OWLEntity> signature) {
+        return cache.get(Collections.unmodifiableSet(new HashSet<>(signature)));
+    }
+
+    /**
+     * @param signature seed signature
+     * @return the atoms whose union is the module for the signature
+     */
+    public Set<Atom> getModuleAtoms(Set<OWLEntity> signature) {
+        if (type == ModuleType.STAR) {
+            Set<Atom> toReturn = new HashSet<>();
+            for (OWLAxiom ax : getModule(signature)) {
+                toReturn.add(ad.getAtomForAxiom(ax));
+            }
+            return toReturn;
+        }
+        BitSet moduleAtoms = extractAtoms(signature);
+        Set<Atom> toReturn = new HashSet<>();
+        for (int i = moduleAtoms.nextSetBit(0); i >= 0; i = moduleAtoms.nextSetBit(i + 1)) {
+            toReturn.add(atoms[i]);
+        }
+        return toReturn;
+    }
+
+    private Set<OWLAxiom> extract(Set<OWLEntity> signature) {
+        if (type == ModuleType.STAR) {
+            synchronized (ad) {
+                return Collections.unmodifiableSet(
+                    ad.getModule(signature.stream(), false, type).collect(Collectors.toSet()));
+            }
+        }
+        BitSet moduleAtoms = extractAtoms(signature);
+        Set<OWLAxiom> toReturn = new HashSet<>();
+        for (int i = moduleAtoms.nextSetBit(0); i >= 0; i = moduleAtoms.nextSetBit(i + 1)) {
+            toReturn.addAll(atoms[i].getAxioms());
+        }
+        return Collections.unmodifiableSet(toReturn);
+    }
+
+    private BitSet extractAtoms(Set<OWLEntity> signature) {
+        BitSet moduleAtoms = new BitSet(atoms.length);
+        BitSet sig = new BitSet(tracked.length);
+        TIntArrayList queue = new TIntArrayList();
+        TIntArrayList stack = new TIntArrayList();
+        for (int a : globalAtoms) {
+            addIdeal(a, moduleAtoms, sig, queue, stack);
+        }
+        for (OWLEntity e : signature) {
+            int id = entityIds.get(e);
+            if (id >= 0 && !sig.get(id)) {
+                sig.set(id);
+                queue.add(id);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int e = queue.removeAt(queue.size() - 1);
+            for (int a : singleLabels[e]) {
+                addIdeal(a, moduleAtoms, sig, queue, stack);
+            }
+            for (int label : multiLabels[e]) {
+                int a = labelAtoms[label];
+                if (!moduleAtoms.get(a) && containsAll(sig, labelEntities[label])) {
+                    addIdeal(a, moduleAtoms, sig, queue, stack);
+                }
+            }
+        }
+        return moduleAtoms;
+    }
+
+    private static boolean containsAll(BitSet sig, int[] entities) {
+        for (int e : entities) {
+            if (!sig.get(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the principal ideal of an atom. The signature of an ideal is closed under exact single
+     * entity labels, so only the tracked entities, which can complete a label with more than one
+     * entity or an approximated label, are queued.
+     */
+    private void addIdeal(int atom, BitSet moduleAtoms, BitSet sig, TIntArrayList queue,
+        TIntArrayList stack) {
+        if (moduleAtoms.get(atom)) {
+            return;
+        }
+        moduleAtoms.set(atom);
+        stack.add(atom);
+        while (!stack.isEmpty()) {
+            int a = stack.removeAt(stack.size() - 1);
+            for (int e : atomSignatures[a]) {
+                if (tracked[e] && !sig.get(e)) {
+                    sig.set(e);
+                    queue.add(e);
+                }
+            }
+            for (int dep : atomDependencies[a]) {
+                if (!moduleAtoms.get(dep)) {
+                    moduleAtoms.set(dep);
+                    stack.add(dep);
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package uk.ac.manchester.cs.factplusplusad;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -11,7 +12,7 @@ import org.semanticweb.owlapitools.decomposition.OntologyAtom;
  */
 class AOStructure {
 
-    List<OntologyAtom> atoms;
+    List<OntologyAtom> atoms = new ArrayList<>();
 
     /**
      * @return create a new atom and get a pointer to it
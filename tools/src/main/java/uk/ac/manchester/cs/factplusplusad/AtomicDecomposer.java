@@ -1,6 +1,7 @@
 package uk.ac.manchester.cs.factplusplusad;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import org.semanticweb.owlapitools.decomposition.AxiomWrapper;
@@ -23,7 +24,7 @@ class AtomicDecomposer {
     /**
      * tautologies of the ontology
      */
-    Set<AxiomWrapper> tautologies;
+    Set<AxiomWrapper> tautologies = new HashSet<>();
     /**
      * fake atom that represents the whole ontology
      */
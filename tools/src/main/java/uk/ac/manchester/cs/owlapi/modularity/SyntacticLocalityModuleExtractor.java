@@ -16,10 +16,15 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -50,6 +55,9 @@ import org.slf4j.LoggerFactory;
 import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
 import com.clarkparsia.owlapi.modularity.locality.SyntacticLocalityEvaluator;
 
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TObjectIntHashMap;
+
 /**
  * Implementation of module extraction based on syntactic locality.
  *
@@ -227,31 +235,42 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
     boolean[] extractLogicalAxioms(boolean[] subOnt, Set<OWLEntity> signature,
         LocalityClass localityClass) {
         boolean[] mod = ontologyAxiomSet.getSubset(false);
-        boolean[] q2 = ontologyAxiomSet.cloneSubset(subOnt);
         SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);
-        boolean change = true;
-        int loopNumber = 0;
-        while (change) {
-            change = false;
-            loopNumber++;
-            LOGGER.info("  Loop {}", Integer.valueOf(loopNumber));
-            for (int i = 0; i < q2.length; i++) {
-                OWLAxiom axiom = ontologyAxiomSet.getAxiom(i);
-                if (q2[i]) {
-                    if (!sle.isLocal(axiom, signature)) {
-                        LOGGER.info("      Non-local axiom:   {}", axiom);
-                        mod[i] = true;
-                        q2[i] = false;
-                        int oldSize = signature.size();
-                        add(signature, axiom.signature());
-                        // only triggering a change when the signature has
-                        // changed doesn't improve performance
-                        if (signature.size() > oldSize) {
-                            change = true;
-                            LOGGER.info("    New signature:   {}", signature);
-                        }
-                    } else {
-                        LOGGER.info("      Local axiom:       {}", axiom);
+        // The locality of an axiom only depends on the part of the signature it mentions: axioms
+        // that do not mention any entity in the signature are local iff they are local for the
+        // empty signature, so only those and the axioms mentioning the seed entities need checking
+        // at first; afterwards, only the axioms mentioning newly added entities are checked again.
+        BitSet sig = new BitSet(ontologyAxiomSet.entityCount());
+        TIntArrayList worklist = new TIntArrayList();
+        boolean[] queued = ontologyAxiomSet.getSubset(false);
+        for (int i : ontologyAxiomSet.getNonLocalForEmptySignature(localityClass)) {
+            enqueue(i, subOnt, mod, queued, worklist);
+        }
+        for (OWLEntity e : signature) {
+            int entity = ontologyAxiomSet.getEntityOrdinal(e);
+            if (entity >= 0) {
+                sig.set(entity);
+                for (int i : ontologyAxiomSet.getReferencingAxioms(entity)) {
+                    enqueue(i, subOnt, mod, queued, worklist);
+                }
+            }
+        }
+        while (!worklist.isEmpty()) {
+            int i = worklist.removeAt(worklist.size() - 1);
+            queued[i] = false;
+            OWLAxiom axiom = ontologyAxiomSet.getAxiom(i);
+            if (sle.isLocal(axiom, signature)) {
+                LOGGER.info("      Local axiom:       {}", axiom);
+                continue;
+            }
+            LOGGER.info("      Non-local axiom:   {}", axiom);
+            mod[i] = true;
+            for (int entity : ontologyAxiomSet.getSignature(i)) {
+                if (!sig.get(entity)) {
+                    sig.set(entity);
+                    signature.add(ontologyAxiomSet.getEntity(entity));
+                    for (int j : ontologyAxiomSet.getReferencingAxioms(entity)) {
+                        enqueue(j, subOnt, mod, queued, worklist);
                     }
                 }
             }
@@ -259,6 +278,14 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
         return mod;
     }
 
+    private static void enqueue(int i, boolean[] subOnt, boolean[] mod, boolean[] queued,
+        TIntArrayList worklist) {
+        if (subOnt[i] && !mod[i] && !queued[i]) {
+            queued[i] = true;
+            worklist.add(i);
+        }
+    }
+
     /**
      * This method extracts a module from a given sub-ontology of the associated ontology for a
      * given signature and locality type. The module will only contain logical axioms, no annotation
@@ -517,10 +544,23 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
      */
     static class OntologyAxiomSet {
 
+        private static final int[] NONE = new int[0];
         /**
          * Array representing all axioms of the associated ontology.
          */
         final OWLAxiom[] ax;
+        /**
+         * Entity ordinals and the indexes over them; built on first use and published through a
+         * volatile field, so that extractors can be shared between threads.
+         */
+        @Nullable
+        private volatile Index index;
+        /**
+         * Axioms that are not local with respect to the empty signature, by locality class;
+         * guarded by this set.
+         */
+        private final Map<LocalityClass, int[]> nonLocalForEmptySignature =
+            new EnumMap<>(LocalityClass.class);
 
         /**
          * Creates a new OntologyAxiomSet from a given set of axioms without looking up the
@@ -551,6 +591,78 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
             return ax[i];
         }
 
+        private Index index() {
+            Index result = index;
+            if (result == null) {
+                synchronized (this) {
+                    result = index;
+                    if (result == null) {
+                        result = new Index(ax);
+                        index = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return the number of entities in the signature of this set
+         */
+        public int entityCount() {
+            return index().entities.length;
+        }
+
+        /**
+         * @param e entity
+         * @return the ordinal of the entity, or -1 if no axiom in this set mentions it
+         */
+        public int getEntityOrdinal(OWLEntity e) {
+            return index().entityOrdinals.get(e);
+        }
+
+        /**
+         * @param ordinal entity ordinal
+         * @return the entity with the given ordinal
+         */
+        public OWLEntity getEntity(int ordinal) {
+            return index().entities[ordinal];
+        }
+
+        /**
+         * @param i a number for an axiom
+         * @return the ordinals of the entities in the signature of the i-th axiom
+         */
+        public int[] getSignature(int i) {
+            return index().signatures[i];
+        }
+
+        /**
+         * @param ordinal entity ordinal
+         * @return the numbers of the axioms mentioning the entity
+         */
+        public int[] getReferencingAxioms(int ordinal) {
+            return index().referencingAxioms[ordinal];
+        }
+
+        /**
+         * @param localityClass locality class
+         * @return the numbers of the axioms that are not local with respect to the empty
+         *         signature; computed once per locality class
+         */
+        public synchronized int[] getNonLocalForEmptySignature(LocalityClass localityClass) {
+            return nonLocalForEmptySignature.computeIfAbsent(localityClass, c -> {
+                SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(c);
+                Set<OWLEntity> empty = Collections.emptySet();
+                TIntArrayList nonLocal = new TIntArrayList();
+                for (int i = 0; i < ax.length; i++) {
+                    if (!sle.isLocal(ax[i], empty)) {
+                        nonLocal.add(i);
+                    }
+                }
+                return nonLocal.isEmpty() ? NONE : nonLocal.toArray();
+            });
+        }
+
         /**
          * Constructs an array of Booleans that represents a subset of this set. The subset either
          * equals this set (if init==true) or is the empty set (if init==false).
@@ -608,5 +720,54 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
             }
             return axs;
         }
+
+        /**
+         * Entity ordinals of an axiom array, with the signature of each axiom and the axioms
+         * mentioning each entity. Not modified after construction.
+         */
+        private static class Index {
+
+            /**
+             * Entities in the signature of the ontology, by ordinal.
+             */
+            final OWLEntity[] entities;
+            final TObjectIntHashMap<OWLEntity> entityOrdinals =
+                new TObjectIntHashMap<>(16, 0.5F, -1);
+            /**
+             * For each axiom, the ordinals of the entities in its signature.
+             */
+            final int[][] signatures;
+            /**
+             * For each entity ordinal, the axioms mentioning the entity.
+             */
+            final int[][] referencingAxioms;
+
+            Index(OWLAxiom[] ax) {
+                List<OWLEntity> sig = new ArrayList<>();
+                List<TIntArrayList> postings = new ArrayList<>();
+                signatures = new int[ax.length][];
+                for (int i = 0; i < ax.length; i++) {
+                    TIntArrayList axiomSignature = new TIntArrayList();
+                    int axiomIndex = i;
+                    ax[i].signature().forEach(e -> {
+                        int ordinal = entityOrdinals.get(e);
+                        if (ordinal < 0) {
+                            ordinal = sig.size();
+                            entityOrdinals.put(e, ordinal);
+                            sig.add(e);
+                            postings.add(new TIntArrayList());
+                        }
+                        axiomSignature.add(ordinal);
+                        postings.get(ordinal).add(axiomIndex);
+                    });
+                    signatures[i] = axiomSignature.toArray();
+                }
+                referencingAxioms = new int[postings.size()][];
+                for (int e = 0; e < referencingAxioms.length; e++) {
+                    referencingAxioms[e] = postings.get(e).toArray();
+                }
+                entities = sig.toArray(new OWLEntity[sig.size()]);
+            }
+        }
     }
 }